@@ -29,4 +29,10 @@ public class TestView extends View {
   public boolean onTouchEvent(MotionEvent event) {
     return androidGesturesManager.onTouchEvent(event) || super.onTouchEvent(event);
   }
+
+  @Override
+  protected void onDetachedFromWindow() {
+    super.onDetachedFromWindow();
+    androidGesturesManager.release();
+  }
 }
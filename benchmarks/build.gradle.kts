@@ -0,0 +1,23 @@
+plugins {
+    `java-library`
+    alias(libs.plugins.jmh)
+}
+
+apply(from = "${rootDir}/gradle/checkstyle.gradle")
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_1_8
+    targetCompatibility = JavaVersion.VERSION_1_8
+}
+
+dependencies {
+    jmh(project(":gestures-core"))
+}
+
+jmh {
+    jmhVersion.set(libs.versions.jmh.get())
+    benchmarkMode.add("avgt")
+    timeUnit.set("ns")
+    profilers.add("gc")
+    resultFormat.set("JSON")
+}
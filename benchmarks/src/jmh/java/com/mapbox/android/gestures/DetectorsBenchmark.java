@@ -0,0 +1,306 @@
+package com.mapbox.android.gestures;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-event cost of the detectors' recognition logic, replaying synthetic streams of moves.
+ * <p>
+ * Each detector runs the same per-event code as {@code MultiFingerGesture#analyzeEvent},
+ * see {@link MultiFingerPointers}, and the same calculations as its {@code analyzeMovement()},
+ * see {@link MoveDistances}, {@link ScaleSpan} and {@link SimilarityTransform}.
+ * Listener callbacks, the pressure check, the display metrics and the historical samples are left out,
+ * they need the platform.
+ * <p>
+ * {@link #centroidScale(Blackhole)} and {@link #multiPointerRotate(Blackhole)} run the optional modes
+ * of the scale and rotate detectors. {@link #quickScale(Blackhole)} runs the quick scale from the position
+ * where the first pointer went down, the detector only quick scales with a single pointer.
+ * <p>
+ * Each invocation replays {@link #MOVES_COUNT} moves, the scores are reported per event.
+ * Run with the GC profiler ({@code -prof gc}) to get the bytes allocated per event.
+ * <p>
+ * {@link #allDetectors(Blackhole)} updates the shared frame once and runs all of the detectors on top of it,
+ * the way {@code AndroidGesturesManager#onTouchEvent} fans out an event,
+ * while the other benchmarks run a single detector on its own.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DetectorsBenchmark {
+  static final int MOVES_COUNT = 256;
+
+  private static final float SPAN_THRESHOLD = 50;
+  private static final float MOVE_THRESHOLD = 8;
+  private static final float EDGE_SLOP = 24;
+  private static final int DISPLAY_WIDTH = 1440;
+  private static final int DISPLAY_HEIGHT = 2560;
+  private static final double MAX_SHOVE_ANGLE_TOLERANCE = GestureMath.axisTolerance(20f);
+
+  @Param({"1", "2", "10"})
+  int pointersCount;
+
+  @Param({"MOVE", "PINCH", "ROTATE", "SHOVE"})
+  String kind;
+
+  private TouchStream stream;
+  private GestureFrame frame;
+  private MultiFingerPointers movePointers;
+  private MoveDistances moveDistances;
+  private float previousFocalX;
+  private float previousFocalY;
+  private MultiFingerPointers scalePointers;
+  private final ScaleSpan scaleSpan = new ScaleSpan();
+  private float previousSpan;
+  private float quickScaleFocalX;
+  private float quickScaleFocalY;
+  private MultiFingerPointers rotatePointers;
+  private final SimilarityTransform transform = new SimilarityTransform();
+  private MultiFingerPointers shovePointers;
+  private MultiFingerPointers sidewaysShovePointers;
+  private MultiFingerPointers multiFingerTapPointers;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    stream = TouchStream.create(TouchStream.Kind.valueOf(kind), pointersCount, MOVES_COUNT);
+    frame = new GestureFrame();
+    movePointers = new MultiFingerPointers();
+    moveDistances = new MoveDistances();
+    scalePointers = new MultiFingerPointers();
+    rotatePointers = new MultiFingerPointers();
+    shovePointers = new MultiFingerPointers();
+    sidewaysShovePointers = new MultiFingerPointers();
+    multiFingerTapPointers = new MultiFingerPointers();
+    for (MutableTouchSample sample : stream.down) {
+      frame.update(sample);
+      int pointerId = sample.getPointerId(sample.getActionIndex());
+      moveDistances.start(pointerId, frame.getX(pointerId), frame.getY(pointerId));
+      analyze(movePointers, sample, 1, 0);
+      analyze(scalePointers, sample, 2, SPAN_THRESHOLD);
+      analyze(rotatePointers, sample, 2, SPAN_THRESHOLD);
+      analyze(shovePointers, sample, 2, SPAN_THRESHOLD);
+      analyze(sidewaysShovePointers, sample, 2, SPAN_THRESHOLD);
+      analyze(multiFingerTapPointers, sample, 2, SPAN_THRESHOLD);
+    }
+    previousFocalX = frame.getFocalX();
+    previousFocalY = frame.getFocalY();
+    quickScaleFocalX = stream.down[0].getX(0);
+    quickScaleFocalY = stream.down[0].getY(0);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(MOVES_COUNT)
+  public void frame(Blackhole blackhole) {
+    for (MutableTouchSample sample : stream.moves) {
+      frame.update(sample);
+      blackhole.consume(frame.getPointersCount());
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(MOVES_COUNT)
+  public void move(Blackhole blackhole) {
+    for (MutableTouchSample sample : stream.moves) {
+      frame.update(sample);
+      blackhole.consume(analyzeMove(sample));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(MOVES_COUNT)
+  public void scale(Blackhole blackhole) {
+    for (MutableTouchSample sample : stream.moves) {
+      frame.update(sample);
+      blackhole.consume(analyzeScale(sample));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(MOVES_COUNT)
+  public void centroidScale(Blackhole blackhole) {
+    for (MutableTouchSample sample : stream.moves) {
+      frame.update(sample);
+      blackhole.consume(analyzeCentroidScale(sample));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(MOVES_COUNT)
+  public void quickScale(Blackhole blackhole) {
+    for (MutableTouchSample sample : stream.moves) {
+      frame.update(sample);
+      blackhole.consume(analyzeQuickScale(sample));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(MOVES_COUNT)
+  public void rotate(Blackhole blackhole) {
+    for (MutableTouchSample sample : stream.moves) {
+      frame.update(sample);
+      blackhole.consume(analyzeRotate(sample, false));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(MOVES_COUNT)
+  public void multiPointerRotate(Blackhole blackhole) {
+    for (MutableTouchSample sample : stream.moves) {
+      frame.update(sample);
+      blackhole.consume(analyzeRotate(sample, true));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(MOVES_COUNT)
+  public void shove(Blackhole blackhole) {
+    for (MutableTouchSample sample : stream.moves) {
+      frame.update(sample);
+      blackhole.consume(analyzeShove(sample));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(MOVES_COUNT)
+  public void sidewaysShove(Blackhole blackhole) {
+    for (MutableTouchSample sample : stream.moves) {
+      frame.update(sample);
+      blackhole.consume(analyzeSidewaysShove(sample));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(MOVES_COUNT)
+  public void allDetectors(Blackhole blackhole) {
+    for (MutableTouchSample sample : stream.moves) {
+      frame.update(sample);
+      blackhole.consume(analyzeMove(sample));
+      blackhole.consume(analyzeScale(sample));
+      blackhole.consume(analyzeRotate(sample, false));
+      blackhole.consume(analyzeShove(sample));
+      blackhole.consume(analyzeSidewaysShove(sample));
+      blackhole.consume(analyze(multiFingerTapPointers, sample, 2, SPAN_THRESHOLD));
+    }
+  }
+
+  /**
+   * Runs the steps of {@code MultiFingerGesture#analyzeEvent} for the sample.
+   *
+   * @return true if the detector would go on with analyzing the movement, false otherwise
+   */
+  private boolean analyze(MultiFingerPointers pointers, TouchSample sample, int requiredPointersCount,
+                          float spanThreshold) {
+    boolean isMissingEvents = pointers.updateEventIndices(sample);
+    if (isMissingEvents) {
+      pointers.clear();
+    }
+    if (!isMissingEvents || sample.getActionMasked() == TouchSample.ACTION_DOWN) {
+      pointers.updatePointers(sample);
+    }
+    if (isMissingEvents || !pointers.isMovement(sample, requiredPointersCount)) {
+      return false;
+    }
+
+    pointers.calculateDistances(frame);
+    return !pointers.isAnyPointerIn(frame.getEdgePointerIdsMask(EDGE_SLOP, DISPLAY_WIDTH, DISPLAY_HEIGHT))
+      && !pointers.pointersDistanceMatrix.isAnyCurrentSpanBelow(spanThreshold);
+  }
+
+  private float analyzeMove(TouchSample sample) {
+    if (!analyze(movePointers, sample, 1, 0)) {
+      return 0f;
+    }
+    moveDistances.update(frame, movePointers.pointerIdList);
+    if (!moveDistances.isAnyAboveThreshold(MOVE_THRESHOLD)) {
+      return 0f;
+    }
+    float distanceX = previousFocalX - frame.getFocalX();
+    float distanceY = previousFocalY - frame.getFocalY();
+    previousFocalX = frame.getFocalX();
+    previousFocalY = frame.getFocalY();
+    return distanceX + distanceY;
+  }
+
+  private float analyzeScale(TouchSample sample) {
+    if (!analyze(scalePointers, sample, 2, SPAN_THRESHOLD)) {
+      return 1f;
+    }
+    scaleSpan.calculate(frame);
+    return calculateScaleFactor(false, sample);
+  }
+
+  private float analyzeCentroidScale(TouchSample sample) {
+    if (!analyze(scalePointers, sample, 2, 0)) {
+      return 1f;
+    }
+    // the same check as StandardScaleGestureDetector#checkSpanBelowThreshold() in the centroid span mode
+    PointerIdTracker pointerIdList = scalePointers.pointerIdList;
+    boolean isBelowThreshold = pointerIdList.size() > 2
+      ? scalePointers.pointersDistanceMatrix.isAnyCurrentSpanBelow(SPAN_THRESHOLD)
+      : ScaleSpan.isAnyPointerCloserThan(frame, pointerIdList, SPAN_THRESHOLD / 2);
+    if (isBelowThreshold) {
+      return 1f;
+    }
+    scaleSpan.calculateCentroid(frame, pointerIdList);
+    return calculateScaleFactor(false, sample);
+  }
+
+  private float analyzeQuickScale(TouchSample sample) {
+    if (!analyze(scalePointers, sample, 1, SPAN_THRESHOLD)) {
+      return 1f;
+    }
+    scaleSpan.calculateQuickScale(frame, scalePointers.pointerIdList, quickScaleFocalX, quickScaleFocalY);
+    return calculateScaleFactor(true, sample);
+  }
+
+  private float calculateScaleFactor(boolean isQuickScale, TouchSample sample) {
+    float currentSpan = scaleSpan.getSpan();
+    float scaleFactor = previousSpan > 0
+      ? ScaleSpan.scaleFactor(isQuickScale, currentSpan, previousSpan, sample.getY(0), quickScaleFocalY) : 1f;
+    previousSpan = currentSpan;
+    return scaleFactor;
+  }
+
+  private float analyzeRotate(TouchSample sample, boolean multiPointerRotationEnabled) {
+    if (!analyze(rotatePointers, sample, 2, SPAN_THRESHOLD)) {
+      return 0f;
+    }
+    if (multiPointerRotationEnabled && rotatePointers.pointerIdList.size() > 2) {
+      transform.fit(frame, rotatePointers.pointerIdList);
+      return transform.getRotationDegrees();
+    }
+    return rotatePointers.getFirstPairRotationDegrees();
+  }
+
+  private float analyzeShove(TouchSample sample) {
+    if (!analyze(shovePointers, sample, 2, SPAN_THRESHOLD)
+      || !shovePointers.isFirstPairHorizontal(MAX_SHOVE_ANGLE_TOLERANCE)) {
+      return 0f;
+    }
+    return shovePointers.getFirstPairDeltaY(frame);
+  }
+
+  private float analyzeSidewaysShove(TouchSample sample) {
+    if (!analyze(sidewaysShovePointers, sample, 2, SPAN_THRESHOLD)
+      || !sidewaysShovePointers.isFirstPairVertical(MAX_SHOVE_ANGLE_TOLERANCE)) {
+      return 0f;
+    }
+    return sidewaysShovePointers.getFirstPairDeltaX(frame);
+  }
+}
@@ -0,0 +1,86 @@
+package com.mapbox.android.gestures;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-move cost of the math the rotate and shove detectors do on the vector between the two pointers.
+ * <p>
+ * The {@code angleDifference} benchmarks replicate the previous implementations, with an {@code atan2}
+ * for each vector, as a baseline for the cross and dot product based ones in {@link GestureMath}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PointerPairBenchmark {
+  static final int MOVES_COUNT = 256;
+
+  private static final float MAX_SHOVE_ANGLE = 20f;
+
+  private final float[] diffXs = new float[MOVES_COUNT + 1];
+  private final float[] diffYs = new float[MOVES_COUNT + 1];
+  private double maxShoveAngleTolerance;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    // a pair of pointers turning and shaking slightly, the way two fingers do during a rotation
+    Random random = new Random(42);
+    for (int i = 0; i <= MOVES_COUNT; i++) {
+      double angle = Math.toRadians(i * 1.5 + random.nextGaussian());
+      diffXs[i] = (float) (200 * Math.cos(angle));
+      diffYs[i] = (float) (200 * Math.sin(angle));
+    }
+    maxShoveAngleTolerance = GestureMath.axisTolerance(MAX_SHOVE_ANGLE);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(MOVES_COUNT)
+  public void rotationAngleDifference(Blackhole blackhole) {
+    for (int i = 1; i <= MOVES_COUNT; i++) {
+      double diffRadians = Math.atan2(diffYs[i - 1], diffXs[i - 1]) - Math.atan2(diffYs[i], diffXs[i]);
+      blackhole.consume((float) Math.toDegrees(GestureMath.wrapAngle(diffRadians)));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(MOVES_COUNT)
+  public void rotationCrossDot(Blackhole blackhole) {
+    for (int i = 1; i <= MOVES_COUNT; i++) {
+      blackhole.consume(GestureMath.rotationDegrees(diffXs[i - 1], diffYs[i - 1], diffXs[i], diffYs[i]));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(MOVES_COUNT)
+  public void shoveAngleDifference(Blackhole blackhole) {
+    for (int i = 1; i <= MOVES_COUNT; i++) {
+      double angle = Math.toDegrees(Math.abs(Math.atan2(diffYs[i], diffXs[i])));
+      blackhole.consume(angle <= MAX_SHOVE_ANGLE || 180f - angle <= MAX_SHOVE_ANGLE);
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(MOVES_COUNT)
+  public void shoveAxisTolerance(Blackhole blackhole) {
+    for (int i = 1; i <= MOVES_COUNT; i++) {
+      blackhole.consume(GestureMath.isHorizontalWithinTolerance(diffXs[i], diffYs[i], maxShoveAngleTolerance));
+    }
+  }
+}
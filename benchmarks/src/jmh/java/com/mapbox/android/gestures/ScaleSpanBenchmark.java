@@ -0,0 +1,109 @@
+package com.mapbox.android.gestures;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-event cost of the scale detector's span with a pinch of 2 to 10 pointers.
+ * <p>
+ * {@link #pairwiseSpan(Blackhole)} is the default path: the distances between each pair of pointers
+ * for the minimum span check and the sum of deviations with {@code Math.hypot}.
+ * {@link #centroidSpan(Blackhole)} is the centroid span mode, a single pass over the tracked pointers
+ * for the span, see {@link ScaleSpan}, and for the check of two pointers. More pointers are checked pairwise.
+ * <p>
+ * Both run the pointer bookkeeping of the detectors, see {@link MultiFingerPointers}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScaleSpanBenchmark {
+  static final int MOVES_COUNT = 256;
+
+  private static final float SPAN_THRESHOLD = 50;
+
+  @Param({"2", "3", "5", "10"})
+  int pointersCount;
+
+  private TouchStream stream;
+  private GestureFrame frame;
+  private MultiFingerPointers pairwisePointers;
+  private MultiFingerPointers centroidPointers;
+  private ScaleSpan scaleSpan;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    stream = TouchStream.create(TouchStream.Kind.PINCH, pointersCount, MOVES_COUNT);
+    frame = new GestureFrame();
+    pairwisePointers = new MultiFingerPointers();
+    centroidPointers = new MultiFingerPointers();
+    scaleSpan = new ScaleSpan();
+    for (MutableTouchSample sample : stream.down) {
+      frame.update(sample);
+      track(pairwisePointers, sample);
+      track(centroidPointers, sample);
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(MOVES_COUNT)
+  public void pairwiseSpan(Blackhole blackhole) {
+    for (MutableTouchSample sample : stream.moves) {
+      frame.update(sample);
+      if (track(pairwisePointers, sample)) {
+        pairwisePointers.calculateDistances(frame);
+        if (!pairwisePointers.pointersDistanceMatrix.isAnyCurrentSpanBelow(SPAN_THRESHOLD)) {
+          scaleSpan.calculate(frame);
+          blackhole.consume(scaleSpan.getSpan());
+        }
+      }
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(MOVES_COUNT)
+  public void centroidSpan(Blackhole blackhole) {
+    for (MutableTouchSample sample : stream.moves) {
+      frame.update(sample);
+      if (track(centroidPointers, sample)) {
+        centroidPointers.calculateDistances(frame);
+        if (!isCentroidSpanBelowThreshold()) {
+          scaleSpan.calculateCentroid(frame, centroidPointers.pointerIdList);
+          blackhole.consume(scaleSpan.getSpan());
+        }
+      }
+    }
+  }
+
+  /**
+   * The same check as {@code StandardScaleGestureDetector#checkSpanBelowThreshold()} in the centroid span mode.
+   */
+  private boolean isCentroidSpanBelowThreshold() {
+    if (centroidPointers.pointerIdList.size() > 2) {
+      return centroidPointers.pointersDistanceMatrix.isAnyCurrentSpanBelow(SPAN_THRESHOLD);
+    }
+    return ScaleSpan.isAnyPointerCloserThan(frame, centroidPointers.pointerIdList, SPAN_THRESHOLD / 2);
+  }
+
+  private static boolean track(MultiFingerPointers pointers, TouchSample sample) {
+    pointers.updateEventIndices(sample);
+    pointers.updatePointers(sample);
+    return pointers.isMovement(sample, 2);
+  }
+}
@@ -0,0 +1,92 @@
+package com.mapbox.android.gestures;
+
+/**
+ * Synthetic stream of touch samples: pointers going down one by one, a series of moves and pointers going up.
+ * <p>
+ * All samples are created upfront, so that replaying the stream doesn't allocate.
+ */
+final class TouchStream {
+
+  /**
+   * Kind of motion performed by the pointers during the moves.
+   */
+  enum Kind {
+    /**
+     * All pointers pan diagonally.
+     */
+    MOVE,
+    /**
+     * Pointers spread out from the center.
+     */
+    PINCH,
+    /**
+     * Pointers turn around the center.
+     */
+    ROTATE,
+    /**
+     * Pointers lined up horizontally pan vertically.
+     */
+    SHOVE
+  }
+
+  private static final float CENTER_X = 540;
+  private static final float CENTER_Y = 960;
+  private static final float RADIUS = 200;
+  private static final long EVENT_INTERVAL_MILLIS = 8;
+
+  final MutableTouchSample[] down;
+  final MutableTouchSample[] moves;
+  final MutableTouchSample[] up;
+
+  private TouchStream(MutableTouchSample[] down, MutableTouchSample[] moves, MutableTouchSample[] up) {
+    this.down = down;
+    this.moves = moves;
+    this.up = up;
+  }
+
+  static TouchStream create(Kind kind, int pointersCount, int movesCount) {
+    long time = 0;
+    MutableTouchSample[] down = new MutableTouchSample[pointersCount];
+    for (int i = 0; i < pointersCount; i++) {
+      int action = i == 0 ? TouchSample.ACTION_DOWN : TouchSample.ACTION_POINTER_DOWN;
+      down[i] = sample(kind, action, i, time, pointersCount, i + 1, 0);
+      time += EVENT_INTERVAL_MILLIS;
+    }
+
+    MutableTouchSample[] moves = new MutableTouchSample[movesCount];
+    for (int step = 0; step < movesCount; step++) {
+      moves[step] = sample(kind, TouchSample.ACTION_MOVE, 0, time, pointersCount, pointersCount, step + 1);
+      time += EVENT_INTERVAL_MILLIS;
+    }
+
+    MutableTouchSample[] up = new MutableTouchSample[pointersCount];
+    for (int i = 0; i < pointersCount; i++) {
+      int activeCount = pointersCount - i;
+      int action = activeCount == 1 ? TouchSample.ACTION_UP : TouchSample.ACTION_POINTER_UP;
+      up[i] = sample(kind, action, activeCount - 1, time, pointersCount, activeCount, movesCount);
+      time += EVENT_INTERVAL_MILLIS;
+    }
+    return new TouchStream(down, moves, up);
+  }
+
+  private static MutableTouchSample sample(Kind kind, int action, int actionIndex, long time,
+                                           int pointersCount, int activeCount, int step) {
+    MutableTouchSample sample = new MutableTouchSample().set(action, actionIndex, time);
+    for (int i = 0; i < activeCount; i++) {
+      float x;
+      float y;
+      if (kind == Kind.SHOVE) {
+        x = CENTER_X + (i - (pointersCount - 1) / 2f) * 2 * RADIUS / pointersCount;
+        y = CENTER_Y + step * 2;
+      } else {
+        double angle = 2 * Math.PI * i / pointersCount + (kind == Kind.ROTATE ? step * 0.01 : 0);
+        float radius = kind == Kind.PINCH ? RADIUS + step * 2 : RADIUS;
+        float offset = kind == Kind.MOVE ? step * 2 : 0;
+        x = CENTER_X + offset + (float) (radius * Math.cos(angle));
+        y = CENTER_Y + offset / 2 + (float) (radius * Math.sin(angle));
+      }
+      sample.addPointer(i, x, y);
+    }
+    return sample;
+  }
+}
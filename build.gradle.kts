@@ -5,4 +5,5 @@ plugins {
   alias(libs.plugins.android.test) apply false
   alias(libs.plugins.android.library) apply false
   alias(libs.plugins.mapbox.sdkRegistry) apply false
+  alias(libs.plugins.jmh) apply false
 }
\ No newline at end of file
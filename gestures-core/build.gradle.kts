@@ -0,0 +1,22 @@
+plugins {
+    `java-library`
+    `java-test-fixtures`
+}
+
+apply(from = "${rootDir}/gradle/sdk-registry.gradle")
+apply(from = "${rootDir}/gradle/checkstyle.gradle")
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_1_8
+    targetCompatibility = JavaVersion.VERSION_1_8
+}
+
+dependencies {
+    api(libs.androidx.annotations)
+    testImplementation(libs.junit)
+}
+
+// test fixtures are shared with the library's unit tests only and aren't published
+val javaComponent = components["java"] as AdhocComponentWithVariants
+javaComponent.withVariantsFromConfiguration(configurations["testFixturesApiElements"]) { skip() }
+javaComponent.withVariantsFromConfiguration(configurations["testFixturesRuntimeElements"]) { skip() }
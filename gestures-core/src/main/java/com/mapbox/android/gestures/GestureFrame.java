@@ -0,0 +1,403 @@
+package com.mapbox.android.gestures;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.UiThread;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Features of the most recent {@link TouchSample} shared by all detectors of a gestures manager.
+ * <p>
+ * Positions of the pointers are read once per dispatched event, everything derived from them
+ * (focal point, spans, covariance, pair vectors and edge checks) is calculated the first time it's requested
+ * and cached until the next event, so that detectors don't repeat the same math for the same event.
+ * <p>
+ * Pointers are addressed by their IDs. None of the operations allocate.
+ */
+@UiThread
+public final class GestureFrame {
+
+  private static final int MAX_POINTER_ID_COUNT = PointerIdTracker.MAX_POINTER_ID_COUNT;
+  private static final int MAX_PAIRS_COUNT = PointerDistancesMatrix.MAX_PAIRS_COUNT;
+
+  private float[] currentX = new float[MAX_POINTER_ID_COUNT];
+  private float[] currentY = new float[MAX_POINTER_ID_COUNT];
+  private float[] previousX = new float[MAX_POINTER_ID_COUNT];
+  private float[] previousY = new float[MAX_POINTER_ID_COUNT];
+  private final int[] currentIds = new int[MAX_POINTER_ID_COUNT];
+  private int currentIdsCount;
+  private int currentIdsMask;
+  private int previousIdsMask;
+  private int pointersCount;
+  private float rawOffsetX;
+  private float rawOffsetY;
+
+  private int generation;
+
+  private int focalGeneration;
+  private float focalX;
+  private float focalY;
+
+  private int spreadGeneration;
+  private float spanX;
+  private float spanY;
+  private float covarianceXX;
+  private float covarianceYY;
+  private float covarianceXY;
+
+  private final int[] pairGenerations = new int[MAX_PAIRS_COUNT];
+  private final float[] currentPairDiffX = new float[MAX_PAIRS_COUNT];
+  private final float[] currentPairDiffY = new float[MAX_PAIRS_COUNT];
+  private final float[] previousPairDiffX = new float[MAX_PAIRS_COUNT];
+  private final float[] previousPairDiffY = new float[MAX_PAIRS_COUNT];
+
+  private int edgeGeneration;
+  private float edgeSlop;
+  private int edgeWidth;
+  private int edgeHeight;
+  private int edgeIdsMask;
+
+  GestureFrame() {
+  }
+
+  /**
+   * Reads positions of all pointers of the new event, positions of the last event become the previous ones.
+   *
+   * @param touchSample new event
+   */
+  void update(@NonNull TouchSample touchSample) {
+    float[] swapX = previousX;
+    float[] swapY = previousY;
+    previousX = currentX;
+    previousY = currentY;
+    currentX = swapX;
+    currentY = swapY;
+    previousIdsMask = currentIdsMask;
+
+    currentIdsMask = 0;
+    currentIdsCount = 0;
+    pointersCount = touchSample.getPointerCount();
+    for (int i = 0; i < pointersCount; i++) {
+      int pointerId = touchSample.getPointerId(i);
+      if (pointerId >= 0 && pointerId < MAX_POINTER_ID_COUNT) {
+        currentX[pointerId] = touchSample.getX(i);
+        currentY[pointerId] = touchSample.getY(i);
+        currentIdsMask |= 1 << pointerId;
+        currentIds[currentIdsCount++] = pointerId;
+      }
+    }
+    rawOffsetX = touchSample.getRawOffsetX();
+    rawOffsetY = touchSample.getRawOffsetY();
+
+    generation++;
+    if (generation == 0) {
+      // the stamps wrapped around, make sure none of them is mistaken for the current generation
+      Arrays.fill(pairGenerations, 0);
+      focalGeneration = 0;
+      spreadGeneration = 0;
+      edgeGeneration = 0;
+      generation = 1;
+    }
+  }
+
+  /**
+   * Returns the number of pointers in the most recent event.
+   *
+   * @return number of pointers
+   */
+  public int getPointersCount() {
+    return pointersCount;
+  }
+
+  /**
+   * Check whether the most recent event contains a pointer.
+   *
+   * @param pointerId pointer's ID
+   * @return true if the pointer is present, false otherwise
+   */
+  public boolean containsPointer(int pointerId) {
+    return isPresent(currentIdsMask, pointerId);
+  }
+
+  /**
+   * Check whether the previous event contains a pointer.
+   *
+   * @param pointerId pointer's ID
+   * @return true if the pointer is present, false otherwise
+   */
+  public boolean containsPreviousPointer(int pointerId) {
+    return isPresent(previousIdsMask, pointerId);
+  }
+
+  /**
+   * Returns X coordinate of a pointer in the most recent event.
+   *
+   * @param pointerId pointer's ID
+   * @return X coordinate
+   */
+  public float getX(int pointerId) {
+    return currentX[checkPointer(currentIdsMask, pointerId)];
+  }
+
+  /**
+   * Returns Y coordinate of a pointer in the most recent event.
+   *
+   * @param pointerId pointer's ID
+   * @return Y coordinate
+   */
+  public float getY(int pointerId) {
+    return currentY[checkPointer(currentIdsMask, pointerId)];
+  }
+
+  /**
+   * Returns X coordinate of a pointer in the previous event.
+   *
+   * @param pointerId pointer's ID
+   * @return X coordinate
+   */
+  public float getPreviousX(int pointerId) {
+    return previousX[checkPointer(previousIdsMask, pointerId)];
+  }
+
+  /**
+   * Returns Y coordinate of a pointer in the previous event.
+   *
+   * @param pointerId pointer's ID
+   * @return Y coordinate
+   */
+  public float getPreviousY(int pointerId) {
+    return previousY[checkPointer(previousIdsMask, pointerId)];
+  }
+
+  /**
+   * Returns X coordinate of the center point of all pointers in the most recent event.
+   *
+   * @return X coordinate of the focal point
+   */
+  public float getFocalX() {
+    ensureFocalPoint();
+    return focalX;
+  }
+
+  /**
+   * Returns Y coordinate of the center point of all pointers in the most recent event.
+   *
+   * @return Y coordinate of the focal point
+   */
+  public float getFocalY() {
+    ensureFocalPoint();
+    return focalY;
+  }
+
+  /**
+   * Returns twice the sum of horizontal distances between each pointer and the focal point.
+   *
+   * @return horizontal span
+   */
+  public float getSpanX() {
+    ensureSpread();
+    return spanX;
+  }
+
+  /**
+   * Returns twice the sum of vertical distances between each pointer and the focal point.
+   *
+   * @return vertical span
+   */
+  public float getSpanY() {
+    ensureSpread();
+    return spanY;
+  }
+
+  /**
+   * Returns the variance of pointers' X coordinates around the focal point.
+   *
+   * @return XX element of the covariance matrix
+   */
+  public float getCovarianceXX() {
+    ensureSpread();
+    return covarianceXX;
+  }
+
+  /**
+   * Returns the variance of pointers' Y coordinates around the focal point.
+   *
+   * @return YY element of the covariance matrix
+   */
+  public float getCovarianceYY() {
+    ensureSpread();
+    return covarianceYY;
+  }
+
+  /**
+   * Returns the covariance of pointers' X and Y coordinates around the focal point.
+   *
+   * @return XY element of the covariance matrix
+   */
+  public float getCovarianceXY() {
+    ensureSpread();
+    return covarianceXY;
+  }
+
+  /**
+   * Returns X component of the vector from the first to the second pointer in the most recent event.
+   *
+   * @param firstPointerId  ID of the pointer the vector starts at
+   * @param secondPointerId ID of the pointer the vector ends at
+   * @return X component of the vector
+   */
+  public float getPairDiffX(int firstPointerId, int secondPointerId) {
+    return orient(currentPairDiffX[ensurePair(firstPointerId, secondPointerId)], firstPointerId, secondPointerId);
+  }
+
+  /**
+   * Returns Y component of the vector from the first to the second pointer in the most recent event.
+   *
+   * @param firstPointerId  ID of the pointer the vector starts at
+   * @param secondPointerId ID of the pointer the vector ends at
+   * @return Y component of the vector
+   */
+  public float getPairDiffY(int firstPointerId, int secondPointerId) {
+    return orient(currentPairDiffY[ensurePair(firstPointerId, secondPointerId)], firstPointerId, secondPointerId);
+  }
+
+  /**
+   * Returns X component of the vector from the first to the second pointer in the previous event.
+   *
+   * @param firstPointerId  ID of the pointer the vector starts at
+   * @param secondPointerId ID of the pointer the vector ends at
+   * @return X component of the vector
+   */
+  public float getPreviousPairDiffX(int firstPointerId, int secondPointerId) {
+    return orient(previousPairDiffX[ensurePair(firstPointerId, secondPointerId)], firstPointerId, secondPointerId);
+  }
+
+  /**
+   * Returns Y component of the vector from the first to the second pointer in the previous event.
+   *
+   * @param firstPointerId  ID of the pointer the vector starts at
+   * @param secondPointerId ID of the pointer the vector ends at
+   * @return Y component of the vector
+   */
+  public float getPreviousPairDiffY(int firstPointerId, int secondPointerId) {
+    return orient(previousPairDiffY[ensurePair(firstPointerId, secondPointerId)], firstPointerId, secondPointerId);
+  }
+
+  /**
+   * Returns IDs of pointers in the most recent event that are closer to the edge of the display than the slop,
+   * in their raw coordinates.
+   * <p>
+   * The result is cached for the same arguments until the next event.
+   *
+   * @param edgeSlop      edge slop in pixels
+   * @param displayWidth  width of the display in pixels
+   * @param displayHeight height of the display in pixels
+   * @return bit mask where a bit at position of a pointer's ID is set if the pointer is close to the edge
+   */
+  public int getEdgePointerIdsMask(float edgeSlop, int displayWidth, int displayHeight) {
+    if (edgeGeneration != generation || this.edgeSlop != edgeSlop
+      || edgeWidth != displayWidth || edgeHeight != displayHeight) {
+      float rightSlopEdge = displayWidth - edgeSlop;
+      float bottomSlopEdge = displayHeight - edgeSlop;
+      int mask = 0;
+      for (int i = 0; i < currentIdsCount; i++) {
+        int pointerId = currentIds[i];
+        float x = currentX[pointerId] + rawOffsetX;
+        float y = currentY[pointerId] + rawOffsetY;
+        if (x < edgeSlop || y < edgeSlop || x > rightSlopEdge || y > bottomSlopEdge) {
+          mask |= 1 << pointerId;
+        }
+      }
+      edgeIdsMask = mask;
+      this.edgeSlop = edgeSlop;
+      edgeWidth = displayWidth;
+      edgeHeight = displayHeight;
+      edgeGeneration = generation;
+    }
+    return edgeIdsMask;
+  }
+
+  private void ensureFocalPoint() {
+    if (focalGeneration == generation) {
+      return;
+    }
+    float x = 0;
+    float y = 0;
+    for (int i = 0; i < currentIdsCount; i++) {
+      x += currentX[currentIds[i]];
+      y += currentY[currentIds[i]];
+    }
+    focalX = currentIdsCount > 0 ? x / currentIdsCount : 0;
+    focalY = currentIdsCount > 0 ? y / currentIdsCount : 0;
+    focalGeneration = generation;
+  }
+
+  private void ensureSpread() {
+    if (spreadGeneration == generation) {
+      return;
+    }
+    ensureFocalPoint();
+    float deviationSumX = 0;
+    float deviationSumY = 0;
+    float sumXX = 0;
+    float sumYY = 0;
+    float sumXY = 0;
+    for (int i = 0; i < currentIdsCount; i++) {
+      float dx = currentX[currentIds[i]] - focalX;
+      float dy = currentY[currentIds[i]] - focalY;
+      deviationSumX += Math.abs(dx);
+      deviationSumY += Math.abs(dy);
+      sumXX += dx * dx;
+      sumYY += dy * dy;
+      sumXY += dx * dy;
+    }
+    spanX = deviationSumX * 2;
+    spanY = deviationSumY * 2;
+    covarianceXX = currentIdsCount > 0 ? sumXX / currentIdsCount : 0;
+    covarianceYY = currentIdsCount > 0 ? sumYY / currentIdsCount : 0;
+    covarianceXY = currentIdsCount > 0 ? sumXY / currentIdsCount : 0;
+    spreadGeneration = generation;
+  }
+
+  private int ensurePair(int firstPointerId, int secondPointerId) {
+    int bothIdsMask = (1 << checkPointerId(firstPointerId)) | (1 << checkPointerId(secondPointerId));
+    if (firstPointerId == secondPointerId
+      || (currentIdsMask & bothIdsMask) != bothIdsMask || (previousIdsMask & bothIdsMask) != bothIdsMask) {
+      throw new NoSuchElementException("There is no such pair of pointers!");
+    }
+    int lower = Math.min(firstPointerId, secondPointerId);
+    int higher = Math.max(firstPointerId, secondPointerId);
+    int pairIndex = higher * (higher - 1) / 2 + lower;
+    if (pairGenerations[pairIndex] != generation) {
+      currentPairDiffX[pairIndex] = currentX[higher] - currentX[lower];
+      currentPairDiffY[pairIndex] = currentY[higher] - currentY[lower];
+      previousPairDiffX[pairIndex] = previousX[higher] - previousX[lower];
+      previousPairDiffY[pairIndex] = previousY[higher] - previousY[lower];
+      pairGenerations[pairIndex] = generation;
+    }
+    return pairIndex;
+  }
+
+  private static float orient(float lowerToHigherDiff, int firstPointerId, int secondPointerId) {
+    return firstPointerId < secondPointerId ? lowerToHigherDiff : -lowerToHigherDiff;
+  }
+
+  private static boolean isPresent(int idsMask, int pointerId) {
+    return pointerId >= 0 && pointerId < MAX_POINTER_ID_COUNT && (idsMask & (1 << pointerId)) != 0;
+  }
+
+  private static int checkPointer(int idsMask, int pointerId) {
+    if (!isPresent(idsMask, pointerId)) {
+      throw new NoSuchElementException("There is no such pointer!");
+    }
+    return pointerId;
+  }
+
+  private static int checkPointerId(int pointerId) {
+    if (pointerId < 0 || pointerId >= MAX_POINTER_ID_COUNT) {
+      throw new NoSuchElementException("There is no such pair of pointers!");
+    }
+    return pointerId;
+  }
+}
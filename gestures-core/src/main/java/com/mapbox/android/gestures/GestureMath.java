@@ -0,0 +1,138 @@
+package com.mapbox.android.gestures;
+
+/**
+ * Decision math of the detectors that doesn't depend on the platform.
+ * <p>
+ * Vectors between pointers are passed as their X and Y components, spans and thresholds in pixels.
+ */
+public final class GestureMath {
+
+  private GestureMath() {
+  }
+
+  /**
+   * Returns the angle by which a vector between two pointers turned since the previous event.
+   * <p>
+   * The angle is taken from the cross and dot products of the two vectors, with a single {@code atan2},
+   * so it's always within [-180, 180] degrees, even when the vector crosses the negative X axis.
+   *
+   * @param prevDiffX X component of the vector in the previous event
+   * @param prevDiffY Y component of the vector in the previous event
+   * @param currDiffX X component of the vector in the current event
+   * @param currDiffY Y component of the vector in the current event
+   * @return rotation in degrees
+   */
+  public static float rotationDegrees(float prevDiffX, float prevDiffY, float currDiffX, float currDiffY) {
+    double cross = (double) prevDiffX * currDiffY - (double) prevDiffY * currDiffX;
+    double dot = (double) prevDiffX * currDiffX + (double) prevDiffY * currDiffY;
+    return (float) -Math.toDegrees(Math.atan2(cross, dot));
+  }
+
+  /**
+   * Folds a difference of two angles into the [-&pi;, &pi;] range.
+   *
+   * @param radians difference of two angles from the [-&pi;, &pi;] range
+   * @return equivalent angle from the [-&pi;, &pi;] range
+   */
+  static double wrapAngle(double radians) {
+    if (radians > Math.PI) {
+      return radians - 2 * Math.PI;
+    } else if (radians < -Math.PI) {
+      return radians + 2 * Math.PI;
+    }
+    return radians;
+  }
+
+  /**
+   * Returns the angular velocity of a focal point moving with the passed velocity.
+   *
+   * @param focalX    X coordinate of the focal point
+   * @param focalY    Y coordinate of the focal point
+   * @param velocityX X velocity
+   * @param velocityY Y velocity
+   * @return absolute angular velocity
+   */
+  public static float angularVelocity(float focalX, float focalY, float velocityX, float velocityY) {
+    return Math.abs((float) ((focalX * velocityY + focalY * velocityX)
+      / (Math.pow(focalX, 2.0) + Math.pow(focalY, 2.0))));
+  }
+
+  /**
+   * Returns the tolerance of {@link #isHorizontalWithinTolerance(float, float, double)}
+   * and {@link #isVerticalWithinTolerance(float, float, double)} for a maximum deviation from the axis.
+   * Detectors compute it once, when the angle is set, so that checking a vector needs no trigonometry.
+   *
+   * @param maxAngle maximum deviation from the axis in degrees
+   * @return squared cosine of the angle
+   */
+  public static double axisTolerance(float maxAngle) {
+    if (maxAngle < 0) {
+      return Double.POSITIVE_INFINITY;
+    } else if (maxAngle >= 90) {
+      return 0;
+    }
+    double cosine = Math.cos(Math.toRadians(maxAngle));
+    return cosine * cosine;
+  }
+
+  /**
+   * Check whether a vector between two pointers is close enough to horizontal,
+   * by comparing the squared cosine of its angle from the axis with the tolerance.
+   *
+   * @param diffX         X component of the vector
+   * @param diffY         Y component of the vector
+   * @param axisTolerance tolerance returned by {@link #axisTolerance(float)}
+   * @return true if the vector deviates less than the max angle, false otherwise
+   */
+  public static boolean isHorizontalWithinTolerance(float diffX, float diffY, double axisTolerance) {
+    double squaredX = (double) diffX * diffX;
+    return squaredX >= axisTolerance * (squaredX + (double) diffY * diffY);
+  }
+
+  /**
+   * Check whether a vector between two pointers is close enough to vertical,
+   * by comparing the squared cosine of its angle from the axis with the tolerance.
+   *
+   * @param diffX         X component of the vector
+   * @param diffY         Y component of the vector
+   * @param axisTolerance tolerance returned by {@link #axisTolerance(float)}
+   * @return true if the vector deviates less than the max angle, false otherwise
+   */
+  public static boolean isVerticalWithinTolerance(float diffX, float diffY, double axisTolerance) {
+    double squaredY = (double) diffY * diffY;
+    return squaredY >= axisTolerance * ((double) diffX * diffX + squaredY);
+  }
+
+  /**
+   * Returns the scale factor of a pinch.
+   *
+   * @param currentSpan  span in the current event
+   * @param previousSpan span in the previous event
+   * @return ratio of the spans, or 1 if the previous span is empty
+   */
+  public static float scaleFactor(float currentSpan, float previousSpan) {
+    return previousSpan > 0 ? currentSpan / previousSpan : 1;
+  }
+
+  /**
+   * Returns the scale factor of a quick scale, where a single pointer moving away from the focal point
+   * scales out and moving towards it scales in.
+   *
+   * @param currentSpan  vertical span in the current event
+   * @param previousSpan vertical span in the previous event
+   * @param currentY     Y coordinate of the pointer
+   * @param focalY       Y coordinate of the point where the quick scale started
+   * @param multiplier   multiplier of the span change
+   * @return scale factor, or 1 if the previous span is empty
+   */
+  public static float quickScaleFactor(float currentSpan, float previousSpan, float currentY, float focalY,
+                                       float multiplier) {
+    final boolean scaleOut =
+      // below focal point moving up
+      currentY < focalY && currentSpan < previousSpan
+        // above focal point moving up
+        || currentY > focalY && currentSpan > previousSpan;
+    final float spanDiff = Math.abs(1 - (currentSpan / previousSpan)) * multiplier;
+    return previousSpan <= 0 ? 1 : scaleOut ? (1 + spanDiff) : (1 - spanDiff);
+  }
+}
@@ -0,0 +1,194 @@
+package com.mapbox.android.gestures;
+
+import androidx.annotation.UiThread;
+
+/**
+ * Decay of a fling, which carries a value on from the velocity it was released with until it comes to rest.
+ * <ul>
+ * <li>{@link #MODEL_FRICTION} slows the value down exponentially, the velocity decays at a constant rate,</li>
+ * <li>{@link #MODEL_SPLINE} follows the deceleration spline of the platform's {@code OverScroller},
+ * where the distance and the duration of the fling grow with the velocity relative to a physical deceleration
+ * that depends on the pixel density of the display.</li>
+ * </ul>
+ * The friction multiplies the default deceleration of either model. None of the operations allocate.
+ */
+@UiThread
+public final class InertiaDecay {
+
+  public static final int MODEL_FRICTION = 1;
+  public static final int MODEL_SPLINE = 2;
+
+  /**
+   * Rate per second at which the velocity decays in the {@link #MODEL_FRICTION}, with the default friction.
+   */
+  static final float FRICTION_DECAY_RATE = 4.2f;
+  /**
+   * Distance left to travel, in pixels, below which the {@link #MODEL_FRICTION} considers the value to be at rest.
+   */
+  static final float REST_DISTANCE = 0.1f;
+  /**
+   * Friction of the {@link #MODEL_SPLINE} with the default friction, the same as the platform's scroll friction.
+   */
+  static final float SCROLL_FRICTION = 0.015f;
+
+  // constants of the platform's OverScroller
+  private static final float GRAVITY_EARTH = 9.80665f;
+  private static final float INCHES_PER_METER = 39.37f;
+  private static final float DEVICE_FRICTION = 0.84f;
+  private static final float INFLEXION = 0.35f;
+  private static final double DECELERATION_RATE = Math.log(0.78) / Math.log(0.9);
+  private static final float START_TENSION = 0.5f;
+  private static final float END_TENSION = 1.0f;
+  private static final int SPLINE_SAMPLES_COUNT = 100;
+  /**
+   * Fraction of the distance travelled at each sampled fraction of the duration.
+   */
+  private static final float[] SPLINE_POSITIONS = new float[SPLINE_SAMPLES_COUNT + 1];
+
+  static {
+    float p1 = START_TENSION * INFLEXION;
+    float p2 = 1.0f - END_TENSION * (1.0f - INFLEXION);
+    float minX = 0.0f;
+    for (int i = 0; i < SPLINE_SAMPLES_COUNT; i++) {
+      float alpha = (float) i / SPLINE_SAMPLES_COUNT;
+      // bisect the cubic curve for the point where the time reaches alpha
+      float maxX = 1.0f;
+      float x;
+      float coefficient;
+      while (true) {
+        x = minX + (maxX - minX) / 2.0f;
+        coefficient = 3.0f * x * (1.0f - x);
+        float tx = coefficient * ((1.0f - x) * p1 + x * p2) + x * x * x;
+        if (Math.abs(tx - alpha) < 1E-5) {
+          break;
+        }
+        if (tx > alpha) {
+          maxX = x;
+        } else {
+          minX = x;
+        }
+      }
+      SPLINE_POSITIONS[i] = coefficient * ((1.0f - x) * START_TENSION + x) + x * x * x;
+    }
+    SPLINE_POSITIONS[SPLINE_SAMPLES_COUNT] = 1.0f;
+  }
+
+  private final float physicalCoefficient;
+
+  private int model = MODEL_SPLINE;
+  private float velocity;
+  private float decayRate;
+  private float durationMillis;
+  private float distance;
+
+  /**
+   * Creates a decay, at rest.
+   *
+   * @param pixelsPerInch pixel density of the display, which the deceleration of the {@link #MODEL_SPLINE} scales with
+   */
+  public InertiaDecay(float pixelsPerInch) {
+    physicalCoefficient = GRAVITY_EARTH * INCHES_PER_METER * pixelsPerInch * DEVICE_FRICTION;
+  }
+
+  /**
+   * Starts the decay from the passed velocity, at the value 0.
+   *
+   * @param model    {@link #MODEL_FRICTION} or {@link #MODEL_SPLINE}
+   * @param friction multiplier of the default deceleration of the model, greater than 0
+   * @param velocity initial velocity in pixels per second
+   */
+  public void start(int model, float friction, float velocity) {
+    if (model != MODEL_FRICTION && model != MODEL_SPLINE) {
+      throw new IllegalArgumentException("Unknown inertia decay model: " + model);
+    }
+    if (!(friction > 0)) {
+      throw new IllegalArgumentException("Friction has to be greater than 0: " + friction);
+    }
+    this.model = model;
+    this.velocity = velocity;
+    durationMillis = 0;
+    distance = 0;
+    float speed = Math.abs(velocity);
+    if (!(speed > 0) || Float.isInfinite(speed)) {
+      return;
+    }
+
+    if (model == MODEL_FRICTION) {
+      decayRate = FRICTION_DECAY_RATE * friction;
+      float restSpeed = decayRate * REST_DISTANCE;
+      if (speed > restSpeed) {
+        durationMillis = (float) (Math.log(speed / restSpeed) / decayRate * 1000);
+        distance = Math.signum(velocity) * (speed / decayRate - REST_DISTANCE);
+      }
+    } else {
+      double deceleration = SCROLL_FRICTION * friction * physicalCoefficient;
+      double l = Math.log(INFLEXION * speed / deceleration);
+      durationMillis = (float) (1000 * Math.exp(l / (DECELERATION_RATE - 1)));
+      distance = (float) (Math.signum(velocity) * deceleration
+        * Math.exp(DECELERATION_RATE / (DECELERATION_RATE - 1) * l));
+    }
+  }
+
+  /**
+   * Returns the model of the last {@link #start(int, float, float)}.
+   *
+   * @return {@link #MODEL_FRICTION} or {@link #MODEL_SPLINE}
+   */
+  public int getModel() {
+    return model;
+  }
+
+  /**
+   * Returns the time it takes the value to come to rest.
+   *
+   * @return duration in milliseconds
+   */
+  public float getDurationMillis() {
+    return durationMillis;
+  }
+
+  /**
+   * Returns the value at which the decay comes to rest.
+   *
+   * @return total distance in pixels, with the sign of the velocity
+   */
+  public float getDistance() {
+    return distance;
+  }
+
+  /**
+   * Check whether the value came to rest.
+   *
+   * @param elapsedMillis time since the start in milliseconds
+   * @return true if the value is at rest, false otherwise
+   */
+  public boolean isFinished(float elapsedMillis) {
+    return elapsedMillis >= durationMillis;
+  }
+
+  /**
+   * Returns the value some time after the start.
+   *
+   * @param elapsedMillis time since the start in milliseconds
+   * @return distance in pixels, with the sign of the velocity
+   */
+  public float getValue(float elapsedMillis) {
+    if (elapsedMillis >= durationMillis) {
+      return distance;
+    }
+    if (elapsedMillis <= 0) {
+      return 0;
+    }
+
+    if (model == MODEL_FRICTION) {
+      return (float) (velocity / decayRate * (1 - Math.exp(-decayRate * elapsedMillis / 1000)));
+    }
+    float t = elapsedMillis / durationMillis;
+    int index = (int) (SPLINE_SAMPLES_COUNT * t);
+    float startT = (float) index / SPLINE_SAMPLES_COUNT;
+    float startPosition = SPLINE_POSITIONS[index];
+    float endPosition = SPLINE_POSITIONS[index + 1];
+    float position = startPosition + (t - startT) * SPLINE_SAMPLES_COUNT * (endPosition - startPosition);
+    return position * distance;
+  }
+}
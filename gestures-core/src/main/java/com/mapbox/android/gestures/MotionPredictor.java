@@ -0,0 +1,259 @@
+package com.mapbox.android.gestures;
+
+import androidx.annotation.UiThread;
+
+/**
+ * Extrapolates the position of a point a short time ahead of its most recent sample, so that a frame
+ * rendered at the predicted position doesn't lag behind the finger.
+ * <ul>
+ * <li>{@link #STRATEGY_LINEAR} fits a line to the samples of the last {@link #FIT_WINDOW_MILLIS}
+ * and extends it from the most recent sample,</li>
+ * <li>{@link #STRATEGY_KALMAN} runs a constant velocity Kalman filter in its steady state (an alpha-beta filter),
+ * where the residual of every sample corrects both the filtered position and velocity.</li>
+ * </ul>
+ * The predicted displacement is clamped to the distance the point covered over the same time
+ * before its most recent sample, so a point that stops or turns back is not carried past where it was.
+ * None of the operations allocate.
+ */
+@UiThread
+public final class MotionPredictor {
+
+  public static final int STRATEGY_LINEAR = 1;
+  public static final int STRATEGY_KALMAN = 2;
+
+  static final int HISTORY_SIZE = 20;
+  /**
+   * Samples older than this, relative to the most recent one, are not fitted by the linear strategy.
+   */
+  static final long FIT_WINDOW_MILLIS = 50;
+  /**
+   * When no sample arrives for this long, the point is assumed to have stopped and older samples are dropped.
+   */
+  static final long ASSUME_STOPPED_MILLIS = 40;
+  static final double KALMAN_POSITION_GAIN = 0.6;
+  static final double KALMAN_VELOCITY_GAIN = 0.25;
+
+  private final int strategy;
+  private final long[] times = new long[HISTORY_SIZE];
+  private final float[] xs = new float[HISTORY_SIZE];
+  private final float[] ys = new float[HISTORY_SIZE];
+  private int newestIndex = -1;
+  private int size;
+
+  // state of the Kalman filter, velocity in pixels per millisecond
+  private double filteredX;
+  private double filteredY;
+  private double filteredVelocityX;
+  private double filteredVelocityY;
+
+  private float predictedX;
+  private float predictedY;
+
+  /**
+   * Creates a predictor.
+   *
+   * @param strategy {@link #STRATEGY_LINEAR} or {@link #STRATEGY_KALMAN}
+   */
+  public MotionPredictor(int strategy) {
+    if (strategy != STRATEGY_LINEAR && strategy != STRATEGY_KALMAN) {
+      throw new IllegalArgumentException("Unknown motion prediction strategy: " + strategy);
+    }
+    this.strategy = strategy;
+  }
+
+  /**
+   * Returns the strategy of the predictor.
+   *
+   * @return {@link #STRATEGY_LINEAR} or {@link #STRATEGY_KALMAN}
+   */
+  public int getStrategy() {
+    return strategy;
+  }
+
+  /**
+   * Drops all of the samples.
+   */
+  public void clear() {
+    newestIndex = -1;
+    size = 0;
+  }
+
+  /**
+   * Returns whether there are any samples to predict from.
+   *
+   * @return true if no samples were added since the last {@link #clear()}, false otherwise
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Adds a position of the point. Samples have to be added in the order of their times.
+   *
+   * @param timeMillis time of the sample in milliseconds
+   * @param x          X coordinate
+   * @param y          Y coordinate
+   */
+  public void addSample(long timeMillis, float x, float y) {
+    if (size > 0 && timeMillis - times[newestIndex] > ASSUME_STOPPED_MILLIS) {
+      // the point didn't move for a while, the movement before that doesn't carry on
+      clear();
+    }
+
+    if (size == 0) {
+      filteredX = x;
+      filteredY = y;
+      filteredVelocityX = 0;
+      filteredVelocityY = 0;
+    } else {
+      long duration = timeMillis - times[newestIndex];
+      if (size == 1 && duration > 0) {
+        // two-point initialization of the filter
+        filteredVelocityX = (x - filteredX) / duration;
+        filteredVelocityY = (y - filteredY) / duration;
+        filteredX = x;
+        filteredY = y;
+      } else if (duration > 0) {
+        double expectedX = filteredX + filteredVelocityX * duration;
+        double expectedY = filteredY + filteredVelocityY * duration;
+        double residualX = x - expectedX;
+        double residualY = y - expectedY;
+        filteredX = expectedX + KALMAN_POSITION_GAIN * residualX;
+        filteredY = expectedY + KALMAN_POSITION_GAIN * residualY;
+        filteredVelocityX += KALMAN_VELOCITY_GAIN * residualX / duration;
+        filteredVelocityY += KALMAN_VELOCITY_GAIN * residualY / duration;
+      } else {
+        filteredX = x;
+        filteredY = y;
+      }
+    }
+
+    newestIndex = (newestIndex + 1) % HISTORY_SIZE;
+    times[newestIndex] = timeMillis;
+    xs[newestIndex] = x;
+    ys[newestIndex] = y;
+    if (size < HISTORY_SIZE) {
+      size++;
+    }
+  }
+
+  /**
+   * Predicts the position of the point, available with {@link #getPredictedX()} and {@link #getPredictedY()}.
+   *
+   * @param horizonMillis how far ahead of the most recent sample to predict, in milliseconds
+   */
+  public void predict(long horizonMillis) {
+    if (size == 0) {
+      predictedX = 0;
+      predictedY = 0;
+      return;
+    }
+    float newestX = xs[newestIndex];
+    float newestY = ys[newestIndex];
+    predictedX = newestX;
+    predictedY = newestY;
+    if (size < 2 || horizonMillis <= 0) {
+      return;
+    }
+
+    double displacementX;
+    double displacementY;
+    if (strategy == STRATEGY_KALMAN) {
+      displacementX = filteredX + filteredVelocityX * horizonMillis - newestX;
+      displacementY = filteredY + filteredVelocityY * horizonMillis - newestY;
+    } else {
+      int count = countSamplesWithinFitWindow();
+      displacementX = linearVelocity(xs, count) * horizonMillis;
+      displacementY = linearVelocity(ys, count) * horizonMillis;
+    }
+
+    double maxDisplacement = recentDistance(horizonMillis);
+    double displacement = Math.sqrt(displacementX * displacementX + displacementY * displacementY);
+    if (displacement > maxDisplacement) {
+      double ratio = maxDisplacement / displacement;
+      displacementX *= ratio;
+      displacementY *= ratio;
+    }
+    predictedX = (float) (newestX + displacementX);
+    predictedY = (float) (newestY + displacementY);
+  }
+
+  /**
+   * Returns the X coordinate predicted by the last {@link #predict(long)}.
+   *
+   * @return predicted X coordinate
+   */
+  public float getPredictedX() {
+    return predictedX;
+  }
+
+  /**
+   * Returns the Y coordinate predicted by the last {@link #predict(long)}.
+   *
+   * @return predicted Y coordinate
+   */
+  public float getPredictedY() {
+    return predictedY;
+  }
+
+  private int countSamplesWithinFitWindow() {
+    long newestTime = times[newestIndex];
+    int count = 1;
+    while (count < size && newestTime - times[indexOf(count)] <= FIT_WINDOW_MILLIS) {
+      count++;
+    }
+    // a line needs two samples, even if the previous one is a bit older
+    return Math.max(count, 2);
+  }
+
+  /**
+   * Returns the index of the sample that's {@code age} samples older than the most recent one.
+   */
+  private int indexOf(int age) {
+    return (newestIndex - age + HISTORY_SIZE) % HISTORY_SIZE;
+  }
+
+  /**
+   * Returns the slope of the least-squares line through the samples, in pixels per millisecond.
+   */
+  private double linearVelocity(float[] positions, int count) {
+    long newestTime = times[newestIndex];
+    double sumT = 0;
+    double sumP = 0;
+    double sumTT = 0;
+    double sumTP = 0;
+    for (int age = 0; age < count; age++) {
+      int index = indexOf(age);
+      double t = times[index] - newestTime;
+      double p = positions[index];
+      sumT += t;
+      sumP += p;
+      sumTT += t * t;
+      sumTP += t * p;
+    }
+    double determinant = count * sumTT - sumT * sumT;
+    if (determinant <= 0) {
+      return 0;
+    }
+    return (count * sumTP - sumT * sumP) / determinant;
+  }
+
+  /**
+   * Returns the distance the point covered in the last {@code durationMillis} before the most recent sample,
+   * extrapolated at the same average speed when the samples don't go back that far.
+   */
+  private double recentDistance(long durationMillis) {
+    long newestTime = times[newestIndex];
+    int age = 1;
+    while (age < size - 1 && newestTime - times[indexOf(age)] < durationMillis) {
+      age++;
+    }
+    int index = indexOf(age);
+    long elapsed = newestTime - times[index];
+    if (elapsed <= 0) {
+      return 0;
+    }
+    double distance = Math.hypot(xs[newestIndex] - xs[index], ys[newestIndex] - ys[index]);
+    return distance * durationMillis / elapsed;
+  }
+}
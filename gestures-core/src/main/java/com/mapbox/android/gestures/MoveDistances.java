@@ -0,0 +1,81 @@
+package com.mapbox.android.gestures;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.UiThread;
+
+/**
+ * Distances covered by each of the pointers that the move detector follows, indexed by pointer ID.
+ * <p>
+ * This is the per-event bookkeeping of the move detector that doesn't depend on the platform,
+ * run by the detector and by the benchmarks alike. Only starting to measure a pointer allocates.
+ */
+@UiThread
+final class MoveDistances {
+  private final MoveDistancesObject[] moveDistancesObjects =
+    new MoveDistancesObject[PointerIdTracker.MAX_POINTER_ID_COUNT];
+
+  /**
+   * Starts measuring the distances of a pointer from the passed position, replacing the previous measurement.
+   *
+   * @param pointerId pointer's ID
+   * @param x         X coordinate of the start position
+   * @param y         Y coordinate of the start position
+   */
+  void start(int pointerId, float x, float y) {
+    moveDistancesObjects[pointerId] = new MoveDistancesObject(x, y);
+  }
+
+  boolean contains(int pointerId) {
+    return moveDistancesObjects[pointerId] != null;
+  }
+
+  @Nullable
+  MoveDistancesObject get(int pointerId) {
+    return moveDistancesObjects[pointerId];
+  }
+
+  void remove(int pointerId) {
+    moveDistancesObjects[pointerId] = null;
+  }
+
+  void clear() {
+    for (int i = 0; i < moveDistancesObjects.length; i++) {
+      moveDistancesObjects[i] = null;
+    }
+  }
+
+  /**
+   * Adds the current positions of the tracked pointers.
+   *
+   * @param gestureFrame frame already updated with the most recent event
+   * @param pointers     tracked pointers, each of them has to be measured
+   */
+  void update(@NonNull GestureFrame gestureFrame, @NonNull PointerIdTracker pointers) {
+    for (int i = 0; i < pointers.size(); i++) {
+      int pointerId = pointers.get(i);
+      moveDistancesObjects[pointerId].addNewPosition(gestureFrame.getX(pointerId), gestureFrame.getY(pointerId));
+    }
+  }
+
+  /**
+   * Check whether any of the measured pointers moved at least the threshold away from its start position
+   * along either of the axes.
+   *
+   * @param threshold distance in pixels
+   * @return true if any of the pointers crossed the threshold, false otherwise
+   */
+  boolean isAnyAboveThreshold(float threshold) {
+    for (MoveDistancesObject moveDistancesObject : moveDistancesObjects) {
+      if (moveDistancesObject != null && isAboveThreshold(moveDistancesObject, threshold)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  static boolean isAboveThreshold(@NonNull MoveDistancesObject moveDistancesObject, float threshold) {
+    return Math.abs(moveDistancesObject.getDistanceXSinceStart()) >= threshold
+      || Math.abs(moveDistancesObject.getDistanceYSinceStart()) >= threshold;
+  }
+}
@@ -0,0 +1,206 @@
+package com.mapbox.android.gestures;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.UiThread;
+
+/**
+ * Pointers tracked by a multi finger detector and the distances between them, updated with every event.
+ * <p>
+ * This is the per-event bookkeeping of the multi finger detectors that doesn't depend on the platform,
+ * run by the detectors and by the benchmarks alike. None of the operations allocate.
+ */
+@UiThread
+final class MultiFingerPointers {
+
+  /**
+   * Holds IDs of currently active pointers in an order of activation.
+   */
+  final PointerIdTracker pointerIdList = new PointerIdTracker();
+  final PointerDistancesMatrix pointersDistanceMatrix = new PointerDistancesMatrix();
+  private final PermittedActionsGuard permittedActionsGuard = new PermittedActionsGuard();
+
+  /**
+   * Caches the indices of the pointers in the most recent event and checks whether the event
+   * follows the tracked pointers.
+   *
+   * @param touchSample the most recent event
+   * @return true if some events were not passed to the detector before this one, false otherwise
+   */
+  boolean updateEventIndices(@NonNull TouchSample touchSample) {
+    int action = touchSample.getActionMasked();
+    pointerIdList.updateEventIndices(touchSample);
+    return permittedActionsGuard.isMissingActions(action, touchSample.getPointerCount(), pointerIdList.size())
+      || (action == TouchSample.ACTION_MOVE && isMissingPointers());
+  }
+
+  /**
+   * Starts tracking the pointer that went down, or stops tracking the pointer that went up.
+   *
+   * @param touchSample the most recent event
+   */
+  void updatePointers(@NonNull TouchSample touchSample) {
+    int action = touchSample.getActionMasked();
+    if (action == TouchSample.ACTION_DOWN || action == TouchSample.ACTION_POINTER_DOWN) {
+      pointerIdList.add(touchSample.getPointerId(touchSample.getActionIndex()));
+    } else if (action == TouchSample.ACTION_UP || action == TouchSample.ACTION_POINTER_UP) {
+      pointerIdList.remove(touchSample.getPointerId(touchSample.getActionIndex()));
+    }
+  }
+
+  /**
+   * Picks up the pointers that are still down in an order of their indices, after the detector
+   * didn't follow the events for a while.
+   *
+   * @param touchSample the most recent event
+   */
+  void resume(@NonNull TouchSample touchSample) {
+    clear();
+    int action = touchSample.getActionMasked();
+    if (action == TouchSample.ACTION_DOWN) {
+      // new gesture, the event will be tracked as usual
+      return;
+    }
+
+    pointerIdList.updateEventIndices(touchSample);
+    if (action != TouchSample.ACTION_CANCEL) {
+      boolean isPointerUp = action == TouchSample.ACTION_UP || action == TouchSample.ACTION_POINTER_UP;
+      for (int i = 0; i < touchSample.getPointerCount(); i++) {
+        if (!isPointerUp || i != touchSample.getActionIndex()) {
+          pointerIdList.add(touchSample.getPointerId(i));
+        }
+      }
+    }
+  }
+
+  /**
+   * Stops tracking all of the pointers.
+   */
+  void clear() {
+    pointerIdList.clear();
+    pointersDistanceMatrix.reset(0);
+  }
+
+  /**
+   * Check whether the event is a movement of at least the passed number of tracked pointers.
+   *
+   * @param touchSample           the most recent event
+   * @param requiredPointersCount pointers needed by the detector
+   * @return true if the movement can be analyzed, false otherwise
+   */
+  boolean isMovement(@NonNull TouchSample touchSample, int requiredPointersCount) {
+    return touchSample.getActionMasked() == TouchSample.ACTION_MOVE && pointerIdList.size() >= requiredPointersCount;
+  }
+
+  /**
+   * Updates the distances between each pair of the tracked pointers.
+   *
+   * @param gestureFrame frame already updated with the most recent event
+   */
+  void calculateDistances(@NonNull GestureFrame gestureFrame) {
+    pointersDistanceMatrix.reset(pointerIdList.size());
+    for (int i = 0; i < pointerIdList.size(); i++) {
+      int pointerId = pointerIdList.get(i);
+      pointersDistanceMatrix.setPointer(i,
+        gestureFrame.getPreviousX(pointerId), gestureFrame.getPreviousY(pointerId),
+        gestureFrame.getX(pointerId), gestureFrame.getY(pointerId));
+    }
+    pointersDistanceMatrix.calculate();
+  }
+
+  /**
+   * Check whether any of the tracked pointers is in the passed mask,
+   * see {@link GestureFrame#getEdgePointerIdsMask(float, int, int)}.
+   *
+   * @param pointerIdsMask bit mask where a bit at position of a pointer's ID is set
+   * @return true if any of the tracked pointers is in the mask, false otherwise
+   */
+  boolean isAnyPointerIn(int pointerIdsMask) {
+    for (int i = 0; i < pointerIdList.size(); i++) {
+      if ((pointerIdsMask & (1 << pointerIdList.get(i))) != 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns the rotation of the line between the two oldest tracked pointers since the previous event,
+   * see {@link GestureMath#rotationDegrees(float, float, float, float)}.
+   * The distances have to be calculated for the event first.
+   *
+   * @return rotation in degrees
+   */
+  float getFirstPairRotationDegrees() {
+    return GestureMath.rotationDegrees(
+      pointersDistanceMatrix.getPrevFingersDiffX(0, 1), pointersDistanceMatrix.getPrevFingersDiffY(0, 1),
+      pointersDistanceMatrix.getCurrFingersDiffX(0, 1), pointersDistanceMatrix.getCurrFingersDiffY(0, 1));
+  }
+
+  /**
+   * Check whether the line between the two oldest tracked pointers is horizontal within the tolerance,
+   * see {@link GestureMath#isHorizontalWithinTolerance(float, float, double)}.
+   * The distances have to be calculated for the event first.
+   *
+   * @param axisTolerance tolerance from {@link GestureMath#axisTolerance(float)}
+   * @return true if the line is horizontal within the tolerance, false otherwise
+   */
+  boolean isFirstPairHorizontal(double axisTolerance) {
+    return GestureMath.isHorizontalWithinTolerance(
+      pointersDistanceMatrix.getCurrFingersDiffX(0, 1), pointersDistanceMatrix.getCurrFingersDiffY(0, 1),
+      axisTolerance);
+  }
+
+  /**
+   * Check whether the line between the two oldest tracked pointers is vertical within the tolerance,
+   * see {@link GestureMath#isVerticalWithinTolerance(float, float, double)}.
+   * The distances have to be calculated for the event first.
+   *
+   * @param axisTolerance tolerance from {@link GestureMath#axisTolerance(float)}
+   * @return true if the line is vertical within the tolerance, false otherwise
+   */
+  boolean isFirstPairVertical(double axisTolerance) {
+    return GestureMath.isVerticalWithinTolerance(
+      pointersDistanceMatrix.getCurrFingersDiffX(0, 1), pointersDistanceMatrix.getCurrFingersDiffY(0, 1),
+      axisTolerance);
+  }
+
+  /**
+   * Returns the change of the mean X coordinate of the two oldest tracked pointers since the previous event.
+   *
+   * @param gestureFrame frame already updated with the most recent event
+   * @return change in pixels
+   */
+  float getFirstPairDeltaX(@NonNull GestureFrame gestureFrame) {
+    int firstPointerId = pointerIdList.get(0);
+    int secondPointerId = pointerIdList.get(1);
+    float prevAverageX =
+      (gestureFrame.getPreviousX(firstPointerId) + gestureFrame.getPreviousX(secondPointerId)) / 2.0f;
+    float currAverageX = (gestureFrame.getX(firstPointerId) + gestureFrame.getX(secondPointerId)) / 2.0f;
+    return currAverageX - prevAverageX;
+  }
+
+  /**
+   * Returns the change of the mean Y coordinate of the two oldest tracked pointers since the previous event.
+   *
+   * @param gestureFrame frame already updated with the most recent event
+   * @return change in pixels
+   */
+  float getFirstPairDeltaY(@NonNull GestureFrame gestureFrame) {
+    int firstPointerId = pointerIdList.get(0);
+    int secondPointerId = pointerIdList.get(1);
+    float prevAverageY =
+      (gestureFrame.getPreviousY(firstPointerId) + gestureFrame.getPreviousY(secondPointerId)) / 2.0f;
+    float currAverageY = (gestureFrame.getY(firstPointerId) + gestureFrame.getY(secondPointerId)) / 2.0f;
+    return currAverageY - prevAverageY;
+  }
+
+  private boolean isMissingPointers() {
+    for (int i = 0; i < pointerIdList.size(); i++) {
+      boolean hasPointer = pointerIdList.getCurrentEventIndex(pointerIdList.get(i)) != -1;
+      if (!hasPointer) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,144 @@
+package com.mapbox.android.gestures;
+
+/**
+ * Reusable {@link TouchSample} that is filled in by hand, for feeding the recognition logic without a platform.
+ * <p>
+ * Holds up to 32 pointers, as many as there are pointer IDs. None of the operations allocate.
+ */
+public final class MutableTouchSample implements TouchSample {
+  private static final int MAX_POINTERS_COUNT = PointerIdTracker.MAX_POINTER_ID_COUNT;
+
+  private final int[] pointerIds = new int[MAX_POINTERS_COUNT];
+  private final float[] xs = new float[MAX_POINTERS_COUNT];
+  private final float[] ys = new float[MAX_POINTERS_COUNT];
+  private final float[] pressures = new float[MAX_POINTERS_COUNT];
+  private int pointerCount;
+  private int actionMasked;
+  private int actionIndex;
+  private long eventTime;
+  private float rawOffsetX;
+  private float rawOffsetY;
+
+  /**
+   * Starts a new sample, dropping all of the pointers and the raw offset.
+   *
+   * @param actionMasked one of the action constants
+   * @param actionIndex  index of the pointer the action relates to
+   * @param eventTime    time in milliseconds
+   * @return this sample
+   */
+  public MutableTouchSample set(int actionMasked, int actionIndex, long eventTime) {
+    this.actionMasked = actionMasked;
+    this.actionIndex = actionIndex;
+    this.eventTime = eventTime;
+    pointerCount = 0;
+    rawOffsetX = 0;
+    rawOffsetY = 0;
+    return this;
+  }
+
+  /**
+   * Adds a pointer with the full pressure.
+   *
+   * @param pointerId pointer's ID
+   * @param x         X coordinate
+   * @param y         Y coordinate
+   * @return this sample
+   * @throws IllegalStateException if the sample is full
+   */
+  public MutableTouchSample addPointer(int pointerId, float x, float y) {
+    return addPointer(pointerId, x, y, 1f);
+  }
+
+  /**
+   * Adds a pointer.
+   *
+   * @param pointerId pointer's ID
+   * @param x         X coordinate
+   * @param y         Y coordinate
+   * @param pressure  pressure of the pointer
+   * @return this sample
+   * @throws IllegalStateException if the sample is full
+   */
+  public MutableTouchSample addPointer(int pointerId, float x, float y, float pressure) {
+    if (pointerCount == MAX_POINTERS_COUNT) {
+      throw new IllegalStateException("Sample can hold up to " + MAX_POINTERS_COUNT + " pointers.");
+    }
+    pointerIds[pointerCount] = pointerId;
+    xs[pointerCount] = x;
+    ys[pointerCount] = y;
+    pressures[pointerCount] = pressure;
+    pointerCount++;
+    return this;
+  }
+
+  /**
+   * Sets the offset between the raw and the sample's coordinates.
+   *
+   * @param rawOffsetX X offset
+   * @param rawOffsetY Y offset
+   * @return this sample
+   */
+  public MutableTouchSample setRawOffset(float rawOffsetX, float rawOffsetY) {
+    this.rawOffsetX = rawOffsetX;
+    this.rawOffsetY = rawOffsetY;
+    return this;
+  }
+
+  @Override
+  public int getActionMasked() {
+    return actionMasked;
+  }
+
+  @Override
+  public int getActionIndex() {
+    return actionIndex;
+  }
+
+  @Override
+  public long getEventTime() {
+    return eventTime;
+  }
+
+  @Override
+  public int getPointerCount() {
+    return pointerCount;
+  }
+
+  @Override
+  public int getPointerId(int pointerIndex) {
+    return pointerIds[checkIndex(pointerIndex)];
+  }
+
+  @Override
+  public float getX(int pointerIndex) {
+    return xs[checkIndex(pointerIndex)];
+  }
+
+  @Override
+  public float getY(int pointerIndex) {
+    return ys[checkIndex(pointerIndex)];
+  }
+
+  @Override
+  public float getPressure(int pointerIndex) {
+    return pressures[checkIndex(pointerIndex)];
+  }
+
+  @Override
+  public float getRawOffsetX() {
+    return rawOffsetX;
+  }
+
+  @Override
+  public float getRawOffsetY() {
+    return rawOffsetY;
+  }
+
+  private int checkIndex(int pointerIndex) {
+    if (pointerIndex < 0 || pointerIndex >= pointerCount) {
+      throw new IndexOutOfBoundsException("Index: " + pointerIndex + ", Size: " + pointerCount);
+    }
+    return pointerIndex;
+  }
+}
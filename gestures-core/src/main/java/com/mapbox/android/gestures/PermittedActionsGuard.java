@@ -1,7 +1,6 @@
 package com.mapbox.android.gestures;
 
 import androidx.annotation.IntRange;
-import android.view.MotionEvent;
 
 class PermittedActionsGuard {
 
@@ -38,17 +37,17 @@ class PermittedActionsGuard {
   }
 
   /**
-   * Returns all acceptable at this point MotionEvent actions based on the pointers state.
+   * Returns all acceptable at this point touch actions based on the pointers state.
    * Each one of them is written on {@link #BITS_PER_PERMITTED_ACTION} successive bits.
    */
   private long updatePermittedActions(@IntRange(from = 0) int eventPointerCount,
                                       @IntRange(from = 0) int internalPointerCount) {
-    long permittedActions = MotionEvent.ACTION_DOWN;
+    long permittedActions = TouchSample.ACTION_DOWN;
 
     if (internalPointerCount == 0) {
       // only ACTION_DOWN available when no other pointers registered
       permittedActions = permittedActions << BITS_PER_PERMITTED_ACTION;
-      permittedActions += MotionEvent.ACTION_DOWN;
+      permittedActions += TouchSample.ACTION_DOWN;
     } else {
       if (Math.abs(eventPointerCount - internalPointerCount) > 1) {
         // missing a pointer up/down event, required to start over
@@ -57,7 +56,7 @@ class PermittedActionsGuard {
         if (eventPointerCount > internalPointerCount) {
           // event holds one more pointer than we have locally
           permittedActions = permittedActions << BITS_PER_PERMITTED_ACTION;
-          permittedActions += MotionEvent.ACTION_POINTER_DOWN;
+          permittedActions += TouchSample.ACTION_POINTER_DOWN;
         } else if (eventPointerCount < internalPointerCount) {
           // event holds one less pointer than we have locally. This indicates that we are missing events,
           // because ACTION_UP and ACTION_POINTER_UP events still return not decremented pointer count
@@ -66,13 +65,13 @@ class PermittedActionsGuard {
           // event holds an equal number of pointers compared to the local count
           if (eventPointerCount == 1) {
             permittedActions = permittedActions << BITS_PER_PERMITTED_ACTION;
-            permittedActions += MotionEvent.ACTION_UP;
+            permittedActions += TouchSample.ACTION_UP;
           } else {
             permittedActions = permittedActions << BITS_PER_PERMITTED_ACTION;
-            permittedActions += MotionEvent.ACTION_POINTER_UP;
+            permittedActions += TouchSample.ACTION_POINTER_UP;
           }
           permittedActions = permittedActions << BITS_PER_PERMITTED_ACTION;
-          permittedActions += MotionEvent.ACTION_MOVE;
+          permittedActions += TouchSample.ACTION_MOVE;
         }
       }
     }
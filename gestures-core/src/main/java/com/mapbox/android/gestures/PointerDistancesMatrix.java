@@ -0,0 +1,309 @@
+package com.mapbox.android.gestures;
+
+import androidx.annotation.UiThread;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Preallocated triangular matrix that holds pixel current and previous distances between each pair of fingers.
+ * <p>
+ * Pointers are addressed by their index in the order of activation, see {@link PointerIdTracker}.
+ * The X and Y distances of a pair are always measured from the pointer activated earlier
+ * to the pointer activated later, which means that the order of parameters is irrelevant.
+ * None of the operations allocate.
+ * <p>
+ * When lazy mode is enabled, only positions of the pointers are stored with each event
+ * and the distances of a pair are calculated the first time they are requested.
+ * The calculated values are cached until the next event.
+ */
+@UiThread
+public final class PointerDistancesMatrix {
+
+  static final int MAX_PAIRS_COUNT =
+    PointerIdTracker.MAX_POINTER_ID_COUNT * (PointerIdTracker.MAX_POINTER_ID_COUNT - 1) / 2;
+
+  private final float[] prevFingersDiffX = new float[MAX_PAIRS_COUNT];
+  private final float[] prevFingersDiffY = new float[MAX_PAIRS_COUNT];
+  private final float[] currFingersDiffX = new float[MAX_PAIRS_COUNT];
+  private final float[] currFingersDiffY = new float[MAX_PAIRS_COUNT];
+  private final float[] prevFingersDiffXY = new float[MAX_PAIRS_COUNT];
+  private final float[] currFingersDiffXY = new float[MAX_PAIRS_COUNT];
+
+  private final float[] prevX = new float[PointerIdTracker.MAX_POINTER_ID_COUNT];
+  private final float[] prevY = new float[PointerIdTracker.MAX_POINTER_ID_COUNT];
+  private final float[] currX = new float[PointerIdTracker.MAX_POINTER_ID_COUNT];
+  private final float[] currY = new float[PointerIdTracker.MAX_POINTER_ID_COUNT];
+
+  /**
+   * Event generation in which the X and Y distances, and the lengths respectively, of each pair were calculated.
+   */
+  private final int[] diffGenerations = new int[MAX_PAIRS_COUNT];
+  private final int[] lengthGenerations = new int[MAX_PAIRS_COUNT];
+  private int generation;
+  private int calculatedDiffsCount;
+  private int calculatedLengthsCount;
+  private long skippedDiffsCount;
+  private long skippedLengthsCount;
+
+  private int pointersCount;
+  private boolean lazy = true;
+
+  PointerDistancesMatrix() {
+  }
+
+  /**
+   * Returns the number of pointers whose distances are held by this matrix.
+   *
+   * @return number of pointers
+   */
+  public int getPointersCount() {
+    return pointersCount;
+  }
+
+  /**
+   * Returns the number of pointer pairs whose distances are held by this matrix.
+   *
+   * @return number of pairs
+   */
+  public int getPairsCount() {
+    return pointersCount * (pointersCount - 1) / 2;
+  }
+
+  /**
+   * Returns previous X distance between pointers in pixels.
+   *
+   * @param firstPointerIndex  one of pointers indexes
+   * @param secondPointerIndex one of pointers indexes
+   * @return Previous X distance between pointers in pixels.
+   */
+  public float getPrevFingersDiffX(int firstPointerIndex, int secondPointerIndex) {
+    return prevFingersDiffX[ensureDiff(firstPointerIndex, secondPointerIndex)];
+  }
+
+  /**
+   * Returns previous Y distance between pointers in pixels.
+   *
+   * @param firstPointerIndex  one of pointers indexes
+   * @param secondPointerIndex one of pointers indexes
+   * @return Previous Y distance between pointers in pixels.
+   */
+  public float getPrevFingersDiffY(int firstPointerIndex, int secondPointerIndex) {
+    return prevFingersDiffY[ensureDiff(firstPointerIndex, secondPointerIndex)];
+  }
+
+  /**
+   * Returns current X distance between pointers in pixels.
+   *
+   * @param firstPointerIndex  one of pointers indexes
+   * @param secondPointerIndex one of pointers indexes
+   * @return Current X distance between pointers in pixels.
+   */
+  public float getCurrFingersDiffX(int firstPointerIndex, int secondPointerIndex) {
+    return currFingersDiffX[ensureDiff(firstPointerIndex, secondPointerIndex)];
+  }
+
+  /**
+   * Returns current Y distance between pointers in pixels.
+   *
+   * @param firstPointerIndex  one of pointers indexes
+   * @param secondPointerIndex one of pointers indexes
+   * @return Current Y distance between pointers in pixels.
+   */
+  public float getCurrFingersDiffY(int firstPointerIndex, int secondPointerIndex) {
+    return currFingersDiffY[ensureDiff(firstPointerIndex, secondPointerIndex)];
+  }
+
+  /**
+   * Returns previous distance between pointers in pixels.
+   *
+   * @param firstPointerIndex  one of pointers indexes
+   * @param secondPointerIndex one of pointers indexes
+   * @return Previous distance between pointers in pixels.
+   */
+  public float getPrevFingersDiffXY(int firstPointerIndex, int secondPointerIndex) {
+    return prevFingersDiffXY[ensureLength(firstPointerIndex, secondPointerIndex)];
+  }
+
+  /**
+   * Returns current distance between pointers in pixels.
+   *
+   * @param firstPointerIndex  one of pointers indexes
+   * @param secondPointerIndex one of pointers indexes
+   * @return Current distance between pointers in pixels.
+   */
+  public float getCurrFingersDiffXY(int firstPointerIndex, int secondPointerIndex) {
+    return currFingersDiffXY[ensureLength(firstPointerIndex, secondPointerIndex)];
+  }
+
+  /**
+   * Returns the number of pairs whose X and Y distances were not calculated
+   * because they were never requested during the event they belonged to.
+   * <p>
+   * The pairs of the most recent event are counted only once the next event arrives.
+   *
+   * @return number of skipped pairs
+   */
+  public long getSkippedPairsCount() {
+    return skippedDiffsCount;
+  }
+
+  /**
+   * Returns the number of pairs whose distance lengths (and the square roots they require) were not calculated
+   * because they were never requested during the event they belonged to.
+   * <p>
+   * The pairs of the most recent event are counted only once the next event arrives.
+   *
+   * @return number of skipped lengths
+   */
+  public long getSkippedLengthsCount() {
+    return skippedLengthsCount;
+  }
+
+  /**
+   * Returns whether distances are calculated only when requested.
+   *
+   * @return true if lazy mode is enabled, false if all distances are calculated with each event
+   */
+  public boolean isLazy() {
+    return lazy;
+  }
+
+  void setLazy(boolean lazy) {
+    this.lazy = lazy;
+  }
+
+  /**
+   * Clears the matrix and sets the number of pointers whose distances are going to be held.
+   *
+   * @param pointersCount number of pointers
+   */
+  void reset(int pointersCount) {
+    int pairsCount = getPairsCount();
+    skippedDiffsCount += pairsCount - calculatedDiffsCount;
+    skippedLengthsCount += pairsCount - calculatedLengthsCount;
+    calculatedDiffsCount = 0;
+    calculatedLengthsCount = 0;
+
+    generation++;
+    if (generation == 0) {
+      // the stamps wrapped around, make sure none of them is mistaken for the current generation
+      Arrays.fill(diffGenerations, 0);
+      Arrays.fill(lengthGenerations, 0);
+      generation = 1;
+    }
+
+    this.pointersCount = Math.max(0, Math.min(pointersCount, PointerIdTracker.MAX_POINTER_ID_COUNT));
+  }
+
+  /**
+   * Stores previous and current position of a pointer, distances of its pairs are calculated from those.
+   */
+  void setPointer(int pointerIndex, float prevX, float prevY, float currX, float currY) {
+    this.prevX[pointerIndex] = prevX;
+    this.prevY[pointerIndex] = prevY;
+    this.currX[pointerIndex] = currX;
+    this.currY[pointerIndex] = currY;
+  }
+
+  /**
+   * Calculates distances of all pairs, unless the matrix is lazy.
+   * Should be called after all positions of the current event are set.
+   */
+  void calculate() {
+    if (lazy) {
+      return;
+    }
+    for (int i = 0; i < pointersCount - 1; i++) {
+      for (int j = i + 1; j < pointersCount; j++) {
+        ensureLength(i, j);
+      }
+    }
+  }
+
+  void set(int firstPointerIndex, int secondPointerIndex,
+           float prevFingersDiffX, float prevFingersDiffY,
+           float currFingersDiffX, float currFingersDiffY) {
+    int pairIndex = getPairIndex(firstPointerIndex, secondPointerIndex);
+    setDiff(pairIndex, prevFingersDiffX, prevFingersDiffY, currFingersDiffX, currFingersDiffY);
+    setLength(pairIndex);
+  }
+
+  /**
+   * Returns whether the current distance between any pair of pointers is below the threshold.
+   * Compares squared distances, so the lengths don't have to be calculated.
+   */
+  boolean isAnyCurrentSpanBelow(float threshold) {
+    if (threshold <= 0) {
+      return false;
+    }
+    float thresholdSquared = threshold * threshold;
+    for (int i = 0; i < pointersCount - 1; i++) {
+      for (int j = i + 1; j < pointersCount; j++) {
+        int pairIndex = ensureDiff(i, j);
+        float diffX = currFingersDiffX[pairIndex];
+        float diffY = currFingersDiffY[pairIndex];
+        if (diffX * diffX + diffY * diffY < thresholdSquared) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  private int ensureDiff(int firstPointerIndex, int secondPointerIndex) {
+    int pairIndex = getPairIndex(firstPointerIndex, secondPointerIndex);
+    if (diffGenerations[pairIndex] != generation) {
+      int lower = Math.min(firstPointerIndex, secondPointerIndex);
+      int higher = Math.max(firstPointerIndex, secondPointerIndex);
+      setDiff(pairIndex,
+        prevX[higher] - prevX[lower], prevY[higher] - prevY[lower],
+        currX[higher] - currX[lower], currY[higher] - currY[lower]);
+    }
+    return pairIndex;
+  }
+
+  private int ensureLength(int firstPointerIndex, int secondPointerIndex) {
+    int pairIndex = ensureDiff(firstPointerIndex, secondPointerIndex);
+    if (lengthGenerations[pairIndex] != generation) {
+      setLength(pairIndex);
+    }
+    return pairIndex;
+  }
+
+  private void setDiff(int pairIndex,
+                       float prevFingersDiffX, float prevFingersDiffY,
+                       float currFingersDiffX, float currFingersDiffY) {
+    this.prevFingersDiffX[pairIndex] = prevFingersDiffX;
+    this.prevFingersDiffY[pairIndex] = prevFingersDiffY;
+    this.currFingersDiffX[pairIndex] = currFingersDiffX;
+    this.currFingersDiffY[pairIndex] = currFingersDiffY;
+    if (diffGenerations[pairIndex] != generation) {
+      diffGenerations[pairIndex] = generation;
+      calculatedDiffsCount++;
+    }
+  }
+
+  private void setLength(int pairIndex) {
+    float prevDiffX = prevFingersDiffX[pairIndex];
+    float prevDiffY = prevFingersDiffY[pairIndex];
+    float currDiffX = currFingersDiffX[pairIndex];
+    float currDiffY = currFingersDiffY[pairIndex];
+    prevFingersDiffXY[pairIndex] = (float) Math.sqrt(prevDiffX * prevDiffX + prevDiffY * prevDiffY);
+    currFingersDiffXY[pairIndex] = (float) Math.sqrt(currDiffX * currDiffX + currDiffY * currDiffY);
+    if (lengthGenerations[pairIndex] != generation) {
+      lengthGenerations[pairIndex] = generation;
+      calculatedLengthsCount++;
+    }
+  }
+
+  private int getPairIndex(int firstPointerIndex, int secondPointerIndex) {
+    if (firstPointerIndex == secondPointerIndex || firstPointerIndex < 0 || secondPointerIndex < 0
+      || firstPointerIndex >= pointersCount || secondPointerIndex >= pointersCount) {
+      throw new NoSuchElementException("There is no such pair of pointers!");
+    }
+    int lower = Math.min(firstPointerIndex, secondPointerIndex);
+    int higher = Math.max(firstPointerIndex, secondPointerIndex);
+    return higher * (higher - 1) / 2 + lower;
+  }
+}
@@ -0,0 +1,154 @@
+package com.mapbox.android.gestures;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.UiThread;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-capacity holder of active pointer IDs, kept in an order of activation.
+ * First element is the oldest active pointer and last element is the most recently activated pointer.
+ * <p>
+ * Next to the order of activation it caches the indices of the tracked pointers in the current and previous
+ * {@link TouchSample}, so that the lookups don't have to go through all of the sample's pointers.
+ * None of the operations allocate.
+ */
+@UiThread
+public final class PointerIdTracker {
+
+  /**
+   * Android assigns pointer IDs from the 0..31 range.
+   */
+  static final int MAX_POINTER_ID_COUNT = 32;
+
+  private final int[] pointerIds = new int[MAX_POINTER_ID_COUNT];
+  private int size;
+
+  private int[] currentEventIndices = new int[MAX_POINTER_ID_COUNT];
+  private int[] previousEventIndices = new int[MAX_POINTER_ID_COUNT];
+
+  PointerIdTracker() {
+    Arrays.fill(currentEventIndices, -1);
+    Arrays.fill(previousEventIndices, -1);
+  }
+
+  /**
+   * Returns the number of active pointers.
+   *
+   * @return number of active pointers
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Check whether there are no active pointers.
+   *
+   * @return true if there are no active pointers, false otherwise
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Returns the ID of a pointer held under the passed index.
+   *
+   * @param index index in the order of activation
+   * @return pointer's ID
+   * @throws IndexOutOfBoundsException if there's no pointer under the passed index
+   */
+  public int get(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+    return pointerIds[index];
+  }
+
+  /**
+   * Returns the index of a pointer in the order of activation.
+   *
+   * @param pointerId pointer's ID
+   * @return index in the order of activation, or -1 if the pointer is not active
+   */
+  public int indexOf(int pointerId) {
+    for (int i = 0; i < size; i++) {
+      if (pointerIds[i] == pointerId) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Check whether a pointer is active.
+   *
+   * @param pointerId pointer's ID
+   * @return true if the pointer is active, false otherwise
+   */
+  public boolean contains(int pointerId) {
+    return indexOf(pointerId) != -1;
+  }
+
+  /**
+   * Returns the index of a pointer in the most recent {@link TouchSample}.
+   *
+   * @param pointerId pointer's ID
+   * @return index of the pointer in the event, or -1 if the event doesn't contain the pointer
+   */
+  public int getCurrentEventIndex(int pointerId) {
+    return isValidPointerId(pointerId) ? currentEventIndices[pointerId] : -1;
+  }
+
+  /**
+   * Returns the index of a pointer in the previous {@link TouchSample}.
+   *
+   * @param pointerId pointer's ID
+   * @return index of the pointer in the event, or -1 if the event doesn't contain the pointer
+   */
+  public int getPreviousEventIndex(int pointerId) {
+    return isValidPointerId(pointerId) ? previousEventIndices[pointerId] : -1;
+  }
+
+  void add(int pointerId) {
+    if (size < pointerIds.length && isValidPointerId(pointerId)) {
+      pointerIds[size++] = pointerId;
+    }
+  }
+
+  boolean remove(int pointerId) {
+    int index = indexOf(pointerId);
+    if (index == -1) {
+      return false;
+    }
+    System.arraycopy(pointerIds, index + 1, pointerIds, index, size - index - 1);
+    size--;
+    return true;
+  }
+
+  void clear() {
+    size = 0;
+  }
+
+  /**
+   * Caches indices of all the pointers in the passed event, moving the currently cached indices to previous.
+   *
+   * @param touchSample the most recent event
+   */
+  void updateEventIndices(@NonNull TouchSample touchSample) {
+    int[] indices = previousEventIndices;
+    previousEventIndices = currentEventIndices;
+    currentEventIndices = indices;
+
+    Arrays.fill(currentEventIndices, -1);
+    for (int i = 0; i < touchSample.getPointerCount(); i++) {
+      int pointerId = touchSample.getPointerId(i);
+      if (isValidPointerId(pointerId)) {
+        currentEventIndices[pointerId] = i;
+      }
+    }
+  }
+
+  private static boolean isValidPointerId(int pointerId) {
+    return pointerId >= 0 && pointerId < MAX_POINTER_ID_COUNT;
+  }
+}
@@ -0,0 +1,143 @@
+package com.mapbox.android.gestures;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.UiThread;
+
+/**
+ * Span of the tracked pointers that the scale detector follows, and the scale factor between two spans.
+ * <p>
+ * The span is calculated in one of three modes: around the focal point of the frame, as twice the mean
+ * deviation from the focal point (the centroid span), or around the focal point of a quick scale,
+ * where only the vertical span counts. None of the operations allocate.
+ */
+@UiThread
+final class ScaleSpan {
+  /**
+   * Multiplier of the quick scale factor, the quick scale is slowed down compared to the pinch.
+   */
+  static final float QUICK_SCALE_MULTIPLIER = 0.5f;
+
+  private float spanX;
+  private float spanY;
+  private float span;
+
+  /**
+   * Calculates the span as twice the sum of deviations of the tracked pointers from the focal point of the frame,
+   * which the frame shares with all of the detectors.
+   *
+   * @param gestureFrame frame already updated with the most recent event
+   */
+  void calculate(@NonNull GestureFrame gestureFrame) {
+    spanX = gestureFrame.getSpanX();
+    spanY = gestureFrame.getSpanY();
+    span = (float) Math.hypot(spanX, spanY);
+  }
+
+  /**
+   * Calculates the span as twice the mean deviation of the tracked pointers from the focal point of the frame,
+   * in a single pass over the pointers. For two pointers, it's the distance between them.
+   *
+   * @param gestureFrame frame already updated with the most recent event
+   * @param pointers     tracked pointers
+   */
+  void calculateCentroid(@NonNull GestureFrame gestureFrame, @NonNull PointerIdTracker pointers) {
+    float focalX = gestureFrame.getFocalX();
+    float focalY = gestureFrame.getFocalY();
+    float deviationSumX = 0;
+    float deviationSumY = 0;
+    int pointersCount = pointers.size();
+    for (int i = 0; i < pointersCount; i++) {
+      int pointerId = pointers.get(i);
+      deviationSumX += Math.abs(gestureFrame.getX(pointerId) - focalX);
+      deviationSumY += Math.abs(gestureFrame.getY(pointerId) - focalY);
+    }
+    spanX = pointersCount > 0 ? deviationSumX / pointersCount * 2 : 0;
+    spanY = pointersCount > 0 ? deviationSumY / pointersCount * 2 : 0;
+    span = (float) Math.sqrt(spanX * spanX + spanY * spanY);
+  }
+
+  /**
+   * Calculates the span of a quick scale, twice the sum of deviations of the tracked pointers
+   * from the point of the double tap. Only the vertical span counts.
+   *
+   * @param gestureFrame frame already updated with the most recent event
+   * @param pointers     tracked pointers
+   * @param focalX       X coordinate of the double tap
+   * @param focalY       Y coordinate of the double tap
+   */
+  void calculateQuickScale(@NonNull GestureFrame gestureFrame, @NonNull PointerIdTracker pointers,
+                           float focalX, float focalY) {
+    spanX = 0;
+    spanY = 0;
+    for (int i = 0; i < pointers.size(); i++) {
+      int pointerId = pointers.get(i);
+      spanX += Math.abs(gestureFrame.getX(pointerId) - focalX);
+      spanY += Math.abs(gestureFrame.getY(pointerId) - focalY);
+    }
+    spanX *= 2;
+    spanY *= 2;
+    span = spanY;
+  }
+
+  float getSpanX() {
+    return spanX;
+  }
+
+  float getSpanY() {
+    return spanY;
+  }
+
+  float getSpan() {
+    return span;
+  }
+
+  /**
+   * Returns the scale factor between two spans,
+   * see {@link GestureMath#scaleFactor(float, float)} and {@link GestureMath#quickScaleFactor}.
+   *
+   * @param isQuickScale     true if the spans are the spans of a quick scale
+   * @param currentSpan      current span
+   * @param previousSpan     previous span
+   * @param currentY         Y coordinate of the first pointer in the event, only used by the quick scale
+   * @param quickScaleFocalY Y coordinate of the double tap, only used by the quick scale
+   * @return scale factor
+   */
+  static float scaleFactor(boolean isQuickScale, float currentSpan, float previousSpan, float currentY,
+                           float quickScaleFocalY) {
+    if (isQuickScale) {
+      return GestureMath.quickScaleFactor(currentSpan, previousSpan, currentY, quickScaleFocalY,
+        QUICK_SCALE_MULTIPLIER);
+    } else {
+      return GestureMath.scaleFactor(currentSpan, previousSpan);
+    }
+  }
+
+  /**
+   * Check whether any of the tracked pointers is closer to the focal point than the distance.
+   * <p>
+   * Two pointers are closer to each other than twice the distance exactly when either of them is,
+   * which doesn't need the distance between them. That doesn't hold for more pointers.
+   *
+   * @param gestureFrame frame already updated with the most recent event
+   * @param pointers     tracked pointers
+   * @param distance     distance from the focal point in pixels
+   * @return true if any of the pointers is closer, false otherwise
+   */
+  static boolean isAnyPointerCloserThan(@NonNull GestureFrame gestureFrame, @NonNull PointerIdTracker pointers,
+                                        float distance) {
+    if (distance <= 0) {
+      return false;
+    }
+    float focalX = gestureFrame.getFocalX();
+    float focalY = gestureFrame.getFocalY();
+    for (int i = 0; i < pointers.size(); i++) {
+      int pointerId = pointers.get(i);
+      float diffX = gestureFrame.getX(pointerId) - focalX;
+      float diffY = gestureFrame.getY(pointerId) - focalY;
+      if (diffX * diffX + diffY * diffY < distance * distance) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,195 @@
+package com.mapbox.android.gestures;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.UiThread;
+
+/**
+ * Least-squares similarity transform (translation, uniform scale and rotation) that maps the previous
+ * positions of the pointers onto their current ones.
+ * <p>
+ * Translation is the movement of the pointers' centroid, scale and rotation are taken around the centroid
+ * and fitted over all of the pointers at once, so they don't depend on which pair of pointers is picked.
+ * The fit takes a single pass over the pointers. With a single pointer, the transform is a pure translation.
+ * None of the operations allocate.
+ */
+@UiThread
+public final class SimilarityTransform {
+  /**
+   * Sum of the squared distances from the centroid, in pixels, below which the pointers are considered
+   * to be in the same spot. Cancellation in the single pass leaves residues much smaller than that.
+   */
+  private static final double MIN_NORM = 1e-6;
+
+  private int pointersCount;
+  private float translationX;
+  private float translationY;
+  private float scaleFactor = 1f;
+  private float rotationDegrees;
+  private float focalX;
+  private float focalY;
+  private float span;
+  private float previousSpan;
+
+  /**
+   * Fits the transform over the tracked pointers that are present in both the previous and the current event.
+   *
+   * @param gestureFrame positions of the pointers
+   * @param pointers     pointers to fit the transform over
+   * @return true if any pointer was present in both events, false if the transform is the identity
+   */
+  public boolean fit(@NonNull GestureFrame gestureFrame, @NonNull PointerIdTracker pointers) {
+    // raw sums over the pointers, the centered ones are derived from them so that a single pass is enough
+    int count = 0;
+    double previousSumX = 0;
+    double previousSumY = 0;
+    double currentSumX = 0;
+    double currentSumY = 0;
+    double dot = 0;
+    double cross = 0;
+    double previousNorm = 0;
+    double currentNorm = 0;
+    for (int i = 0; i < pointers.size(); i++) {
+      int pointerId = pointers.get(i);
+      if (isCommon(gestureFrame, pointerId)) {
+        double previousX = gestureFrame.getPreviousX(pointerId);
+        double previousY = gestureFrame.getPreviousY(pointerId);
+        double currentX = gestureFrame.getX(pointerId);
+        double currentY = gestureFrame.getY(pointerId);
+        previousSumX += previousX;
+        previousSumY += previousY;
+        currentSumX += currentX;
+        currentSumY += currentY;
+        dot += previousX * currentX + previousY * currentY;
+        cross += previousX * currentY - previousY * currentX;
+        previousNorm += previousX * previousX + previousY * previousY;
+        currentNorm += currentX * currentX + currentY * currentY;
+        count++;
+      }
+    }
+
+    pointersCount = count;
+    if (count == 0) {
+      translationX = 0;
+      translationY = 0;
+      scaleFactor = 1f;
+      rotationDegrees = 0;
+      span = 0;
+      previousSpan = 0;
+      return false;
+    }
+
+    double previousCentroidX = previousSumX / count;
+    double previousCentroidY = previousSumY / count;
+    double currentCentroidX = currentSumX / count;
+    double currentCentroidY = currentSumY / count;
+
+    // move the sums to the pointers' positions relative to the centroids
+    dot -= count * (previousCentroidX * currentCentroidX + previousCentroidY * currentCentroidY);
+    cross -= count * (previousCentroidX * currentCentroidY - previousCentroidY * currentCentroidX);
+    previousNorm = Math.max(0,
+      previousNorm - count * (previousCentroidX * previousCentroidX + previousCentroidY * previousCentroidY));
+    currentNorm = Math.max(0,
+      currentNorm - count * (currentCentroidX * currentCentroidX + currentCentroidY * currentCentroidY));
+
+    translationX = (float) (currentCentroidX - previousCentroidX);
+    translationY = (float) (currentCentroidY - previousCentroidY);
+    focalX = (float) currentCentroidX;
+    focalY = (float) currentCentroidY;
+    span = (float) Math.sqrt(currentNorm / count);
+    previousSpan = (float) Math.sqrt(previousNorm / count);
+    if (count < 2 || previousNorm < MIN_NORM || currentNorm < MIN_NORM) {
+      scaleFactor = 1f;
+      rotationDegrees = 0;
+    } else {
+      scaleFactor = (float) (Math.hypot(dot, cross) / previousNorm);
+      // same sign convention as GestureMath#rotationDegrees
+      rotationDegrees = (float) -Math.toDegrees(Math.atan2(cross, dot));
+    }
+    return true;
+  }
+
+  private static boolean isCommon(GestureFrame gestureFrame, int pointerId) {
+    return gestureFrame.containsPointer(pointerId) && gestureFrame.containsPreviousPointer(pointerId);
+  }
+
+  /**
+   * Returns the number of pointers the transform was fitted over.
+   *
+   * @return number of pointers
+   */
+  public int getPointersCount() {
+    return pointersCount;
+  }
+
+  /**
+   * Returns the X movement of the pointers' centroid.
+   *
+   * @return X translation in pixels
+   */
+  public float getTranslationX() {
+    return translationX;
+  }
+
+  /**
+   * Returns the Y movement of the pointers' centroid.
+   *
+   * @return Y translation in pixels
+   */
+  public float getTranslationY() {
+    return translationY;
+  }
+
+  /**
+   * Returns the scale around the centroid, greater than 1 when the pointers spread.
+   *
+   * @return scale factor
+   */
+  public float getScaleFactor() {
+    return scaleFactor;
+  }
+
+  /**
+   * Returns the rotation around the centroid, with the same sign as {@link GestureMath#rotationDegrees}.
+   *
+   * @return rotation in degrees
+   */
+  public float getRotationDegrees() {
+    return rotationDegrees;
+  }
+
+  /**
+   * Returns X coordinate of the pointers' centroid in the current event.
+   *
+   * @return X coordinate
+   */
+  public float getFocalX() {
+    return focalX;
+  }
+
+  /**
+   * Returns Y coordinate of the pointers' centroid in the current event.
+   *
+   * @return Y coordinate
+   */
+  public float getFocalY() {
+    return focalY;
+  }
+
+  /**
+   * Returns the root mean square distance of the pointers from their centroid in the current event.
+   *
+   * @return span in pixels
+   */
+  public float getSpan() {
+    return span;
+  }
+
+  /**
+   * Returns the root mean square distance of the pointers from their centroid in the previous event.
+   *
+   * @return span in pixels
+   */
+  public float getPreviousSpan() {
+    return previousSpan;
+  }
+}
@@ -0,0 +1,115 @@
+package com.mapbox.android.gestures;
+
+/**
+ * Platform-neutral view of a single touch event, the counterpart of Android's {@code MotionEvent}.
+ * <p>
+ * Pointers are addressed by their index in the sample, which is valid only for that sample.
+ * Pointer IDs stay the same for as long as the pointer is down.
+ */
+public interface TouchSample {
+
+  /**
+   * The first pointer went down. Values of the action constants match the {@code MotionEvent} ones.
+   */
+  int ACTION_DOWN = 0;
+
+  /**
+   * The last pointer went up.
+   */
+  int ACTION_UP = 1;
+
+  /**
+   * At least one of the pointers moved.
+   */
+  int ACTION_MOVE = 2;
+
+  /**
+   * The gesture was aborted.
+   */
+  int ACTION_CANCEL = 3;
+
+  /**
+   * A pointer other than the first one went down, see {@link #getActionIndex()}.
+   */
+  int ACTION_POINTER_DOWN = 5;
+
+  /**
+   * A pointer other than the last one went up, see {@link #getActionIndex()}.
+   */
+  int ACTION_POINTER_UP = 6;
+
+  /**
+   * Returns the kind of action, without the pointer index.
+   *
+   * @return one of the action constants
+   */
+  int getActionMasked();
+
+  /**
+   * Returns the index of the pointer that went down or up, for {@link #ACTION_POINTER_DOWN}
+   * and {@link #ACTION_POINTER_UP}.
+   *
+   * @return index of the pointer in the sample
+   */
+  int getActionIndex();
+
+  /**
+   * Returns the time of the sample.
+   *
+   * @return time in milliseconds, in the time base of the source
+   */
+  long getEventTime();
+
+  /**
+   * Returns the number of pointers in the sample.
+   *
+   * @return number of pointers
+   */
+  int getPointerCount();
+
+  /**
+   * Returns the ID of a pointer.
+   *
+   * @param pointerIndex index of the pointer in the sample
+   * @return pointer's ID
+   */
+  int getPointerId(int pointerIndex);
+
+  /**
+   * Returns X coordinate of a pointer.
+   *
+   * @param pointerIndex index of the pointer in the sample
+   * @return X coordinate
+   */
+  float getX(int pointerIndex);
+
+  /**
+   * Returns Y coordinate of a pointer.
+   *
+   * @param pointerIndex index of the pointer in the sample
+   * @return Y coordinate
+   */
+  float getY(int pointerIndex);
+
+  /**
+   * Returns the pressure of a pointer.
+   *
+   * @param pointerIndex index of the pointer in the sample
+   * @return pressure, usually from 0 to 1
+   */
+  float getPressure(int pointerIndex);
+
+  /**
+   * Returns the horizontal offset between the raw, on-screen, coordinates and the coordinates of the sample.
+   *
+   * @return X offset
+   */
+  float getRawOffsetX();
+
+  /**
+   * Returns the vertical offset between the raw, on-screen, coordinates and the coordinates of the sample.
+   *
+   * @return Y offset
+   */
+  float getRawOffsetY();
+}
@@ -0,0 +1,227 @@
+package com.mapbox.android.gestures;
+
+import androidx.annotation.UiThread;
+
+/**
+ * Estimates the velocity of a point from its most recent positions, kept in a fixed-size ring buffer.
+ * <p>
+ * A pure-Java alternative to the platform's {@code VelocityTracker}, with the same horizon and strategies:
+ * <ul>
+ * <li>{@link #STRATEGY_LEAST_SQUARES} fits a second degree polynomial to the samples
+ * and takes its derivative at the most recent one,</li>
+ * <li>{@link #STRATEGY_IMPULSE} treats the samples as impulses transferring kinetic energy to the point,
+ * which is less sensitive to irregular sampling.</li>
+ * </ul>
+ * None of the operations allocate.
+ */
+@UiThread
+public final class VelocityEstimator {
+
+  public static final int STRATEGY_LEAST_SQUARES = 1;
+  public static final int STRATEGY_IMPULSE = 2;
+
+  static final int HISTORY_SIZE = 20;
+  /**
+   * Samples older than this, relative to the most recent one, are not considered.
+   */
+  static final long HORIZON_MILLIS = 100;
+  /**
+   * When no sample arrives for this long, the point is assumed to have stopped and older samples are dropped.
+   */
+  static final long ASSUME_STOPPED_MILLIS = 40;
+
+  private final int strategy;
+  private final long[] times = new long[HISTORY_SIZE];
+  private final float[] xs = new float[HISTORY_SIZE];
+  private final float[] ys = new float[HISTORY_SIZE];
+  private int newestIndex = -1;
+  private int size;
+
+  private float velocityX;
+  private float velocityY;
+
+  /**
+   * Creates an estimator.
+   *
+   * @param strategy {@link #STRATEGY_LEAST_SQUARES} or {@link #STRATEGY_IMPULSE}
+   */
+  public VelocityEstimator(int strategy) {
+    if (strategy != STRATEGY_LEAST_SQUARES && strategy != STRATEGY_IMPULSE) {
+      throw new IllegalArgumentException("Unknown velocity estimation strategy: " + strategy);
+    }
+    this.strategy = strategy;
+  }
+
+  /**
+   * Returns the strategy of the estimator.
+   *
+   * @return {@link #STRATEGY_LEAST_SQUARES} or {@link #STRATEGY_IMPULSE}
+   */
+  public int getStrategy() {
+    return strategy;
+  }
+
+  /**
+   * Drops all of the samples.
+   */
+  public void clear() {
+    newestIndex = -1;
+    size = 0;
+  }
+
+  /**
+   * Adds a position of the point. Samples have to be added in the order of their times.
+   *
+   * @param timeMillis time of the sample in milliseconds
+   * @param x          X coordinate
+   * @param y          Y coordinate
+   */
+  public void addSample(long timeMillis, float x, float y) {
+    if (size > 0 && timeMillis - times[newestIndex] > ASSUME_STOPPED_MILLIS) {
+      // the point didn't move for a while, the movement before that doesn't contribute to the velocity
+      clear();
+    }
+    newestIndex = (newestIndex + 1) % HISTORY_SIZE;
+    times[newestIndex] = timeMillis;
+    xs[newestIndex] = x;
+    ys[newestIndex] = y;
+    if (size < HISTORY_SIZE) {
+      size++;
+    }
+  }
+
+  /**
+   * Computes the velocity at the most recent sample, available with {@link #getVelocityX()}
+   * and {@link #getVelocityY()}.
+   *
+   * @param timeMillis current time in milliseconds, if it's too long after the most recent sample,
+   *                   the point is assumed to have stopped
+   */
+  public void computeVelocity(long timeMillis) {
+    velocityX = 0;
+    velocityY = 0;
+    if (size < 2 || timeMillis - times[newestIndex] > ASSUME_STOPPED_MILLIS) {
+      return;
+    }
+
+    int count = countSamplesWithinHorizon();
+    if (count < 2) {
+      return;
+    }
+    if (strategy == STRATEGY_IMPULSE) {
+      velocityX = impulseVelocity(xs, count);
+      velocityY = impulseVelocity(ys, count);
+    } else {
+      velocityX = leastSquaresVelocity(xs, count);
+      velocityY = leastSquaresVelocity(ys, count);
+    }
+  }
+
+  /**
+   * Returns the X velocity calculated by the last {@link #computeVelocity(long)}.
+   *
+   * @return X velocity in pixels per second
+   */
+  public float getVelocityX() {
+    return velocityX;
+  }
+
+  /**
+   * Returns the Y velocity calculated by the last {@link #computeVelocity(long)}.
+   *
+   * @return Y velocity in pixels per second
+   */
+  public float getVelocityY() {
+    return velocityY;
+  }
+
+  private int countSamplesWithinHorizon() {
+    long newestTime = times[newestIndex];
+    int count = 1;
+    while (count < size && newestTime - times[indexOf(count)] <= HORIZON_MILLIS) {
+      count++;
+    }
+    return count;
+  }
+
+  /**
+   * Returns the index of the sample that's {@code age} samples older than the most recent one.
+   */
+  private int indexOf(int age) {
+    return (newestIndex - age + HISTORY_SIZE) % HISTORY_SIZE;
+  }
+
+  /**
+   * Fits {@code p(t) = a + b * t + c * t^2}, with {@code t} relative to the most recent sample,
+   * and returns {@code b}, falling back to a line when there are too few samples or they are degenerate.
+   */
+  private float leastSquaresVelocity(float[] positions, int count) {
+    long newestTime = times[newestIndex];
+    // sums of the powers of t and of the positions multiplied by them
+    double s0 = 0;
+    double s1 = 0;
+    double s2 = 0;
+    double s3 = 0;
+    double s4 = 0;
+    double p0 = 0;
+    double p1 = 0;
+    double p2 = 0;
+    for (int age = 0; age < count; age++) {
+      int index = indexOf(age);
+      double t = (times[index] - newestTime) / 1000.0;
+      double p = positions[index];
+      double t2 = t * t;
+      s0 += 1;
+      s1 += t;
+      s2 += t2;
+      s3 += t2 * t;
+      s4 += t2 * t2;
+      p0 += p;
+      p1 += p * t;
+      p2 += p * t2;
+    }
+
+    if (count >= 3) {
+      // normal equations of the quadratic fit, solved for the linear coefficient with Cramer's rule
+      double determinant = s0 * (s2 * s4 - s3 * s3) - s1 * (s1 * s4 - s3 * s2) + s2 * (s1 * s3 - s2 * s2);
+      if (Math.abs(determinant) > 1e-18) {
+        double linear = s0 * (p1 * s4 - s3 * p2) - p0 * (s1 * s4 - s3 * s2) + s2 * (s1 * p2 - p1 * s2);
+        return (float) (linear / determinant);
+      }
+    }
+
+    double determinant = s0 * s2 - s1 * s1;
+    if (Math.abs(determinant) < 1e-12) {
+      return 0;
+    }
+    return (float) ((s0 * p1 - s1 * p0) / determinant);
+  }
+
+  /**
+   * Accumulates the work done by the impulses between consecutive samples, from the oldest one,
+   * and returns the velocity of the point with the resulting kinetic energy.
+   */
+  private float impulseVelocity(float[] positions, int count) {
+    double work = 0;
+    for (int age = count - 1; age > 0; age--) {
+      int previous = indexOf(age);
+      int current = indexOf(age - 1);
+      long duration = times[current] - times[previous];
+      if (duration <= 0) {
+        continue;
+      }
+      double previousVelocity = kineticEnergyToVelocity(work);
+      double currentVelocity = (positions[current] - positions[previous]) * 1000.0 / duration;
+      work += (currentVelocity - previousVelocity) * Math.abs(currentVelocity);
+      if (age == count - 1) {
+        // the point was at rest before the first impulse
+        work *= 0.5;
+      }
+    }
+    return (float) kineticEnergyToVelocity(work);
+  }
+
+  private static double kineticEnergyToVelocity(double work) {
+    return Math.signum(work) * Math.sqrt(2 * Math.abs(work));
+  }
+}
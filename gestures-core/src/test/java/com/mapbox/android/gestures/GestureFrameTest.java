@@ -0,0 +1,59 @@
+package com.mapbox.android.gestures;
+
+import org.junit.Test;
+
+import java.util.NoSuchElementException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class GestureFrameTest {
+
+  @Test
+  public void featuresTest() {
+    GestureFrame frame = new GestureFrame();
+    MutableTouchSample sample = new MutableTouchSample();
+    frame.update(sample.set(TouchSample.ACTION_DOWN, 0, 0).addPointer(0, 100, 100));
+    frame.update(sample.set(TouchSample.ACTION_POINTER_DOWN, 1, 10).addPointer(0, 100, 100).addPointer(1, 300, 200));
+
+    assertEquals(2, frame.getPointersCount());
+    assertTrue(frame.containsPointer(1));
+    assertFalse(frame.containsPreviousPointer(1));
+    assertEquals(200f, frame.getFocalX(), 0f);
+    assertEquals(150f, frame.getFocalY(), 0f);
+    assertEquals(400f, frame.getSpanX(), 0f);
+    assertEquals(200f, frame.getSpanY(), 0f);
+    assertEquals(10000f, frame.getCovarianceXX(), 0f);
+    assertEquals(2500f, frame.getCovarianceYY(), 0f);
+    assertEquals(5000f, frame.getCovarianceXY(), 0f);
+
+    frame.update(sample.set(TouchSample.ACTION_MOVE, 0, 20).addPointer(0, 110, 100).addPointer(1, 300, 250));
+
+    assertEquals(190f, frame.getPairDiffX(0, 1), 0f);
+    assertEquals(-190f, frame.getPairDiffX(1, 0), 0f);
+    assertEquals(150f, frame.getPairDiffY(0, 1), 0f);
+    assertEquals(200f, frame.getPreviousPairDiffX(0, 1), 0f);
+    assertEquals(-100f, frame.getPreviousPairDiffY(1, 0), 0f);
+    assertEquals(100f, frame.getPreviousX(0), 0f);
+    assertEquals(110f, frame.getX(0), 0f);
+  }
+
+  @Test
+  public void edgePointersTest() {
+    GestureFrame frame = new GestureFrame();
+    frame.update(new MutableTouchSample().set(TouchSample.ACTION_DOWN, 0, 0)
+      .addPointer(0, 5, 100).addPointer(1, 100, 100).addPointer(2, 495, 100));
+
+    assertEquals(0b101, frame.getEdgePointerIdsMask(10, 500, 500));
+    assertEquals(0b000, frame.getEdgePointerIdsMask(1, 500, 500));
+    assertEquals(0b111, frame.getEdgePointerIdsMask(10, 500, 105));
+  }
+
+  @Test(expected = NoSuchElementException.class)
+  public void missingPointerTest() {
+    GestureFrame frame = new GestureFrame();
+    frame.update(new MutableTouchSample().set(TouchSample.ACTION_DOWN, 0, 0).addPointer(0, 100, 100));
+    frame.getX(1);
+  }
+}
@@ -0,0 +1,112 @@
+package com.mapbox.android.gestures;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class GestureMathTest {
+
+  @Test
+  public void rotationDegreesTest() {
+    assertEquals(-90f, GestureMath.rotationDegrees(100, 0, 0, 100), 0.0001f);
+    assertEquals(45f, GestureMath.rotationDegrees(100, 100, 100, 0), 0.0001f);
+    assertEquals(0f, GestureMath.rotationDegrees(100, 0, 200, 0), 0f);
+  }
+
+  @Test
+  public void rotationDegreesAcrossNegativeXAxisTest() {
+    // the vector turns by a bit more than a degree, from just above to just below the negative X axis
+    float expected = (float) -Math.toDegrees(2 * Math.atan2(1, 100));
+    assertEquals(expected, GestureMath.rotationDegrees(-100, 1, -100, -1), 0.0001f);
+    assertEquals(-expected, GestureMath.rotationDegrees(-100, -1, -100, 1), 0.0001f);
+  }
+
+  @Test
+  public void rotationDegreesMatchesAngleDifferenceTest() {
+    Random random = new Random(42);
+    for (int i = 0; i < 10000; i++) {
+      float prevDiffX = randomComponent(random);
+      float prevDiffY = randomComponent(random);
+      float currDiffX = randomComponent(random);
+      float currDiffY = randomComponent(random);
+      double expected = Math.toDegrees(GestureMath.wrapAngle(
+        Math.atan2(prevDiffY, prevDiffX) - Math.atan2(currDiffY, currDiffX)));
+      if (Math.abs(expected) > 179.99) {
+        // half a turn is ambiguous
+        continue;
+      }
+      assertEquals(expected, GestureMath.rotationDegrees(prevDiffX, prevDiffY, currDiffX, currDiffY), 0.001);
+    }
+  }
+
+  @Test
+  public void wrapAngleTest() {
+    assertEquals(-Math.PI / 2, GestureMath.wrapAngle(3 * Math.PI / 2), 0.0001);
+    assertEquals(Math.PI / 2, GestureMath.wrapAngle(-3 * Math.PI / 2), 0.0001);
+    assertEquals(1.0, GestureMath.wrapAngle(1.0), 0);
+  }
+
+  @Test
+  public void shoveAnglesTest() {
+    double tolerance = GestureMath.axisTolerance(20);
+    assertTrue(GestureMath.isHorizontalWithinTolerance(100, 10, tolerance));
+    assertTrue(GestureMath.isHorizontalWithinTolerance(-100, 10, tolerance));
+    assertFalse(GestureMath.isHorizontalWithinTolerance(100, 100, tolerance));
+
+    assertTrue(GestureMath.isVerticalWithinTolerance(10, 100, tolerance));
+    assertTrue(GestureMath.isVerticalWithinTolerance(10, -100, tolerance));
+    assertFalse(GestureMath.isVerticalWithinTolerance(100, 10, tolerance));
+  }
+
+  @Test
+  public void shoveAnglesOutOfRangeTest() {
+    assertFalse(GestureMath.isHorizontalWithinTolerance(100, 0, GestureMath.axisTolerance(-1)));
+    assertFalse(GestureMath.isVerticalWithinTolerance(0, 100, GestureMath.axisTolerance(-1)));
+    assertTrue(GestureMath.isHorizontalWithinTolerance(0, 100, GestureMath.axisTolerance(90)));
+    assertTrue(GestureMath.isVerticalWithinTolerance(100, 0, GestureMath.axisTolerance(90)));
+  }
+
+  @Test
+  public void shoveAnglesMatchAtan2Test() {
+    Random random = new Random(42);
+    for (int i = 0; i < 10000; i++) {
+      float diffX = randomComponent(random);
+      float diffY = randomComponent(random);
+      float maxShoveAngle = random.nextFloat() * 90;
+      // angle from the horizontal axis, from 0 to 90
+      double angle = Math.toDegrees(Math.atan(Math.abs(diffY / diffX)));
+      if (Math.abs(angle - maxShoveAngle) < 0.001 || Math.abs(90 - angle - maxShoveAngle) < 0.001) {
+        // too close to the boundary to compare
+        continue;
+      }
+      double tolerance = GestureMath.axisTolerance(maxShoveAngle);
+      assertEquals(angle <= maxShoveAngle, GestureMath.isHorizontalWithinTolerance(diffX, diffY, tolerance));
+      assertEquals(90 - angle <= maxShoveAngle, GestureMath.isVerticalWithinTolerance(diffX, diffY, tolerance));
+    }
+  }
+
+  @Test
+  public void scaleFactorsTest() {
+    assertEquals(2f, GestureMath.scaleFactor(200, 100), 0f);
+    assertEquals(1f, GestureMath.scaleFactor(200, 0), 0f);
+
+    assertEquals(1.5f, GestureMath.quickScaleFactor(150, 100, 300, 200, 1f), 0f);
+    assertEquals(0.5f, GestureMath.quickScaleFactor(50, 100, 300, 200, 1f), 0f);
+    assertEquals(1.5f, GestureMath.quickScaleFactor(50, 100, 100, 200, 1f), 0f);
+    assertEquals(1f, GestureMath.quickScaleFactor(50, 0, 100, 200, 1f), 0f);
+  }
+
+  @Test
+  public void angularVelocityTest() {
+    assertEquals(0.1f, GestureMath.angularVelocity(100, 0, 0, 10), 0.0001f);
+    assertEquals(0.1f, GestureMath.angularVelocity(100, 0, 0, -10), 0.0001f);
+  }
+
+  private static float randomComponent(Random random) {
+    return (random.nextFloat() - 0.5f) * 1000;
+  }
+}
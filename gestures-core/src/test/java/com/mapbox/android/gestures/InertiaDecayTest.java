@@ -0,0 +1,95 @@
+package com.mapbox.android.gestures;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class InertiaDecayTest {
+  private static final float PIXELS_PER_INCH = 160;
+  private static final float FRAME_MILLIS = 16;
+
+  @Test
+  public void frictionFollowsExponentialDecayTest() {
+    InertiaDecay decay = new InertiaDecay(PIXELS_PER_INCH);
+    decay.start(InertiaDecay.MODEL_FRICTION, 1f, 2000);
+    float rate = InertiaDecay.FRICTION_DECAY_RATE;
+    assertEquals(2000 / rate - InertiaDecay.REST_DISTANCE, decay.getDistance(), 1e-2f);
+    assertEquals(Math.log(2000 / (rate * InertiaDecay.REST_DISTANCE)) / rate * 1000, decay.getDurationMillis(), 1e-1f);
+    for (float time = 0; time < decay.getDurationMillis(); time += FRAME_MILLIS) {
+      assertEquals(2000 / rate * (1 - Math.exp(-rate * time / 1000)), decay.getValue(time), 1e-2f);
+    }
+  }
+
+  @Test
+  public void splineMatchesPlatformScrollerTest() {
+    // duration and distance of a fling on a medium density display, as reported by the platform's OverScroller
+    InertiaDecay decay = new InertiaDecay(PIXELS_PER_INCH);
+    decay.start(InertiaDecay.MODEL_SPLINE, 1f, 2000);
+    assertEquals(924.86f, decay.getDurationMillis(), 1e-1f);
+    assertEquals(647.40f, decay.getDistance(), 1e-1f);
+
+    decay.start(InertiaDecay.MODEL_SPLINE, 1f, -8000);
+    assertEquals(2566.56f, decay.getDurationMillis(), 1f);
+    assertEquals(-7186.36f, decay.getDistance(), 1f);
+  }
+
+  @Test
+  public void decaysMonotonicallyToRestTest() {
+    for (int model : new int[] {InertiaDecay.MODEL_FRICTION, InertiaDecay.MODEL_SPLINE}) {
+      InertiaDecay decay = new InertiaDecay(PIXELS_PER_INCH);
+      decay.start(model, 1f, -3000);
+      float previousValue = 0;
+      float previousStep = Float.NEGATIVE_INFINITY;
+      float time = FRAME_MILLIS;
+      for (; !decay.isFinished(time); time += FRAME_MILLIS) {
+        float value = decay.getValue(time);
+        float step = value - previousValue;
+        assertTrue("model " + model + ", " + time + " ms", step < 0);
+        // the steps shrink as the value slows down
+        assertTrue("model " + model + ", " + time + " ms", step >= previousStep - 1e-3f);
+        previousValue = value;
+        previousStep = step;
+      }
+      assertEquals(decay.getDistance(), decay.getValue(time), 0f);
+      assertEquals(decay.getDistance(), decay.getValue(time + 1000), 0f);
+    }
+  }
+
+  @Test
+  public void frictionShortensTheFlingTest() {
+    for (int model : new int[] {InertiaDecay.MODEL_FRICTION, InertiaDecay.MODEL_SPLINE}) {
+      InertiaDecay decay = new InertiaDecay(PIXELS_PER_INCH);
+      decay.start(model, 1f, 2500);
+      float distance = decay.getDistance();
+      float duration = decay.getDurationMillis();
+      decay.start(model, 2f, 2500);
+      assertTrue(decay.getDistance() < distance);
+      assertTrue(decay.getDurationMillis() < duration);
+      assertEquals(model, decay.getModel());
+    }
+  }
+
+  @Test
+  public void zeroVelocityIsAtRestTest() {
+    InertiaDecay decay = new InertiaDecay(PIXELS_PER_INCH);
+    for (int model : new int[] {InertiaDecay.MODEL_FRICTION, InertiaDecay.MODEL_SPLINE}) {
+      decay.start(model, 1f, 0);
+      assertTrue(decay.isFinished(0));
+      assertEquals(0f, decay.getValue(FRAME_MILLIS), 0f);
+    }
+    decay.start(InertiaDecay.MODEL_FRICTION, 1f, 1000);
+    assertFalse(decay.isFinished(FRAME_MILLIS));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void unknownModelTest() {
+    new InertiaDecay(PIXELS_PER_INCH).start(3, 1f, 1000);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void nonPositiveFrictionTest() {
+    new InertiaDecay(PIXELS_PER_INCH).start(InertiaDecay.MODEL_SPLINE, 0f, 1000);
+  }
+}
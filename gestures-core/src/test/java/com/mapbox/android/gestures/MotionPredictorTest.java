@@ -0,0 +1,98 @@
+package com.mapbox.android.gestures;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class MotionPredictorTest {
+  private static final long FRAME_MILLIS = 8;
+  private static final long HORIZON_MILLIS = 16;
+  private static final int[] STRATEGIES = {MotionPredictor.STRATEGY_LINEAR, MotionPredictor.STRATEGY_KALMAN};
+
+  @Test(expected = IllegalArgumentException.class)
+  public void unknownStrategyTest() {
+    new MotionPredictor(0);
+  }
+
+  @Test
+  public void constantVelocityTest() {
+    for (int strategy : STRATEGIES) {
+      MotionPredictor predictor = new MotionPredictor(strategy);
+      long time = 0;
+      for (int i = 0; i < 20; i++, time += FRAME_MILLIS) {
+        // 1.5 px/ms to the right, 0.5 px/ms up
+        predictor.addSample(time, 100 + 1.5f * time, 400 - 0.5f * time);
+      }
+      long lastTime = time - FRAME_MILLIS;
+      predictor.predict(HORIZON_MILLIS);
+      assertEquals("strategy " + strategy, 100 + 1.5f * (lastTime + HORIZON_MILLIS), predictor.getPredictedX(), 0.5f);
+      assertEquals("strategy " + strategy, 400 - 0.5f * (lastTime + HORIZON_MILLIS), predictor.getPredictedY(), 0.5f);
+    }
+  }
+
+  @Test
+  public void noPredictionWithoutHistoryTest() {
+    MotionPredictor predictor = new MotionPredictor(MotionPredictor.STRATEGY_LINEAR);
+    predictor.addSample(0, 100, 200);
+    predictor.predict(HORIZON_MILLIS);
+    assertEquals(100f, predictor.getPredictedX(), 0f);
+    assertEquals(200f, predictor.getPredictedY(), 0f);
+
+    predictor.addSample(8, 110, 200);
+    predictor.addSample(8 + MotionPredictor.ASSUME_STOPPED_MILLIS + 1, 120, 200);
+    predictor.predict(HORIZON_MILLIS);
+    // the point stopped in between, the previous movement doesn't carry on
+    assertEquals(120f, predictor.getPredictedX(), 0f);
+  }
+
+  @Test
+  public void stopDoesNotOvershootTest() {
+    for (int strategy : STRATEGIES) {
+      MotionPredictor predictor = new MotionPredictor(strategy);
+      long time = 0;
+      for (int i = 0; i < 10; i++, time += FRAME_MILLIS) {
+        predictor.addSample(time, 2f * time, 0);
+      }
+      float stopX = 2f * (time - FRAME_MILLIS);
+      // the point holds still for the duration of the horizon
+      predictor.addSample(time, stopX, 0);
+      predictor.addSample(time + FRAME_MILLIS, stopX, 0);
+      predictor.predict(HORIZON_MILLIS);
+      assertEquals("strategy " + strategy, stopX, predictor.getPredictedX(), 0.01f);
+    }
+  }
+
+  @Test
+  public void predictionErrorOnJitteryPanTest() {
+    // a pan easing in and out over 300 pixels, sampled at an irregular rate with half a pixel of jitter
+    long[] intervals = {7, 9, 8, 6, 10, 8};
+    long duration = 400;
+    for (int strategy : STRATEGIES) {
+      MotionPredictor predictor = new MotionPredictor(strategy);
+      Random random = new Random(42);
+      double predictionError = 0;
+      double lagError = 0;
+      long time = 0;
+      for (int i = 0; time + HORIZON_MILLIS <= duration; i++) {
+        float x = (float) (easeInOut(time, duration) + (random.nextFloat() - 0.5f));
+        predictor.addSample(time, x, 0);
+        predictor.predict(HORIZON_MILLIS);
+        if (i > 3) {
+          double future = easeInOut(time + HORIZON_MILLIS, duration);
+          predictionError += Math.abs(future - predictor.getPredictedX());
+          lagError += Math.abs(future - x);
+        }
+        time += intervals[i % intervals.length];
+      }
+      assertTrue("strategy " + strategy + ": " + predictionError + " vs " + lagError,
+        predictionError < lagError * 0.3);
+    }
+  }
+
+  private static double easeInOut(long time, long duration) {
+    return 150 * (1 - Math.cos(Math.PI * time / duration));
+  }
+}
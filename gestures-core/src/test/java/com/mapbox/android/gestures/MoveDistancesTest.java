@@ -0,0 +1,38 @@
+package com.mapbox.android.gestures;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class MoveDistancesTest {
+
+  @Test
+  public void distancesTest() {
+    MoveDistances moveDistances = new MoveDistances();
+    GestureFrame frame = new GestureFrame();
+    PointerIdTracker pointers = new PointerIdTracker();
+    pointers.add(0);
+    pointers.add(3);
+    moveDistances.start(0, 100, 100);
+    moveDistances.start(3, 200, 100);
+    assertTrue(moveDistances.contains(3));
+    assertFalse(moveDistances.contains(1));
+
+    frame.update(new MutableTouchSample().set(TouchSample.ACTION_MOVE, 0, 8)
+      .addPointer(0, 104, 100).addPointer(3, 200, 90));
+    moveDistances.update(frame, pointers);
+    assertEquals(-4f, moveDistances.get(0).getDistanceXSinceStart(), 0f);
+    assertEquals(10f, moveDistances.get(3).getDistanceYSinceStart(), 0f);
+    assertTrue(moveDistances.isAnyAboveThreshold(10));
+    assertFalse(moveDistances.isAnyAboveThreshold(11));
+
+    moveDistances.remove(3);
+    assertNull(moveDistances.get(3));
+    assertFalse(moveDistances.isAnyAboveThreshold(10));
+    moveDistances.clear();
+    assertFalse(moveDistances.contains(0));
+  }
+}
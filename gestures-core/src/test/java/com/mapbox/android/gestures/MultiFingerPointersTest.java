@@ -0,0 +1,113 @@
+package com.mapbox.android.gestures;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class MultiFingerPointersTest {
+
+  @Test
+  public void trackingPointersTest() {
+    MultiFingerPointers pointers = new MultiFingerPointers();
+    GestureFrame frame = new GestureFrame();
+
+    MutableTouchSample down = new MutableTouchSample().set(TouchSample.ACTION_DOWN, 0, 0)
+      .addPointer(0, 100, 100);
+    assertFalse(update(pointers, frame, down));
+    MutableTouchSample pointerDown = new MutableTouchSample().set(TouchSample.ACTION_POINTER_DOWN, 1, 8)
+      .addPointer(0, 100, 100).addPointer(1, 200, 100);
+    assertFalse(update(pointers, frame, pointerDown));
+    assertEquals(2, pointers.pointerIdList.size());
+    assertFalse(pointers.isMovement(pointerDown, 2));
+
+    MutableTouchSample move = new MutableTouchSample().set(TouchSample.ACTION_MOVE, 0, 16)
+      .addPointer(0, 100, 100).addPointer(1, 300, 100);
+    assertFalse(update(pointers, frame, move));
+    assertTrue(pointers.isMovement(move, 2));
+    assertFalse(pointers.isMovement(move, 3));
+    pointers.calculateDistances(frame);
+    assertEquals(100, pointers.pointersDistanceMatrix.getPrevFingersDiffXY(0, 1), 0f);
+    assertEquals(200, pointers.pointersDistanceMatrix.getCurrFingersDiffXY(0, 1), 0f);
+    assertTrue(pointers.isAnyPointerIn(1 << 1));
+    assertFalse(pointers.isAnyPointerIn(1 << 2));
+
+    MutableTouchSample pointerUp = new MutableTouchSample().set(TouchSample.ACTION_POINTER_UP, 0, 24)
+      .addPointer(0, 100, 100).addPointer(1, 300, 100);
+    assertFalse(update(pointers, frame, pointerUp));
+    assertEquals(1, pointers.pointerIdList.size());
+    assertEquals(1, pointers.pointerIdList.get(0));
+  }
+
+  @Test
+  public void firstPairTest() {
+    MultiFingerPointers pointers = new MultiFingerPointers();
+    GestureFrame frame = new GestureFrame();
+    update(pointers, frame, new MutableTouchSample().set(TouchSample.ACTION_DOWN, 0, 0).addPointer(0, 100, 100));
+    update(pointers, frame, new MutableTouchSample().set(TouchSample.ACTION_POINTER_DOWN, 1, 8)
+      .addPointer(0, 100, 100).addPointer(1, 200, 100));
+
+    MutableTouchSample move = new MutableTouchSample().set(TouchSample.ACTION_MOVE, 0, 16)
+      .addPointer(0, 100, 110).addPointer(1, 200, 130);
+    update(pointers, frame, move);
+    pointers.calculateDistances(frame);
+    assertEquals(0f, pointers.getFirstPairDeltaX(frame), 0f);
+    assertEquals(20f, pointers.getFirstPairDeltaY(frame), 0f);
+    assertEquals(GestureMath.rotationDegrees(100, 0, 100, 20), pointers.getFirstPairRotationDegrees(), 0f);
+    assertTrue(pointers.isFirstPairHorizontal(GestureMath.axisTolerance(20)));
+    assertFalse(pointers.isFirstPairHorizontal(GestureMath.axisTolerance(5)));
+    assertFalse(pointers.isFirstPairVertical(GestureMath.axisTolerance(20)));
+  }
+
+  @Test
+  public void missingEventsTest() {
+    MultiFingerPointers pointers = new MultiFingerPointers();
+    GestureFrame frame = new GestureFrame();
+    update(pointers, frame, new MutableTouchSample().set(TouchSample.ACTION_DOWN, 0, 0).addPointer(0, 100, 100));
+
+    // the second pointer went down without an event
+    MutableTouchSample move = new MutableTouchSample().set(TouchSample.ACTION_MOVE, 0, 8)
+      .addPointer(0, 100, 100).addPointer(1, 200, 100);
+    assertTrue(update(pointers, frame, move));
+    assertTrue(pointers.pointerIdList.isEmpty());
+
+    // starting over with a new gesture
+    MutableTouchSample down = new MutableTouchSample().set(TouchSample.ACTION_DOWN, 0, 16)
+      .addPointer(2, 100, 100);
+    update(pointers, frame, down);
+    assertEquals(1, pointers.pointerIdList.size());
+    assertEquals(2, pointers.pointerIdList.get(0));
+  }
+
+  @Test
+  public void resumeTest() {
+    MultiFingerPointers pointers = new MultiFingerPointers();
+    MutableTouchSample pointerUp = new MutableTouchSample().set(TouchSample.ACTION_POINTER_UP, 1, 0)
+      .addPointer(4, 100, 100).addPointer(2, 200, 100).addPointer(5, 300, 100);
+    pointers.resume(pointerUp);
+    assertEquals(2, pointers.pointerIdList.size());
+    assertEquals(4, pointers.pointerIdList.get(0));
+    assertEquals(5, pointers.pointerIdList.get(1));
+
+    pointers.resume(new MutableTouchSample().set(TouchSample.ACTION_DOWN, 0, 8).addPointer(0, 100, 100));
+    assertTrue(pointers.pointerIdList.isEmpty());
+    pointers.resume(new MutableTouchSample().set(TouchSample.ACTION_CANCEL, 0, 16).addPointer(0, 100, 100));
+    assertTrue(pointers.pointerIdList.isEmpty());
+  }
+
+  /**
+   * The steps the detectors take for every event.
+   */
+  private static boolean update(MultiFingerPointers pointers, GestureFrame frame, MutableTouchSample sample) {
+    frame.update(sample);
+    boolean isMissingEvents = pointers.updateEventIndices(sample);
+    if (isMissingEvents) {
+      pointers.clear();
+    }
+    if (!isMissingEvents || sample.getActionMasked() == TouchSample.ACTION_DOWN) {
+      pointers.updatePointers(sample);
+    }
+    return isMissingEvents;
+  }
+}
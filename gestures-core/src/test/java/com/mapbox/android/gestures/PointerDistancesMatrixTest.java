@@ -0,0 +1,106 @@
+package com.mapbox.android.gestures;
+
+import org.junit.Test;
+
+import java.util.NoSuchElementException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class PointerDistancesMatrixTest {
+
+  @Test
+  public void pairsTest() {
+    PointerDistancesMatrix matrix = new PointerDistancesMatrix();
+    matrix.reset(3);
+    assertEquals(3, matrix.getPointersCount());
+    assertEquals(3, matrix.getPairsCount());
+
+    matrix.set(0, 1, 3, 4, 6, 8);
+    matrix.set(2, 1, 1, 1, 2, 2);
+
+    assertEquals(5f, matrix.getPrevFingersDiffXY(0, 1), 0f);
+    assertEquals(10f, matrix.getCurrFingersDiffXY(1, 0), 0f);
+    assertEquals(6f, matrix.getCurrFingersDiffX(0, 1), 0f);
+    assertEquals(8f, matrix.getCurrFingersDiffY(0, 1), 0f);
+    assertEquals(1f, matrix.getPrevFingersDiffX(1, 2), 0f);
+    assertEquals(1f, matrix.getPrevFingersDiffY(1, 2), 0f);
+  }
+
+  @Test
+  public void lazyCalculationTest() {
+    PointerDistancesMatrix lazyMatrix = new PointerDistancesMatrix();
+    PointerDistancesMatrix eagerMatrix = new PointerDistancesMatrix();
+    eagerMatrix.setLazy(false);
+    setTenPointers(lazyMatrix);
+    setTenPointers(eagerMatrix);
+
+    assertEquals(eagerMatrix.getCurrFingersDiffXY(0, 1), lazyMatrix.getCurrFingersDiffXY(0, 1), 0f);
+    assertEquals(eagerMatrix.getPrevFingersDiffX(9, 3), lazyMatrix.getPrevFingersDiffX(3, 9), 0f);
+    assertEquals(eagerMatrix.getCurrFingersDiffY(9, 3), lazyMatrix.getCurrFingersDiffY(3, 9), 0f);
+
+    // counters are updated once the next event arrives
+    lazyMatrix.reset(0);
+    eagerMatrix.reset(0);
+    assertEquals(0, eagerMatrix.getSkippedPairsCount());
+    assertEquals(0, eagerMatrix.getSkippedLengthsCount());
+    assertEquals(45 - 2, lazyMatrix.getSkippedPairsCount());
+    assertEquals(45 - 1, lazyMatrix.getSkippedLengthsCount());
+  }
+
+  @Test
+  public void lazyCacheInvalidationTest() {
+    PointerDistancesMatrix matrix = new PointerDistancesMatrix();
+    matrix.reset(2);
+    matrix.setPointer(0, 0, 0, 0, 0);
+    matrix.setPointer(1, 3, 4, 6, 8);
+    assertEquals(10f, matrix.getCurrFingersDiffXY(0, 1), 0f);
+
+    matrix.reset(2);
+    matrix.setPointer(0, 0, 0, 0, 0);
+    matrix.setPointer(1, 6, 8, 9, 12);
+    assertEquals(15f, matrix.getCurrFingersDiffXY(0, 1), 0f);
+    assertEquals(10f, matrix.getPrevFingersDiffXY(0, 1), 0f);
+  }
+
+  @Test
+  public void spanBelowThresholdTest() {
+    PointerDistancesMatrix matrix = new PointerDistancesMatrix();
+    matrix.reset(3);
+    matrix.setPointer(0, 0, 0, 0, 0);
+    matrix.setPointer(1, 0, 0, 30, 40);
+    matrix.setPointer(2, 0, 0, 100, 0);
+
+    assertFalse(matrix.isAnyCurrentSpanBelow(0));
+    assertFalse(matrix.isAnyCurrentSpanBelow(50));
+    assertTrue(matrix.isAnyCurrentSpanBelow(50.5f));
+
+    // squared comparison doesn't require any lengths
+    matrix.reset(0);
+    assertEquals(3, matrix.getSkippedLengthsCount());
+    assertEquals(0, matrix.getSkippedPairsCount());
+  }
+
+  @Test(expected = NoSuchElementException.class)
+  public void missingPairTest() {
+    PointerDistancesMatrix matrix = new PointerDistancesMatrix();
+    matrix.reset(2);
+    matrix.getCurrFingersDiffXY(0, 2);
+  }
+
+  @Test(expected = NoSuchElementException.class)
+  public void samePointerTest() {
+    PointerDistancesMatrix matrix = new PointerDistancesMatrix();
+    matrix.reset(2);
+    matrix.getCurrFingersDiffXY(1, 1);
+  }
+
+  private static void setTenPointers(PointerDistancesMatrix matrix) {
+    matrix.reset(10);
+    for (int i = 0; i < 10; i++) {
+      matrix.setPointer(i, i * 10, i * 15, i * 12, i * 7 + 5);
+    }
+    matrix.calculate();
+  }
+}
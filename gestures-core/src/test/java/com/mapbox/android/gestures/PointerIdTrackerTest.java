@@ -0,0 +1,75 @@
+package com.mapbox.android.gestures;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class PointerIdTrackerTest {
+
+  @Test
+  public void addingRemovingPointersTest() {
+    PointerIdTracker tracker = new PointerIdTracker();
+    assertTrue(tracker.isEmpty());
+
+    tracker.add(3);
+    tracker.add(0);
+    tracker.add(7);
+    assertEquals(3, tracker.size());
+    assertEquals(3, tracker.get(0));
+    assertEquals(0, tracker.get(1));
+    assertEquals(7, tracker.get(2));
+
+    // removing keeps the order of activation
+    assertTrue(tracker.remove(0));
+    assertFalse(tracker.remove(0));
+    assertEquals(2, tracker.size());
+    assertEquals(3, tracker.get(0));
+    assertEquals(7, tracker.get(1));
+    assertEquals(1, tracker.indexOf(7));
+    assertFalse(tracker.contains(0));
+
+    tracker.clear();
+    assertTrue(tracker.isEmpty());
+  }
+
+  @Test
+  public void capacityTest() {
+    PointerIdTracker tracker = new PointerIdTracker();
+    for (int i = 0; i < PointerIdTracker.MAX_POINTER_ID_COUNT + 5; i++) {
+      tracker.add(i);
+    }
+    assertEquals(PointerIdTracker.MAX_POINTER_ID_COUNT, tracker.size());
+
+    tracker.clear();
+    tracker.add(-1);
+    tracker.add(PointerIdTracker.MAX_POINTER_ID_COUNT);
+    assertTrue(tracker.isEmpty());
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void getOutOfBoundsTest() {
+    PointerIdTracker tracker = new PointerIdTracker();
+    tracker.add(0);
+    tracker.get(1);
+  }
+
+  @Test
+  public void eventIndicesTest() {
+    PointerIdTracker tracker = new PointerIdTracker();
+    MutableTouchSample sample = new MutableTouchSample();
+
+    tracker.updateEventIndices(sample.set(TouchSample.ACTION_DOWN, 0, 0).addPointer(0, 0, 0));
+    assertEquals(0, tracker.getCurrentEventIndex(0));
+    assertEquals(-1, tracker.getCurrentEventIndex(1));
+
+    tracker.updateEventIndices(sample.set(TouchSample.ACTION_POINTER_DOWN, 1, 10)
+      .addPointer(0, 0, 0).addPointer(1, 50, 50));
+    assertEquals(0, tracker.getCurrentEventIndex(0));
+    assertEquals(1, tracker.getCurrentEventIndex(1));
+    assertEquals(0, tracker.getPreviousEventIndex(0));
+    assertEquals(-1, tracker.getPreviousEventIndex(1));
+    assertEquals(-1, tracker.getCurrentEventIndex(PointerIdTracker.MAX_POINTER_ID_COUNT));
+  }
+}
@@ -0,0 +1,55 @@
+package com.mapbox.android.gestures;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ScaleSpanTest {
+  private final GestureFrame frame = new GestureFrame();
+  private final PointerIdTracker pointers = new PointerIdTracker();
+
+  @Before
+  public void setUp() {
+    frame.update(new MutableTouchSample().set(TouchSample.ACTION_POINTER_DOWN, 1, 0)
+      .addPointer(0, 100, 100).addPointer(1, 300, 100));
+    pointers.add(0);
+    pointers.add(1);
+  }
+
+  @Test
+  public void spanModesTest() {
+    ScaleSpan scaleSpan = new ScaleSpan();
+
+    scaleSpan.calculate(frame);
+    assertEquals(400f, scaleSpan.getSpanX(), 0f);
+    assertEquals(0f, scaleSpan.getSpanY(), 0f);
+    assertEquals(400f, scaleSpan.getSpan(), 0f);
+
+    scaleSpan.calculateCentroid(frame, pointers);
+    assertEquals(200f, scaleSpan.getSpanX(), 0f);
+    assertEquals(0f, scaleSpan.getSpanY(), 0f);
+    assertEquals(200f, scaleSpan.getSpan(), 0f);
+
+    scaleSpan.calculateQuickScale(frame, pointers, 100, 50);
+    assertEquals(400f, scaleSpan.getSpanX(), 0f);
+    assertEquals(200f, scaleSpan.getSpanY(), 0f);
+    assertEquals(200f, scaleSpan.getSpan(), 0f);
+  }
+
+  @Test
+  public void scaleFactorTest() {
+    assertEquals(GestureMath.scaleFactor(200, 100), ScaleSpan.scaleFactor(false, 200, 100, 300, 50), 0f);
+    assertEquals(GestureMath.quickScaleFactor(200, 100, 300, 50, ScaleSpan.QUICK_SCALE_MULTIPLIER),
+      ScaleSpan.scaleFactor(true, 200, 100, 300, 50), 0f);
+  }
+
+  @Test
+  public void anyPointerCloserThanTest() {
+    assertFalse(ScaleSpan.isAnyPointerCloserThan(frame, pointers, 100));
+    assertTrue(ScaleSpan.isAnyPointerCloserThan(frame, pointers, 101));
+    assertFalse(ScaleSpan.isAnyPointerCloserThan(frame, pointers, 0));
+  }
+}
@@ -0,0 +1,106 @@
+package com.mapbox.android.gestures;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class SimilarityTransformTest {
+  private static final float[] XS = {60, 140, 100};
+  private static final float[] YS = {80, 80, 140};
+
+  @Test
+  public void similarityTransformTest() {
+    GestureFrame frame = new GestureFrame();
+    PointerIdTracker pointers = new PointerIdTracker();
+    frame.update(sample(0, 0, 1f, 0));
+    frame.update(sample(10, -5, 1.5f, 30));
+    addPointers(pointers, XS.length);
+
+    SimilarityTransform transform = new SimilarityTransform();
+    assertTrue(transform.fit(frame, pointers));
+    assertEquals(3, transform.getPointersCount());
+    assertEquals(10f, transform.getTranslationX(), 0.001f);
+    assertEquals(-5f, transform.getTranslationY(), 0.001f);
+    assertEquals(1.5f, transform.getScaleFactor(), 0.0001f);
+    assertEquals(-30f, transform.getRotationDegrees(), 0.001f);
+    assertEquals(1.5f, transform.getSpan() / transform.getPreviousSpan(), 0.0001f);
+  }
+
+  @Test
+  public void rotationSignMatchesPairRotationTest() {
+    GestureFrame frame = new GestureFrame();
+    PointerIdTracker pointers = new PointerIdTracker();
+    MutableTouchSample sample = new MutableTouchSample();
+    frame.update(sample.set(TouchSample.ACTION_MOVE, 0, 0).addPointer(0, 0, 0).addPointer(1, 100, 0));
+    frame.update(sample.set(TouchSample.ACTION_MOVE, 0, 10).addPointer(0, 0, 0).addPointer(1, 0, 100));
+    addPointers(pointers, 2);
+
+    SimilarityTransform transform = new SimilarityTransform();
+    transform.fit(frame, pointers);
+    assertEquals(GestureMath.rotationDegrees(100, 0, 0, 100), transform.getRotationDegrees(), 0.001f);
+  }
+
+  @Test
+  public void singlePointerTranslatesTest() {
+    GestureFrame frame = new GestureFrame();
+    PointerIdTracker pointers = new PointerIdTracker();
+    MutableTouchSample sample = new MutableTouchSample();
+    frame.update(sample.set(TouchSample.ACTION_DOWN, 0, 0).addPointer(0, 100, 100));
+    frame.update(sample.set(TouchSample.ACTION_MOVE, 0, 10).addPointer(0, 120, 90));
+    addPointers(pointers, 1);
+
+    SimilarityTransform transform = new SimilarityTransform();
+    assertTrue(transform.fit(frame, pointers));
+    assertEquals(20f, transform.getTranslationX(), 0f);
+    assertEquals(-10f, transform.getTranslationY(), 0f);
+    assertEquals(1f, transform.getScaleFactor(), 0f);
+    assertEquals(0f, transform.getRotationDegrees(), 0f);
+  }
+
+  @Test
+  public void newPointerIgnoredTest() {
+    GestureFrame frame = new GestureFrame();
+    PointerIdTracker pointers = new PointerIdTracker();
+    MutableTouchSample sample = new MutableTouchSample();
+    frame.update(sample.set(TouchSample.ACTION_DOWN, 0, 0).addPointer(0, 100, 100));
+    frame.update(sample.set(TouchSample.ACTION_POINTER_DOWN, 1, 10).addPointer(0, 100, 100).addPointer(1, 300, 100));
+    addPointers(pointers, 2);
+
+    SimilarityTransform transform = new SimilarityTransform();
+    assertTrue(transform.fit(frame, pointers));
+    assertEquals(1, transform.getPointersCount());
+    assertEquals(0f, transform.getTranslationX(), 0f);
+    assertEquals(1f, transform.getScaleFactor(), 0f);
+
+    frame.update(sample.set(TouchSample.ACTION_DOWN, 0, 0).addPointer(2, 100, 100));
+    assertFalse(transform.fit(frame, pointers));
+    assertEquals(0, transform.getPointersCount());
+  }
+
+  /**
+   * Pointers of the {@link #XS} and {@link #YS} triangle, scaled and rotated counter-clockwise around its centroid.
+   */
+  private static MutableTouchSample sample(float translationX, float translationY, float scale, float degrees) {
+    float centroidX = (XS[0] + XS[1] + XS[2]) / 3;
+    float centroidY = (YS[0] + YS[1] + YS[2]) / 3;
+    double radians = Math.toRadians(degrees);
+    MutableTouchSample sample = new MutableTouchSample().set(TouchSample.ACTION_MOVE, 0, 0);
+    for (int i = 0; i < XS.length; i++) {
+      double x = XS[i] - centroidX;
+      double y = YS[i] - centroidY;
+      double rotatedX = x * Math.cos(radians) - y * Math.sin(radians);
+      double rotatedY = x * Math.sin(radians) + y * Math.cos(radians);
+      sample.addPointer(i,
+        (float) (centroidX + translationX + scale * rotatedX), (float) (centroidY + translationY + scale * rotatedY));
+    }
+    return sample;
+  }
+
+  private static void addPointers(PointerIdTracker pointers, int count) {
+    for (int i = 0; i < count; i++) {
+      pointers.add(i);
+    }
+  }
+}
@@ -0,0 +1,113 @@
+package com.mapbox.android.gestures;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class VelocityEstimatorTest {
+  private static final long FRAME_MILLIS = 8;
+
+  @Test
+  public void constantVelocityTest() {
+    for (int strategy : new int[] {VelocityEstimator.STRATEGY_LEAST_SQUARES, VelocityEstimator.STRATEGY_IMPULSE}) {
+      VelocityEstimator estimator = new VelocityEstimator(strategy);
+      long time = 0;
+      for (int i = 0; i < 30; i++, time += FRAME_MILLIS) {
+        // 1500 px/s to the right, 500 px/s up
+        estimator.addSample(time, 100 + 1.5f * time, 400 - 0.5f * time);
+      }
+      estimator.computeVelocity(time - FRAME_MILLIS);
+      assertEquals(1500f, estimator.getVelocityX(), 1f);
+      assertEquals(-500f, estimator.getVelocityY(), 1f);
+    }
+  }
+
+  @Test
+  public void leastSquaresFollowsDecelerationTest() {
+    // p(t) = 2000 t - 5000 t^2, slowing down from 2000 px/s
+    VelocityEstimator estimator = new VelocityEstimator(VelocityEstimator.STRATEGY_LEAST_SQUARES);
+    double seconds = 0;
+    for (int i = 0; i < 13; i++) {
+      seconds = i * FRAME_MILLIS / 1000.0;
+      estimator.addSample(i * FRAME_MILLIS, (float) (2000 * seconds - 5000 * seconds * seconds), 0);
+    }
+    estimator.computeVelocity(12 * FRAME_MILLIS);
+    assertEquals(2000 - 10000 * seconds, estimator.getVelocityX(), 2);
+    assertEquals(0f, estimator.getVelocityY(), 0f);
+  }
+
+  @Test
+  public void sineCurveTest() {
+    // p(t) = 100 sin(2 pi t), sampled at an irregular rate
+    long[] intervals = {7, 9, 8, 6, 10, 8};
+    for (int strategy : new int[] {VelocityEstimator.STRATEGY_LEAST_SQUARES, VelocityEstimator.STRATEGY_IMPULSE}) {
+      VelocityEstimator estimator = new VelocityEstimator(strategy);
+      long time = 0;
+      for (int i = 0; i < 40; i++) {
+        estimator.addSample(time, 0, (float) (100 * Math.sin(2 * Math.PI * time / 1000.0)));
+        estimator.computeVelocity(time);
+        if (i > 5) {
+          double reference = 200 * Math.PI * Math.cos(2 * Math.PI * time / 1000.0);
+          // relative to the peak velocity, the impulse strategy lags behind
+          // as it integrates the energy over the whole horizon
+          double tolerance = 200 * Math.PI * (strategy == VelocityEstimator.STRATEGY_LEAST_SQUARES ? 0.05 : 0.15);
+          assertEquals("strategy " + strategy + ", " + time + " ms", reference, estimator.getVelocityY(), tolerance);
+        }
+        time += intervals[i % intervals.length];
+      }
+    }
+  }
+
+  @Test
+  public void samplesOutsideOfHorizonIgnoredTest() {
+    VelocityEstimator estimator = new VelocityEstimator(VelocityEstimator.STRATEGY_LEAST_SQUARES);
+    long time = 0;
+    // fast movement followed by a slow one, longer than the horizon
+    for (; time <= 200; time += FRAME_MILLIS) {
+      estimator.addSample(time, time * 5f, 0);
+    }
+    float position = time * 5f;
+    for (long start = time; time <= start + 2 * VelocityEstimator.HORIZON_MILLIS; time += FRAME_MILLIS) {
+      position += FRAME_MILLIS * 0.2f;
+      estimator.addSample(time, position, 0);
+    }
+    estimator.computeVelocity(time - FRAME_MILLIS);
+    assertEquals(200f, estimator.getVelocityX(), 1f);
+  }
+
+  @Test
+  public void stoppedPointTest() {
+    VelocityEstimator estimator = new VelocityEstimator(VelocityEstimator.STRATEGY_LEAST_SQUARES);
+    for (long time = 0; time <= 80; time += FRAME_MILLIS) {
+      estimator.addSample(time, time * 2f, 0);
+    }
+    // lifted long after the last movement
+    estimator.computeVelocity(80 + VelocityEstimator.ASSUME_STOPPED_MILLIS + 1);
+    assertEquals(0f, estimator.getVelocityX(), 0f);
+
+    // movement resumed after a pause, only the new samples count
+    estimator.addSample(200, 0, 0);
+    estimator.computeVelocity(200);
+    assertEquals(0f, estimator.getVelocityX(), 0f);
+    estimator.addSample(208, 8, 0);
+    estimator.computeVelocity(208);
+    assertEquals(1000f, estimator.getVelocityX(), 0.01f);
+  }
+
+  @Test
+  public void clearTest() {
+    VelocityEstimator estimator = new VelocityEstimator(VelocityEstimator.STRATEGY_IMPULSE);
+    estimator.addSample(0, 0, 0);
+    estimator.addSample(8, 8, 8);
+    estimator.clear();
+    estimator.addSample(16, 16, 16);
+    estimator.computeVelocity(16);
+    assertEquals(0f, estimator.getVelocityX(), 0f);
+    assertEquals(0f, estimator.getVelocityY(), 0f);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void unknownStrategyTest() {
+    new VelocityEstimator(0);
+  }
+}
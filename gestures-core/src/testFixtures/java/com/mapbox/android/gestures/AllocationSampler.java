@@ -0,0 +1,115 @@
+package com.mapbox.android.gestures;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import com.sun.management.HotSpotDiagnosticMXBean;
+
+/**
+ * Samples allocations of the calling thread with the Flight Recorder while the passed code runs.
+ * <p>
+ * The JVM reports an allocation sample every time a thread refills its allocation buffer,
+ * so with small fixed buffers (see the unit test JVM arguments in {@code library/build.gradle.kts})
+ * every allocation site that allocates repeatedly shows up in the samples.
+ * <p>
+ * Robolectric can't load the Flight Recorder classes into its sandbox, so this class is loaded
+ * by the system class loader, see {@link #create()}, and only passes {@code java.*} types across:
+ * each sample is an array of the allocated class name, the sample's weight in bytes and the stack frames
+ * as {@code "class.method:line"} strings, top frame first.
+ */
+public final class AllocationSampler implements Function<Runnable, List<Object[]>> {
+
+  private static final long MAX_DENSE_TLAB_SIZE = 4096;
+
+  /**
+   * Creates a sampler outside of the Robolectric sandbox.
+   *
+   * @return sampler running the passed code and returning the allocation samples
+   */
+  @SuppressWarnings("unchecked")
+  static Function<Runnable, List<Object[]>> create() {
+    try {
+      return (Function<Runnable, List<Object[]>>) loadOutsideSandbox().getDeclaredConstructor().newInstance();
+    } catch (ReflectiveOperationException exception) {
+      throw new IllegalStateException(exception);
+    }
+  }
+
+  /**
+   * Check whether allocation buffers are small and fixed, which makes the sampling dense enough
+   * to catch small repeated allocations.
+   *
+   * @return true if sampling is dense, false otherwise
+   */
+  static boolean isSamplingDense() {
+    try {
+      return (Boolean) loadOutsideSandbox().getDeclaredMethod("hasSmallFixedTlabs").invoke(null);
+    } catch (ReflectiveOperationException exception) {
+      throw new IllegalStateException(exception);
+    }
+  }
+
+  private static Class<?> loadOutsideSandbox() throws ClassNotFoundException {
+    return ClassLoader.getSystemClassLoader().loadClass(AllocationSampler.class.getName());
+  }
+
+  public static boolean hasSmallFixedTlabs() {
+    HotSpotDiagnosticMXBean bean = ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class);
+    boolean resizeTlab = Boolean.parseBoolean(bean.getVMOption("ResizeTLAB").getValue());
+    long tlabSize = Long.parseLong(bean.getVMOption("TLABSize").getValue());
+    return !resizeTlab && tlabSize > 0 && tlabSize <= MAX_DENSE_TLAB_SIZE;
+  }
+
+  @Override
+  public List<Object[]> apply(Runnable runnable) {
+    Path file = null;
+    try (Recording recording = new Recording()) {
+      recording.enable("jdk.ObjectAllocationSample").with("throttle", "off").withStackTrace();
+      recording.start();
+      runnable.run();
+      recording.stop();
+
+      file = Files.createTempFile("allocations", ".jfr");
+      recording.dump(file);
+      return readSamples(file, Thread.currentThread().getId());
+    } catch (IOException exception) {
+      throw new IllegalStateException(exception);
+    } finally {
+      if (file != null) {
+        file.toFile().delete();
+      }
+    }
+  }
+
+  private static List<Object[]> readSamples(Path file, long threadId) throws IOException {
+    List<Object[]> samples = new ArrayList<>();
+    for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+      RecordedThread thread = event.getThread("eventThread");
+      RecordedStackTrace stackTrace = event.getStackTrace();
+      if (thread == null || thread.getJavaThreadId() != threadId || stackTrace == null) {
+        continue;
+      }
+      List<RecordedFrame> recordedFrames = stackTrace.getFrames();
+      String[] frames = new String[recordedFrames.size()];
+      for (int i = 0; i < frames.length; i++) {
+        RecordedFrame frame = recordedFrames.get(i);
+        frames[i] = frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+          + ":" + frame.getLineNumber();
+      }
+      samples.add(new Object[] {event.getClass("objectClass").getName(), event.getLong("weight"), frames});
+    }
+    return samples;
+  }
+}
@@ -34,15 +34,27 @@ android {
         targetSdk = libs.versions.targetSdkVersion.get().toInt()
         unitTests {
             isIncludeAndroidResources = true
+            all {
+                // small fixed allocation buffers make the allocation sampling of SteadyStateAllocationTest dense
+                it.jvmArgs("-XX:MinTLABSize=1k", "-XX:TLABSize=1k", "-XX:-ResizeTLAB")
+                // without escape analysis the JIT can't remove allocations that a device's runtime would make
+                it.jvmArgs("-XX:-DoEscapeAnalysis", "-XX:-EliminateAllocations")
+                // -PupdateGoldens makes GoldenCorpusTest rewrite its golden output instead of verifying it
+                if (project.hasProperty("updateGoldens")) {
+                    it.systemProperty("goldenOutputDir", file("src/test/resources/golden").absolutePath)
+                }
+            }
         }
     }
 }
 
 dependencies {
+    api(project(":gestures-core"))
     implementation(libs.androidx.annotations)
     testImplementation(libs.junit)
     testImplementation(libs.mockito)
     testImplementation(libs.robolectric)
+    testImplementation(testFixtures(project(":gestures-core")))
     androidTestImplementation(libs.mockitoAndroid)
     androidTestImplementation(libs.androidx.test.espresso.core)
 }
\ No newline at end of file
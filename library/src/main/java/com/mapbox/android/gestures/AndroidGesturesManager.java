@@ -3,6 +3,8 @@ package com.mapbox.android.gestures;
 import android.content.Context;
 import android.os.Build;
 import androidx.annotation.IntDef;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.annotation.UiThread;
 import android.view.MotionEvent;
 
@@ -10,6 +12,7 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArrayList;
@@ -36,7 +39,8 @@ public class AndroidGesturesManager {
     GESTURE_TYPE_SINGLE_TAP_CONFIRMED,
     GESTURE_TYPE_MOVE,
     GESTURE_TYPE_SIDEWAYS_SHOVE,
-    GESTURE_TYPE_QUICK_SCALE
+    GESTURE_TYPE_QUICK_SCALE,
+    GESTURE_TYPE_TRANSFORM
   })
   public @interface GestureType {
   }
@@ -57,9 +61,37 @@ public class AndroidGesturesManager {
   public static final int GESTURE_TYPE_MOVE = 13;
   public static final int GESTURE_TYPE_SIDEWAYS_SHOVE = 14;
   public static final int GESTURE_TYPE_QUICK_SCALE = 15;
+  public static final int GESTURE_TYPE_TRANSFORM = 16;
 
   private final List<Set<Integer>> mutuallyExclusiveGestures = new ArrayList<>();
+  /**
+   * For each {@link GestureType} holds a bitmask of all the gesture types that are mutually exclusive with it.
+   */
+  private final long[] mutuallyExclusiveGesturesMasks = new long[Long.SIZE];
+  /**
+   * Bitmask of all the {@link GestureType}s that are currently in progress.
+   */
+  private long inProgressGesturesMask;
   private final List<BaseGesture> detectors;
+  private final MotionEventSnapshot eventSnapshot = new MotionEventSnapshot();
+  private final DisplayGeometry displayGeometry;
+  @Nullable
+  private TouchRecorder touchRecorder;
+  @Nullable
+  private GestureMetrics gestureMetrics;
+  private boolean traceSectionsEnabled;
+  private boolean frameCoalescingEnabled;
+  @Nullable
+  private FrameClock frameClock;
+  private boolean frameCallbackPosted;
+  private final Runnable frameCallback = new Runnable() {
+    @Override
+    public void run() {
+      frameCallbackPosted = false;
+      deliverCoalescedProgress();
+      inertiaEngine.doFrame();
+    }
+  };
 
   private final StandardGestureDetector standardGestureDetector;
   private final StandardScaleGestureDetector standardScaleGestureDetector;
@@ -67,7 +99,9 @@ public class AndroidGesturesManager {
   private final ShoveGestureDetector shoveGestureDetector;
   private final MultiFingerTapGestureDetector multiFingerTapGestureDetector;
   private final MoveGestureDetector moveGestureDetector;
+  private final TransformGestureDetector transformGestureDetector;
   private final SidewaysShoveGestureDetector sidewaysShoveGestureDetector;
+  private final InertiaEngine inertiaEngine;
 
   /**
    * Creates a new instance of the {@link AndroidGesturesManager}.
@@ -120,6 +154,8 @@ public class AndroidGesturesManager {
    */
   public AndroidGesturesManager(Context context, List<Set<Integer>> exclusiveGestures, boolean applyDefaultThresholds) {
     this.mutuallyExclusiveGestures.addAll(exclusiveGestures);
+    compileMutuallyExclusiveGestures();
+    displayGeometry = new DisplayGeometry(context);
 
     rotateGestureDetector = new RotateGestureDetector(context, this);
     standardScaleGestureDetector = new StandardScaleGestureDetector(context, this);
@@ -127,7 +163,9 @@ public class AndroidGesturesManager {
     sidewaysShoveGestureDetector = new SidewaysShoveGestureDetector(context, this);
     multiFingerTapGestureDetector = new MultiFingerTapGestureDetector(context, this);
     moveGestureDetector = new MoveGestureDetector(context, this);
+    transformGestureDetector = new TransformGestureDetector(context, this);
     standardGestureDetector = new StandardGestureDetector(context, this);
+    inertiaEngine = new InertiaEngine(context, this);
 
     detectors = new CopyOnWriteArrayList<BaseGesture>(Arrays.asList(
             rotateGestureDetector,
@@ -146,41 +184,52 @@ public class AndroidGesturesManager {
 
   private void initDefaultThresholds() {
     for (BaseGesture detector : detectors) {
-      if (detector instanceof MultiFingerGesture) {
-        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.N) {
-          ((MultiFingerGesture) detector).setSpanThresholdResource(R.dimen.mapbox_internalMinSpan23);
-        } else {
-          ((MultiFingerGesture) detector).setSpanThresholdResource(R.dimen.mapbox_internalMinSpan24);
-        }
-      }
+      initDefaultThresholds(detector);
+    }
+    initDefaultThresholds(transformGestureDetector);
+  }
 
-      if (detector instanceof StandardScaleGestureDetector) {
-        ((StandardScaleGestureDetector) detector).setSpanSinceStartThresholdResource(
-          R.dimen.mapbox_defaultScaleSpanSinceStartThreshold);
+  private void initDefaultThresholds(BaseGesture detector) {
+    if (detector instanceof MultiFingerGesture) {
+      if (Build.VERSION.SDK_INT < Build.VERSION_CODES.N) {
+        ((MultiFingerGesture) detector).setSpanThresholdResource(R.dimen.mapbox_internalMinSpan23);
+      } else {
+        ((MultiFingerGesture) detector).setSpanThresholdResource(R.dimen.mapbox_internalMinSpan24);
       }
+    }
 
-      if (detector instanceof ShoveGestureDetector) {
-        ((ShoveGestureDetector) detector).setPixelDeltaThresholdResource(R.dimen.mapbox_defaultShovePixelThreshold);
-        ((ShoveGestureDetector) detector).setMaxShoveAngle(Constants.DEFAULT_SHOVE_MAX_ANGLE);
-      }
+    if (detector instanceof StandardScaleGestureDetector) {
+      ((StandardScaleGestureDetector) detector).setSpanSinceStartThresholdResource(
+        R.dimen.mapbox_defaultScaleSpanSinceStartThreshold);
+    }
 
-      if (detector instanceof SidewaysShoveGestureDetector) {
-        ((SidewaysShoveGestureDetector) detector).setPixelDeltaThresholdResource(
-          R.dimen.mapbox_defaultShovePixelThreshold);
-        ((SidewaysShoveGestureDetector) detector).setMaxShoveAngle(Constants.DEFAULT_SHOVE_MAX_ANGLE);
-      }
+    if (detector instanceof ShoveGestureDetector) {
+      ((ShoveGestureDetector) detector).setPixelDeltaThresholdResource(R.dimen.mapbox_defaultShovePixelThreshold);
+      ((ShoveGestureDetector) detector).setMaxShoveAngle(Constants.DEFAULT_SHOVE_MAX_ANGLE);
+    }
+
+    if (detector instanceof SidewaysShoveGestureDetector) {
+      ((SidewaysShoveGestureDetector) detector).setPixelDeltaThresholdResource(
+        R.dimen.mapbox_defaultShovePixelThreshold);
+      ((SidewaysShoveGestureDetector) detector).setMaxShoveAngle(Constants.DEFAULT_SHOVE_MAX_ANGLE);
+    }
 
-      if (detector instanceof MultiFingerTapGestureDetector) {
-        ((MultiFingerTapGestureDetector) detector).setMultiFingerTapMovementThresholdResource(
-          R.dimen.mapbox_defaultMultiTapMovementThreshold);
+    if (detector instanceof MultiFingerTapGestureDetector) {
+      ((MultiFingerTapGestureDetector) detector).setMultiFingerTapMovementThresholdResource(
+        R.dimen.mapbox_defaultMultiTapMovementThreshold);
 
-        ((MultiFingerTapGestureDetector) detector).setMultiFingerTapTimeThreshold(
-          Constants.DEFAULT_MULTI_TAP_TIME_THRESHOLD);
-      }
+      ((MultiFingerTapGestureDetector) detector).setMultiFingerTapTimeThreshold(
+        Constants.DEFAULT_MULTI_TAP_TIME_THRESHOLD);
+    }
 
-      if (detector instanceof RotateGestureDetector) {
-        ((RotateGestureDetector) detector).setAngleThreshold(Constants.DEFAULT_ROTATE_ANGLE_THRESHOLD);
-      }
+    if (detector instanceof RotateGestureDetector) {
+      ((RotateGestureDetector) detector).setAngleThreshold(Constants.DEFAULT_ROTATE_ANGLE_THRESHOLD);
+    }
+
+    if (detector instanceof TransformGestureDetector) {
+      ((TransformGestureDetector) detector).setScaleSpanThresholdResource(
+        R.dimen.mapbox_defaultScaleSpanSinceStartThreshold);
+      ((TransformGestureDetector) detector).setRotationThreshold(Constants.DEFAULT_ROTATE_ANGLE_THRESHOLD);
     }
   }
 
@@ -191,15 +240,64 @@ public class AndroidGesturesManager {
    * @return true if the touch event is handled by any gesture, false otherwise.
    */
   public boolean onTouchEvent(MotionEvent motionEvent) {
+    if (motionEvent == null) {
+      return false;
+    }
+    return onTouchEvent(motionEvent,
+      motionEvent.getRawX() - motionEvent.getX(), motionEvent.getRawY() - motionEvent.getY());
+  }
+
+  /**
+   * Passes motion events to all gesture detectors, with the offset between the raw and the view coordinates
+   * given separately instead of taken from the event, see {@link TouchReplayer}.
+   *
+   * @param motionEvent event to pass
+   * @param rawOffsetX  X offset between the raw and the view coordinates
+   * @param rawOffsetY  Y offset between the raw and the view coordinates
+   * @return true if the touch event is handled by any gesture, false otherwise.
+   */
+  boolean onTouchEvent(@NonNull MotionEvent motionEvent, float rawOffsetX, float rawOffsetY) {
+    if (touchRecorder != null) {
+      touchRecorder.record(motionEvent, rawOffsetX, rawOffsetY);
+    }
+
+    if (motionEvent.getActionMasked() == MotionEvent.ACTION_DOWN) {
+      // a new gesture takes over the camera
+      inertiaEngine.interrupt();
+    }
+
+    boolean tracing = traceSectionsEnabled;
+    if (tracing) {
+      TraceSections.begin(TraceSections.DISPATCH);
+    }
+    // copy the event once and share it with all of the detectors
+    eventSnapshot.update(motionEvent, rawOffsetX, rawOffsetY);
     boolean isHandled = false;
-    for (BaseGesture detector : detectors) {
-      if (detector.onTouchEvent(motionEvent)) {
-        isHandled = true;
+    try {
+      // indexed loop, iterating the list would allocate an iterator for every event
+      for (int i = 0; i < detectors.size(); i++) {
+        if (detectors.get(i).onTouchEvent(motionEvent)) {
+          isHandled = true;
+        }
+      }
+    } finally {
+      eventSnapshot.releaseSource();
+      if (tracing) {
+        TraceSections.end();
       }
     }
     return isHandled;
   }
 
+  /**
+   * Unregisters the display and configuration callbacks that keep the cached display metrics up to date.
+   * Call it when the manager stops receiving events, for example when the view it's attached to
+   * is detached from its window. The callbacks are registered again with the next event that needs the metrics.
+   */
+  public void release() {
+    displayGeometry.release();
+  }
+
   /**
    * Sets a listener for all the events normally returned by the {@link androidx.core.view.GestureDetectorCompat}.
    *
@@ -307,6 +405,34 @@ public class AndroidGesturesManager {
     moveGestureDetector.removeListener();
   }
 
+  /**
+   * Sets a listener for transform gestures.
+   * <p>
+   * {@link TransformGestureDetector} reports the translation, scale and rotation of the pointers together,
+   * in a single callback per event, and can replace the move, scale and rotate listeners
+   * when all of them are applied to the same camera.
+   * <p>
+   * The transform detector is opt-in, it's added to {@link #getDetectors()} and starts receiving events
+   * only when this listener is set.
+   *
+   * @param listener your gestures listener
+   */
+  public void setTransformGestureListener(TransformGestureDetector.OnTransformGestureListener listener) {
+    transformGestureDetector.setListener(listener);
+    if (!detectors.contains(transformGestureDetector)) {
+      int standardDetectorIndex = detectors.indexOf(standardGestureDetector);
+      detectors.add(standardDetectorIndex != -1 ? standardDetectorIndex : detectors.size(), transformGestureDetector);
+    }
+  }
+
+  /**
+   * Removes a listener for transform gestures, the transform detector stops receiving events.
+   */
+  public void removeTransformGestureListener() {
+    transformGestureDetector.removeListener();
+    detectors.remove(transformGestureDetector);
+  }
+
   /**
    * Sets a listener for sideways shove gestures.
    *
@@ -323,6 +449,170 @@ public class AndroidGesturesManager {
     sidewaysShoveGestureDetector.removeListener();
   }
 
+  /**
+   * Sets a recorder that every event passed to {@link #onTouchEvent(MotionEvent)} is appended to,
+   * for replaying the gestures later with the {@link TouchReplayer}.
+   *
+   * @param touchRecorder recorder to attach, or null to stop recording
+   */
+  public void setTouchRecorder(@Nullable TouchRecorder touchRecorder) {
+    this.touchRecorder = touchRecorder;
+  }
+
+  /**
+   * Get the recorder that the events are appended to.
+   *
+   * @return attached recorder, or null if the events are not recorded
+   */
+  @Nullable
+  public TouchRecorder getTouchRecorder() {
+    return touchRecorder;
+  }
+
+  /**
+   * Sets a sink for the per-detector costs and counts of the gesture recognition.
+   * Detectors don't measure anything when no sink is set.
+   *
+   * @param gestureMetrics sink to install, or null to stop measuring
+   */
+  public void setGestureMetrics(@Nullable GestureMetrics gestureMetrics) {
+    this.gestureMetrics = gestureMetrics;
+  }
+
+  /**
+   * Get the sink for the per-detector costs and counts of the gesture recognition.
+   *
+   * @return installed sink, or null if the recognition is not measured
+   */
+  @Nullable
+  public GestureMetrics getGestureMetrics() {
+    return gestureMetrics;
+  }
+
+  /**
+   * Enables system trace sections around the event dispatch, the analysis of each detector,
+   * every listener callback and, from API 29, asynchronous sections spanning the progressive gestures.
+   * <p>
+   * The sections can be inspected with Perfetto or systrace to attribute the input latency to the gesture recognition
+   * and to the listeners. Sections cost nothing while disabled, which is the default.
+   * The flag should only be changed between motion events, not from within the listener callbacks.
+   *
+   * @param enabled true to emit the trace sections, false otherwise
+   */
+  public void setTraceSectionsEnabled(boolean enabled) {
+    this.traceSectionsEnabled = enabled;
+  }
+
+  /**
+   * Check whether the system trace sections are emitted.
+   *
+   * @return true if the trace sections are emitted, false otherwise
+   * @see #setTraceSectionsEnabled(boolean)
+   */
+  public boolean isTraceSectionsEnabled() {
+    return traceSectionsEnabled;
+  }
+
+  /**
+   * Enables the delivery of coalesced progress callbacks, at most one per display frame.
+   * <p>
+   * Instead of calling {@link MoveGestureDetector.OnMoveGestureListener#onMove(MoveGestureDetector, float, float)},
+   * {@link StandardScaleGestureDetector.StandardOnScaleGestureListener#onScale(StandardScaleGestureDetector)},
+   * {@link RotateGestureDetector.OnRotateGestureListener#onRotate(RotateGestureDetector, float, float)} and
+   * {@link TransformGestureDetector.OnTransformGestureListener
+   * #onTransform(TransformGestureDetector, float, float, float, float)} for every motion event,
+   * the detectors accumulate the distances, scale factors and rotation deltas and deliver them on the next frame
+   * of the {@link FrameClock}. The accumulated values add up to the ones that would have been delivered
+   * event by event. Pending progress is always delivered before the gesture's end callback,
+   * so begin, progress and end callbacks keep their order.
+   * <p>
+   * While coalescing, the events that would have been passed to a progress callback are reported as handled.
+   * Other getters of the detectors, like the focal point, reflect the latest event.
+   * When the coalescing is disabled, pending progress is delivered immediately.
+   *
+   * @param enabled true to coalesce the progress callbacks, false to deliver them with every event
+   */
+  public void setFrameCoalescingEnabled(boolean enabled) {
+    if (frameCoalescingEnabled && !enabled) {
+      frameCoalescingEnabled = false;
+      if (frameCallbackPosted && !inertiaEngine.isRunning()) {
+        frameCallbackPosted = false;
+        getFrameClock().removeFrameCallback(frameCallback);
+      }
+      deliverCoalescedProgress();
+    }
+    this.frameCoalescingEnabled = enabled;
+  }
+
+  /**
+   * Check whether the progress callbacks are coalesced to one per display frame.
+   *
+   * @return true if the progress callbacks are coalesced, false otherwise
+   * @see #setFrameCoalescingEnabled(boolean)
+   */
+  public boolean isFrameCoalescingEnabled() {
+    return frameCoalescingEnabled;
+  }
+
+  /**
+   * Sets the source of the frames that the coalesced progress callbacks are delivered on.
+   * By default, the {@link android.view.Choreographer} of the thread is used.
+   *
+   * @param frameClock frame source to use
+   * @see #setFrameCoalescingEnabled(boolean)
+   */
+  public void setFrameClock(@NonNull FrameClock frameClock) {
+    if (frameCallbackPosted) {
+      getFrameClock().removeFrameCallback(frameCallback);
+      frameClock.postFrameCallback(frameCallback);
+    }
+    this.frameClock = frameClock;
+  }
+
+  @NonNull
+  private FrameClock getFrameClock() {
+    if (frameClock == null) {
+      frameClock = new ChoreographerFrameClock();
+    }
+    return frameClock;
+  }
+
+  /**
+   * Returns the time of the current frame of the {@link FrameClock}, see {@link FrameClock#getFrameTimeNanos()}.
+   */
+  long getFrameTimeNanos() {
+    return getFrameClock().getFrameTimeNanos();
+  }
+
+  /**
+   * Called by the detectors that accumulated progress and by the running {@link InertiaEngine},
+   * to have the progress delivered on the next frame.
+   */
+  void requestFrame() {
+    if (!frameCallbackPosted) {
+      frameCallbackPosted = true;
+      getFrameClock().postFrameCallback(frameCallback);
+    }
+  }
+
+  private void deliverCoalescedProgress() {
+    for (int i = 0; i < detectors.size(); i++) {
+      BaseGesture detector = detectors.get(i);
+      if (detector instanceof ProgressiveGesture) {
+        ((ProgressiveGesture) detector).deliverCoalescedProgress();
+      }
+    }
+  }
+
+  /**
+   * Get the engine that carries the movement on after the gestures end.
+   *
+   * @return inertia engine
+   */
+  public InertiaEngine getInertiaEngine() {
+    return inertiaEngine;
+  }
+
   /**
    * Get a list of all active gesture detectors.
    *
@@ -386,6 +676,15 @@ public class AndroidGesturesManager {
     return moveGestureDetector;
   }
 
+  /**
+   * Get transform gesture detector.
+   *
+   * @return gesture detector
+   */
+  public TransformGestureDetector getTransformGestureDetector() {
+    return transformGestureDetector;
+  }
+
   /**
    * Get sideways shove gesture detector.
    *
@@ -395,6 +694,14 @@ public class AndroidGesturesManager {
     return sidewaysShoveGestureDetector;
   }
 
+  MotionEventSnapshot getEventSnapshot() {
+    return eventSnapshot;
+  }
+
+  DisplayGeometry getDisplayGeometry() {
+    return displayGeometry;
+  }
+
   /**
    * Sets a number of sets containing mutually exclusive gestures.
    *
@@ -425,15 +732,67 @@ public class AndroidGesturesManager {
   public void setMutuallyExclusiveGestures(List<Set<Integer>> exclusiveGestures) {
     this.mutuallyExclusiveGestures.clear();
     this.mutuallyExclusiveGestures.addAll(exclusiveGestures);
+    compileMutuallyExclusiveGestures();
   }
 
   /**
-   * Returns a list of sets containing mutually exclusive gestures.
+   * Returns an unmodifiable list of sets containing mutually exclusive gestures.
+   * <p>
+   * Use {@link #setMutuallyExclusiveGestures(List)} to change the mutually exclusive gestures.
    *
    * @return mutually exclusive gestures
    * @see #setMutuallyExclusiveGestures(List)
    */
   public List<Set<Integer>> getMutuallyExclusiveGestures() {
-    return mutuallyExclusiveGestures;
+    return Collections.unmodifiableList(mutuallyExclusiveGestures);
+  }
+
+  /**
+   * Translates the list of mutually exclusive sets into a conflict bitmask for each of the gesture types,
+   * so that the exclusivity can be resolved without iterating over the sets and detectors.
+   */
+  private void compileMutuallyExclusiveGestures() {
+    Arrays.fill(mutuallyExclusiveGesturesMasks, 0L);
+    for (Set<Integer> exclusives : mutuallyExclusiveGestures) {
+      long exclusivesMask = getGestureTypesMask(exclusives);
+      for (int gestureType : exclusives) {
+        if (isMaskable(gestureType)) {
+          mutuallyExclusiveGesturesMasks[gestureType] |= exclusivesMask;
+        }
+      }
+    }
+  }
+
+  /**
+   * Check whether any gesture that is mutually exclusive with the passed gesture type is in progress.
+   *
+   * @param gestureType gesture type that is about to be invoked
+   * @return true if a mutually exclusive gesture is in progress, false otherwise
+   */
+  boolean isMutuallyExclusiveGestureInProgress(@GestureType int gestureType) {
+    return isMaskable(gestureType)
+      && (mutuallyExclusiveGesturesMasks[gestureType] & inProgressGesturesMask) != 0;
+  }
+
+  void onGestureStarted(long gestureTypesMask) {
+    inProgressGesturesMask |= gestureTypesMask;
+  }
+
+  void onGestureStopped(long gestureTypesMask) {
+    inProgressGesturesMask &= ~gestureTypesMask;
+  }
+
+  static long getGestureTypesMask(Set<Integer> gestureTypes) {
+    long mask = 0L;
+    for (int gestureType : gestureTypes) {
+      if (isMaskable(gestureType)) {
+        mask |= 1L << gestureType;
+      }
+    }
+    return mask;
+  }
+
+  private static boolean isMaskable(int gestureType) {
+    return gestureType >= 0 && gestureType < Long.SIZE;
   }
 }
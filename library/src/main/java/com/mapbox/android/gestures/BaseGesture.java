@@ -7,8 +7,6 @@ import androidx.annotation.Nullable;
 import android.view.MotionEvent;
 import android.view.WindowManager;
 
-import java.util.Set;
-
 /**
  * Base class for all of the gesture detectors.
  *
@@ -19,10 +17,15 @@ public abstract class BaseGesture<L> {
   protected final Context context;
   protected final WindowManager windowManager;
   private final AndroidGesturesManager gesturesManager;
-  private MotionEvent currentEvent;
-  private MotionEvent previousEvent;
+  @Nullable
+  private MotionEventSnapshot eventSnapshot;
+  @Nullable
+  private MotionEventSnapshot ownEventSnapshot;
   private long gestureDuration;
   private boolean isEnabled = true;
+  private boolean wasDormant;
+  private long listenerNanos;
+  private final String traceSectionName;
 
   /**
    * Listener that will be called with gesture events/updates.
@@ -33,10 +36,19 @@ public abstract class BaseGesture<L> {
     this.context = context;
     this.windowManager = ((WindowManager) context.getSystemService(Context.WINDOW_SERVICE));
     this.gesturesManager = gesturesManager;
+    this.traceSectionName = getClass().getSimpleName();
   }
 
   protected boolean onTouchEvent(MotionEvent motionEvent) {
-    return analyze(motionEvent);
+    if (!gesturesManager.isTraceSectionsEnabled()) {
+      return analyze(motionEvent);
+    }
+    TraceSections.begin(traceSectionName);
+    try {
+      return analyze(motionEvent);
+    } finally {
+      TraceSections.end();
+    }
   }
 
   private boolean analyze(@Nullable MotionEvent motionEvent) {
@@ -44,47 +56,128 @@ public abstract class BaseGesture<L> {
       return false;
     }
 
-    if (previousEvent != null) {
-      previousEvent.recycle();
-      previousEvent = null;
+    GestureMetrics metrics = gesturesManager.getGestureMetrics();
+    if (isDormant()) {
+      // there's no one to deliver the results to, skip the analysis until the detector is needed again
+      wasDormant = true;
+      if (metrics != null) {
+        metrics.onEventSkipped(this);
+      }
+      return false;
     }
 
-    if (currentEvent != null) {
-      previousEvent = MotionEvent.obtain(currentEvent);
-      currentEvent.recycle();
-      currentEvent = null;
+    MotionEventSnapshot sharedSnapshot = gesturesManager.getEventSnapshot();
+    if (sharedSnapshot.holds(motionEvent)) {
+      // event dispatched by the manager, which already made a copy for all detectors
+      eventSnapshot = sharedSnapshot;
+    } else {
+      // event passed directly to this detector
+      if (ownEventSnapshot == null) {
+        ownEventSnapshot = new MotionEventSnapshot();
+      }
+      ownEventSnapshot.update(motionEvent);
+      eventSnapshot = ownEventSnapshot;
     }
 
-    currentEvent = MotionEvent.obtain(motionEvent);
-    gestureDuration = currentEvent.getEventTime() - currentEvent.getDownTime();
+    gestureDuration = motionEvent.getEventTime() - motionEvent.getDownTime();
 
-    return analyzeEvent(motionEvent);
+    if (wasDormant) {
+      wasDormant = !resumeAnalysis(motionEvent);
+      if (wasDormant || motionEvent.getActionMasked() != MotionEvent.ACTION_DOWN) {
+        // the first event after dormancy only rebuilds the state, unless it starts a new gesture
+        if (metrics != null) {
+          metrics.onEventSkipped(this);
+        }
+        return false;
+      }
+    }
+
+    if (metrics == null) {
+      return analyzeEvent(motionEvent);
+    }
+    listenerNanos = 0;
+    long startNanos = System.nanoTime();
+    boolean handled = analyzeEvent(motionEvent);
+    metrics.onEventAnalyzed(this, System.nanoTime() - startNanos, listenerNanos);
+    return handled;
   }
 
   protected abstract boolean analyzeEvent(@NonNull MotionEvent motionEvent);
 
+  /**
+   * Check whether this detector skips the analysis of motion events,
+   * because it has no listener or is disabled.
+   *
+   * @return true if motion events are not analyzed, false otherwise
+   */
+  protected boolean isDormant() {
+    return listener == null || !isEnabled;
+  }
+
+  /**
+   * Called with the first motion event after the detector stopped being dormant, before the event is analyzed.
+   * Implementations should discard any state derived from the events that were skipped
+   * and rebuild what they can from the provided event.
+   * <p>
+   * Unless the event is {@link MotionEvent#ACTION_DOWN}, it is not analyzed, only used to rebuild the state.
+   *
+   * @param motionEvent first event after dormancy
+   * @return true if the detector can analyze subsequent events, false if this method should be called
+   * again with the next event
+   */
+  protected boolean resumeAnalysis(@NonNull MotionEvent motionEvent) {
+    // by default, wait for a new gesture to start
+    return motionEvent.getActionMasked() == MotionEvent.ACTION_DOWN;
+  }
+
   protected boolean canExecute(@AndroidGesturesManager.GestureType int invokedGestureType) {
     if (listener == null || !isEnabled) {
       return false;
     }
 
-    for (Set<Integer> exclusives : gesturesManager.getMutuallyExclusiveGestures()) {
-      if (exclusives.contains(invokedGestureType)) {
-        for (@AndroidGesturesManager.GestureType int gestureType : exclusives) {
-          for (BaseGesture detector : gesturesManager.getDetectors()) {
-            if (detector instanceof ProgressiveGesture) {
-              ProgressiveGesture progressiveDetector = (ProgressiveGesture) detector;
-              if (progressiveDetector.getHandledTypes().contains(gestureType)
-                && progressiveDetector.isInProgress()) {
-                return false;
-              }
-            }
-          }
-        }
-      }
+    return !gesturesManager.isMutuallyExclusiveGestureInProgress(invokedGestureType);
+  }
+
+  /**
+   * Marks the start of a listener callback, measured when the {@link GestureMetrics} are installed
+   * and traced when the trace sections are enabled.
+   *
+   * @param traceSectionName constant name of the callback's trace section
+   * @return timestamp to pass to {@link #listenerCallFinished(long)}, or 0 if the callback is not measured
+   */
+  long listenerCallStarted(@NonNull String traceSectionName) {
+    if (gesturesManager.isTraceSectionsEnabled()) {
+      TraceSections.begin(traceSectionName);
     }
+    return gesturesManager.getGestureMetrics() != null ? System.nanoTime() : 0;
+  }
 
-    return true;
+  /**
+   * Marks the end of a listener callback.
+   *
+   * @param startNanos timestamp returned by {@link #listenerCallStarted(String)}
+   */
+  void listenerCallFinished(long startNanos) {
+    if (startNanos != 0) {
+      listenerNanos += System.nanoTime() - startNanos;
+    }
+    if (gesturesManager.isTraceSectionsEnabled()) {
+      TraceSections.end();
+    }
+  }
+
+  /**
+   * Get the name of the trace section covering this detector's analysis of an event.
+   *
+   * @return simple name of the detector's class
+   */
+  @NonNull
+  String getTraceSectionName() {
+    return traceSectionName;
+  }
+
+  AndroidGesturesManager getGesturesManager() {
+    return gesturesManager;
   }
 
   protected void setListener(L listener) {
@@ -114,7 +207,7 @@ public abstract class BaseGesture<L> {
    * @return most recent event
    */
   public MotionEvent getCurrentEvent() {
-    return currentEvent;
+    return eventSnapshot != null ? eventSnapshot.getCurrentEvent() : null;
   }
 
   /**
@@ -123,7 +216,18 @@ public abstract class BaseGesture<L> {
    * @return previous event
    */
   public MotionEvent getPreviousEvent() {
-    return previousEvent;
+    return eventSnapshot != null ? eventSnapshot.getPreviousEvent() : null;
+  }
+
+  /**
+   * Returns features of the most recent event in this gesture chain,
+   * shared with other detectors of the {@link AndroidGesturesManager}.
+   *
+   * @return features of the most recent event, or null if no event was analyzed yet
+   */
+  @Nullable
+  public GestureFrame getGestureFrame() {
+    return eventSnapshot != null ? eventSnapshot.getGestureFrame() : null;
   }
 
   /**
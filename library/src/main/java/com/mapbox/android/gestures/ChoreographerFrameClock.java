@@ -0,0 +1,55 @@
+package com.mapbox.android.gestures;
+
+import android.view.Choreographer;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.UiThread;
+
+/**
+ * {@link FrameClock} driven by the vsync signal of the {@link Choreographer} of the current thread.
+ */
+@UiThread
+final class ChoreographerFrameClock implements FrameClock, Choreographer.FrameCallback {
+  private final Choreographer choreographer = Choreographer.getInstance();
+  @Nullable
+  private Runnable callback;
+  private boolean isInFrame;
+  private long frameTimeNanos;
+
+  @Override
+  public void postFrameCallback(@NonNull Runnable callback) {
+    if (this.callback == null) {
+      choreographer.postFrameCallback(this);
+    }
+    this.callback = callback;
+  }
+
+  @Override
+  public void removeFrameCallback(@NonNull Runnable callback) {
+    if (this.callback == callback) {
+      this.callback = null;
+      choreographer.removeFrameCallback(this);
+    }
+  }
+
+  @Override
+  public long getFrameTimeNanos() {
+    return isInFrame ? frameTimeNanos : System.nanoTime();
+  }
+
+  @Override
+  public void doFrame(long frameTimeNanos) {
+    Runnable callback = this.callback;
+    this.callback = null;
+    if (callback != null) {
+      this.frameTimeNanos = frameTimeNanos;
+      isInFrame = true;
+      try {
+        callback.run();
+      } finally {
+        isInFrame = false;
+      }
+    }
+  }
+}
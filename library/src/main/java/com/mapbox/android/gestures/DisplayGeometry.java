@@ -0,0 +1,190 @@
+package com.mapbox.android.gestures;
+
+import android.content.ComponentCallbacks;
+import android.content.Context;
+import android.content.res.Configuration;
+import android.hardware.display.DisplayManager;
+import android.os.Build;
+import android.util.DisplayMetrics;
+import android.view.Display;
+import android.view.WindowManager;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.UiThread;
+
+import java.lang.ref.WeakReference;
+
+/**
+ * Caches metrics of the display shared by all detectors of an {@link AndroidGesturesManager}.
+ * <p>
+ * The metrics are queried when first needed and kept until the display changes or the configuration changes,
+ * instead of being queried by every detector on every touch down.
+ */
+@UiThread
+final class DisplayGeometry {
+  private final Context context;
+  @Nullable
+  private final WindowManager windowManager;
+  @Nullable
+  private DisplayMetrics displayMetrics;
+  @Nullable
+  private Invalidator invalidator;
+  private long queriesCount;
+
+  DisplayGeometry(@NonNull Context context) {
+    this.context = context;
+    this.windowManager = (WindowManager) context.getSystemService(Context.WINDOW_SERVICE);
+  }
+
+  /**
+   * Returns the cached metrics, querying them if they are missing or were invalidated.
+   *
+   * @return metrics of the display
+   */
+  @NonNull
+  DisplayMetrics getDisplayMetrics() {
+    if (displayMetrics == null) {
+      displayMetrics = queryDisplayMetrics();
+      queriesCount++;
+      if (invalidator == null) {
+        invalidator = new Invalidator(this);
+        invalidator.register(context);
+      }
+    }
+    return displayMetrics;
+  }
+
+  /**
+   * Drops the cached metrics, they will be queried again when needed.
+   */
+  void invalidate() {
+    displayMetrics = null;
+  }
+
+  /**
+   * Unregisters the callbacks that invalidate the metrics and drops the cached metrics.
+   * Both are set up again when the metrics are needed.
+   */
+  void release() {
+    if (invalidator != null) {
+      invalidator.unregister();
+      invalidator = null;
+    }
+    displayMetrics = null;
+  }
+
+  /**
+   * Check whether the callbacks that invalidate the metrics are registered.
+   *
+   * @return true if the callbacks are registered, false otherwise
+   */
+  boolean isRegistered() {
+    return invalidator != null;
+  }
+
+  /**
+   * Returns the number of times the metrics were queried from the system.
+   *
+   * @return number of queries
+   */
+  long getQueriesCount() {
+    return queriesCount;
+  }
+
+  private DisplayMetrics queryDisplayMetrics() {
+    DisplayMetrics metrics;
+    if (windowManager != null) {
+      metrics = new DisplayMetrics();
+      Display display = windowManager.getDefaultDisplay();
+      if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR1) {
+        // get real metrics to take into account multi-window where application's visible bounds might be offset,
+        // but we still need to operate on raw values
+        display.getRealMetrics(metrics);
+      } else {
+        // this method is relative to the applications visible bounds and will not return raw values
+        display.getMetrics(metrics);
+      }
+    } else {
+      // this method is relative to the applications visible bounds and will not return raw values
+      metrics = context.getResources().getDisplayMetrics();
+    }
+    return metrics;
+  }
+
+  /**
+   * Invalidates the geometry when the display or the configuration changes.
+   * <p>
+   * Holds the geometry weakly, since the system services keep the registered callbacks,
+   * and unregisters itself once the geometry is gone, if the geometry wasn't released before.
+   */
+  private static final class Invalidator implements DisplayManager.DisplayListener, ComponentCallbacks {
+    private final WeakReference<DisplayGeometry> geometryReference;
+    @Nullable
+    private Context applicationContext;
+    @Nullable
+    private DisplayManager displayManager;
+
+    Invalidator(DisplayGeometry geometry) {
+      this.geometryReference = new WeakReference<>(geometry);
+    }
+
+    void register(Context context) {
+      applicationContext = context.getApplicationContext();
+      if (applicationContext != null) {
+        applicationContext.registerComponentCallbacks(this);
+      }
+      if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR1) {
+        displayManager = (DisplayManager) context.getSystemService(Context.DISPLAY_SERVICE);
+        if (displayManager != null) {
+          displayManager.registerDisplayListener(this, null);
+        }
+      }
+    }
+
+    private void invalidate() {
+      DisplayGeometry geometry = geometryReference.get();
+      if (geometry != null) {
+        geometry.invalidate();
+      } else {
+        unregister();
+      }
+    }
+
+    void unregister() {
+      if (applicationContext != null) {
+        applicationContext.unregisterComponentCallbacks(this);
+        applicationContext = null;
+      }
+      if (displayManager != null && Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR1) {
+        displayManager.unregisterDisplayListener(this);
+        displayManager = null;
+      }
+    }
+
+    @Override
+    public void onDisplayAdded(int displayId) {
+      // No implementation
+    }
+
+    @Override
+    public void onDisplayRemoved(int displayId) {
+      // No implementation
+    }
+
+    @Override
+    public void onDisplayChanged(int displayId) {
+      invalidate();
+    }
+
+    @Override
+    public void onConfigurationChanged(@NonNull Configuration newConfig) {
+      invalidate();
+    }
+
+    @Override
+    public void onLowMemory() {
+      // No implementation
+    }
+  }
+}
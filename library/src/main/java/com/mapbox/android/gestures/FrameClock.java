@@ -0,0 +1,36 @@
+package com.mapbox.android.gestures;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.UiThread;
+
+/**
+ * Source of the display frames that the coalesced progress callbacks are delivered on,
+ * see {@link AndroidGesturesManager#setFrameCoalescingEnabled(boolean)}, and that the {@link InertiaEngine} runs on.
+ * <p>
+ * By default, frames are provided by the {@link android.view.Choreographer} of the thread that enabled the coalescing.
+ */
+@UiThread
+public interface FrameClock {
+
+  /**
+   * Posts a callback to run once, on the next frame. The callback is posted at most once at a time.
+   *
+   * @param callback callback to run
+   */
+  void postFrameCallback(@NonNull Runnable callback);
+
+  /**
+   * Removes a pending callback, if it's still posted.
+   *
+   * @param callback callback to remove
+   */
+  void removeFrameCallback(@NonNull Runnable callback);
+
+  /**
+   * Returns the time of the frame that's being delivered, or the current time outside of a frame callback,
+   * in the {@link System#nanoTime()} time base.
+   *
+   * @return frame time in nanoseconds
+   */
+  long getFrameTimeNanos();
+}
@@ -0,0 +1,47 @@
+package com.mapbox.android.gestures;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.UiThread;
+
+/**
+ * Sink for the per-detector costs and counts of the gesture recognition,
+ * installed with {@link AndroidGesturesManager#setGestureMetrics(GestureMetrics)}.
+ * <p>
+ * All of the methods are invoked on the thread that dispatches the motion events, for every detector
+ * and every event, so implementations should only aggregate the values and report them elsewhere.
+ * When no sink is installed, the detectors don't measure anything.
+ */
+@UiThread
+public interface GestureMetrics {
+
+  /**
+   * Called after a detector analyzed a motion event.
+   *
+   * @param detector      detector that analyzed the event
+   * @param analysisNanos time spent analyzing the event, including the listener callbacks
+   * @param listenerNanos part of the analysis time spent in the listener callbacks
+   */
+  void onEventAnalyzed(@NonNull BaseGesture<?> detector, long analysisNanos, long listenerNanos);
+
+  /**
+   * Called when a detector skipped the analysis of a motion event,
+   * because it has no listener, is disabled or only rebuilds its state after being dormant.
+   *
+   * @param detector detector that skipped the event
+   */
+  void onEventSkipped(@NonNull BaseGesture<?> detector);
+
+  /**
+   * Called when a progressive gesture begins.
+   *
+   * @param detector detector of the gesture
+   */
+  void onGestureStarted(@NonNull ProgressiveGesture<?> detector);
+
+  /**
+   * Called when a progressive gesture ends.
+   *
+   * @param detector detector of the gesture
+   */
+  void onGestureStopped(@NonNull ProgressiveGesture<?> detector);
+}
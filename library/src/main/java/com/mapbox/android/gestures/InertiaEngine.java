@@ -0,0 +1,320 @@
+package com.mapbox.android.gestures;
+
+import android.content.Context;
+import android.util.DisplayMetrics;
+import androidx.annotation.IntDef;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.UiThread;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+/**
+ * Carries the camera on after a gesture ends, from the velocities passed to the end callbacks of
+ * {@link MoveGestureDetector}, {@link StandardScaleGestureDetector} and {@link RotateGestureDetector},
+ * and delivers the movement for every frame of the {@link FrameClock} until it comes to rest.
+ * <p>
+ * Translation, scale and rotation decay independently, see {@link InertiaDecay}, and are delivered together.
+ * Scale and rotation decay like a point one inch away from the focal point, so that the spline decay
+ * treats them the same as the translation. The engine doesn't allocate while running.
+ * <p>
+ * A new gesture's first pointer going down stops the engine, and so does {@link #interrupt()}.
+ * Obtain the engine with {@link AndroidGesturesManager#getInertiaEngine()}.
+ */
+@UiThread
+public class InertiaEngine {
+  @Retention(RetentionPolicy.SOURCE)
+  @IntDef( {DECAY_MODEL_FRICTION,
+    DECAY_MODEL_SPLINE
+  })
+  public @interface DecayModel {
+  }
+
+  /**
+   * Velocity decays exponentially, see {@link InertiaDecay#MODEL_FRICTION}.
+   */
+  public static final int DECAY_MODEL_FRICTION = InertiaDecay.MODEL_FRICTION;
+  /**
+   * Velocity decays along the platform's scroller spline, see {@link InertiaDecay#MODEL_SPLINE}.
+   */
+  public static final int DECAY_MODEL_SPLINE = InertiaDecay.MODEL_SPLINE;
+
+  private static final float NANOS_PER_MILLI = 1e6f;
+
+  private final AndroidGesturesManager gesturesManager;
+  private final float pixelsPerInch;
+  private final float pixelsPerDegree;
+  private final Channel move;
+  private final Channel scale;
+  private final Channel rotation;
+  private float moveDirectionX;
+  private float moveDirectionY;
+
+  @DecayModel
+  private int decayModel = DECAY_MODEL_SPLINE;
+  private float friction = 1f;
+  private boolean isRunning;
+  @Nullable
+  private OnInertiaListener listener;
+
+  InertiaEngine(Context context, AndroidGesturesManager gesturesManager) {
+    this.gesturesManager = gesturesManager;
+    pixelsPerInch = context.getResources().getDisplayMetrics().density * DisplayMetrics.DENSITY_DEFAULT;
+    pixelsPerDegree = (float) Math.toRadians(1) * pixelsPerInch;
+    move = new Channel(pixelsPerInch);
+    scale = new Channel(pixelsPerInch);
+    rotation = new Channel(pixelsPerInch);
+  }
+
+  /**
+   * Listener for inertia callbacks.
+   */
+  public interface OnInertiaListener {
+    /**
+     * Called for every frame while the engine is running.
+     * <p>
+     * Scale and rotation are meant to be applied around the focal point of the gestures that ended.
+     *
+     * @param engine          this engine
+     * @param distanceX       X distance of the movement since the last frame,
+     *                        with the same sign as in {@link MoveGestureDetector.OnMoveGestureListener}
+     * @param distanceY       Y distance of the movement since the last frame,
+     *                        with the same sign as in {@link MoveGestureDetector.OnMoveGestureListener}
+     * @param scaleFactor     scale since the last frame, greater than 1 when carrying on a spread
+     * @param rotationDegrees rotation since the last frame,
+     *                        with the same sign as in {@link RotateGestureDetector.OnRotateGestureListener}
+     */
+    void onInertia(@NonNull InertiaEngine engine, float distanceX, float distanceY,
+                   float scaleFactor, float rotationDegrees);
+
+    /**
+     * Indicates that the engine stopped.
+     *
+     * @param engine      this engine
+     * @param interrupted true if the engine was stopped by a new gesture or {@link InertiaEngine#interrupt()},
+     *                    false if the movement came to rest
+     */
+    void onInertiaEnd(@NonNull InertiaEngine engine, boolean interrupted);
+  }
+
+  public static class SimpleOnInertiaListener implements OnInertiaListener {
+
+    @Override
+    public void onInertia(@NonNull InertiaEngine engine, float distanceX, float distanceY,
+                          float scaleFactor, float rotationDegrees) {
+      // No implementation
+    }
+
+    @Override
+    public void onInertiaEnd(@NonNull InertiaEngine engine, boolean interrupted) {
+      // No implementation
+    }
+  }
+
+  /**
+   * Sets a listener for the inertia callbacks.
+   *
+   * @param listener your inertia listener
+   */
+  public void setListener(@Nullable OnInertiaListener listener) {
+    this.listener = listener;
+  }
+
+  /**
+   * Removes the listener for the inertia callbacks.
+   */
+  public void removeListener() {
+    listener = null;
+  }
+
+  /**
+   * Carries the translation on, typically from
+   * {@link MoveGestureDetector.OnMoveGestureListener#onMoveEnd(MoveGestureDetector, float, float)}.
+   * Replaces the translation that's still running, if any.
+   *
+   * @param velocityX X velocity in pixels per second
+   * @param velocityY Y velocity in pixels per second
+   */
+  public void flingMove(float velocityX, float velocityY) {
+    float speed = (float) Math.hypot(velocityX, velocityY);
+    if (speed > 0) {
+      moveDirectionX = velocityX / speed;
+      moveDirectionY = velocityY / speed;
+    }
+    start(move, speed);
+  }
+
+  /**
+   * Carries the scale on, typically from
+   * {@link StandardScaleGestureDetector.StandardOnScaleGestureListener
+   * #onScaleEnd(StandardScaleGestureDetector, float, float)}.
+   * Replaces the scale that's still running, if any.
+   *
+   * @param scaleVelocity velocity of the scale, see {@link StandardScaleGestureDetector#getScaleVelocity()}
+   */
+  public void flingScale(float scaleVelocity) {
+    start(scale, scaleVelocity * pixelsPerInch);
+  }
+
+  /**
+   * Carries the rotation on, typically from
+   * {@link RotateGestureDetector.OnRotateGestureListener#onRotateEnd(RotateGestureDetector, float, float, float)}.
+   * Replaces the rotation that's still running, if any.
+   *
+   * @param rotationVelocity velocity of the rotation in degrees per second,
+   *                         see {@link RotateGestureDetector#getRotationVelocity()}
+   */
+  public void flingRotate(float rotationVelocity) {
+    start(rotation, rotationVelocity * pixelsPerDegree);
+  }
+
+  private void start(Channel channel, float velocity) {
+    channel.start(decayModel, friction, velocity, gesturesManager.getFrameTimeNanos());
+    if (channel.isRunning && !isRunning) {
+      isRunning = true;
+      gesturesManager.requestFrame();
+    }
+  }
+
+  /**
+   * Stops the engine immediately, without delivering the rest of the movement.
+   * Does nothing if the engine isn't running.
+   */
+  public void interrupt() {
+    if (!isRunning) {
+      return;
+    }
+    stop();
+    if (listener != null) {
+      listener.onInertiaEnd(this, true);
+    }
+  }
+
+  /**
+   * Check whether the engine is carrying a movement on.
+   *
+   * @return true if the engine is running, false otherwise
+   */
+  public boolean isRunning() {
+    return isRunning;
+  }
+
+  /**
+   * Delivers the movement since the last frame, called by the {@link AndroidGesturesManager} for every frame.
+   */
+  void doFrame() {
+    if (!isRunning) {
+      return;
+    }
+    long frameTimeNanos = gesturesManager.getFrameTimeNanos();
+    float moveDelta = move.advance(frameTimeNanos);
+    float scaleDelta = scale.advance(frameTimeNanos);
+    float rotationDelta = rotation.advance(frameTimeNanos);
+    boolean finished = !move.isRunning && !scale.isRunning && !rotation.isRunning;
+    if (finished) {
+      stop();
+    } else {
+      gesturesManager.requestFrame();
+    }
+
+    if (listener != null) {
+      if (moveDelta != 0 || scaleDelta != 0 || rotationDelta != 0) {
+        listener.onInertia(this, -moveDelta * moveDirectionX, -moveDelta * moveDirectionY,
+          (float) Math.exp(scaleDelta / pixelsPerInch), rotationDelta / pixelsPerDegree);
+      }
+      if (finished && !isRunning) {
+        // unless the listener started another fling
+        listener.onInertiaEnd(this, false);
+      }
+    }
+  }
+
+  private void stop() {
+    isRunning = false;
+    move.isRunning = false;
+    scale.isRunning = false;
+    rotation.isRunning = false;
+  }
+
+  /**
+   * Get the model of the decay of the movement.
+   *
+   * @return decay model
+   */
+  @DecayModel
+  public int getDecayModel() {
+    return decayModel;
+  }
+
+  /**
+   * Set the model of the decay of the movement. Default is {@link #DECAY_MODEL_SPLINE},
+   * the movement that's already running keeps its model.
+   *
+   * @param decayModel decay model
+   */
+  public void setDecayModel(@DecayModel int decayModel) {
+    if (decayModel != DECAY_MODEL_FRICTION && decayModel != DECAY_MODEL_SPLINE) {
+      throw new IllegalArgumentException("Unknown inertia decay model: " + decayModel);
+    }
+    this.decayModel = decayModel;
+  }
+
+  /**
+   * Get the multiplier of the default deceleration of the decay model.
+   *
+   * @return friction
+   */
+  public float getFriction() {
+    return friction;
+  }
+
+  /**
+   * Set the multiplier of the default deceleration of the decay model. Default is 1,
+   * greater values stop the movement sooner. The movement that's already running keeps its friction.
+   *
+   * @param friction friction, greater than 0
+   */
+  public void setFriction(float friction) {
+    if (!(friction > 0)) {
+      throw new IllegalArgumentException("Friction has to be greater than 0: " + friction);
+    }
+    this.friction = friction;
+  }
+
+  /**
+   * Decay of one component of the movement and the value already delivered.
+   */
+  private static final class Channel {
+    private final InertiaDecay decay;
+    private long startTimeNanos;
+    private float deliveredValue;
+    private boolean isRunning;
+
+    Channel(float pixelsPerInch) {
+      decay = new InertiaDecay(pixelsPerInch);
+    }
+
+    void start(int model, float friction, float velocity, long timeNanos) {
+      decay.start(model, friction, velocity);
+      startTimeNanos = timeNanos;
+      deliveredValue = 0;
+      isRunning = !decay.isFinished(0);
+    }
+
+    /**
+     * Returns the change of the value since the last frame.
+     */
+    float advance(long frameTimeNanos) {
+      if (!isRunning) {
+        return 0;
+      }
+      float elapsedMillis = Math.max(0, frameTimeNanos - startTimeNanos) / NANOS_PER_MILLI;
+      float value = decay.getValue(elapsedMillis);
+      float delta = value - deliveredValue;
+      deliveredValue = value;
+      isRunning = !decay.isFinished(elapsedMillis);
+      return delta;
+    }
+  }
+}
@@ -0,0 +1,95 @@
+package com.mapbox.android.gestures;
+
+import android.view.MotionEvent;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.UiThread;
+
+/**
+ * Holds copies of the most recent and the previous {@link MotionEvent} of a gesture chain.
+ * <p>
+ * {@link AndroidGesturesManager} owns a single instance that is updated once per dispatched event
+ * and read by all of its detectors, so the number of event copies doesn't grow with the number of detectors.
+ */
+@UiThread
+final class MotionEventSnapshot {
+  @Nullable
+  private MotionEvent source;
+  @Nullable
+  private MotionEvent currentEvent;
+  @Nullable
+  private MotionEvent previousEvent;
+  private long copiesCount;
+  private final GestureFrame gestureFrame = new GestureFrame();
+  private final MotionEventTouchSample touchSample = new MotionEventTouchSample();
+
+  /**
+   * Copies the passed event and moves the currently held event to the previous position.
+   *
+   * @param motionEvent event to copy
+   */
+  void update(@NonNull MotionEvent motionEvent) {
+    update(motionEvent, motionEvent.getRawX() - motionEvent.getX(), motionEvent.getRawY() - motionEvent.getY());
+  }
+
+  /**
+   * Copies the passed event and moves the currently held event to the previous position,
+   * with the offset between the raw and the view coordinates given separately instead of taken from the event.
+   *
+   * @param motionEvent event to copy
+   * @param rawOffsetX  X offset between the raw and the view coordinates of the event
+   * @param rawOffsetY  Y offset between the raw and the view coordinates of the event
+   */
+  void update(@NonNull MotionEvent motionEvent, float rawOffsetX, float rawOffsetY) {
+    if (previousEvent != null) {
+      previousEvent.recycle();
+    }
+    previousEvent = currentEvent;
+    currentEvent = MotionEvent.obtain(motionEvent);
+    source = motionEvent;
+    copiesCount++;
+    gestureFrame.update(touchSample.wrap(currentEvent, rawOffsetX, rawOffsetY));
+  }
+
+  /**
+   * Check whether this snapshot was updated with the passed event and the event is still being dispatched.
+   *
+   * @param motionEvent event to check
+   * @return true if the current event is a copy of the passed event, false otherwise
+   */
+  boolean holds(@NonNull MotionEvent motionEvent) {
+    return source == motionEvent;
+  }
+
+  /**
+   * Forgets the reference to the last source event once its dispatch finishes, the event is not owned by the snapshot.
+   */
+  void releaseSource() {
+    source = null;
+  }
+
+  @Nullable
+  MotionEvent getCurrentEvent() {
+    return currentEvent;
+  }
+
+  @Nullable
+  MotionEvent getPreviousEvent() {
+    return previousEvent;
+  }
+
+  @NonNull
+  GestureFrame getGestureFrame() {
+    return gestureFrame;
+  }
+
+  /**
+   * Returns the total number of {@link MotionEvent} copies made by this snapshot.
+   *
+   * @return number of copies
+   */
+  long getCopiesCount() {
+    return copiesCount;
+  }
+}
@@ -0,0 +1,100 @@
+package com.mapbox.android.gestures;
+
+import android.view.MotionEvent;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.UiThread;
+
+/**
+ * Adapts a {@link MotionEvent} to the {@link TouchSample} consumed by the platform-neutral recognition logic.
+ * <p>
+ * The adapter is reused, it reads straight from the wrapped event and doesn't copy it.
+ */
+@UiThread
+final class MotionEventTouchSample implements TouchSample {
+  private MotionEvent motionEvent;
+  private boolean hasRawOffset;
+  private float rawOffsetX;
+  private float rawOffsetY;
+
+  /**
+   * Points this adapter at a new event.
+   *
+   * @param motionEvent event to read from
+   * @return this adapter
+   */
+  @NonNull
+  MotionEventTouchSample wrap(@NonNull MotionEvent motionEvent) {
+    this.motionEvent = motionEvent;
+    hasRawOffset = false;
+    return this;
+  }
+
+  /**
+   * Points this adapter at a new event, with the offset between the raw and the view coordinates
+   * given separately instead of taken from the event.
+   *
+   * @param motionEvent event to read from
+   * @param rawOffsetX  X offset between the raw and the view coordinates
+   * @param rawOffsetY  Y offset between the raw and the view coordinates
+   * @return this adapter
+   */
+  @NonNull
+  MotionEventTouchSample wrap(@NonNull MotionEvent motionEvent, float rawOffsetX, float rawOffsetY) {
+    this.motionEvent = motionEvent;
+    hasRawOffset = true;
+    this.rawOffsetX = rawOffsetX;
+    this.rawOffsetY = rawOffsetY;
+    return this;
+  }
+
+  @Override
+  public int getActionMasked() {
+    return motionEvent.getActionMasked();
+  }
+
+  @Override
+  public int getActionIndex() {
+    return motionEvent.getActionIndex();
+  }
+
+  @Override
+  public long getEventTime() {
+    return motionEvent.getEventTime();
+  }
+
+  @Override
+  public int getPointerCount() {
+    return motionEvent.getPointerCount();
+  }
+
+  @Override
+  public int getPointerId(int pointerIndex) {
+    return motionEvent.getPointerId(pointerIndex);
+  }
+
+  @Override
+  public float getX(int pointerIndex) {
+    return motionEvent.getX(pointerIndex);
+  }
+
+  @Override
+  public float getY(int pointerIndex) {
+    return motionEvent.getY(pointerIndex);
+  }
+
+  @Override
+  public float getPressure(int pointerIndex) {
+    return motionEvent.getPressure(pointerIndex);
+  }
+
+  @Override
+  public float getRawOffsetX() {
+    return hasRawOffset ? rawOffsetX : motionEvent.getRawX() - motionEvent.getX();
+  }
+
+  @Override
+  public float getRawOffsetY() {
+    return hasRawOffset ? rawOffsetY : motionEvent.getRawY() - motionEvent.getY();
+  }
+}
@@ -10,9 +10,7 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.annotation.UiThread;
 
-import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Map;
 import java.util.Set;
 
 import static com.mapbox.android.gestures.AndroidGesturesManager.GESTURE_TYPE_MOVE;
@@ -32,10 +30,15 @@ import static com.mapbox.android.gestures.AndroidGesturesManager.GESTURE_TYPE_MO
 public class MoveGestureDetector extends ProgressiveGesture<MoveGestureDetector.OnMoveGestureListener> {
   private static final int MOVE_REQUIRED_POINTERS_COUNT = 1;
   private static final Set<Integer> handledTypes = new HashSet<>();
-  private PointF previousFocalPoint;
+  private final PointF previousFocalPoint = new PointF();
+  private final PointF currentFocalPoint = new PointF();
   private boolean resetFocal;
+  private boolean historicalMoveAboveThreshold;
   float lastDistanceX;
   float lastDistanceY;
+  private boolean hasCoalescedMove;
+  private float coalescedDistanceX;
+  private float coalescedDistanceY;
 
   static {
     handledTypes.add(GESTURE_TYPE_MOVE);
@@ -47,7 +50,7 @@ public class MoveGestureDetector extends ProgressiveGesture<MoveGestureDetector.
   @Nullable
   private Float multiFingerMoveThreshold;
 
-  private final Map<Integer, MoveDistancesObject> moveDistancesObjectMap = new HashMap<>();
+  private final MoveDistances moveDistances = new MoveDistances();
 
   public MoveGestureDetector(Context context, AndroidGesturesManager gesturesManager) {
     super(context, gesturesManager);
@@ -116,30 +119,27 @@ public class MoveGestureDetector extends ProgressiveGesture<MoveGestureDetector.
 
         float x = motionEvent.getX(motionEvent.getActionIndex());
         float y = motionEvent.getY(motionEvent.getActionIndex());
-        moveDistancesObjectMap.put(
-          motionEvent.getPointerId(motionEvent.getActionIndex()),
-          new MoveDistancesObject(x, y)
-        );
+        moveDistances.start(motionEvent.getPointerId(motionEvent.getActionIndex()), x, y);
         // Reset accumulated distances for existing pointers so the new finger
         // configuration doesn't immediately exceed the threshold.
         resetMoveDistancesExcept(motionEvent.getPointerId(motionEvent.getActionIndex()), motionEvent);
         break;
 
       case MotionEvent.ACTION_UP:
-        moveDistancesObjectMap.clear();
+        moveDistances.clear();
         break;
 
       case MotionEvent.ACTION_POINTER_UP:
         resetFocal = true; //recalculating focal point
 
-        moveDistancesObjectMap.remove(motionEvent.getPointerId(motionEvent.getActionIndex()));
+        moveDistances.remove(motionEvent.getPointerId(motionEvent.getActionIndex()));
         // Reset accumulated distances for remaining pointers so lifting a finger
         // doesn't immediately exceed the single-finger threshold.
         resetMoveDistancesExcept(-1, motionEvent);
         break;
 
       case MotionEvent.ACTION_CANCEL:
-        moveDistancesObjectMap.clear();
+        moveDistances.clear();
         break;
 
       default:
@@ -149,25 +149,59 @@ public class MoveGestureDetector extends ProgressiveGesture<MoveGestureDetector.
     return super.analyzeEvent(motionEvent);
   }
 
+  @Override
+  protected boolean resumeAnalysis(@NonNull MotionEvent motionEvent) {
+    boolean resumed = super.resumeAnalysis(motionEvent);
+    moveDistances.clear();
+    if (motionEvent.getActionMasked() != MotionEvent.ACTION_DOWN) {
+      // start measuring the distances of pointers that are still down from their current positions
+      for (int i = 0; i < pointerIdList.size(); i++) {
+        int pointerId = pointerIdList.get(i);
+        int pointerIndex = pointerIdList.getCurrentEventIndex(pointerId);
+        moveDistances.start(pointerId, motionEvent.getX(pointerIndex), motionEvent.getY(pointerIndex));
+      }
+    }
+    return resumed;
+  }
+
   @Override
   protected boolean analyzeMovement() {
     super.analyzeMovement();
     updateMoveDistancesObjects();
 
     if (isInProgress()) {
-      PointF currentFocalPoint = getFocalPoint();
+      getFocalPoint(currentFocalPoint);
       lastDistanceX = previousFocalPoint.x - currentFocalPoint.x;
       lastDistanceY = previousFocalPoint.y - currentFocalPoint.y;
-      previousFocalPoint = currentFocalPoint;
+      previousFocalPoint.set(currentFocalPoint);
+      if (isProgressCoalesced()) {
+        if (resetFocal) {
+          resetFocal = false;
+        } else {
+          coalescedDistanceX += lastDistanceX;
+          coalescedDistanceY += lastDistanceY;
+        }
+        hasCoalescedMove = true;
+        getGesturesManager().requestFrame();
+        return true;
+      }
+      long startNanos = listenerCallStarted("MoveGestureDetector#onMove");
+      boolean handled;
       if (resetFocal) {
         resetFocal = false;
-        return listener.onMove(this, 0, 0);
+        handled = listener.onMove(this, 0, 0);
+      } else {
+        handled = listener.onMove(this, lastDistanceX, lastDistanceY);
       }
-      return listener.onMove(this, lastDistanceX, lastDistanceY);
+      listenerCallFinished(startNanos);
+      return handled;
     } else if (canExecute(GESTURE_TYPE_MOVE)) {
-      if (listener.onMoveBegin(this)) {
+      long startNanos = listenerCallStarted("MoveGestureDetector#onMoveBegin");
+      boolean began = listener.onMoveBegin(this);
+      listenerCallFinished(startNanos);
+      if (began) {
         gestureStarted();
-        previousFocalPoint = getFocalPoint();
+        getFocalPoint(previousFocalPoint);
         resetFocal = false;
         return true;
       }
@@ -187,34 +221,38 @@ public class MoveGestureDetector extends ProgressiveGesture<MoveGestureDetector.
       if (pointerId == excludedPointerId) {
         continue;
       }
-      if (moveDistancesObjectMap.containsKey(pointerId)) {
-        float cx = motionEvent.getX(i);
-        float cy = motionEvent.getY(i);
-        moveDistancesObjectMap.put(pointerId, new MoveDistancesObject(cx, cy));
+      if (moveDistances.contains(pointerId)) {
+        moveDistances.start(pointerId, motionEvent.getX(i), motionEvent.getY(i));
       }
     }
   }
 
   private void updateMoveDistancesObjects() {
-    for (int pointerId : pointerIdList) {
-      moveDistancesObjectMap.get(pointerId).addNewPosition(
-        getCurrentEvent().getX(getCurrentEvent().findPointerIndex(pointerId)),
-        getCurrentEvent().getY(getCurrentEvent().findPointerIndex(pointerId))
-      );
+    historicalMoveAboveThreshold = false;
+    int historySize = getHistoricalSamplesCount();
+    float threshold = getCurrentMoveThreshold();
+    for (int i = 0; i < pointerIdList.size(); i++) {
+      int pointerId = pointerIdList.get(i);
+      int pointerIndex = pointerIdList.getCurrentEventIndex(pointerId);
+      MoveDistancesObject moveDistancesObject = moveDistances.get(pointerId);
+      for (int pos = 0; pos < historySize; pos++) {
+        // a pointer could have crossed the threshold and come back within a single batch
+        moveDistancesObject.addNewPosition(
+          getCurrentEvent().getHistoricalX(pointerIndex, pos),
+          getCurrentEvent().getHistoricalY(pointerIndex, pos)
+        );
+        historicalMoveAboveThreshold |= MoveDistances.isAboveThreshold(moveDistancesObject, threshold);
+      }
     }
+    moveDistances.update(getGestureFrame(), pointerIdList);
   }
 
   boolean checkAnyMoveAboveThreshold() {
     float threshold = getCurrentMoveThreshold();
-    boolean isInRect = moveThresholdRect != null && moveThresholdRect.contains(getFocalPoint().x, getFocalPoint().y);
-    for (MoveDistancesObject moveDistancesObject : moveDistancesObjectMap.values()) {
-      boolean thresholdExceeded = Math.abs(moveDistancesObject.getDistanceXSinceStart()) >= threshold
-        || Math.abs(moveDistancesObject.getDistanceYSinceStart()) >= threshold;
-      if (!isInRect && thresholdExceeded) {
-        return true;
-      }
-    }
-    return false;
+    getFocalPoint(currentFocalPoint);
+    boolean isInRect = moveThresholdRect != null
+      && moveThresholdRect.contains(currentFocalPoint.x, currentFocalPoint.y);
+    return !isInRect && (historicalMoveAboveThreshold || moveDistances.isAnyAboveThreshold(threshold));
   }
 
   private float getCurrentMoveThreshold() {
@@ -237,7 +275,26 @@ public class MoveGestureDetector extends ProgressiveGesture<MoveGestureDetector.
   @Override
   protected void gestureStopped() {
     super.gestureStopped();
+    long startNanos = listenerCallStarted("MoveGestureDetector#onMoveEnd");
     listener.onMoveEnd(this, velocityX, velocityY);
+    listenerCallFinished(startNanos);
+  }
+
+  @Override
+  void deliverCoalescedProgress() {
+    if (!hasCoalescedMove) {
+      return;
+    }
+    hasCoalescedMove = false;
+    float distanceX = coalescedDistanceX;
+    float distanceY = coalescedDistanceY;
+    coalescedDistanceX = 0;
+    coalescedDistanceY = 0;
+    if (listener != null) {
+      long startNanos = listenerCallStarted("MoveGestureDetector#onMove");
+      listener.onMove(this, distanceX, distanceY);
+      listenerCallFinished(startNanos);
+    }
   }
 
   @Override
@@ -361,7 +418,7 @@ public class MoveGestureDetector extends ProgressiveGesture<MoveGestureDetector.
   public MoveDistancesObject getMoveObject(int pointerIndex) {
     if (isInProgress()) {
       if (pointerIndex >= 0 && pointerIndex < getPointersCount()) {
-        return moveDistancesObjectMap.get(pointerIdList.get(pointerIndex));
+        return moveDistances.get(pointerIdList.get(pointerIndex));
       }
     }
     return null;
@@ -2,7 +2,6 @@ package com.mapbox.android.gestures;
 
 import android.content.Context;
 import android.graphics.PointF;
-import android.os.Build;
 
 import androidx.annotation.DimenRes;
 import androidx.annotation.UiThread;
@@ -10,13 +9,9 @@ import androidx.annotation.NonNull;
 
 import android.util.DisplayMetrics;
 import android.util.Log;
-import android.view.Display;
 import android.view.MotionEvent;
 import android.view.ViewConfiguration;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
 import java.util.NoSuchElementException;
 
 /**
@@ -44,67 +39,55 @@ public abstract class MultiFingerGesture<L> extends BaseGesture<L> {
 
   private float spanThreshold;
 
-  private final PermittedActionsGuard permittedActionsGuard = new PermittedActionsGuard();
+  final MultiFingerPointers pointers = new MultiFingerPointers();
 
   /**
-   * A list that holds IDs of currently active pointers in an order of activation.
+   * Holds IDs of currently active pointers in an order of activation.
    * First element is the oldest active pointer and last element is the most recently activated pointer.
    */
-  final List<Integer> pointerIdList = new ArrayList<>();
-  final HashMap<PointerDistancePair, MultiFingerDistancesObject> pointersDistanceMap = new HashMap<>();
-  private PointF focalPoint = new PointF();
-
-  private DisplayMetrics displayMetrics;
+  final PointerIdTracker pointerIdList = pointers.pointerIdList;
+  final PointerDistancesMatrix pointersDistanceMatrix = pointers.pointersDistanceMatrix;
+  private final PointF focalPoint = new PointF();
+  private final MotionEventTouchSample touchSample = new MotionEventTouchSample();
 
   public MultiFingerGesture(Context context, AndroidGesturesManager gesturesManager) {
     super(context, gesturesManager);
 
     ViewConfiguration config = ViewConfiguration.get(context);
     edgeSlop = config.getScaledEdgeSlop();
-    queryDisplayMetrics();
   }
 
   @Override
   protected boolean analyzeEvent(@NonNull MotionEvent motionEvent) {
     int action = motionEvent.getActionMasked();
-
-    if (action == MotionEvent.ACTION_DOWN) {
-      // As orientation can change, query the metrics in touch down
-      queryDisplayMetrics();
-    }
-
-    boolean isMissingEvents =
-      permittedActionsGuard.isMissingActions(action, motionEvent.getPointerCount(), pointerIdList.size())
-        || (action == MotionEvent.ACTION_MOVE && isMissingPointers(motionEvent));
+    TouchSample sample = touchSample.wrap(motionEvent);
+    boolean isMissingEvents = pointers.updateEventIndices(sample);
 
     if (isMissingEvents) {
       // stopping ProgressiveGestures and clearing pointers
       if (this instanceof ProgressiveGesture && ((ProgressiveGesture) this).isInProgress()) {
         ((ProgressiveGesture) this).gestureStopped();
       }
-      pointerIdList.clear();
-      pointersDistanceMap.clear();
+      pointers.clear();
     }
 
     if (!isMissingEvents || action == MotionEvent.ACTION_DOWN) {
       // if we are not missing any actions or the invalid one happens
       // to be ACTION_DOWN (therefore, we can start over immediately), then update pointers
-      updatePointerList(motionEvent);
+      pointers.updatePointers(sample);
     }
 
-    focalPoint = Utils.determineFocalPoint(motionEvent);
+    focalPoint.set(getGestureFrame().getFocalX(), getGestureFrame().getFocalY());
 
     if (isMissingEvents) {
       Log.w("MultiFingerGesture", "Some MotionEvents were not passed to the library "
         + "or events from different view trees are merged.");
       return false;
     } else {
-      if (action == MotionEvent.ACTION_MOVE) {
-        if (pointerIdList.size() >= getRequiredPointersCount() && checkPressure()) {
-          calculateDistances();
-          if (!isSloppyGesture()) {
-            return analyzeMovement();
-          }
+      if (pointers.isMovement(sample, getRequiredPointersCount()) && checkPressure()) {
+        pointers.calculateDistances(getGestureFrame());
+        if (!isSloppyGesture()) {
+          return analyzeMovement();
         }
       }
     }
@@ -112,42 +95,13 @@ public abstract class MultiFingerGesture<L> extends BaseGesture<L> {
     return false;
   }
 
-  private void queryDisplayMetrics() {
-    if (windowManager != null) {
-      displayMetrics = new DisplayMetrics();
-      Display display = windowManager.getDefaultDisplay();
-      if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR1) {
-        // get real metrics to take into account multi-window where application's visible bounds might be offset,
-        // but we still need to operate on raw values
-        display.getRealMetrics(displayMetrics);
-      } else {
-        // this method is relative to the applications visible bounds and will not return raw values
-        display.getMetrics(displayMetrics);
-      }
-    } else {
-      // this method is relative to the applications visible bounds and will not return raw values
-      displayMetrics = context.getResources().getDisplayMetrics();
-    }
-  }
-
-  private void updatePointerList(MotionEvent motionEvent) {
-    int action = motionEvent.getActionMasked();
-
-    if (action == MotionEvent.ACTION_DOWN || action == MotionEvent.ACTION_POINTER_DOWN) {
-      pointerIdList.add(motionEvent.getPointerId(motionEvent.getActionIndex()));
-    } else if (action == MotionEvent.ACTION_UP || action == MotionEvent.ACTION_POINTER_UP) {
-      pointerIdList.remove(Integer.valueOf(motionEvent.getPointerId(motionEvent.getActionIndex())));
-    }
-  }
-
-  private boolean isMissingPointers(MotionEvent motionEvent) {
-    for (int pointerId : pointerIdList) {
-      boolean hasPointer = motionEvent.findPointerIndex(pointerId) != -1;
-      if (!hasPointer) {
-        return true;
-      }
-    }
-    return false;
+  @Override
+  protected boolean resumeAnalysis(@NonNull MotionEvent motionEvent) {
+    // the gesture may be ongoing, picking up all of the pointers that are still down
+    pointers.resume(touchSample.wrap(motionEvent));
+    reset();
+    focalPoint.set(getGestureFrame().getFocalX(), getGestureFrame().getFocalY());
+    return true;
   }
 
   boolean checkPressure() {
@@ -156,14 +110,11 @@ public abstract class MultiFingerGesture<L> extends BaseGesture<L> {
     return currentPressure / previousPressure > PRESSURE_THRESHOLD;
   }
 
-  private boolean checkSpanBelowThreshold() {
-    for (MultiFingerDistancesObject distancesObject : pointersDistanceMap.values()) {
-      if (distancesObject.getCurrFingersDiffXY() < spanThreshold) {
-        return true;
-      }
-    }
-
-    return false;
+  /**
+   * Check whether any pair of pointers is closer than {@link #getSpanThreshold()}.
+   */
+  boolean checkSpanBelowThreshold() {
+    return pointersDistanceMatrix.isAnyCurrentSpanBelow(spanThreshold);
   }
 
   protected int getRequiredPointersCount() {
@@ -183,20 +134,12 @@ public abstract class MultiFingerGesture<L> extends BaseGesture<L> {
    * @return true if we detect sloppy gesture, false otherwise
    */
   protected boolean isSloppyGesture() {
-    float rightSlopEdge = displayMetrics.widthPixels - edgeSlop;
-    float bottomSlopEdge = displayMetrics.heightPixels - edgeSlop;
+    if (!pointerIdList.isEmpty()) {
+      DisplayMetrics displayMetrics = getGesturesManager().getDisplayGeometry().getDisplayMetrics();
+      int edgePointerIdsMask = getGestureFrame().getEdgePointerIdsMask(
+        edgeSlop, displayMetrics.widthPixels, displayMetrics.heightPixels);
 
-    final float edgeSlop = this.edgeSlop;
-
-    for (int pointerId : pointerIdList) {
-      int pointerIndex = getCurrentEvent().findPointerIndex(pointerId);
-      float x = Utils.getRawX(getCurrentEvent(), pointerIndex);
-      float y = Utils.getRawY(getCurrentEvent(), pointerIndex);
-
-      boolean isSloppy = x < edgeSlop || y < edgeSlop || x > rightSlopEdge
-        || y > bottomSlopEdge;
-
-      if (isSloppy) {
+      if (pointers.isAnyPointerIn(edgePointerIdsMask)) {
         return true;
       }
     }
@@ -212,37 +155,6 @@ public abstract class MultiFingerGesture<L> extends BaseGesture<L> {
   protected void reset() {
   }
 
-  private void calculateDistances() {
-    pointersDistanceMap.clear();
-
-    for (int i = 0; i < pointerIdList.size() - 1; i++) {
-      for (int j = i + 1; j < pointerIdList.size(); j++) {
-        int primaryPointerId = pointerIdList.get(i);
-        int secondaryPointerId = pointerIdList.get(j);
-
-        float px0 = getPreviousEvent().getX(getPreviousEvent().findPointerIndex(primaryPointerId));
-        float py0 = getPreviousEvent().getY(getPreviousEvent().findPointerIndex(primaryPointerId));
-        float px1 = getPreviousEvent().getX(getPreviousEvent().findPointerIndex(secondaryPointerId));
-        float py1 = getPreviousEvent().getY(getPreviousEvent().findPointerIndex(secondaryPointerId));
-        float prevFingersDiffX = px1 - px0;
-        float prevFingersDiffY = py1 - py0;
-
-        float cx0 = getCurrentEvent().getX(getCurrentEvent().findPointerIndex(primaryPointerId));
-        float cy0 = getCurrentEvent().getY(getCurrentEvent().findPointerIndex(primaryPointerId));
-        float cx1 = getCurrentEvent().getX(getCurrentEvent().findPointerIndex(secondaryPointerId));
-        float cy1 = getCurrentEvent().getY(getCurrentEvent().findPointerIndex(secondaryPointerId));
-        float currFingersDiffX = cx1 - cx0;
-        float currFingersDiffY = cy1 - cy0;
-
-        pointersDistanceMap.put(new PointerDistancePair(primaryPointerId, secondaryPointerId),
-          new MultiFingerDistancesObject(
-            prevFingersDiffX, prevFingersDiffY,
-            currFingersDiffX, currFingersDiffY)
-        );
-      }
-    }
-  }
-
   /**
    * Returns the current distance between the two pointers forming the
    * gesture in progress.
@@ -263,10 +175,7 @@ public abstract class MultiFingerGesture<L> extends BaseGesture<L> {
       throw new NoSuchElementException("There is no such pair of pointers!");
     }
 
-    MultiFingerDistancesObject distancesObject = pointersDistanceMap.get(
-      new PointerDistancePair(pointerIdList.get(firstPointerIndex), pointerIdList.get(secondPointerIndex)));
-
-    return distancesObject.getCurrFingersDiffXY();
+    return pointersDistanceMatrix.getCurrFingersDiffXY(firstPointerIndex, secondPointerIndex);
   }
 
   /**
@@ -289,10 +198,7 @@ public abstract class MultiFingerGesture<L> extends BaseGesture<L> {
       throw new NoSuchElementException("There is no such pair of pointers!");
     }
 
-    MultiFingerDistancesObject distancesObject = pointersDistanceMap.get(
-      new PointerDistancePair(pointerIdList.get(firstPointerIndex), pointerIdList.get(secondPointerIndex)));
-
-    return distancesObject.getPrevFingersDiffXY();
+    return pointersDistanceMatrix.getPrevFingersDiffXY(firstPointerIndex, secondPointerIndex);
   }
 
   /**
@@ -314,10 +220,7 @@ public abstract class MultiFingerGesture<L> extends BaseGesture<L> {
       throw new NoSuchElementException("There is no such pair of pointers!");
     }
 
-    MultiFingerDistancesObject distancesObject = pointersDistanceMap.get(
-      new PointerDistancePair(pointerIdList.get(firstPointerIndex), pointerIdList.get(secondPointerIndex)));
-
-    return Math.abs(distancesObject.getCurrFingersDiffX());
+    return Math.abs(pointersDistanceMatrix.getCurrFingersDiffX(firstPointerIndex, secondPointerIndex));
   }
 
   /**
@@ -339,10 +242,7 @@ public abstract class MultiFingerGesture<L> extends BaseGesture<L> {
       throw new NoSuchElementException("There is no such pair of pointers!");
     }
 
-    MultiFingerDistancesObject distancesObject = pointersDistanceMap.get(
-      new PointerDistancePair(pointerIdList.get(firstPointerIndex), pointerIdList.get(secondPointerIndex)));
-
-    return Math.abs(distancesObject.getCurrFingersDiffY());
+    return Math.abs(pointersDistanceMatrix.getCurrFingersDiffY(firstPointerIndex, secondPointerIndex));
   }
 
   /**
@@ -364,10 +264,7 @@ public abstract class MultiFingerGesture<L> extends BaseGesture<L> {
       throw new NoSuchElementException("There is no such pair of pointers!");
     }
 
-    MultiFingerDistancesObject distancesObject = pointersDistanceMap.get(
-      new PointerDistancePair(pointerIdList.get(firstPointerIndex), pointerIdList.get(secondPointerIndex)));
-
-    return Math.abs(distancesObject.getPrevFingersDiffX());
+    return Math.abs(pointersDistanceMatrix.getPrevFingersDiffX(firstPointerIndex, secondPointerIndex));
   }
 
   /**
@@ -389,10 +286,7 @@ public abstract class MultiFingerGesture<L> extends BaseGesture<L> {
       throw new NoSuchElementException("There is no such pair of pointers!");
     }
 
-    MultiFingerDistancesObject distancesObject = pointersDistanceMap.get(
-      new PointerDistancePair(pointerIdList.get(firstPointerIndex), pointerIdList.get(secondPointerIndex)));
-
-    return Math.abs(distancesObject.getPrevFingersDiffY());
+    return Math.abs(pointersDistanceMatrix.getPrevFingersDiffY(firstPointerIndex, secondPointerIndex));
   }
 
   private boolean verifyPointers(int firstPointerIndex, int secondPointerIndex) {
@@ -409,13 +303,74 @@ public abstract class MultiFingerGesture<L> extends BaseGesture<L> {
     return pointerIdList.size();
   }
 
+  /**
+   * Returns IDs of the active pointers sorted by the time they were placed on the screen until lifted up.
+   * <p>
+   * The returned tracker is read-only, it's updated by this detector with every {@link MotionEvent}.
+   *
+   * @return active pointers' IDs
+   */
+  public PointerIdTracker getPointerIdTracker() {
+    return pointerIdList;
+  }
+
+  /**
+   * Returns current and previous distances between each pair of active pointers,
+   * calculated with the most recent move event.
+   * <p>
+   * The returned matrix is read-only, it's updated by this detector with every {@link MotionEvent}.
+   *
+   * @return distances between pointers
+   */
+  public PointerDistancesMatrix getPointerDistancesMatrix() {
+    return pointersDistanceMatrix;
+  }
+
+  /**
+   * Returns whether distances between pointers are calculated only when requested.
+   *
+   * @return true if lazy distances calculation is enabled, false otherwise
+   * @see #setLazyDistancesEnabled(boolean)
+   */
+  public boolean isLazyDistancesEnabled() {
+    return pointersDistanceMatrix.isLazy();
+  }
+
+  /**
+   * Set whether distances between pointers should be calculated only when requested, and cached until the next event.
+   * Otherwise, distances between each pair of pointers are calculated with every move event.
+   * <p>
+   * Enabled by default. The work saved can be checked with {@link PointerDistancesMatrix#getSkippedPairsCount()}
+   * and {@link PointerDistancesMatrix#getSkippedLengthsCount()}.
+   *
+   * @param enabled true to calculate distances only when requested, false to always calculate all of them
+   */
+  public void setLazyDistancesEnabled(boolean enabled) {
+    pointersDistanceMatrix.setLazy(enabled);
+  }
+
   /**
    * Returns a center point of this gesture.
+   * <p>
+   * The returned point is a copy that is not updated with subsequent events.
+   * Use {@link #getFocalPoint(PointF)} to avoid the allocation.
    *
    * @return center point of this gesture.
    */
   public PointF getFocalPoint() {
-    return focalPoint;
+    return new PointF(focalPoint.x, focalPoint.y);
+  }
+
+  /**
+   * Writes a center point of this gesture into the passed point.
+   *
+   * @param out point that the center point is written to
+   * @return the passed point, holding the center point of this gesture
+   */
+  @NonNull
+  public PointF getFocalPoint(@NonNull PointF out) {
+    out.set(focalPoint);
+    return out;
   }
 
   /**
@@ -8,8 +8,6 @@ import androidx.annotation.NonNull;
 
 import android.view.MotionEvent;
 
-import java.util.HashMap;
-
 import static com.mapbox.android.gestures.AndroidGesturesManager.GESTURE_TYPE_MULTI_FINGER_TAP;
 
 /**
@@ -61,7 +59,9 @@ public class MultiFingerTapGestureDetector extends
         boolean canExecute = canExecute(GESTURE_TYPE_MULTI_FINGER_TAP);
         boolean handled = false;
         if (canExecute) {
+          long startNanos = listenerCallStarted("MultiFingerTapGestureDetector#onMultiFingerTap");
           handled = listener.onMultiFingerTap(this, lastPointersDownCount);
+          listenerCallFinished(startNanos);
         }
         reset();
         return handled;
@@ -70,7 +70,7 @@ public class MultiFingerTapGestureDetector extends
         if (invalidMovement) {
           break;
         }
-        invalidMovement = exceededMovementThreshold(pointersDistanceMap);
+        invalidMovement = exceededMovementThreshold(pointersDistanceMatrix);
         break;
 
       default:
@@ -80,15 +80,24 @@ public class MultiFingerTapGestureDetector extends
     return false;
   }
 
-  boolean exceededMovementThreshold(HashMap<PointerDistancePair, MultiFingerDistancesObject> map) {
-    for (MultiFingerDistancesObject distancesObject : map.values()) {
-      float diffX = Math.abs(distancesObject.getCurrFingersDiffX() - distancesObject.getPrevFingersDiffX());
-      float diffY = Math.abs(distancesObject.getCurrFingersDiffY() - distancesObject.getPrevFingersDiffY());
+  @Override
+  protected boolean resumeAnalysis(@NonNull MotionEvent motionEvent) {
+    // tap has to be observed from the first pointer down, wait for the next gesture
+    return super.resumeAnalysis(motionEvent) && motionEvent.getActionMasked() == MotionEvent.ACTION_DOWN;
+  }
+
+  boolean exceededMovementThreshold(PointerDistancesMatrix matrix) {
+    int pointersCount = matrix.getPointersCount();
+    for (int i = 0; i < pointersCount - 1; i++) {
+      for (int j = i + 1; j < pointersCount; j++) {
+        float diffX = Math.abs(matrix.getCurrFingersDiffX(i, j) - matrix.getPrevFingersDiffX(i, j));
+        float diffY = Math.abs(matrix.getCurrFingersDiffY(i, j) - matrix.getPrevFingersDiffY(i, j));
 
-      invalidMovement = diffX > multiFingerTapMovementThreshold || diffY > multiFingerTapMovementThreshold;
+        invalidMovement = diffX > multiFingerTapMovementThreshold || diffY > multiFingerTapMovementThreshold;
 
-      if (invalidMovement) {
-        return true;
+        if (invalidMovement) {
+          return true;
+        }
       }
     }
 
@@ -1,11 +1,16 @@
 package com.mapbox.android.gestures;
 
 import android.content.Context;
+import android.graphics.PointF;
+import androidx.annotation.IntDef;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.annotation.UiThread;
 import android.view.MotionEvent;
 import android.view.VelocityTracker;
 
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
 import java.util.Set;
 
 /**
@@ -15,16 +20,78 @@ import java.util.Set;
  */
 @UiThread
 public abstract class ProgressiveGesture<L> extends MultiFingerGesture<L> {
+  @Retention(RetentionPolicy.SOURCE)
+  @IntDef( {VELOCITY_STRATEGY_PLATFORM,
+    VELOCITY_STRATEGY_LEAST_SQUARES,
+    VELOCITY_STRATEGY_IMPULSE
+  })
+  public @interface VelocityStrategy {
+  }
+
+  @Retention(RetentionPolicy.SOURCE)
+  @IntDef( {PREDICTION_STRATEGY_LINEAR,
+    PREDICTION_STRATEGY_KALMAN
+  })
+  public @interface PredictionStrategy {
+  }
+
+  /**
+   * Motion is extrapolated along a line fitted to the recent samples, see {@link MotionPredictor#STRATEGY_LINEAR}.
+   */
+  public static final int PREDICTION_STRATEGY_LINEAR = MotionPredictor.STRATEGY_LINEAR;
+  /**
+   * Motion is extrapolated with a Kalman filter, see {@link MotionPredictor#STRATEGY_KALMAN}.
+   */
+  public static final int PREDICTION_STRATEGY_KALMAN = MotionPredictor.STRATEGY_KALMAN;
+
+  /**
+   * Velocity of the first pointer, estimated by the platform's {@link VelocityTracker}
+   * from the events analyzed while the gesture is in progress.
+   */
+  public static final int VELOCITY_STRATEGY_PLATFORM = 0;
+  /**
+   * Velocity of the focal point, estimated by a {@link VelocityEstimator}
+   * with the {@link VelocityEstimator#STRATEGY_LEAST_SQUARES} strategy.
+   */
+  public static final int VELOCITY_STRATEGY_LEAST_SQUARES = VelocityEstimator.STRATEGY_LEAST_SQUARES;
+  /**
+   * Velocity of the focal point, estimated by a {@link VelocityEstimator}
+   * with the {@link VelocityEstimator#STRATEGY_IMPULSE} strategy.
+   */
+  public static final int VELOCITY_STRATEGY_IMPULSE = VelocityEstimator.STRATEGY_IMPULSE;
 
   private final Set<Integer> handledTypes = provideHandledTypes();
+  private final long handledTypesMask = AndroidGesturesManager.getGestureTypesMask(handledTypes);
 
   private boolean isInProgress;
   private boolean interrupted;
+  private boolean historicalSamplesEnabled;
+  private boolean gestureTraced;
 
   VelocityTracker velocityTracker;
   float velocityX;
   float velocityY;
 
+  @VelocityStrategy
+  private int velocityStrategy = VELOCITY_STRATEGY_PLATFORM;
+  @Nullable
+  private VelocityEstimator velocityEstimator;
+  /**
+   * Whether the estimator tracks a position, which is the focal point shifted by the offset,
+   * so that it doesn't jump when pointers are added or removed.
+   */
+  private boolean isTrackingFocalPoint;
+  private float trackedOffsetX;
+  private float trackedOffsetY;
+  private float trackedX;
+  private float trackedY;
+
+  private long predictionHorizon;
+  @PredictionStrategy
+  private int predictionStrategy = PREDICTION_STRATEGY_LINEAR;
+  @Nullable
+  private MotionPredictor focalPointPredictor;
+
   public ProgressiveGesture(Context context, AndroidGesturesManager gesturesManager) {
     super(context, gesturesManager);
   }
@@ -40,6 +107,10 @@ public abstract class ProgressiveGesture<L> extends MultiFingerGesture<L> {
       || action == MotionEvent.ACTION_CANCEL) {
       // configuration changed, reset data
       reset();
+      if (focalPointPredictor != null) {
+        // the focal point jumps
+        focalPointPredictor.clear();
+      }
     }
 
     if (interrupted) {
@@ -48,7 +119,9 @@ public abstract class ProgressiveGesture<L> extends MultiFingerGesture<L> {
       gestureStopped();
     }
 
-    if (velocityTracker != null) {
+    if (velocityEstimator != null) {
+      addVelocitySamples(getCurrentEvent());
+    } else if (velocityTracker != null) {
       velocityTracker.addMovement(getCurrentEvent());
     }
 
@@ -69,25 +142,226 @@ public abstract class ProgressiveGesture<L> extends MultiFingerGesture<L> {
     return movementHandled;
   }
 
+  @Override
+  protected boolean resumeAnalysis(@NonNull MotionEvent motionEvent) {
+    // positions tracked before the detector became dormant are stale
+    isTrackingFocalPoint = false;
+    if (velocityEstimator != null) {
+      velocityEstimator.clear();
+    }
+    if (focalPointPredictor != null) {
+      focalPointPredictor.clear();
+    }
+    return super.resumeAnalysis(motionEvent);
+  }
+
+  @Override
+  protected boolean analyzeMovement() {
+    if (focalPointPredictor != null) {
+      GestureFrame gestureFrame = getGestureFrame();
+      focalPointPredictor.addSample(
+        getCurrentEvent().getEventTime(), gestureFrame.getFocalX(), gestureFrame.getFocalY());
+    }
+    return super.analyzeMovement();
+  }
+
+  /**
+   * Feeds the estimator with the focal point of every sample of the event, including the historical ones,
+   * from the first event of the gesture, before it's started.
+   */
+  private void addVelocitySamples(@NonNull MotionEvent event) {
+    int action = event.getActionMasked();
+    if (action == MotionEvent.ACTION_DOWN || action == MotionEvent.ACTION_CANCEL) {
+      velocityEstimator.clear();
+      isTrackingFocalPoint = false;
+      if (action == MotionEvent.ACTION_CANCEL) {
+        return;
+      }
+    }
+
+    if (action == MotionEvent.ACTION_MOVE && isTrackingFocalPoint) {
+      if (!hasTrackedPointer(event, -1, -1)) {
+        return;
+      }
+      for (int pos = 0; pos < event.getHistorySize(); pos++) {
+        addVelocitySample(event.getHistoricalEventTime(pos),
+          averagePosition(event, true, pos, -1, -1), averagePosition(event, false, pos, -1, -1));
+      }
+      addVelocitySample(event.getEventTime(),
+        averagePosition(event, true, -1, -1, -1), averagePosition(event, false, -1, -1, -1));
+      return;
+    }
+
+    // pointers changed, continue tracking from the same position with the focal point of the remaining pointers,
+    // the tracked pointers are updated with the event only after the samples are added
+    int changedPointerId = event.getPointerId(event.getActionIndex());
+    boolean isPointerUp = action == MotionEvent.ACTION_UP || action == MotionEvent.ACTION_POINTER_UP;
+    int skippedPointerId = isPointerUp ? changedPointerId : -1;
+    int addedPointerId = isPointerUp ? -1 : changedPointerId;
+    if (!hasTrackedPointer(event, skippedPointerId, addedPointerId)) {
+      return;
+    }
+    float focalX = averagePosition(event, true, -1, skippedPointerId, addedPointerId);
+    float focalY = averagePosition(event, false, -1, skippedPointerId, addedPointerId);
+    if (isTrackingFocalPoint) {
+      trackedOffsetX = trackedX - focalX;
+      trackedOffsetY = trackedY - focalY;
+    } else {
+      isTrackingFocalPoint = true;
+      trackedOffsetX = 0;
+      trackedOffsetY = 0;
+      addVelocitySample(event.getEventTime(), focalX, focalY);
+    }
+  }
+
+  private void addVelocitySample(long timeMillis, float focalX, float focalY) {
+    trackedX = focalX + trackedOffsetX;
+    trackedY = focalY + trackedOffsetY;
+    velocityEstimator.addSample(timeMillis, trackedX, trackedY);
+  }
+
+  /**
+   * Returns the average coordinate of the tracked pointers in a sample of the event,
+   * the same pointers that the focal point is calculated for.
+   *
+   * @param historyPosition  position of the historical sample, or -1 for the current one
+   * @param skippedPointerId ID of the tracked pointer to leave out, or -1
+   * @param addedPointerId   ID of the pointer to add to the tracked ones, or -1
+   */
+  private float averagePosition(MotionEvent event, boolean isX, int historyPosition,
+                                int skippedPointerId, int addedPointerId) {
+    float sum = 0;
+    int count = 0;
+    for (int i = 0; i < pointerIdList.size(); i++) {
+      int pointerId = pointerIdList.get(i);
+      int pointerIndex = event.findPointerIndex(pointerId);
+      if (pointerId != skippedPointerId && pointerId != addedPointerId && pointerIndex != -1) {
+        sum += position(event, isX, historyPosition, pointerIndex);
+        count++;
+      }
+    }
+    if (addedPointerId != -1) {
+      sum += position(event, isX, historyPosition, event.findPointerIndex(addedPointerId));
+      count++;
+    }
+    return sum / count;
+  }
+
+  /**
+   * Check whether any of the tracked pointers is in the event, see {@link #averagePosition}.
+   */
+  private boolean hasTrackedPointer(MotionEvent event, int skippedPointerId, int addedPointerId) {
+    if (addedPointerId != -1) {
+      return true;
+    }
+    for (int i = 0; i < pointerIdList.size(); i++) {
+      int pointerId = pointerIdList.get(i);
+      if (pointerId != skippedPointerId && event.findPointerIndex(pointerId) != -1) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static float position(MotionEvent event, boolean isX, int historyPosition, int pointerIndex) {
+    if (historyPosition < 0) {
+      return isX ? event.getX(pointerIndex) : event.getY(pointerIndex);
+    } else {
+      return isX ? event.getHistoricalX(pointerIndex, historyPosition)
+        : event.getHistoricalY(pointerIndex, historyPosition);
+    }
+  }
+
+  @Override
+  protected boolean isDormant() {
+    // a gesture in progress has to be analyzed until it's stopped
+    return super.isDormant() && !isInProgress && !interrupted;
+  }
+
   protected void gestureStarted() {
     isInProgress = true;
-    if (velocityTracker == null) {
+    getGesturesManager().onGestureStarted(handledTypesMask);
+    GestureMetrics metrics = getGesturesManager().getGestureMetrics();
+    if (metrics != null) {
+      metrics.onGestureStarted(this);
+    }
+    if (getGesturesManager().isTraceSectionsEnabled()) {
+      gestureTraced = true;
+      TraceSections.beginAsync(getTraceSectionName(), System.identityHashCode(this));
+    }
+    if (velocityTracker == null && velocityEstimator == null) {
       velocityTracker = VelocityTracker.obtain();
     }
   }
 
   protected void gestureStopped() {
+    // progress accumulated since the last frame precedes the end of the gesture
+    deliverCoalescedProgress();
     isInProgress = false;
-    if (velocityTracker != null) {
+    getGesturesManager().onGestureStopped(handledTypesMask);
+    GestureMetrics metrics = getGesturesManager().getGestureMetrics();
+    if (metrics != null) {
+      metrics.onGestureStopped(this);
+    }
+    if (gestureTraced) {
+      gestureTraced = false;
+      TraceSections.endAsync(getTraceSectionName(), System.identityHashCode(this));
+    }
+    if (velocityEstimator != null) {
+      MotionEvent currentEvent = getCurrentEvent();
+      if (currentEvent != null) {
+        velocityEstimator.computeVelocity(currentEvent.getEventTime());
+        velocityX = velocityEstimator.getVelocityX();
+        velocityY = velocityEstimator.getVelocityY();
+      } else {
+        velocityX = 0;
+        velocityY = 0;
+      }
+    } else if (velocityTracker != null) {
       velocityTracker.computeCurrentVelocity(1000);
       velocityX = velocityTracker.getXVelocity();
       velocityY = velocityTracker.getYVelocity();
+    }
+    if (velocityTracker != null) {
       velocityTracker.recycle();
       velocityTracker = null;
     }
     reset();
   }
 
+  /**
+   * Check whether the progress callbacks should be accumulated and delivered on the next frame,
+   * see {@link AndroidGesturesManager#setFrameCoalescingEnabled(boolean)}.
+   *
+   * @return true if the progress should be accumulated, false if it should be delivered right away
+   */
+  boolean isProgressCoalesced() {
+    return getGesturesManager().isFrameCoalescingEnabled();
+  }
+
+  /**
+   * Delivers the progress accumulated since the last frame, if there's any.
+   * Detectors that coalesce their progress callbacks override this, by default there's nothing to deliver.
+   */
+  void deliverCoalescedProgress() {
+    // no progress is accumulated by default
+  }
+
+  /**
+   * Returns the number of historical samples batched into the current event that should be integrated over,
+   * which is 0 unless {@link #setHistoricalSamplesEnabled(boolean)} is enabled and the event is a move event.
+   *
+   * @return number of historical samples
+   */
+  int getHistoricalSamplesCount() {
+    MotionEvent currentEvent = getCurrentEvent();
+    if (!historicalSamplesEnabled || currentEvent == null
+      || currentEvent.getActionMasked() != MotionEvent.ACTION_MOVE) {
+      return 0;
+    }
+    return currentEvent.getHistorySize();
+  }
+
   Set<Integer> getHandledTypes() {
     return handledTypes;
   }
@@ -101,6 +375,132 @@ public abstract class ProgressiveGesture<L> extends MultiFingerGesture<L> {
     return isInProgress;
   }
 
+  /**
+   * Check whether the detector integrates over historical samples batched into move events. Default is false.
+   *
+   * @return true if historical samples are taken into account, false otherwise
+   */
+  public boolean isHistoricalSamplesEnabled() {
+    return historicalSamplesEnabled;
+  }
+
+  /**
+   * Set whether the detector should integrate over every historical sample batched into a move event
+   * (see {@link MotionEvent#getHistorySize()}) instead of only looking at the most recent sample.
+   * <p>
+   * This improves accuracy on high-rate digitizers, the number of listener callbacks doesn't change.
+   *
+   * @param enabled true if historical samples should be taken into account, false otherwise
+   */
+  public void setHistoricalSamplesEnabled(boolean enabled) {
+    historicalSamplesEnabled = enabled;
+  }
+
+  /**
+   * Get the strategy of estimating the velocity that's passed to the end callback of the gesture.
+   *
+   * @return velocity strategy
+   */
+  @VelocityStrategy
+  public int getVelocityStrategy() {
+    return velocityStrategy;
+  }
+
+  /**
+   * Set the strategy of estimating the velocity that's passed to the end callback of the gesture.
+   * Default is {@link #VELOCITY_STRATEGY_PLATFORM}.
+   * <p>
+   * The other strategies estimate the velocity of the focal point in Java, from a fixed-size buffer
+   * of samples that's fed with every analyzed event, including the historical samples
+   * and the events preceding the start of the gesture. The tracked position doesn't jump
+   * when pointers are added or removed, and no platform {@link VelocityTracker} is obtained per gesture.
+   * Changing the strategy during a gesture drops the samples collected so far.
+   *
+   * @param velocityStrategy velocity strategy
+   */
+  public void setVelocityStrategy(@VelocityStrategy int velocityStrategy) {
+    if (velocityStrategy == VELOCITY_STRATEGY_PLATFORM) {
+      velocityEstimator = null;
+    } else {
+      velocityEstimator = new VelocityEstimator(velocityStrategy);
+    }
+    isTrackingFocalPoint = false;
+    this.velocityStrategy = velocityStrategy;
+  }
+
+  /**
+   * Get how far ahead of the most recent event the motion is predicted.
+   *
+   * @return prediction horizon in milliseconds, 0 if the prediction is disabled
+   */
+  public long getPredictionHorizon() {
+    return predictionHorizon;
+  }
+
+  /**
+   * Set how far ahead of the most recent event the motion should be predicted, see {@link MotionPredictor}.
+   * Default is 0, which disables the prediction.
+   * <p>
+   * Listeners can then render the predicted state, like {@link #getPredictedFocalPoint(PointF)},
+   * to make up for the frames between the touch and its display. Every event corrects the prediction,
+   * and changes of the pointers start it over.
+   * <p>
+   * The focal point is predicted by every progressive detector, and {@link StandardScaleGestureDetector}
+   * predicts its span as well.
+   *
+   * @param predictionHorizon prediction horizon in milliseconds
+   */
+  public void setPredictionHorizon(long predictionHorizon) {
+    this.predictionHorizon = predictionHorizon;
+    if (predictionHorizon <= 0) {
+      focalPointPredictor = null;
+    } else if (focalPointPredictor == null || focalPointPredictor.getStrategy() != predictionStrategy) {
+      focalPointPredictor = new MotionPredictor(predictionStrategy);
+    }
+  }
+
+  /**
+   * Get the strategy of predicting the motion.
+   *
+   * @return prediction strategy
+   */
+  @PredictionStrategy
+  public int getPredictionStrategy() {
+    return predictionStrategy;
+  }
+
+  /**
+   * Set the strategy of predicting the motion. Default is {@link #PREDICTION_STRATEGY_LINEAR}.
+   * Changing the strategy during a gesture drops the samples collected so far.
+   *
+   * @param predictionStrategy prediction strategy
+   */
+  public void setPredictionStrategy(@PredictionStrategy int predictionStrategy) {
+    if (predictionStrategy != PREDICTION_STRATEGY_LINEAR && predictionStrategy != PREDICTION_STRATEGY_KALMAN) {
+      throw new IllegalArgumentException("Unknown motion prediction strategy: " + predictionStrategy);
+    }
+    this.predictionStrategy = predictionStrategy;
+    setPredictionHorizon(predictionHorizon);
+  }
+
+  /**
+   * Writes the focal point predicted {@link #getPredictionHorizon()} ahead of the most recent event
+   * into the passed point. When the prediction is disabled or there are no samples yet,
+   * the current focal point is written.
+   *
+   * @param out point that the predicted focal point is written to
+   * @return the passed point, holding the predicted focal point
+   */
+  @NonNull
+  public PointF getPredictedFocalPoint(@NonNull PointF out) {
+    if (focalPointPredictor == null || focalPointPredictor.isEmpty()) {
+      return getFocalPoint(out);
+    }
+    focalPointPredictor.predict(predictionHorizon);
+    out.set(focalPointPredictor.getPredictedX(), focalPointPredictor.getPredictedY());
+    return out;
+  }
+
   @Override
   public void setEnabled(boolean enabled) {
     super.setEnabled(enabled);
@@ -1,6 +1,8 @@
 package com.mapbox.android.gestures;
 
 import android.content.Context;
+import android.graphics.PointF;
+import android.view.MotionEvent;
 import androidx.annotation.NonNull;
 import androidx.annotation.UiThread;
 
@@ -20,9 +22,23 @@ public class RotateGestureDetector extends ProgressiveGesture<RotateGestureDetec
     handledTypes.add(GESTURE_TYPE_ROTATE);
   }
 
+  private final SimilarityTransform transform = new SimilarityTransform();
+  private final PointF angularVelocityFocalPoint = new PointF();
+
   private float angleThreshold;
+  private boolean multiPointerRotationEnabled;
   float deltaSinceStart;
   float deltaSinceLast;
+  private final VelocityEstimator rotationVelocityEstimator =
+    new VelocityEstimator(VelocityEstimator.STRATEGY_LEAST_SQUARES);
+  /**
+   * Rotation since the first pointer went down, tracked for the rotation velocity.
+   */
+  private float trackedRotation;
+  private float rotationVelocity;
+  private boolean hasCoalescedRotation;
+  private float coalescedDeltaSinceLast;
+  private float coalescedDeltaSinceStart;
 
   public RotateGestureDetector(Context context, AndroidGesturesManager gesturesManager) {
     super(context, gesturesManager);
@@ -98,11 +114,25 @@ public class RotateGestureDetector extends ProgressiveGesture<RotateGestureDetec
 
     deltaSinceLast = getRotationDegreesSinceLast();
     deltaSinceStart += deltaSinceLast;
+    addRotationVelocitySample();
 
     if (isInProgress() && deltaSinceLast != 0) {
-      return listener.onRotate(this, deltaSinceLast, deltaSinceStart);
+      if (isProgressCoalesced()) {
+        hasCoalescedRotation = true;
+        coalescedDeltaSinceLast += deltaSinceLast;
+        coalescedDeltaSinceStart = deltaSinceStart;
+        getGesturesManager().requestFrame();
+        return true;
+      }
+      long startNanos = listenerCallStarted("RotateGestureDetector#onRotate");
+      boolean handled = listener.onRotate(this, deltaSinceLast, deltaSinceStart);
+      listenerCallFinished(startNanos);
+      return handled;
     } else if (canExecute(GESTURE_TYPE_ROTATE)) {
-      if (listener.onRotateBegin(this)) {
+      long startNanos = listenerCallStarted("RotateGestureDetector#onRotateBegin");
+      boolean began = listener.onRotateBegin(this);
+      listenerCallFinished(startNanos);
+      if (began) {
         gestureStarted();
         return true;
       }
@@ -111,6 +141,34 @@ public class RotateGestureDetector extends ProgressiveGesture<RotateGestureDetec
     return false;
   }
 
+  private void addRotationVelocitySample() {
+    MotionEvent currentEvent = getCurrentEvent();
+    if (currentEvent != null && currentEvent.getActionMasked() == MotionEvent.ACTION_MOVE) {
+      trackedRotation += deltaSinceLast;
+      rotationVelocityEstimator.addSample(currentEvent.getEventTime(), trackedRotation, 0);
+    }
+  }
+
+  @Override
+  protected boolean analyzeEvent(@NonNull MotionEvent motionEvent) {
+    if (motionEvent.getActionMasked() == MotionEvent.ACTION_DOWN) {
+      clearRotationVelocity();
+    }
+    return super.analyzeEvent(motionEvent);
+  }
+
+  @Override
+  protected boolean resumeAnalysis(@NonNull MotionEvent motionEvent) {
+    // rotation tracked before the detector became dormant is stale
+    clearRotationVelocity();
+    return super.resumeAnalysis(motionEvent);
+  }
+
+  private void clearRotationVelocity() {
+    rotationVelocityEstimator.clear();
+    trackedRotation = 0;
+  }
+
   @Override
   protected boolean canExecute(int invokedGestureType) {
     return Math.abs(deltaSinceStart) >= angleThreshold && super.canExecute(invokedGestureType);
@@ -119,6 +177,13 @@ public class RotateGestureDetector extends ProgressiveGesture<RotateGestureDetec
   @Override
   protected void gestureStopped() {
     super.gestureStopped();
+    MotionEvent currentEvent = getCurrentEvent();
+    if (currentEvent != null) {
+      rotationVelocityEstimator.computeVelocity(currentEvent.getEventTime());
+      rotationVelocity = rotationVelocityEstimator.getVelocityX();
+    } else {
+      rotationVelocity = 0;
+    }
 
     if (deltaSinceLast == 0) {
       velocityX = 0;
@@ -126,7 +191,24 @@ public class RotateGestureDetector extends ProgressiveGesture<RotateGestureDetec
     }
 
     float angularVelocity = calculateAngularVelocityVector(velocityX, velocityY);
+    long startNanos = listenerCallStarted("RotateGestureDetector#onRotateEnd");
     listener.onRotateEnd(this, velocityX, velocityY, angularVelocity);
+    listenerCallFinished(startNanos);
+  }
+
+  @Override
+  void deliverCoalescedProgress() {
+    if (!hasCoalescedRotation) {
+      return;
+    }
+    hasCoalescedRotation = false;
+    float rotationDegreesSinceLast = coalescedDeltaSinceLast;
+    coalescedDeltaSinceLast = 0;
+    if (listener != null) {
+      long startNanos = listenerCallStarted("RotateGestureDetector#onRotate");
+      listener.onRotate(this, rotationDegreesSinceLast, coalescedDeltaSinceStart);
+      listenerCallFinished(startNanos);
+    }
   }
 
   @Override
@@ -136,19 +218,52 @@ public class RotateGestureDetector extends ProgressiveGesture<RotateGestureDetec
   }
 
   float getRotationDegreesSinceLast() {
-    MultiFingerDistancesObject distancesObject =
-      pointersDistanceMap.get(new PointerDistancePair(pointerIdList.get(0), pointerIdList.get(1)));
+    if (multiPointerRotationEnabled && pointerIdList.size() > 2) {
+      transform.fit(getGestureFrame(), pointerIdList);
+      return transform.getRotationDegrees();
+    }
 
-    double diffRadians = Math.atan2(distancesObject.getPrevFingersDiffY(),
-      distancesObject.getPrevFingersDiffX()) - Math.atan2(
-      distancesObject.getCurrFingersDiffY(),
-      distancesObject.getCurrFingersDiffX());
-    return (float) Math.toDegrees(diffRadians);
+    if (getHistoricalSamplesCount() > 0) {
+      return getHistoricalRotationDegreesSinceLast();
+    }
+
+    return pointers.getFirstPairRotationDegrees();
+  }
+
+  /**
+   * Sums up the rotation between each of the historical samples batched into the current event,
+   * so that turns larger than half a circle between two events are not folded.
+   * Every sample costs a single {@code atan2}, see {@link GestureMath#rotationDegrees(float, float, float, float)}.
+   */
+  private float getHistoricalRotationDegreesSinceLast() {
+    MotionEvent currentEvent = getCurrentEvent();
+    int firstIndex = pointerIdList.getCurrentEventIndex(pointerIdList.get(0));
+    int secondIndex = pointerIdList.getCurrentEventIndex(pointerIdList.get(1));
+    int historySize = getHistoricalSamplesCount();
+
+    float previousDiffX = pointersDistanceMatrix.getPrevFingersDiffX(0, 1);
+    float previousDiffY = pointersDistanceMatrix.getPrevFingersDiffY(0, 1);
+    double diffDegrees = 0;
+    for (int pos = 0; pos <= historySize; pos++) {
+      float diffX;
+      float diffY;
+      if (pos < historySize) {
+        diffX = currentEvent.getHistoricalX(secondIndex, pos) - currentEvent.getHistoricalX(firstIndex, pos);
+        diffY = currentEvent.getHistoricalY(secondIndex, pos) - currentEvent.getHistoricalY(firstIndex, pos);
+      } else {
+        diffX = pointersDistanceMatrix.getCurrFingersDiffX(0, 1);
+        diffY = pointersDistanceMatrix.getCurrFingersDiffY(0, 1);
+      }
+      diffDegrees += GestureMath.rotationDegrees(previousDiffX, previousDiffY, diffX, diffY);
+      previousDiffX = diffX;
+      previousDiffY = diffY;
+    }
+    return (float) diffDegrees;
   }
 
   float calculateAngularVelocityVector(float velocityX, float velocityY) {
-    float angularVelocity = Math.abs((float) ((getFocalPoint().x * velocityY + getFocalPoint().y * velocityX)
-      / (Math.pow(getFocalPoint().x, 2.0) + Math.pow(getFocalPoint().y, 2.0))));
+    PointF focalPoint = getFocalPoint(angularVelocityFocalPoint);
+    float angularVelocity = GestureMath.angularVelocity(focalPoint.x, focalPoint.y, velocityX, velocityY);
 
     if (deltaSinceLast < 0) {
       angularVelocity = -angularVelocity;
@@ -176,6 +291,44 @@ public class RotateGestureDetector extends ProgressiveGesture<RotateGestureDetec
     return deltaSinceLast;
   }
 
+  /**
+   * Returns the velocity of the rotation in the moment of lifting the fingers, valid in
+   * {@link OnRotateGestureListener#onRotateEnd(RotateGestureDetector, float, float, float)}.
+   * <p>
+   * Unlike the angular velocity passed to the callback, which is derived from the velocity of the first pointer,
+   * this is estimated from the rotation reported by the detector, with the same sign.
+   * It can be passed to {@link InertiaEngine#flingRotate(float)}.
+   *
+   * @return rotation velocity in degrees per second
+   */
+  public float getRotationVelocity() {
+    return rotationVelocity;
+  }
+
+  /**
+   * Check whether the rotation is estimated from all of the pointers when more than two are down. Default is false.
+   *
+   * @return true if all of the pointers are taken into account, false if only the first two are
+   */
+  public boolean isMultiPointerRotationEnabled() {
+    return multiPointerRotationEnabled;
+  }
+
+  /**
+   * Set whether the rotation should be estimated from all of the pointers when more than two are down,
+   * instead of only from the vector between the first two.
+   * <p>
+   * The rotation is then the least-squares rotation of all of the pointers about their centroid,
+   * see {@link SimilarityTransform}, which is computed in a single pass over the pointers
+   * and doesn't depend on the order in which they landed. Historical samples are not taken into account
+   * while more than two pointers are down.
+   *
+   * @param enabled true if all of the pointers should be taken into account, false otherwise
+   */
+  public void setMultiPointerRotationEnabled(boolean enabled) {
+    multiPointerRotationEnabled = enabled;
+  }
+
   /**
    * Get the threshold angle between first and current fingers position
    * for this detector to actually qualify it as a rotation gesture.
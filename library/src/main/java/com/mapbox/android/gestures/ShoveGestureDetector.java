@@ -22,6 +22,7 @@ public class ShoveGestureDetector extends ProgressiveGesture<ShoveGestureDetecto
   }
 
   private float maxShoveAngle;
+  private double maxShoveAngleTolerance = GestureMath.axisTolerance(0);
   private float pixelDeltaThreshold;
   float deltaPixelsSinceStart;
   float deltaPixelSinceLast;
@@ -96,9 +97,15 @@ public class ShoveGestureDetector extends ProgressiveGesture<ShoveGestureDetecto
     deltaPixelsSinceStart += deltaPixelSinceLast;
 
     if (isInProgress() && deltaPixelSinceLast != 0) {
-      return listener.onShove(this, deltaPixelSinceLast, deltaPixelsSinceStart);
+      long startNanos = listenerCallStarted("ShoveGestureDetector#onShove");
+      boolean handled = listener.onShove(this, deltaPixelSinceLast, deltaPixelsSinceStart);
+      listenerCallFinished(startNanos);
+      return handled;
     } else if (canExecute(GESTURE_TYPE_SHOVE)) {
-      if (listener.onShoveBegin(this)) {
+      long startNanos = listenerCallStarted("ShoveGestureDetector#onShoveBegin");
+      boolean began = listener.onShoveBegin(this);
+      listenerCallFinished(startNanos);
+      if (began) {
         gestureStarted();
         return true;
       }
@@ -121,7 +128,9 @@ public class ShoveGestureDetector extends ProgressiveGesture<ShoveGestureDetecto
   @Override
   protected void gestureStopped() {
     super.gestureStopped();
+    long startNanos = listenerCallStarted("ShoveGestureDetector#onShoveEnd");
     listener.onShoveEnd(this, velocityX, velocityY);
+    listenerCallFinished(startNanos);
   }
 
   @Override
@@ -131,26 +140,11 @@ public class ShoveGestureDetector extends ProgressiveGesture<ShoveGestureDetecto
   }
 
   boolean isAngleAcceptable() {
-    MultiFingerDistancesObject distancesObject =
-      pointersDistanceMap.get(new PointerDistancePair(pointerIdList.get(0), pointerIdList.get(1)));
-
-    // Takes values from 0 to 180
-    double angle = Math.toDegrees(Math.abs(Math.atan2(
-      distancesObject.getCurrFingersDiffY(), distancesObject.getCurrFingersDiffX())));
-
-    return angle <= maxShoveAngle || 180f - angle <= maxShoveAngle;
+    return pointers.isFirstPairHorizontal(maxShoveAngleTolerance);
   }
 
   float calculateDeltaPixelsSinceLast() {
-    float py0 = getPreviousEvent().getY(getPreviousEvent().findPointerIndex(pointerIdList.get(0)));
-    float py1 = getPreviousEvent().getY(getPreviousEvent().findPointerIndex(pointerIdList.get(1)));
-    float prevAverageY = (py0 + py1) / 2.0f;
-
-    float cy0 = getCurrentEvent().getY(getCurrentEvent().findPointerIndex(pointerIdList.get(0)));
-    float cy1 = getCurrentEvent().getY(getCurrentEvent().findPointerIndex(pointerIdList.get(1)));
-    float currAverageY = (cy0 + cy1) / 2.0f;
-
-    return currAverageY - prevAverageY;
+    return pointers.getFirstPairDeltaY(getGestureFrame());
   }
 
   /**
@@ -217,5 +211,6 @@ public class ShoveGestureDetector extends ProgressiveGesture<ShoveGestureDetecto
    */
   public void setMaxShoveAngle(float maxShoveAngle) {
     this.maxShoveAngle = maxShoveAngle;
+    maxShoveAngleTolerance = GestureMath.axisTolerance(maxShoveAngle);
   }
 }
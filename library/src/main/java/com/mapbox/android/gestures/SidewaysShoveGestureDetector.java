@@ -23,6 +23,7 @@ public class SidewaysShoveGestureDetector extends
   }
 
   private float maxShoveAngle;
+  private double maxShoveAngleTolerance = GestureMath.axisTolerance(0);
   private float pixelDeltaThreshold;
   float deltaPixelsSinceStart;
   float deltaPixelSinceLast;
@@ -98,9 +99,15 @@ public class SidewaysShoveGestureDetector extends
     deltaPixelsSinceStart += deltaPixelSinceLast;
 
     if (isInProgress() && deltaPixelSinceLast != 0) {
-      return listener.onSidewaysShove(this, deltaPixelSinceLast, deltaPixelsSinceStart);
+      long startNanos = listenerCallStarted("SidewaysShoveGestureDetector#onSidewaysShove");
+      boolean handled = listener.onSidewaysShove(this, deltaPixelSinceLast, deltaPixelsSinceStart);
+      listenerCallFinished(startNanos);
+      return handled;
     } else if (canExecute(GESTURE_TYPE_SIDEWAYS_SHOVE)) {
-      if (listener.onSidewaysShoveBegin(this)) {
+      long startNanos = listenerCallStarted("SidewaysShoveGestureDetector#onSidewaysShoveBegin");
+      boolean began = listener.onSidewaysShoveBegin(this);
+      listenerCallFinished(startNanos);
+      if (began) {
         gestureStarted();
         return true;
       }
@@ -123,7 +130,9 @@ public class SidewaysShoveGestureDetector extends
   @Override
   protected void gestureStopped() {
     super.gestureStopped();
+    long startNanos = listenerCallStarted("SidewaysShoveGestureDetector#onSidewaysShoveEnd");
     listener.onSidewaysShoveEnd(this, velocityX, velocityY);
+    listenerCallFinished(startNanos);
   }
 
   @Override
@@ -133,29 +142,11 @@ public class SidewaysShoveGestureDetector extends
   }
 
   boolean isAngleAcceptable() {
-    MultiFingerDistancesObject distancesObject =
-      pointersDistanceMap.get(new PointerDistancePair(pointerIdList.get(0), pointerIdList.get(1)));
-
-    // Takes values from 0 to 180
-    double angle = Math.toDegrees(Math.abs(Math.atan2(
-      distancesObject.getCurrFingersDiffY(), distancesObject.getCurrFingersDiffX())));
-
-    // Making the axis vertical
-    angle = Math.abs(angle - 90);
-
-    return angle <= maxShoveAngle;
+    return pointers.isFirstPairVertical(maxShoveAngleTolerance);
   }
 
   float calculateDeltaPixelsSinceLast() {
-    float px0 = getPreviousEvent().getX(getPreviousEvent().findPointerIndex(pointerIdList.get(0)));
-    float px1 = getPreviousEvent().getX(getPreviousEvent().findPointerIndex(pointerIdList.get(1)));
-    float prevAverageX = (px0 + px1) / 2.0f;
-
-    float cx0 = getCurrentEvent().getX(getCurrentEvent().findPointerIndex(pointerIdList.get(0)));
-    float cx1 = getCurrentEvent().getX(getCurrentEvent().findPointerIndex(pointerIdList.get(1)));
-    float currAverageX = (cx0 + cx1) / 2.0f;
-
-    return currAverageX - prevAverageX;
+    return pointers.getFirstPairDeltaX(getGestureFrame());
   }
 
   /**
@@ -224,5 +215,6 @@ public class SidewaysShoveGestureDetector extends
    */
   public void setMaxShoveAngle(float maxShoveAngle) {
     this.maxShoveAngle = maxShoveAngle;
+    maxShoveAngleTolerance = GestureMath.axisTolerance(maxShoveAngle);
   }
 }
@@ -36,51 +36,97 @@ public class StandardGestureDetector extends BaseGesture<StandardGestureDetector
 
     @Override
     public boolean onSingleTapUp(MotionEvent e) {
-      return canExecute(GESTURE_TYPE_SINGLE_TAP_UP) && listener.onSingleTapUp(e);
+      if (!canExecute(GESTURE_TYPE_SINGLE_TAP_UP)) {
+        return false;
+      }
+      long startNanos = listenerCallStarted("StandardGestureDetector#onSingleTapUp");
+      boolean handled = listener.onSingleTapUp(e);
+      listenerCallFinished(startNanos);
+      return handled;
     }
 
     @Override
     public void onLongPress(MotionEvent e) {
       if (canExecute(GESTURE_TYPE_LONG_PRESS)) {
+        long startNanos = listenerCallStarted("StandardGestureDetector#onLongPress");
         listener.onLongPress(e);
+        listenerCallFinished(startNanos);
       }
     }
 
     @Override
     public boolean onScroll(MotionEvent e1, MotionEvent e2, float distanceX, float distanceY) {
-      return canExecute(GESTURE_TYPE_SCROLL) && listener.onScroll(e1, e2, distanceX, distanceY);
+      if (!canExecute(GESTURE_TYPE_SCROLL)) {
+        return false;
+      }
+      long startNanos = listenerCallStarted("StandardGestureDetector#onScroll");
+      boolean handled = listener.onScroll(e1, e2, distanceX, distanceY);
+      listenerCallFinished(startNanos);
+      return handled;
     }
 
     @Override
     public boolean onFling(MotionEvent e1, MotionEvent e2, float velocityX, float velocityY) {
-      return canExecute(GESTURE_TYPE_FLING) && listener.onFling(e1, e2, velocityX, velocityY);
+      if (!canExecute(GESTURE_TYPE_FLING)) {
+        return false;
+      }
+      long startNanos = listenerCallStarted("StandardGestureDetector#onFling");
+      boolean handled = listener.onFling(e1, e2, velocityX, velocityY);
+      listenerCallFinished(startNanos);
+      return handled;
     }
 
     @Override
     public void onShowPress(MotionEvent e) {
       if (canExecute(GESTURE_TYPE_SHOW_PRESS)) {
+        long startNanos = listenerCallStarted("StandardGestureDetector#onShowPress");
         listener.onShowPress(e);
+        listenerCallFinished(startNanos);
       }
     }
 
     @Override
     public boolean onDown(MotionEvent e) {
-      return canExecute(GESTURE_TYPE_DOWN) && listener.onDown(e);
+      if (!canExecute(GESTURE_TYPE_DOWN)) {
+        return false;
+      }
+      long startNanos = listenerCallStarted("StandardGestureDetector#onDown");
+      boolean handled = listener.onDown(e);
+      listenerCallFinished(startNanos);
+      return handled;
     }
 
     @Override
     public boolean onDoubleTap(MotionEvent e) {
-      return canExecute(GESTURE_TYPE_DOUBLE_TAP) && listener.onDoubleTap(e);
+      if (!canExecute(GESTURE_TYPE_DOUBLE_TAP)) {
+        return false;
+      }
+      long startNanos = listenerCallStarted("StandardGestureDetector#onDoubleTap");
+      boolean handled = listener.onDoubleTap(e);
+      listenerCallFinished(startNanos);
+      return handled;
     }
 
     @Override
     public boolean onDoubleTapEvent(MotionEvent e) {
-      return canExecute(GESTURE_TYPE_DOUBLE_TAP_EVENT) && listener.onDoubleTapEvent(e);
+      if (!canExecute(GESTURE_TYPE_DOUBLE_TAP_EVENT)) {
+        return false;
+      }
+      long startNanos = listenerCallStarted("StandardGestureDetector#onDoubleTapEvent");
+      boolean handled = listener.onDoubleTapEvent(e);
+      listenerCallFinished(startNanos);
+      return handled;
     }
 
     @Override
     public boolean onSingleTapConfirmed(MotionEvent e) {
-      return canExecute(GESTURE_TYPE_SINGLE_TAP_CONFIRMED) && listener.onSingleTapConfirmed(e);
+      if (!canExecute(GESTURE_TYPE_SINGLE_TAP_CONFIRMED)) {
+        return false;
+      }
+      long startNanos = listenerCallStarted("StandardGestureDetector#onSingleTapConfirmed");
+      boolean handled = listener.onSingleTapConfirmed(e);
+      listenerCallFinished(startNanos);
+      return handled;
     }
   };
 
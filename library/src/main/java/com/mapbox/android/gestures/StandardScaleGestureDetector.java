@@ -4,6 +4,7 @@ import android.content.Context;
 import android.graphics.PointF;
 import androidx.annotation.DimenRes;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.annotation.UiThread;
 import android.view.GestureDetector;
 import android.view.MotionEvent;
@@ -27,12 +28,10 @@ public class StandardScaleGestureDetector extends
     handledTypes.add(GESTURE_TYPE_QUICK_SCALE);
   }
 
-  private static final float QUICK_SCALE_MULTIPLIER = 0.5f;
-
   private final GestureDetector innerGestureDetector;
 
   private boolean quickScale;
-  private PointF quickScaleFocalPoint;
+  private final PointF quickScaleFocalPoint = new PointF();
   private float startSpan;
   private float startSpanX;
   private float startSpanY;
@@ -45,8 +44,23 @@ public class StandardScaleGestureDetector extends
   private float spanDeltaSinceStart;
   private float spanSinceStartThreshold;
 
+  private boolean centroidSpanEnabled;
+  private final ScaleSpan scaleSpan = new ScaleSpan();
+  @Nullable
+  private MotionPredictor spanPredictor;
+
+  private final VelocityEstimator scaleVelocityEstimator =
+    new VelocityEstimator(VelocityEstimator.STRATEGY_LEAST_SQUARES);
+  /**
+   * Natural logarithm of the scale since the first pointer went down, tracked for the scale velocity.
+   */
+  private float logScale;
+  private float scaleVelocity;
+
   private boolean isScalingOut;
   private float scaleFactor;
+  private boolean hasCoalescedScale;
+  private float coalescedScaleFactor = 1f;
 
   public StandardScaleGestureDetector(Context context, AndroidGesturesManager androidGesturesManager) {
     super(context, androidGesturesManager);
@@ -55,7 +69,7 @@ public class StandardScaleGestureDetector extends
       public boolean onDoubleTapEvent(MotionEvent event) {
         if (event.getActionMasked() == MotionEvent.ACTION_DOWN) {
           quickScale = true;
-          quickScaleFocalPoint = new PointF(event.getX(), event.getY());
+          quickScaleFocalPoint.set(event.getX(), event.getY());
         }
         return true;
       }
@@ -74,22 +88,18 @@ public class StandardScaleGestureDetector extends
       return false;
     }
 
-    PointF focal = quickScale ? quickScaleFocalPoint : getFocalPoint();
-
-    currentSpanX = 0;
-    currentSpanY = 0;
-    for (int i = 0; i < getPointersCount(); i++) {
-      currentSpanX += Math.abs(getCurrentEvent().getX(i) - focal.x);
-      currentSpanY += Math.abs(getCurrentEvent().getY(i) - focal.y);
-    }
-    currentSpanX *= 2;
-    currentSpanY *= 2;
-
+    GestureFrame gestureFrame = getGestureFrame();
     if (quickScale) {
-      currentSpan = currentSpanY;
+      scaleSpan.calculateQuickScale(gestureFrame, pointerIdList, quickScaleFocalPoint.x, quickScaleFocalPoint.y);
+    } else if (centroidSpanEnabled) {
+      scaleSpan.calculateCentroid(gestureFrame, pointerIdList);
     } else {
-      currentSpan = (float) Math.hypot(currentSpanX, currentSpanY);
+      // spans around the focal point are shared by all detectors
+      scaleSpan.calculate(gestureFrame);
     }
+    currentSpanX = scaleSpan.getSpanX();
+    currentSpanY = scaleSpan.getSpanY();
+    currentSpan = scaleSpan.getSpan();
 
     if (startSpan == 0) {
       startSpan = currentSpan;
@@ -98,16 +108,30 @@ public class StandardScaleGestureDetector extends
     }
 
     spanDeltaSinceStart = Math.abs(startSpan - currentSpan);
+    addSpanPredictionSample();
 
-    scaleFactor = calculateScaleFactor();
+    scaleFactor = quickScale && getHistoricalSamplesCount() > 0
+      ? calculateHistoricalScaleFactor() : calculateScaleFactor();
     isScalingOut = scaleFactor < 1f;
+    addScaleVelocitySample();
 
     boolean handled = false;
     if (isInProgress() && currentSpan > 0) {
-      handled = listener.onScale(this);
+      if (isProgressCoalesced()) {
+        hasCoalescedScale = true;
+        coalescedScaleFactor *= scaleFactor;
+        getGesturesManager().requestFrame();
+        handled = true;
+      } else {
+        long startNanos = listenerCallStarted("StandardScaleGestureDetector#onScale");
+        handled = listener.onScale(this);
+        listenerCallFinished(startNanos);
+      }
     } else if (canExecute(quickScale ? GESTURE_TYPE_QUICK_SCALE : GESTURE_TYPE_SCALE)
       && (spanDeltaSinceStart >= spanSinceStartThreshold)) {
+      long startNanos = listenerCallStarted("StandardScaleGestureDetector#onScaleBegin");
       handled = listener.onScaleBegin(this);
+      listenerCallFinished(startNanos);
       if (handled) {
         gestureStarted();
       }
@@ -121,13 +145,66 @@ public class StandardScaleGestureDetector extends
   @Override
   protected void gestureStopped() {
     super.gestureStopped();
+    MotionEvent currentEvent = getCurrentEvent();
+    if (currentEvent != null) {
+      scaleVelocityEstimator.computeVelocity(currentEvent.getEventTime());
+      scaleVelocity = scaleVelocityEstimator.getVelocityX();
+    } else {
+      scaleVelocity = 0;
+    }
+    long startNanos = listenerCallStarted("StandardScaleGestureDetector#onScaleEnd");
     listener.onScaleEnd(StandardScaleGestureDetector.this, velocityX, velocityY);
+    listenerCallFinished(startNanos);
     quickScale = false;
   }
 
+  @Override
+  void deliverCoalescedProgress() {
+    if (!hasCoalescedScale) {
+      return;
+    }
+    hasCoalescedScale = false;
+    float latestScaleFactor = scaleFactor;
+    boolean latestScalingOut = isScalingOut;
+    // while the callback runs, the scale factor spans all of the events since the last frame
+    scaleFactor = coalescedScaleFactor;
+    isScalingOut = scaleFactor < 1f;
+    coalescedScaleFactor = 1f;
+    if (listener != null) {
+      long startNanos = listenerCallStarted("StandardScaleGestureDetector#onScale");
+      listener.onScale(this);
+      listenerCallFinished(startNanos);
+    }
+    scaleFactor = latestScaleFactor;
+    isScalingOut = latestScalingOut;
+  }
+
+  private void addSpanPredictionSample() {
+    if (getPredictionHorizon() <= 0) {
+      spanPredictor = null;
+      return;
+    }
+    if (spanPredictor == null || spanPredictor.getStrategy() != getPredictionStrategy()) {
+      spanPredictor = new MotionPredictor(getPredictionStrategy());
+    }
+    spanPredictor.addSample(getCurrentEvent().getEventTime(), currentSpan, 0);
+  }
+
+  private void addScaleVelocitySample() {
+    MotionEvent currentEvent = getCurrentEvent();
+    if (currentEvent != null && currentEvent.getActionMasked() == MotionEvent.ACTION_MOVE && scaleFactor > 0) {
+      // the scale factor is 1 after the pointers change, so the tracked scale carries on
+      logScale += (float) Math.log(scaleFactor);
+      scaleVelocityEstimator.addSample(currentEvent.getEventTime(), logScale, 0);
+    }
+  }
+
   @Override
   protected void reset() {
     super.reset();
+    if (spanPredictor != null) {
+      spanPredictor.clear();
+    }
     startSpan = 0;
     spanDeltaSinceStart = 0;
     currentSpan = 0;
@@ -138,6 +215,10 @@ public class StandardScaleGestureDetector extends
   @Override
   protected boolean analyzeEvent(@NonNull MotionEvent motionEvent) {
     int action = motionEvent.getActionMasked();
+    if (action == MotionEvent.ACTION_DOWN) {
+      scaleVelocityEstimator.clear();
+      logScale = 0;
+    }
 
     if (quickScale) {
       if (action == MotionEvent.ACTION_POINTER_DOWN || action == MotionEvent.ACTION_CANCEL) {
@@ -159,6 +240,24 @@ public class StandardScaleGestureDetector extends
     return handled | innerGestureDetector.onTouchEvent(motionEvent);
   }
 
+  @Override
+  protected boolean resumeAnalysis(@NonNull MotionEvent motionEvent) {
+    // double tap could not have been observed while dormant
+    quickScale = false;
+    scaleVelocityEstimator.clear();
+    logScale = 0;
+    return super.resumeAnalysis(motionEvent);
+  }
+
+  @Override
+  boolean checkSpanBelowThreshold() {
+    if (!centroidSpanEnabled || quickScale || pointerIdList.size() > 2) {
+      return super.checkSpanBelowThreshold();
+    }
+    // the two pointers are closer than the threshold when either of them is within half of it from the focal point
+    return ScaleSpan.isAnyPointerCloserThan(getGestureFrame(), pointerIdList, getSpanThreshold() / 2);
+  }
+
   @Override
   protected int getRequiredPointersCount() {
     if (isInProgress()) {
@@ -238,6 +337,32 @@ public class StandardScaleGestureDetector extends
     return isScalingOut;
   }
 
+  /**
+   * Check whether the spans are the mean deviations of the pointers from the focal point. Default is false.
+   *
+   * @return true if the centroid spans are enabled, false otherwise
+   * @see #setCentroidSpanEnabled(boolean)
+   */
+  public boolean isCentroidSpanEnabled() {
+    return centroidSpanEnabled;
+  }
+
+  /**
+   * Set whether the spans should be twice the mean deviation of the tracked pointers from the focal point,
+   * calculated in a single pass over the pointers, instead of twice the sum of deviations.
+   * <p>
+   * For two pointers, the span is then the distance between them, which is half of the default span,
+   * so {@link #setSpanSinceStartThreshold(float)} is crossed after twice the movement.
+   * For two pointers, the minimum span check of {@link #setSpanThreshold(float)} is done against the distance
+   * of each pointer from the focal point, more pointers are still checked against the distances between each pair.
+   * The scale factor of two pointers is the same in both modes.
+   *
+   * @param enabled true to use the centroid spans, false otherwise
+   */
+  public void setCentroidSpanEnabled(boolean enabled) {
+    centroidSpanEnabled = enabled;
+  }
+
   /**
    * Get the threshold span in pixels between initial fingers position and current needed
    * for this detector to qualify it as a scale gesture.
@@ -367,17 +492,81 @@ public class StandardScaleGestureDetector extends
     return previousSpanY;
   }
 
+  /**
+   * Returns the velocity of the scale in the moment of lifting the fingers,
+   * valid in {@link StandardOnScaleGestureListener#onScaleEnd(StandardScaleGestureDetector, float, float)}.
+   * <p>
+   * The velocity is the change of the natural logarithm of the scale factor per second,
+   * so that it doesn't depend on the span, positive when the pointers spread. It can be passed to
+   * {@link InertiaEngine#flingScale(float)}.
+   *
+   * @return scale velocity
+   */
+  public float getScaleVelocity() {
+    return scaleVelocity;
+  }
+
+  /**
+   * Returns the span predicted {@link #getPredictionHorizon()} ahead of the most recent event.
+   * When the prediction is disabled or there are no samples yet, the current span is returned.
+   *
+   * @return predicted distance between pointers in pixels
+   * @see #setPredictionHorizon(long)
+   */
+  public float getPredictedSpan() {
+    if (spanPredictor == null || spanPredictor.isEmpty() || getPredictionHorizon() <= 0) {
+      return currentSpan;
+    }
+    spanPredictor.predict(getPredictionHorizon());
+    return Math.max(0, spanPredictor.getPredictedX());
+  }
+
+  /**
+   * Returns the scale factor between the current span and the one predicted {@link #getPredictionHorizon()} ahead,
+   * to be applied on top of the scale reported so far to render the predicted state.
+   *
+   * @return predicted scale factor, 1 if the prediction is disabled
+   * @see #setPredictionHorizon(long)
+   */
+  public float getPredictedScaleFactor() {
+    if (currentSpan <= 0) {
+      return 1f;
+    }
+    return calculateScaleFactor(getPredictedSpan(), currentSpan, getCurrentEvent().getY());
+  }
+
   private float calculateScaleFactor() {
-    if (quickScale) {
-      final boolean scaleOut =
-        // below focal point moving up
-        getCurrentEvent().getY() < quickScaleFocalPoint.y && currentSpan < previousSpan
-          // above focal point moving up
-          || getCurrentEvent().getY() > quickScaleFocalPoint.y && currentSpan > previousSpan;
-      final float spanDiff = Math.abs(1 - (currentSpan / previousSpan)) * QUICK_SCALE_MULTIPLIER;
-      return previousSpan <= 0 ? 1 : scaleOut ? (1 + spanDiff) : (1 - spanDiff);
-    } else {
-      return previousSpan > 0 ? currentSpan / previousSpan : 1;
+    return calculateScaleFactor(currentSpan, previousSpan, getCurrentEvent().getY());
+  }
+
+  private float calculateScaleFactor(float currentSpan, float previousSpan, float currentY) {
+    return ScaleSpan.scaleFactor(quickScale, currentSpan, previousSpan, currentY, quickScaleFocalPoint.y);
+  }
+
+  /**
+   * Multiplies scale factors between each of the historical samples batched into the current event,
+   * which keeps direction changes within the batch for the quick scale.
+   * Pinch span ratios telescope to the ratio of the current and previous spans, so they don't need the history.
+   */
+  private float calculateHistoricalScaleFactor() {
+    MotionEvent currentEvent = getCurrentEvent();
+    int historySize = getHistoricalSamplesCount();
+    float factor = 1f;
+    float lastSpan = previousSpan;
+    for (int pos = 0; pos < historySize; pos++) {
+      float span = calculateHistoricalQuickScaleSpan(currentEvent, pos);
+      factor *= calculateScaleFactor(span, lastSpan, currentEvent.getHistoricalY(0, pos));
+      lastSpan = span;
+    }
+    return factor * calculateScaleFactor(currentSpan, lastSpan, currentEvent.getY());
+  }
+
+  private float calculateHistoricalQuickScaleSpan(MotionEvent event, int pos) {
+    float spanY = 0;
+    for (int i = 0; i < pointerIdList.size(); i++) {
+      int index = pointerIdList.getCurrentEventIndex(pointerIdList.get(i));
+      spanY += Math.abs(event.getHistoricalY(index, pos) - quickScaleFocalPoint.y);
     }
+    return spanY * 2;
   }
 }
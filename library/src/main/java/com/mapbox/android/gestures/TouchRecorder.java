@@ -0,0 +1,186 @@
+package com.mapbox.android.gestures;
+
+import static com.mapbox.android.gestures.TouchRecordingFormat.MAX_POINTER_ID_COUNT;
+import static com.mapbox.android.gestures.TouchRecordingFormat.MAX_VARINT_SIZE;
+import static com.mapbox.android.gestures.TouchRecordingFormat.writeVarint;
+import static com.mapbox.android.gestures.TouchRecordingFormat.zigzag;
+
+import android.view.MotionEvent;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.UiThread;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Records the events passed to {@link AndroidGesturesManager#onTouchEvent(MotionEvent)} in a compact binary format,
+ * including the historical samples and the pressure, so that they can be replayed with the {@link TouchReplayer}.
+ * <p>
+ * Attach with {@link AndroidGesturesManager#setTouchRecorder(TouchRecorder)}. Events are encoded into
+ * an internal buffer that is written to the stream on the calling thread once it fills up,
+ * when the recorder is flushed and when it's closed.
+ * <p>
+ * Writing errors don't interrupt the dispatch of the events, the recorder stops recording instead
+ * and rethrows the error from {@link #flush()} or {@link #close()}.
+ */
+@UiThread
+public final class TouchRecorder implements Closeable {
+  private static final int FLUSH_THRESHOLD = 64 * 1024;
+
+  private final OutputStream outputStream;
+  private byte[] buffer = new byte[FLUSH_THRESHOLD];
+  private int size;
+  private IOException error;
+  private boolean closed;
+
+  private long previousDownTime;
+  private long previousEventTime;
+  private int previousRawOffsetXBits;
+  private int previousRawOffsetYBits;
+  private final int[] previousXBits = new int[MAX_POINTER_ID_COUNT];
+  private final int[] previousYBits = new int[MAX_POINTER_ID_COUNT];
+  private final int[] previousPressureBits = new int[MAX_POINTER_ID_COUNT];
+
+  /**
+   * Creates a recorder writing to the passed stream.
+   *
+   * @param outputStream stream to write the recording to, closed together with the recorder
+   */
+  public TouchRecorder(@NonNull OutputStream outputStream) {
+    this.outputStream = outputStream;
+    System.arraycopy(TouchRecordingFormat.MAGIC, 0, buffer, 0, TouchRecordingFormat.MAGIC.length);
+    size = writeVarint(buffer, TouchRecordingFormat.MAGIC.length, TouchRecordingFormat.VERSION);
+  }
+
+  /**
+   * Appends the event to the recording.
+   *
+   * @param motionEvent event to record
+   */
+  public void record(@NonNull MotionEvent motionEvent) {
+    record(motionEvent, motionEvent.getRawX() - motionEvent.getX(), motionEvent.getRawY() - motionEvent.getY());
+  }
+
+  /**
+   * Appends the event to the recording, with the offset between the raw and the view coordinates given separately.
+   *
+   * @param motionEvent event to record
+   * @param rawOffsetX  X offset between the raw and the view coordinates
+   * @param rawOffsetY  Y offset between the raw and the view coordinates
+   */
+  void record(@NonNull MotionEvent motionEvent, float rawOffsetX, float rawOffsetY) {
+    if (closed || error != null) {
+      return;
+    }
+
+    int pointerCount = motionEvent.getPointerCount();
+    int historySize = motionEvent.getHistorySize();
+    ensureCapacity(MAX_VARINT_SIZE * (6 + pointerCount + (historySize + 1) * (1 + 3 * pointerCount)));
+
+    size = writeVarint(buffer, size, motionEvent.getAction());
+    size = writeVarint(buffer, size, pointerCount);
+    for (int i = 0; i < pointerCount; i++) {
+      size = writeVarint(buffer, size, motionEvent.getPointerId(i));
+    }
+    size = writeVarint(buffer, size, historySize);
+
+    long downTime = motionEvent.getDownTime();
+    size = writeVarint(buffer, size, zigzag(downTime - previousDownTime));
+    previousDownTime = downTime;
+    int rawOffsetXBits = Float.floatToRawIntBits(rawOffsetX);
+    size = writeVarint(buffer, size, zigzag(rawOffsetXBits - previousRawOffsetXBits));
+    previousRawOffsetXBits = rawOffsetXBits;
+    int rawOffsetYBits = Float.floatToRawIntBits(rawOffsetY);
+    size = writeVarint(buffer, size, zigzag(rawOffsetYBits - previousRawOffsetYBits));
+    previousRawOffsetYBits = rawOffsetYBits;
+
+    for (int pos = 0; pos < historySize; pos++) {
+      writeSample(motionEvent, pos, motionEvent.getHistoricalEventTime(pos));
+    }
+    writeSample(motionEvent, historySize, motionEvent.getEventTime());
+
+    if (size >= FLUSH_THRESHOLD) {
+      writeBuffer();
+    }
+  }
+
+  /**
+   * Writes all of the recorded events to the stream and flushes it.
+   *
+   * @throws IOException if writing any of the events failed
+   */
+  public void flush() throws IOException {
+    writeBuffer();
+    if (error == null) {
+      try {
+        outputStream.flush();
+      } catch (IOException exception) {
+        error = exception;
+      }
+    }
+    if (error != null) {
+      throw error;
+    }
+  }
+
+  /**
+   * Writes all of the recorded events to the stream and closes it, the following events are ignored.
+   *
+   * @throws IOException if writing any of the events or closing the stream failed
+   */
+  @Override
+  public void close() throws IOException {
+    if (closed) {
+      return;
+    }
+    try {
+      flush();
+    } finally {
+      closed = true;
+      outputStream.close();
+    }
+  }
+
+  /**
+   * Writes a single sample, the pos equal to the history size denotes the current sample.
+   */
+  private void writeSample(MotionEvent motionEvent, int pos, long eventTime) {
+    size = writeVarint(buffer, size, zigzag(eventTime - previousEventTime));
+    previousEventTime = eventTime;
+    boolean isCurrent = pos == motionEvent.getHistorySize();
+    for (int i = 0; i < motionEvent.getPointerCount(); i++) {
+      int pointerId = motionEvent.getPointerId(i);
+      int xBits = Float.floatToRawIntBits(isCurrent ? motionEvent.getX(i) : motionEvent.getHistoricalX(i, pos));
+      int yBits = Float.floatToRawIntBits(isCurrent ? motionEvent.getY(i) : motionEvent.getHistoricalY(i, pos));
+      int pressureBits = Float.floatToRawIntBits(
+        isCurrent ? motionEvent.getPressure(i) : motionEvent.getHistoricalPressure(i, pos));
+      size = writeVarint(buffer, size, zigzag(xBits - previousXBits[pointerId]));
+      size = writeVarint(buffer, size, zigzag(yBits - previousYBits[pointerId]));
+      size = writeVarint(buffer, size, zigzag(pressureBits - previousPressureBits[pointerId]));
+      previousXBits[pointerId] = xBits;
+      previousYBits[pointerId] = yBits;
+      previousPressureBits[pointerId] = pressureBits;
+    }
+  }
+
+  private void ensureCapacity(int bytesCount) {
+    if (size + bytesCount > buffer.length) {
+      buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + bytesCount));
+    }
+  }
+
+  private void writeBuffer() {
+    if (error != null || size == 0) {
+      return;
+    }
+    try {
+      outputStream.write(buffer, 0, size);
+    } catch (IOException exception) {
+      error = exception;
+    }
+    size = 0;
+  }
+}
@@ -0,0 +1,86 @@
+package com.mapbox.android.gestures;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Binary format shared by the {@link TouchRecorder} and the {@link TouchReplayer}.
+ * <p>
+ * A recording starts with the {@link #MAGIC} bytes and the {@link #VERSION}, followed by the events:
+ * <pre>
+ * event:  action, pointerCount, pointerId * pointerCount, historySize,
+ *         downTime, rawOffsetX, rawOffsetY, sample * (historySize + 1)
+ * sample: eventTime, (x, y, pressure) * pointerCount
+ * </pre>
+ * Action, pointer count, pointer IDs and history size are unsigned varints.
+ * All of the other values are zigzag varints of the difference to the previous value of the same field,
+ * times in milliseconds and floats as their raw bits, so that the coordinates replay bit-exact.
+ * Pointer values are diffed against the previous sample of the same pointer ID.
+ * Historical samples come first, the event's current sample last.
+ */
+final class TouchRecordingFormat {
+  static final byte[] MAGIC = {'M', 'B', 'T', 'R'};
+  static final int VERSION = 1;
+
+  /**
+   * Android assigns pointer IDs from the 0..31 range.
+   */
+  static final int MAX_POINTER_ID_COUNT = PointerIdTracker.MAX_POINTER_ID_COUNT;
+
+  /**
+   * Largest size of an unsigned varint encoding a long.
+   */
+  static final int MAX_VARINT_SIZE = 10;
+
+  private TouchRecordingFormat() {
+  }
+
+  static long zigzag(long value) {
+    return (value << 1) ^ (value >> 63);
+  }
+
+  static long unzigzag(long value) {
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+  /**
+   * Writes an unsigned varint.
+   *
+   * @param buffer buffer with at least {@link #MAX_VARINT_SIZE} bytes left from the offset
+   * @param offset where to start writing
+   * @param value  value to write
+   * @return offset after the written value
+   */
+  static int writeVarint(@NonNull byte[] buffer, int offset, long value) {
+    while ((value & ~0x7FL) != 0) {
+      buffer[offset++] = (byte) ((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    buffer[offset++] = (byte) value;
+    return offset;
+  }
+
+  /**
+   * Reads an unsigned varint.
+   *
+   * @param buffer buffer positioned at the value
+   * @return the value
+   * @throws IOException if the value is malformed or truncated
+   */
+  static long readVarint(@NonNull ByteBuffer buffer) throws IOException {
+    long value = 0;
+    for (int shift = 0; shift < 64; shift += 7) {
+      if (!buffer.hasRemaining()) {
+        throw new IOException("Touch recording is truncated.");
+      }
+      byte b = buffer.get();
+      value |= (long) (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new IOException("Touch recording contains a malformed value.");
+  }
+}
@@ -0,0 +1,341 @@
+package com.mapbox.android.gestures;
+
+import static com.mapbox.android.gestures.TouchRecordingFormat.MAX_POINTER_ID_COUNT;
+import static com.mapbox.android.gestures.TouchRecordingFormat.readVarint;
+import static com.mapbox.android.gestures.TouchRecordingFormat.unzigzag;
+
+import android.os.Handler;
+import android.os.SystemClock;
+import android.view.InputDevice;
+import android.view.MotionEvent;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.UiThread;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Replays a recording made with the {@link TouchRecorder} through an {@link AndroidGesturesManager}.
+ * <p>
+ * The recording is memory-mapped and decoded one event at a time, so long sessions don't have to fit in the heap.
+ * Replayed events keep the recorded pointers, coordinates, pressures and historical samples, and the intervals
+ * between the recorded times, shifted so that the first event happens when the replay starts.
+ * Coordinates replay bit-exact. The recorded offset between the raw and the view coordinates is passed to
+ * the detectors alongside each event, the replayed events themselves carry the view coordinates only,
+ * because the platform would recompute those from the raw ones. Replays of a recording are always identical.
+ */
+@UiThread
+public final class TouchReplayer implements Closeable {
+  private final ByteBuffer recording;
+  private final int eventsOffset;
+
+  private final MotionEvent.PointerProperties[][] pointerProperties =
+    new MotionEvent.PointerProperties[MAX_POINTER_ID_COUNT + 1][];
+  private final MotionEvent.PointerCoords[][] pointerCoords = new MotionEvent.PointerCoords[MAX_POINTER_ID_COUNT + 1][];
+  private final int[] pointerIds = new int[MAX_POINTER_ID_COUNT];
+  private long previousDownTime;
+  private long previousEventTime;
+  private int previousRawOffsetXBits;
+  private int previousRawOffsetYBits;
+  private final int[] previousXBits = new int[MAX_POINTER_ID_COUNT];
+  private final int[] previousYBits = new int[MAX_POINTER_ID_COUNT];
+  private final int[] previousPressureBits = new int[MAX_POINTER_ID_COUNT];
+  private long replayStartTime;
+  private boolean isTimeShiftResolved;
+  private long timeShift;
+
+  @Nullable
+  private Handler handler;
+  @Nullable
+  private TimedReplay timedReplay;
+
+  /**
+   * Opens a recording.
+   *
+   * @param file recording made with the {@link TouchRecorder}
+   * @throws IOException if the file can't be mapped or is not a touch recording
+   */
+  public TouchReplayer(@NonNull File file) throws IOException {
+    RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+    try {
+      FileChannel channel = randomAccessFile.getChannel();
+      if (channel.size() > Integer.MAX_VALUE) {
+        throw new IOException("Touch recordings larger than 2 GB are not supported.");
+      }
+      // the mapping stays valid after the channel is closed
+      recording = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    } finally {
+      randomAccessFile.close();
+    }
+
+    for (byte magicByte : TouchRecordingFormat.MAGIC) {
+      if (!recording.hasRemaining() || recording.get() != magicByte) {
+        throw new IOException("File is not a touch recording.");
+      }
+    }
+    long version = readVarint(recording);
+    if (version != TouchRecordingFormat.VERSION) {
+      throw new IOException("Unsupported touch recording version: " + version);
+    }
+    eventsOffset = recording.position();
+  }
+
+  /**
+   * Replays the whole recording at full speed, synchronously.
+   *
+   * @param manager manager to pass the events to
+   * @return number of replayed events
+   * @throws IOException if the recording is corrupted
+   */
+  public int replay(@NonNull AndroidGesturesManager manager) throws IOException {
+    cancel();
+    rewind(SystemClock.uptimeMillis());
+    int eventsCount = 0;
+    MotionEvent motionEvent;
+    while ((motionEvent = readEvent()) != null) {
+      dispatch(manager, motionEvent, previousRawOffsetXBits, previousRawOffsetYBits);
+      eventsCount++;
+    }
+    return eventsCount;
+  }
+
+  /**
+   * Listener for the end of a replay with the original timing.
+   */
+  public interface OnReplayListener {
+    /**
+     * Called after the last event is replayed.
+     */
+    void onReplayFinished();
+
+    /**
+     * Called when the recording turns out to be corrupted, the events before the damaged one were replayed.
+     *
+     * @param exception cause of the failure
+     */
+    void onReplayFailed(@NonNull IOException exception);
+  }
+
+  /**
+   * Replays the recording with the original intervals between the events, posting them to the handler.
+   * <p>
+   * Any previous replay is cancelled. The replay stops early if the recording turns out to be corrupted,
+   * which is reported to the listener. Without a listener, the failure is thrown as an {@link IllegalStateException}.
+   *
+   * @param manager  manager to pass the events to
+   * @param handler  handler of the thread that the manager is used on
+   * @param listener listener for the end of the replay, can be null
+   */
+  public void replayWithOriginalTiming(@NonNull AndroidGesturesManager manager, @NonNull Handler handler,
+                                       @Nullable OnReplayListener listener) {
+    cancel();
+    rewind(SystemClock.uptimeMillis());
+    this.handler = handler;
+    timedReplay = new TimedReplay(manager, listener);
+    timedReplay.scheduleNext();
+  }
+
+  /**
+   * Cancels the replay with the original timing, if there's one.
+   */
+  public void cancel() {
+    if (handler != null && timedReplay != null) {
+      handler.removeCallbacks(timedReplay);
+      timedReplay.recyclePending();
+    }
+    handler = null;
+    timedReplay = null;
+  }
+
+  /**
+   * Cancels the replay with the original timing, the memory mapping is released once the replayer is collected.
+   */
+  @Override
+  public void close() {
+    cancel();
+  }
+
+  private void rewind(long startTime) {
+    recording.position(eventsOffset);
+    previousDownTime = 0;
+    previousEventTime = 0;
+    previousRawOffsetXBits = 0;
+    previousRawOffsetYBits = 0;
+    for (int i = 0; i < MAX_POINTER_ID_COUNT; i++) {
+      previousXBits[i] = 0;
+      previousYBits[i] = 0;
+      previousPressureBits[i] = 0;
+    }
+    replayStartTime = startTime;
+    isTimeShiftResolved = false;
+  }
+
+  private static void dispatch(AndroidGesturesManager manager, MotionEvent motionEvent,
+                               int rawOffsetXBits, int rawOffsetYBits) {
+    try {
+      manager.onTouchEvent(motionEvent, Float.intBitsToFloat(rawOffsetXBits), Float.intBitsToFloat(rawOffsetYBits));
+    } finally {
+      motionEvent.recycle();
+    }
+  }
+
+  /**
+   * Decodes the next event, its offset between the raw and the view coordinates is left
+   * in {@link #previousRawOffsetXBits} and {@link #previousRawOffsetYBits}.
+   *
+   * @return the event owned by the caller, or null if the recording has ended
+   */
+  @Nullable
+  private MotionEvent readEvent() throws IOException {
+    if (!recording.hasRemaining()) {
+      return null;
+    }
+
+    int action = (int) readVarint(recording);
+    int pointerCount = (int) readVarint(recording);
+    if (pointerCount < 1 || pointerCount > MAX_POINTER_ID_COUNT) {
+      throw new IOException("Touch recording contains an event with " + pointerCount + " pointers.");
+    }
+    MotionEvent.PointerProperties[] properties = getPointerProperties(pointerCount);
+    for (int i = 0; i < pointerCount; i++) {
+      int pointerId = (int) readVarint(recording);
+      if (pointerId < 0 || pointerId >= MAX_POINTER_ID_COUNT) {
+        throw new IOException("Touch recording contains an invalid pointer ID: " + pointerId);
+      }
+      pointerIds[i] = pointerId;
+      properties[i].id = pointerId;
+    }
+    int historySize = (int) readVarint(recording);
+
+    long downTime = previousDownTime + unzigzag(readVarint(recording));
+    previousDownTime = downTime;
+    previousRawOffsetXBits += (int) unzigzag(readVarint(recording));
+    previousRawOffsetYBits += (int) unzigzag(readVarint(recording));
+
+    MotionEvent.PointerCoords[] coords = getPointerCoords(pointerCount);
+    long eventTime = readSample(coords, pointerCount);
+    if (!isTimeShiftResolved) {
+      timeShift = replayStartTime - eventTime;
+      isTimeShiftResolved = true;
+    }
+    MotionEvent motionEvent = MotionEvent.obtain(downTime + timeShift, eventTime + timeShift, action, pointerCount,
+      properties, coords, 0, 0, 1f, 1f, 0, 0, InputDevice.SOURCE_TOUCHSCREEN, 0);
+    for (int pos = 0; pos < historySize; pos++) {
+      eventTime = readSample(coords, pointerCount);
+      motionEvent.addBatch(eventTime + timeShift, coords, 0);
+    }
+    return motionEvent;
+  }
+
+  /**
+   * Decodes a sample into the coordinates.
+   *
+   * @return time of the sample
+   */
+  private long readSample(MotionEvent.PointerCoords[] coords, int pointerCount) throws IOException {
+    long eventTime = previousEventTime + unzigzag(readVarint(recording));
+    previousEventTime = eventTime;
+    for (int i = 0; i < pointerCount; i++) {
+      int pointerId = pointerIds[i];
+      previousXBits[pointerId] += (int) unzigzag(readVarint(recording));
+      previousYBits[pointerId] += (int) unzigzag(readVarint(recording));
+      previousPressureBits[pointerId] += (int) unzigzag(readVarint(recording));
+      coords[i].x = Float.intBitsToFloat(previousXBits[pointerId]);
+      coords[i].y = Float.intBitsToFloat(previousYBits[pointerId]);
+      coords[i].pressure = Float.intBitsToFloat(previousPressureBits[pointerId]);
+    }
+    return eventTime;
+  }
+
+  private MotionEvent.PointerProperties[] getPointerProperties(int pointerCount) {
+    if (pointerProperties[pointerCount] == null) {
+      MotionEvent.PointerProperties[] properties = new MotionEvent.PointerProperties[pointerCount];
+      for (int i = 0; i < pointerCount; i++) {
+        properties[i] = new MotionEvent.PointerProperties();
+        properties[i].toolType = MotionEvent.TOOL_TYPE_FINGER;
+      }
+      pointerProperties[pointerCount] = properties;
+    }
+    return pointerProperties[pointerCount];
+  }
+
+  private MotionEvent.PointerCoords[] getPointerCoords(int pointerCount) {
+    if (pointerCoords[pointerCount] == null) {
+      MotionEvent.PointerCoords[] coords = new MotionEvent.PointerCoords[pointerCount];
+      for (int i = 0; i < pointerCount; i++) {
+        coords[i] = new MotionEvent.PointerCoords();
+      }
+      pointerCoords[pointerCount] = coords;
+    }
+    return pointerCoords[pointerCount];
+  }
+
+  /**
+   * Dispatches the decoded event when its time comes, then decodes and schedules the next one.
+   */
+  private final class TimedReplay implements Runnable {
+    private final AndroidGesturesManager manager;
+    @Nullable
+    private final OnReplayListener listener;
+    @Nullable
+    private MotionEvent pendingEvent;
+
+    TimedReplay(AndroidGesturesManager manager, @Nullable OnReplayListener listener) {
+      this.manager = manager;
+      this.listener = listener;
+    }
+
+    @Override
+    public void run() {
+      MotionEvent motionEvent = pendingEvent;
+      pendingEvent = null;
+      if (motionEvent != null) {
+        // the next event is decoded only after this one is dispatched, the raw offset is still the pending one's
+        dispatch(manager, motionEvent, previousRawOffsetXBits, previousRawOffsetYBits);
+      }
+      scheduleNext();
+    }
+
+    void scheduleNext() {
+      if (handler == null || timedReplay != this) {
+        // cancelled by the listener of the dispatched event
+        return;
+      }
+      IOException failure = null;
+      try {
+        pendingEvent = readEvent();
+      } catch (IOException exception) {
+        pendingEvent = null;
+        failure = exception;
+      }
+      if (pendingEvent != null) {
+        handler.postAtTime(this, pendingEvent.getEventTime());
+        return;
+      }
+
+      handler = null;
+      timedReplay = null;
+      if (failure != null) {
+        if (listener == null) {
+          throw new IllegalStateException("Touch recording is corrupted.", failure);
+        }
+        listener.onReplayFailed(failure);
+      } else if (listener != null) {
+        listener.onReplayFinished();
+      }
+    }
+
+    void recyclePending() {
+      if (pendingEvent != null) {
+        pendingEvent.recycle();
+        pendingEvent = null;
+      }
+    }
+  }
+}
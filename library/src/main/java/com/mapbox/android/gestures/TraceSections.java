@@ -0,0 +1,42 @@
+package com.mapbox.android.gestures;
+
+import android.os.Build;
+import android.os.Trace;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Emits the system trace sections of the gesture recognition,
+ * enabled with {@link AndroidGesturesManager#setTraceSectionsEnabled(boolean)}.
+ * <p>
+ * Section names are constants or computed once per detector, so that tracing doesn't allocate.
+ */
+final class TraceSections {
+  static final String DISPATCH = "AndroidGesturesManager#onTouchEvent";
+
+  private TraceSections() {
+  }
+
+  static void begin(@NonNull String sectionName) {
+    Trace.beginSection(sectionName);
+  }
+
+  static void end() {
+    Trace.endSection();
+  }
+
+  /**
+   * Begins a section that may end during a later event, available from API 29.
+   */
+  static void beginAsync(@NonNull String sectionName, int cookie) {
+    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+      Trace.beginAsyncSection(sectionName, cookie);
+    }
+  }
+
+  static void endAsync(@NonNull String sectionName, int cookie) {
+    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+      Trace.endAsyncSection(sectionName, cookie);
+    }
+  }
+}
@@ -0,0 +1,325 @@
+package com.mapbox.android.gestures;
+
+import android.content.Context;
+import androidx.annotation.DimenRes;
+import androidx.annotation.NonNull;
+import androidx.annotation.UiThread;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static com.mapbox.android.gestures.AndroidGesturesManager.GESTURE_TYPE_TRANSFORM;
+
+/**
+ * Gesture detector handling translation, scale and rotation of the pointers together, as a single transform.
+ * <p>
+ * For every event, a {@link SimilarityTransform} is fitted over all of the pointers that are down,
+ * which replaces running {@link MoveGestureDetector}, {@link StandardScaleGestureDetector}
+ * and {@link RotateGestureDetector} over the same events when all three are applied to the same camera.
+ * <p>
+ * Each component has its own threshold. The gesture begins when any of them is crossed,
+ * and the components whose thresholds weren't crossed yet are reported as unchanged until they are.
+ */
+@UiThread
+public class TransformGestureDetector extends ProgressiveGesture<TransformGestureDetector.OnTransformGestureListener> {
+  private static final int TRANSFORM_REQUIRED_POINTERS_COUNT = 1;
+  private static final Set<Integer> handledTypes = new HashSet<>();
+
+  static {
+    handledTypes.add(GESTURE_TYPE_TRANSFORM);
+  }
+
+  private final SimilarityTransform transform = new SimilarityTransform();
+
+  private float translationThreshold;
+  private float scaleSpanThreshold;
+  private float rotationThreshold;
+
+  private float distanceSinceStartX;
+  private float distanceSinceStartY;
+  private float spanDeltaSinceStart;
+  private float rotationDegreesSinceStart;
+
+  private boolean translationUnlocked;
+  private boolean scaleUnlocked;
+  private boolean rotationUnlocked;
+
+  private boolean hasCoalescedTransform;
+  private float coalescedDistanceX;
+  private float coalescedDistanceY;
+  private float coalescedScaleFactor = 1f;
+  private float coalescedRotationDegrees;
+
+  public TransformGestureDetector(Context context, AndroidGesturesManager gesturesManager) {
+    super(context, gesturesManager);
+  }
+
+  @NonNull
+  @Override
+  protected Set<Integer> provideHandledTypes() {
+    return handledTypes;
+  }
+
+  /**
+   * Listener for transform gesture callbacks.
+   */
+  public interface OnTransformGestureListener {
+    /**
+     * Indicates that the transform gesture started.
+     *
+     * @param detector this detector
+     * @return true if you want to receive subsequent
+     * {@link #onTransform(TransformGestureDetector, float, float, float, float)} callbacks,
+     * false if you want to ignore this gesture.
+     */
+    boolean onTransformBegin(@NonNull TransformGestureDetector detector);
+
+    /**
+     * Called for every transform change during the gesture.
+     * <p>
+     * Scale and rotation are taken around the focal point, see {@link TransformGestureDetector#getFocalPoint()}.
+     *
+     * @param detector        this detector
+     * @param distanceX       X distance of the focal point's movement,
+     *                        with the same sign as in {@link MoveGestureDetector.OnMoveGestureListener}
+     * @param distanceY       Y distance of the focal point's movement,
+     *                        with the same sign as in {@link MoveGestureDetector.OnMoveGestureListener}
+     * @param scaleFactor     scale since the last callback, greater than 1 when the pointers spread
+     * @param rotationDegrees rotation since the last callback,
+     *                        with the same sign as in {@link RotateGestureDetector.OnRotateGestureListener}
+     * @return Whether or not the detector should consider this event as handled.
+     */
+    boolean onTransform(@NonNull TransformGestureDetector detector, float distanceX, float distanceY,
+                        float scaleFactor, float rotationDegrees);
+
+    /**
+     * Indicates that the transform gesture ended.
+     *
+     * @param detector  this detector
+     * @param velocityX velocityX of the gesture in the moment of lifting the fingers
+     * @param velocityY velocityY of the gesture in the moment of lifting the fingers
+     */
+    void onTransformEnd(@NonNull TransformGestureDetector detector, float velocityX, float velocityY);
+  }
+
+  public static class SimpleOnTransformGestureListener implements OnTransformGestureListener {
+
+    @Override
+    public boolean onTransformBegin(@NonNull TransformGestureDetector detector) {
+      return true;
+    }
+
+    @Override
+    public boolean onTransform(@NonNull TransformGestureDetector detector, float distanceX, float distanceY,
+                               float scaleFactor, float rotationDegrees) {
+      return false;
+    }
+
+    @Override
+    public void onTransformEnd(@NonNull TransformGestureDetector detector, float velocityX, float velocityY) {
+      // No implementation
+    }
+  }
+
+  @Override
+  protected boolean analyzeMovement() {
+    super.analyzeMovement();
+
+    if (!transform.fit(getGestureFrame(), pointerIdList)) {
+      return false;
+    }
+
+    float distanceX = -transform.getTranslationX();
+    float distanceY = -transform.getTranslationY();
+    float scaleFactor = transform.getScaleFactor();
+    float rotationDegrees = transform.getRotationDegrees();
+
+    distanceSinceStartX += distanceX;
+    distanceSinceStartY += distanceY;
+    if (transform.getPointersCount() > 1) {
+      spanDeltaSinceStart += transform.getSpan() - transform.getPreviousSpan();
+    }
+    rotationDegreesSinceStart += rotationDegrees;
+    boolean wasInProgress = isInProgress();
+    updateUnlockedComponents();
+
+    if (wasInProgress) {
+      if (!translationUnlocked) {
+        distanceX = 0;
+        distanceY = 0;
+      }
+      if (!scaleUnlocked) {
+        scaleFactor = 1f;
+      }
+      if (!rotationUnlocked) {
+        rotationDegrees = 0;
+      }
+
+      if (isProgressCoalesced()) {
+        hasCoalescedTransform = true;
+        coalescedDistanceX += distanceX;
+        coalescedDistanceY += distanceY;
+        coalescedScaleFactor *= scaleFactor;
+        coalescedRotationDegrees += rotationDegrees;
+        getGesturesManager().requestFrame();
+        return true;
+      }
+      long startNanos = listenerCallStarted("TransformGestureDetector#onTransform");
+      boolean handled = listener.onTransform(this, distanceX, distanceY, scaleFactor, rotationDegrees);
+      listenerCallFinished(startNanos);
+      return handled;
+    } else if ((translationUnlocked || scaleUnlocked || rotationUnlocked) && canExecute(GESTURE_TYPE_TRANSFORM)) {
+      long startNanos = listenerCallStarted("TransformGestureDetector#onTransformBegin");
+      boolean began = listener.onTransformBegin(this);
+      listenerCallFinished(startNanos);
+      if (began) {
+        gestureStarted();
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  private void updateUnlockedComponents() {
+    translationUnlocked |= isCrossed((float) Math.hypot(distanceSinceStartX, distanceSinceStartY),
+      translationThreshold);
+    scaleUnlocked |= isCrossed(spanDeltaSinceStart, scaleSpanThreshold);
+    rotationUnlocked |= isCrossed(rotationDegreesSinceStart, rotationThreshold);
+  }
+
+  private static boolean isCrossed(float valueSinceStart, float threshold) {
+    return valueSinceStart != 0 && Math.abs(valueSinceStart) >= threshold;
+  }
+
+  @Override
+  protected void gestureStopped() {
+    super.gestureStopped();
+    long startNanos = listenerCallStarted("TransformGestureDetector#onTransformEnd");
+    listener.onTransformEnd(this, velocityX, velocityY);
+    listenerCallFinished(startNanos);
+  }
+
+  @Override
+  void deliverCoalescedProgress() {
+    if (!hasCoalescedTransform) {
+      return;
+    }
+    hasCoalescedTransform = false;
+    float distanceX = coalescedDistanceX;
+    float distanceY = coalescedDistanceY;
+    float scaleFactor = coalescedScaleFactor;
+    float rotationDegrees = coalescedRotationDegrees;
+    coalescedDistanceX = 0;
+    coalescedDistanceY = 0;
+    coalescedScaleFactor = 1f;
+    coalescedRotationDegrees = 0;
+    if (listener != null) {
+      long startNanos = listenerCallStarted("TransformGestureDetector#onTransform");
+      listener.onTransform(this, distanceX, distanceY, scaleFactor, rotationDegrees);
+      listenerCallFinished(startNanos);
+    }
+  }
+
+  @Override
+  protected void reset() {
+    super.reset();
+    distanceSinceStartX = 0;
+    distanceSinceStartY = 0;
+    spanDeltaSinceStart = 0;
+    rotationDegreesSinceStart = 0;
+    if (!isInProgress()) {
+      // components stay unlocked until the gesture ends, even if the pointers change
+      translationUnlocked = false;
+      scaleUnlocked = false;
+      rotationUnlocked = false;
+    }
+  }
+
+  @Override
+  protected int getRequiredPointersCount() {
+    return TRANSFORM_REQUIRED_POINTERS_COUNT;
+  }
+
+  /**
+   * Get the threshold distance in pixels that the focal point needs to move
+   * before the translation is reported.
+   *
+   * @return translation threshold
+   */
+  public float getTranslationThreshold() {
+    return translationThreshold;
+  }
+
+  /**
+   * Set the threshold distance in pixels that the focal point needs to move
+   * before the translation is reported.
+   * <p>
+   * We encourage to set those values from dimens to accommodate for various screen sizes.
+   *
+   * @param translationThreshold translation threshold
+   */
+  public void setTranslationThreshold(float translationThreshold) {
+    this.translationThreshold = translationThreshold;
+  }
+
+  /**
+   * Set the threshold distance in dp that the focal point needs to move
+   * before the translation is reported.
+   *
+   * @param translationThresholdDimen translation threshold
+   */
+  public void setTranslationThresholdResource(@DimenRes int translationThresholdDimen) {
+    setTranslationThreshold(context.getResources().getDimension(translationThresholdDimen));
+  }
+
+  /**
+   * Get the threshold change in pixels of the pointers' span around the focal point
+   * needed before the scale is reported.
+   *
+   * @return span threshold
+   */
+  public float getScaleSpanThreshold() {
+    return scaleSpanThreshold;
+  }
+
+  /**
+   * Set the threshold change in pixels of the pointers' span around the focal point
+   * needed before the scale is reported.
+   * <p>
+   * We encourage to set those values from dimens to accommodate for various screen sizes.
+   *
+   * @param scaleSpanThreshold span threshold
+   */
+  public void setScaleSpanThreshold(float scaleSpanThreshold) {
+    this.scaleSpanThreshold = scaleSpanThreshold;
+  }
+
+  /**
+   * Set the threshold change in dp of the pointers' span around the focal point
+   * needed before the scale is reported.
+   *
+   * @param scaleSpanThresholdDimen span threshold
+   */
+  public void setScaleSpanThresholdResource(@DimenRes int scaleSpanThresholdDimen) {
+    setScaleSpanThreshold(context.getResources().getDimension(scaleSpanThresholdDimen));
+  }
+
+  /**
+   * Get the threshold angle in degrees that the pointers need to turn before the rotation is reported.
+   *
+   * @return rotation threshold
+   */
+  public float getRotationThreshold() {
+    return rotationThreshold;
+  }
+
+  /**
+   * Set the threshold angle in degrees that the pointers need to turn before the rotation is reported.
+   *
+   * @param rotationThreshold rotation threshold
+   */
+  public void setRotationThreshold(float rotationThreshold) {
+    this.rotationThreshold = rotationThreshold;
+  }
+}
@@ -17,16 +17,43 @@ public class Utils {
    * @return center point of the gesture
    */
   public static PointF determineFocalPoint(@NonNull MotionEvent motionEvent) {
-    int pointersCount = motionEvent.getPointerCount();
-    float x = 0;
-    float y = 0;
+    return determineFocalPoint(motionEvent, new PointF());
+  }
+
+  /**
+   * Calculates the center point of the multi finger gesture without allocating.
+   *
+   * @param motionEvent event
+   * @param out         point that the result is written to
+   * @return the passed point, holding the center point of the gesture
+   */
+  @NonNull
+  public static PointF determineFocalPoint(@NonNull MotionEvent motionEvent, @NonNull PointF out) {
+    out.set(averageCoordinate(motionEvent, true), averageCoordinate(motionEvent, false));
+    return out;
+  }
 
+  /**
+   * Calculates the center point of the multi finger gesture without allocating.
+   *
+   * @param motionEvent event
+   * @param out         array of at least 2 elements that X and Y coordinates of the result are written to
+   * @return the passed array, holding the center point of the gesture
+   */
+  @NonNull
+  public static float[] determineFocalPoint(@NonNull MotionEvent motionEvent, @NonNull float[] out) {
+    out[0] = averageCoordinate(motionEvent, true);
+    out[1] = averageCoordinate(motionEvent, false);
+    return out;
+  }
+
+  private static float averageCoordinate(@NonNull MotionEvent motionEvent, boolean isX) {
+    int pointersCount = motionEvent.getPointerCount();
+    float sum = 0;
     for (int i = 0; i < pointersCount; i++) {
-      x += motionEvent.getX(i);
-      y += motionEvent.getY(i);
+      sum += isX ? motionEvent.getX(i) : motionEvent.getY(i);
     }
-
-    return new PointF(x / pointersCount, y / pointersCount);
+    return sum / pointersCount;
   }
 
   /**
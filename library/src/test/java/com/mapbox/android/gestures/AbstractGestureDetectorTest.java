@@ -1,20 +1,13 @@
 package com.mapbox.android.gestures;
 
-import android.content.Context;
 import android.view.MotionEvent;
 
 import org.junit.Before;
-import org.junit.runner.RunWith;
 import org.mockito.Mockito;
-import org.robolectric.RobolectricTestRunner;
-import org.robolectric.RuntimeEnvironment;
 
 import java.lang.reflect.ParameterizedType;
 
-@RunWith(RobolectricTestRunner.class)
-public abstract class AbstractGestureDetectorTest<K extends BaseGesture<L>, L> {
-  AndroidGesturesManager androidGesturesManager;
-  Context context;
+public abstract class AbstractGestureDetectorTest<K extends BaseGesture<L>, L> extends AbstractGesturesManagerTest {
   MotionEvent emptyMotionEvent;
 
   K gestureDetector;
@@ -29,9 +22,6 @@ public abstract class AbstractGestureDetectorTest<K extends BaseGesture<L>, L> {
 
     listener = Mockito.mock(listenerClazz);
 
-    context = RuntimeEnvironment.application.getApplicationContext();
-    androidGesturesManager = new AndroidGesturesManager(context);
-
     // reinitialize dimen thresholds
     for (BaseGesture detector : androidGesturesManager.getDetectors()) {
       if (detector instanceof MultiFingerTapGestureDetector) {
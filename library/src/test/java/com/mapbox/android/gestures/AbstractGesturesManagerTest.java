@@ -0,0 +1,32 @@
+package com.mapbox.android.gestures;
+
+import android.content.Context;
+import android.view.MotionEvent;
+
+import org.junit.Before;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.util.List;
+
+/**
+ * Base of the tests that replay motion events through a gestures manager with the default thresholds.
+ */
+@RunWith(RobolectricTestRunner.class)
+public abstract class AbstractGesturesManagerTest {
+  AndroidGesturesManager androidGesturesManager;
+  Context context;
+
+  @Before
+  public void setUpGesturesManager() {
+    context = RuntimeEnvironment.application.getApplicationContext();
+    androidGesturesManager = new AndroidGesturesManager(context);
+  }
+
+  void replay(List<MotionEvent> events) {
+    for (MotionEvent event : events) {
+      androidGesturesManager.onTouchEvent(event);
+    }
+  }
+}
@@ -2,10 +2,14 @@ package com.mapbox.android.gestures;
 
 import static junit.framework.Assert.assertEquals;
 import static junit.framework.Assert.assertNotNull;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import android.view.MotionEvent;
 
+import androidx.annotation.NonNull;
+
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -73,6 +77,38 @@ public class AndroidGesturesManagerTest {
     assertEquals(androidGesturesManager.getMutuallyExclusiveGestures(), mutuallyExclusivesList);
   }
 
+  @Test(expected = UnsupportedOperationException.class)
+  public void mutuallyExclusivesUnmodifiableTest() {
+    androidGesturesManager.getMutuallyExclusiveGestures().clear();
+  }
+
+  @Test
+  public void mutuallyExclusiveGesturesResolutionTest() {
+    androidGesturesManager.setMutuallyExclusiveGestures(set2);
+    androidGesturesManager.setStandardGestureListener(new StandardGestureDetector.SimpleStandardOnGestureListener());
+    androidGesturesManager.setRotateGestureListener(new RotateGestureDetector.SimpleOnRotateGestureListener());
+    RotateGestureDetector rotateGestureDetector = androidGesturesManager.getRotateGestureDetector();
+    StandardGestureDetector standardGestureDetector = androidGesturesManager.getStandardGestureDetector();
+    assertFalse(androidGesturesManager.isMutuallyExclusiveGestureInProgress(
+      AndroidGesturesManager.GESTURE_TYPE_SCALE));
+
+    rotateGestureDetector.gestureStarted();
+    assertTrue(androidGesturesManager.isMutuallyExclusiveGestureInProgress(
+      AndroidGesturesManager.GESTURE_TYPE_SCALE));
+    assertFalse(androidGesturesManager.isMutuallyExclusiveGestureInProgress(
+      AndroidGesturesManager.GESTURE_TYPE_SHOVE));
+    assertTrue(standardGestureDetector.canExecute(AndroidGesturesManager.GESTURE_TYPE_SCROLL));
+
+    // changing the exclusives while a gesture is in progress is taken into account immediately
+    androidGesturesManager.setMutuallyExclusiveGestures(set1);
+    assertFalse(androidGesturesManager.isMutuallyExclusiveGestureInProgress(
+      AndroidGesturesManager.GESTURE_TYPE_SCALE));
+    assertFalse(standardGestureDetector.canExecute(AndroidGesturesManager.GESTURE_TYPE_SCROLL));
+
+    rotateGestureDetector.gestureStopped();
+    assertTrue(standardGestureDetector.canExecute(AndroidGesturesManager.GESTURE_TYPE_SCROLL));
+  }
+
   @Test
   public void onSingleTapModifyDetectorsTest() {
     final StandardGestureDetector standardGestureDetector = new StandardGestureDetector(
@@ -92,4 +128,73 @@ public class AndroidGesturesManagerTest {
     androidGesturesManager.onTouchEvent(downEvent);
     assertTrue(androidGesturesManager.getDetectors().contains(standardGestureDetector));
   }
+
+  @Test
+  public void sharedEventSnapshotTest() {
+    setAllListeners();
+    MotionEventSnapshot snapshot = androidGesturesManager.getEventSnapshot();
+    long initialCopies = snapshot.getCopiesCount();
+
+    MotionEvent event = TestUtils.INSTANCE.getMotionEvent(MotionEvent.ACTION_DOWN, 100, 100, null);
+    androidGesturesManager.onTouchEvent(event);
+    int movesCount = 100;
+    for (int i = 0; i < movesCount; i++) {
+      event = TestUtils.INSTANCE.getMotionEvent(MotionEvent.ACTION_MOVE, 100 + i, 100, event);
+      androidGesturesManager.onTouchEvent(event);
+    }
+
+    // one copy per dispatched event, regardless of the number of detectors
+    assertEquals(movesCount + 1, snapshot.getCopiesCount() - initialCopies);
+    for (BaseGesture detector : androidGesturesManager.getDetectors()) {
+      assertSame(snapshot.getCurrentEvent(), detector.getCurrentEvent());
+      assertSame(snapshot.getPreviousEvent(), detector.getPreviousEvent());
+    }
+    assertFalse(snapshot.holds(event));
+  }
+
+  @Test
+  public void transformDetectorOptInTest() {
+    TransformGestureDetector transformGestureDetector = androidGesturesManager.getTransformGestureDetector();
+    assertFalse(androidGesturesManager.getDetectors().contains(transformGestureDetector));
+
+    androidGesturesManager.setTransformGestureListener(
+      new TransformGestureDetector.SimpleOnTransformGestureListener());
+    List<BaseGesture> detectors = androidGesturesManager.getDetectors();
+    assertEquals(detectors.size() - 2, detectors.indexOf(transformGestureDetector));
+    assertTrue(transformGestureDetector.getScaleSpanThreshold() > 0);
+
+    androidGesturesManager.removeTransformGestureListener();
+    assertFalse(androidGesturesManager.getDetectors().contains(transformGestureDetector));
+  }
+
+  @Test
+  public void sharedFrameTest() {
+    androidGesturesManager.setMoveGestureListener(new MoveGestureDetector.SimpleOnMoveGestureListener());
+    androidGesturesManager.setRotateGestureListener(new RotateGestureDetector.SimpleOnRotateGestureListener());
+    androidGesturesManager.onTouchEvent(TestUtils.INSTANCE.getMotionEvent(MotionEvent.ACTION_DOWN, 100, 100, null));
+
+    GestureFrame frame = androidGesturesManager.getEventSnapshot().getGestureFrame();
+    assertSame(frame, androidGesturesManager.getMoveGestureDetector().getGestureFrame());
+    assertSame(frame, androidGesturesManager.getRotateGestureDetector().getGestureFrame());
+  }
+
+  private void setAllListeners() {
+    androidGesturesManager.setStandardGestureListener(new StandardGestureDetector.SimpleStandardOnGestureListener());
+    androidGesturesManager.setStandardScaleGestureListener(
+      new StandardScaleGestureDetector.SimpleStandardOnScaleGestureListener());
+    androidGesturesManager.setRotateGestureListener(new RotateGestureDetector.SimpleOnRotateGestureListener());
+    androidGesturesManager.setShoveGestureListener(new ShoveGestureDetector.SimpleOnShoveGestureListener());
+    androidGesturesManager.setSidewaysShoveGestureListener(
+      new SidewaysShoveGestureDetector.SimpleOnSidewaysShoveGestureListener());
+    androidGesturesManager.setMoveGestureListener(new MoveGestureDetector.SimpleOnMoveGestureListener());
+    androidGesturesManager.setTransformGestureListener(
+      new TransformGestureDetector.SimpleOnTransformGestureListener());
+    androidGesturesManager.setMultiFingerTapGestureListener(
+      new MultiFingerTapGestureDetector.OnMultiFingerTapGestureListener() {
+        @Override
+        public boolean onMultiFingerTap(@NonNull MultiFingerTapGestureDetector detector, int pointersCount) {
+          return false;
+        }
+      });
+  }
 }
@@ -0,0 +1,150 @@
+package com.mapbox.android.gestures;
+
+import android.graphics.PointF;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Listens to all of the detectors of a manager, except for the standard one, and logs the callbacks.
+ * <p>
+ * Every line starts with the index of the event that triggered the callback, followed by the detector's
+ * and the callback's name and the callback's values as {@code key=value} pairs.
+ */
+final class CallbackLog implements
+  MoveGestureDetector.OnMoveGestureListener,
+  StandardScaleGestureDetector.StandardOnScaleGestureListener,
+  RotateGestureDetector.OnRotateGestureListener,
+  ShoveGestureDetector.OnShoveGestureListener,
+  SidewaysShoveGestureDetector.OnSidewaysShoveGestureListener,
+  MultiFingerTapGestureDetector.OnMultiFingerTapGestureListener {
+
+  final List<String> lines = new ArrayList<>();
+  private final PointF focalPoint = new PointF();
+  private int eventIndex;
+
+  void attach(AndroidGesturesManager manager) {
+    manager.setMoveGestureListener(this);
+    manager.setStandardScaleGestureListener(this);
+    manager.setRotateGestureListener(this);
+    manager.setShoveGestureListener(this);
+    manager.setSidewaysShoveGestureListener(this);
+    manager.setMultiFingerTapGestureListener(this);
+  }
+
+  void setEventIndex(int eventIndex) {
+    this.eventIndex = eventIndex;
+  }
+
+  @Override
+  public boolean onMoveBegin(@NonNull MoveGestureDetector detector) {
+    log("move begin", detector);
+    return true;
+  }
+
+  @Override
+  public boolean onMove(@NonNull MoveGestureDetector detector, float distanceX, float distanceY) {
+    log("move", detector, "distanceX", distanceX, "distanceY", distanceY);
+    return true;
+  }
+
+  @Override
+  public void onMoveEnd(@NonNull MoveGestureDetector detector, float velocityX, float velocityY) {
+    log("move end", null, "velocityX", velocityX, "velocityY", velocityY);
+  }
+
+  @Override
+  public boolean onScaleBegin(@NonNull StandardScaleGestureDetector detector) {
+    log("scale begin", detector);
+    return true;
+  }
+
+  @Override
+  public boolean onScale(@NonNull StandardScaleGestureDetector detector) {
+    log("scale", detector, "scaleFactor", detector.getScaleFactor(), "span", detector.getCurrentSpan());
+    return true;
+  }
+
+  @Override
+  public void onScaleEnd(@NonNull StandardScaleGestureDetector detector, float velocityX, float velocityY) {
+    log("scale end", null, "velocityX", velocityX, "velocityY", velocityY);
+  }
+
+  @Override
+  public boolean onRotateBegin(@NonNull RotateGestureDetector detector) {
+    log("rotate begin", detector);
+    return true;
+  }
+
+  @Override
+  public boolean onRotate(@NonNull RotateGestureDetector detector, float rotationDegreesSinceLast,
+                          float rotationDegreesSinceFirst) {
+    log("rotate", detector, "sinceLast", rotationDegreesSinceLast, "sinceFirst", rotationDegreesSinceFirst);
+    return true;
+  }
+
+  @Override
+  public void onRotateEnd(@NonNull RotateGestureDetector detector, float velocityX, float velocityY,
+                          float angularVelocity) {
+    log("rotate end", null, "velocityX", velocityX, "velocityY", velocityY, "angularVelocity", angularVelocity);
+  }
+
+  @Override
+  public boolean onShoveBegin(@NonNull ShoveGestureDetector detector) {
+    log("shove begin", detector);
+    return true;
+  }
+
+  @Override
+  public boolean onShove(@NonNull ShoveGestureDetector detector, float deltaPixelsSinceLast,
+                         float deltaPixelsSinceStart) {
+    log("shove", detector, "sinceLast", deltaPixelsSinceLast, "sinceStart", deltaPixelsSinceStart);
+    return true;
+  }
+
+  @Override
+  public void onShoveEnd(@NonNull ShoveGestureDetector detector, float velocityX, float velocityY) {
+    log("shove end", null, "velocityX", velocityX, "velocityY", velocityY);
+  }
+
+  @Override
+  public boolean onSidewaysShoveBegin(@NonNull SidewaysShoveGestureDetector detector) {
+    log("sidewaysShove begin", detector);
+    return true;
+  }
+
+  @Override
+  public boolean onSidewaysShove(@NonNull SidewaysShoveGestureDetector detector, float deltaPixelsSinceLast,
+                                 float deltaPixelsSinceStart) {
+    log("sidewaysShove", detector, "sinceLast", deltaPixelsSinceLast, "sinceStart", deltaPixelsSinceStart);
+    return true;
+  }
+
+  @Override
+  public void onSidewaysShoveEnd(@NonNull SidewaysShoveGestureDetector detector, float velocityX, float velocityY) {
+    log("sidewaysShove end", null, "velocityX", velocityX, "velocityY", velocityY);
+  }
+
+  @Override
+  public boolean onMultiFingerTap(@NonNull MultiFingerTapGestureDetector detector, int pointersCount) {
+    log("multiFingerTap", null, "pointersCount", pointersCount);
+    return true;
+  }
+
+  /**
+   * Logs the callback with the detector's focal point, if passed, followed by the pairs of names and values.
+   */
+  private void log(String callback, MultiFingerGesture detector, Object... namesAndValues) {
+    StringBuilder line = new StringBuilder().append(eventIndex).append(' ').append(callback);
+    if (detector != null) {
+      detector.getFocalPoint(focalPoint);
+      line.append(" focalX=").append(focalPoint.x).append(" focalY=").append(focalPoint.y);
+    }
+    for (int i = 0; i < namesAndValues.length; i += 2) {
+      line.append(' ').append(namesAndValues[i]).append('=').append(namesAndValues[i + 1]);
+    }
+    lines.add(line.toString());
+  }
+}
@@ -0,0 +1,125 @@
+package com.mapbox.android.gestures;
+
+import android.view.MotionEvent;
+
+import androidx.annotation.NonNull;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class CentroidSpanTest extends AbstractGesturesManagerTest {
+  private StandardScaleGestureDetector scaleGestureDetector;
+  private ScaleRecorder recorder;
+
+  @Before
+  public void setUp() {
+    scaleGestureDetector = androidGesturesManager.getStandardScaleGestureDetector();
+    scaleGestureDetector.setSpanSinceStartThreshold(0);
+    recorder = new ScaleRecorder();
+    androidGesturesManager.setStandardScaleGestureListener(recorder);
+  }
+
+  @Test
+  public void twoPointerSpanIsDistanceTest() {
+    replay(createPinch());
+    float scaleFactor = recorder.scaleFactor;
+    // twice the sum of deviations
+    assertEquals(400f, recorder.span, 0.01f);
+
+    scaleGestureDetector.setCentroidSpanEnabled(true);
+    recorder.scaleFactor = 1f;
+    replay(createPinch());
+
+    assertEquals(200f, recorder.span, 0.01f);
+    assertEquals(scaleFactor, recorder.scaleFactor, 0.0001f);
+  }
+
+  @Test
+  public void threePointerSpanIsMeanDeviationTest() {
+    scaleGestureDetector.setCentroidSpanEnabled(true);
+
+    List<MotionEvent> events = createThreeFingerPinch();
+    replay(events);
+
+    assertEquals(1, recorder.endCount);
+    // the last move, followed by the three pointers going up
+    MotionEvent lastMove = events.get(events.size() - 4);
+    assertEquals(meanDeviationSpan(lastMove), recorder.span, 0.01f);
+  }
+
+  @Test
+  public void threePointerSpanThresholdChecksEachPairTest() {
+    scaleGestureDetector.setCentroidSpanEnabled(true);
+    scaleGestureDetector.setSpanThreshold(40);
+
+    // the two pointers on the left are closer than the threshold, but far from the focal point
+    replay(GestureTrace.builder("three_fingers_in_a_row")
+      .down(100, 235).down(120, 235).down(300, 235).spread(10, 30).upAll().build().events);
+
+    assertEquals(0, recorder.endCount);
+  }
+
+  @Test
+  public void pairwiseDistancesSkippedTest() {
+    // three or more pointers still need the distances between each pair for the minimum span check
+    List<MotionEvent> events = createPinch();
+    replay(events);
+    long skippedPairs = scaleGestureDetector.pointersDistanceMatrix.getSkippedPairsCount();
+
+    scaleGestureDetector.setCentroidSpanEnabled(true);
+    replay(events);
+
+    assertTrue(scaleGestureDetector.pointersDistanceMatrix.getSkippedPairsCount() > skippedPairs);
+  }
+
+  private static float meanDeviationSpan(MotionEvent event) {
+    int count = event.getPointerCount();
+    float focalX = 0;
+    float focalY = 0;
+    for (int i = 0; i < count; i++) {
+      focalX += event.getX(i) / count;
+      focalY += event.getY(i) / count;
+    }
+    float spanX = 0;
+    float spanY = 0;
+    for (int i = 0; i < count; i++) {
+      spanX += Math.abs(event.getX(i) - focalX);
+      spanY += Math.abs(event.getY(i) - focalY);
+    }
+    spanX = spanX / count * 2;
+    spanY = spanY / count * 2;
+    return (float) Math.hypot(spanX, spanY);
+  }
+
+  private static List<MotionEvent> createThreeFingerPinch() {
+    return GestureTrace.builder("three_finger_pinch")
+      .down(160, 175).down(220, 295).down(100, 295).spread(10, 30).upAll().build().events;
+  }
+
+  private static List<MotionEvent> createPinch() {
+    return GestureTrace.builder("pinch").down(100, 235).down(220, 235).spread(20, 40).upAll().build().events;
+  }
+
+  private static class ScaleRecorder extends StandardScaleGestureDetector.SimpleStandardOnScaleGestureListener {
+    int endCount;
+    float span;
+    float scaleFactor = 1f;
+
+    @Override
+    public boolean onScale(@NonNull StandardScaleGestureDetector detector) {
+      span = detector.getCurrentSpan();
+      scaleFactor *= detector.getScaleFactor();
+      return true;
+    }
+
+    @Override
+    public void onScaleEnd(@NonNull StandardScaleGestureDetector detector, float velocityX, float velocityY) {
+      endCount++;
+    }
+  }
+}
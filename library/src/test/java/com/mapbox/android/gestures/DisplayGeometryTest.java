@@ -0,0 +1,80 @@
+package com.mapbox.android.gestures;
+
+import android.content.res.Configuration;
+import android.view.MotionEvent;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+public class DisplayGeometryTest {
+  private AndroidGesturesManager androidGesturesManager;
+  private DisplayGeometry displayGeometry;
+
+  @Before
+  public void setUp() {
+    androidGesturesManager = new AndroidGesturesManager(RuntimeEnvironment.application.getApplicationContext());
+    androidGesturesManager.setMoveGestureListener(new MoveGestureDetector.SimpleOnMoveGestureListener());
+    androidGesturesManager.setRotateGestureListener(new RotateGestureDetector.SimpleOnRotateGestureListener());
+    androidGesturesManager.setShoveGestureListener(new ShoveGestureDetector.SimpleOnShoveGestureListener());
+    displayGeometry = androidGesturesManager.getDisplayGeometry();
+  }
+
+  @Test
+  public void metricsQueriedOnceTest() {
+    for (int i = 0; i < 10; i++) {
+      tap();
+    }
+
+    assertEquals(1, displayGeometry.getQueriesCount());
+    assertSame(displayGeometry.getDisplayMetrics(), displayGeometry.getDisplayMetrics());
+  }
+
+  @Test
+  public void configurationChangeInvalidatesMetricsTest() {
+    tap();
+    assertEquals(1, displayGeometry.getQueriesCount());
+
+    RuntimeEnvironment.application.onConfigurationChanged(new Configuration());
+    tap();
+    tap();
+    assertEquals(2, displayGeometry.getQueriesCount());
+  }
+
+  @Test
+  public void releaseUnregistersCallbacksTest() {
+    tap();
+    assertTrue(displayGeometry.isRegistered());
+
+    androidGesturesManager.release();
+    assertFalse(displayGeometry.isRegistered());
+    RuntimeEnvironment.application.onConfigurationChanged(new Configuration());
+    assertFalse(displayGeometry.isRegistered());
+
+    // registered again with the next query
+    tap();
+    tap();
+    assertTrue(displayGeometry.isRegistered());
+    assertEquals(2, displayGeometry.getQueriesCount());
+    RuntimeEnvironment.application.onConfigurationChanged(new Configuration());
+    tap();
+    assertEquals(3, displayGeometry.getQueriesCount());
+  }
+
+  private void tap() {
+    MotionEvent event = TestUtils.INSTANCE.getMotionEvent(MotionEvent.ACTION_DOWN, 100, 100, null);
+    androidGesturesManager.onTouchEvent(event);
+    event = TestUtils.INSTANCE.getMotionEvent(MotionEvent.ACTION_MOVE, 110, 100, event);
+    androidGesturesManager.onTouchEvent(event);
+    event = TestUtils.INSTANCE.getMotionEvent(MotionEvent.ACTION_UP, 110, 100, event);
+    androidGesturesManager.onTouchEvent(event);
+  }
+}
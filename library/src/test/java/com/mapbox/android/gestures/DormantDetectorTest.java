@@ -0,0 +1,182 @@
+package com.mapbox.android.gestures;
+
+import android.graphics.PointF;
+import android.view.MotionEvent;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyFloat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@RunWith(RobolectricTestRunner.class)
+public class DormantDetectorTest {
+  private AndroidGesturesManager androidGesturesManager;
+  private MoveGestureDetector moveGestureDetector;
+
+  @Before
+  public void setUp() {
+    androidGesturesManager = new AndroidGesturesManager(RuntimeEnvironment.application.getApplicationContext());
+    moveGestureDetector = androidGesturesManager.getMoveGestureDetector();
+    moveGestureDetector.setMoveThreshold(50f);
+  }
+
+  @Test
+  public void detectorWithoutListenerSkipsAnalysisTest() {
+    MotionEvent event = TestUtils.INSTANCE.getMotionEvent(MotionEvent.ACTION_DOWN, 100, 100, null);
+    androidGesturesManager.onTouchEvent(event);
+    event = TestUtils.INSTANCE.getMotionEvent(MotionEvent.ACTION_MOVE, 110, 100, event);
+    androidGesturesManager.onTouchEvent(event);
+
+    for (BaseGesture detector : androidGesturesManager.getDetectors()) {
+      assertTrue(detector.isDormant());
+      assertNull(detector.getCurrentEvent());
+    }
+    assertEquals(0, moveGestureDetector.getPointersCount());
+  }
+
+  @Test
+  public void disabledDetectorSkipsAnalysisTest() {
+    androidGesturesManager.setMoveGestureListener(mock(MoveGestureDetector.OnMoveGestureListener.class));
+    moveGestureDetector.setEnabled(false);
+
+    MotionEvent event = TestUtils.INSTANCE.getMotionEvent(MotionEvent.ACTION_DOWN, 100, 100, null);
+    androidGesturesManager.onTouchEvent(event);
+
+    assertTrue(moveGestureDetector.isDormant());
+    assertEquals(0, moveGestureDetector.getPointersCount());
+  }
+
+  @Test
+  public void moveListenerAttachedMidGestureTest() {
+    MoveGestureDetector.OnMoveGestureListener listener = mock(MoveGestureDetector.OnMoveGestureListener.class);
+    doReturn(true).when(listener).onMoveBegin(moveGestureDetector);
+
+    MotionEvent event = TestUtils.INSTANCE.getMotionEvent(MotionEvent.ACTION_DOWN, 100, 100, null);
+    androidGesturesManager.onTouchEvent(event);
+    event = TestUtils.INSTANCE.getMotionEvent(MotionEvent.ACTION_MOVE, 130, 100, event);
+    androidGesturesManager.onTouchEvent(event);
+
+    androidGesturesManager.setMoveGestureListener(listener);
+
+    // the first event after attaching the listener only rebuilds the state
+    event = TestUtils.INSTANCE.getMotionEvent(MotionEvent.ACTION_MOVE, 160, 100, event);
+    androidGesturesManager.onTouchEvent(event);
+    assertEquals(1, moveGestureDetector.getPointersCount());
+    PointF focalPoint = moveGestureDetector.getFocalPoint();
+    assertEquals(160f, focalPoint.x, 0f);
+
+    // distance is measured from where the detector resumed, not from where the gesture started
+    event = TestUtils.INSTANCE.getMotionEvent(MotionEvent.ACTION_MOVE, 200, 100, event);
+    androidGesturesManager.onTouchEvent(event);
+    verify(listener, never()).onMoveBegin(moveGestureDetector);
+
+    event = TestUtils.INSTANCE.getMotionEvent(MotionEvent.ACTION_MOVE, 215, 100, event);
+    androidGesturesManager.onTouchEvent(event);
+    verify(listener, times(1)).onMoveBegin(moveGestureDetector);
+    // returned focal point is a copy that is not updated
+    assertEquals(160f, focalPoint.x, 0f);
+    assertEquals(215f, moveGestureDetector.getFocalPoint(new PointF()).x, 0f);
+
+    event = TestUtils.INSTANCE.getMotionEvent(MotionEvent.ACTION_UP, 215, 100, event);
+    androidGesturesManager.onTouchEvent(event);
+    verify(listener, times(1)).onMoveEnd(any(MoveGestureDetector.class), anyFloat(), anyFloat());
+    assertEquals(0, moveGestureDetector.getPointersCount());
+  }
+
+  @Test
+  public void rotateListenerAttachedMidGestureTest() {
+    RotateGestureDetector rotateGestureDetector = androidGesturesManager.getRotateGestureDetector();
+    rotateGestureDetector.setSpanThreshold(0);
+
+    MotionEvent event = TestUtils.INSTANCE.getMotionEvent(
+      MotionEvent.ACTION_DOWN, new float[] {100}, new float[] {100}, 0, null);
+    androidGesturesManager.onTouchEvent(event);
+    event = TestUtils.INSTANCE.getMotionEvent(
+      MotionEvent.ACTION_POINTER_DOWN, new float[] {100, 200}, new float[] {100, 100}, 1, event);
+    androidGesturesManager.onTouchEvent(event);
+
+    androidGesturesManager.setRotateGestureListener(mock(RotateGestureDetector.OnRotateGestureListener.class));
+
+    event = TestUtils.INSTANCE.getMotionEvent(
+      MotionEvent.ACTION_MOVE, new float[] {100, 200}, new float[] {100, 110}, 0, event);
+    androidGesturesManager.onTouchEvent(event);
+    assertEquals(2, rotateGestureDetector.getPointersCount());
+    assertEquals(0, rotateGestureDetector.getPointerDistancesMatrix().getPointersCount());
+
+    event = TestUtils.INSTANCE.getMotionEvent(
+      MotionEvent.ACTION_MOVE, new float[] {100, 200}, new float[] {100, 120}, 0, event);
+    androidGesturesManager.onTouchEvent(event);
+    assertEquals(2, rotateGestureDetector.getPointerDistancesMatrix().getPointersCount());
+    assertEquals(20f, rotateGestureDetector.getCurrentSpanY(0, 1), 0f);
+    assertEquals(10f, rotateGestureDetector.getPreviousSpanY(0, 1), 0f);
+
+    // pointers were picked up correctly, so lifting them is not considered as missing events
+    event = TestUtils.INSTANCE.getMotionEvent(
+      MotionEvent.ACTION_POINTER_UP, new float[] {100, 200}, new float[] {100, 120}, 1, event);
+    androidGesturesManager.onTouchEvent(event);
+    assertEquals(1, rotateGestureDetector.getPointersCount());
+  }
+
+  @Test
+  public void multiFingerTapWaitsForNewGestureTest() {
+    MultiFingerTapGestureDetector.OnMultiFingerTapGestureListener listener =
+      mock(MultiFingerTapGestureDetector.OnMultiFingerTapGestureListener.class);
+    MultiFingerTapGestureDetector multiFingerTapGestureDetector =
+      androidGesturesManager.getMultiFingerTapGestureDetector();
+
+    MotionEvent event = TestUtils.INSTANCE.getMotionEvent(
+      MotionEvent.ACTION_DOWN, new float[] {100}, new float[] {100}, 0, null);
+    androidGesturesManager.onTouchEvent(event);
+    event = TestUtils.INSTANCE.getMotionEvent(
+      MotionEvent.ACTION_POINTER_DOWN, new float[] {100, 200}, new float[] {100, 100}, 1, event);
+    androidGesturesManager.onTouchEvent(event);
+
+    androidGesturesManager.setMultiFingerTapGestureListener(listener);
+
+    event = TestUtils.INSTANCE.getMotionEvent(
+      MotionEvent.ACTION_POINTER_UP, new float[] {100, 200}, new float[] {100, 100}, 1, event);
+    androidGesturesManager.onTouchEvent(event);
+    event = TestUtils.INSTANCE.getMotionEvent(
+      MotionEvent.ACTION_UP, new float[] {100}, new float[] {100}, 0, event);
+    androidGesturesManager.onTouchEvent(event);
+    verify(listener, never()).onMultiFingerTap(any(MultiFingerTapGestureDetector.class), anyInt());
+    assertEquals(0, multiFingerTapGestureDetector.getPointersCount());
+
+    event = TestUtils.INSTANCE.getMotionEvent(
+      MotionEvent.ACTION_DOWN, new float[] {100}, new float[] {100}, 0, null);
+    androidGesturesManager.onTouchEvent(event);
+    assertEquals(1, multiFingerTapGestureDetector.getPointersCount());
+  }
+
+  @Test
+  public void disabledGestureInProgressIsStoppedTest() {
+    MoveGestureDetector.OnMoveGestureListener listener = mock(MoveGestureDetector.OnMoveGestureListener.class);
+    doReturn(true).when(listener).onMoveBegin(moveGestureDetector);
+    androidGesturesManager.setMoveGestureListener(listener);
+
+    MotionEvent event = TestUtils.INSTANCE.getMotionEvent(MotionEvent.ACTION_DOWN, 100, 100, null);
+    androidGesturesManager.onTouchEvent(event);
+    event = TestUtils.INSTANCE.getMotionEvent(MotionEvent.ACTION_MOVE, 200, 100, event);
+    androidGesturesManager.onTouchEvent(event);
+    assertTrue(moveGestureDetector.isInProgress());
+
+    moveGestureDetector.setEnabled(false);
+    event = TestUtils.INSTANCE.getMotionEvent(MotionEvent.ACTION_MOVE, 210, 100, event);
+    androidGesturesManager.onTouchEvent(event);
+    verify(listener, times(1)).onMoveEnd(any(MoveGestureDetector.class), anyFloat(), anyFloat());
+    assertTrue(moveGestureDetector.isDormant());
+  }
+}
@@ -0,0 +1,45 @@
+package com.mapbox.android.gestures;
+
+import androidx.annotation.NonNull;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link FrameClock} whose frames are run by the test, advancing the frame time by a fixed interval.
+ */
+class FakeFrameClock implements FrameClock {
+  static final long FRAME_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(16);
+
+  private Runnable callback;
+  private long frameTimeNanos;
+
+  @Override
+  public void postFrameCallback(@NonNull Runnable callback) {
+    this.callback = callback;
+  }
+
+  @Override
+  public void removeFrameCallback(@NonNull Runnable callback) {
+    if (this.callback == callback) {
+      this.callback = null;
+    }
+  }
+
+  @Override
+  public long getFrameTimeNanos() {
+    return frameTimeNanos;
+  }
+
+  boolean isCallbackPosted() {
+    return callback != null;
+  }
+
+  void doFrame() {
+    frameTimeNanos += FRAME_INTERVAL_NANOS;
+    Runnable callback = this.callback;
+    this.callback = null;
+    if (callback != null) {
+      callback.run();
+    }
+  }
+}
@@ -0,0 +1,193 @@
+package com.mapbox.android.gestures;
+
+import android.view.MotionEvent;
+
+import androidx.annotation.NonNull;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+public class FrameCoalescingTest {
+  private static final int EVENTS_PER_FRAME = 3;
+
+  @Test
+  public void moveCoalescedPerFrameTest() {
+    List<MotionEvent> events = GestureTrace.builder("pan")
+      .down(60, 100).moveBy(20, 200, 120).upAll().build().events;
+
+    ProgressRecorder perEvent = replay(events, false);
+    ProgressRecorder coalesced = replay(events, true);
+
+    assertEquals(perEvent.moveX, coalesced.moveX, 1e-3f);
+    assertEquals(perEvent.moveY, coalesced.moveY, 1e-3f);
+    assertTrue(coalesced.callbacks.size() < perEvent.callbacks.size());
+    assertOrdered(coalesced.callbacks, "moveBegin", "move", "moveEnd");
+
+    // at most one progress callback per frame, including the one that delivers the remainder before the end
+    int frames = (events.size() + EVENTS_PER_FRAME - 1) / EVENTS_PER_FRAME;
+    assertTrue(count(coalesced.callbacks, "move") <= frames);
+  }
+
+  @Test
+  public void scaleAndRotateCoalescedPerFrameTest() {
+    List<MotionEvent> events = GestureTrace.builder("transform")
+      .down(100, 235).down(220, 235).transform(30, 0, 0, 60, 45).upAll().build().events;
+
+    ProgressRecorder perEvent = replay(events, false);
+    ProgressRecorder coalesced = replay(events, true);
+
+    assertTrue(count(coalesced.callbacks, "scale") < count(perEvent.callbacks, "scale"));
+    assertTrue(count(coalesced.callbacks, "rotate") < count(perEvent.callbacks, "rotate"));
+    assertEquals(perEvent.scaleFactor, coalesced.scaleFactor, 1e-4f);
+    assertEquals(perEvent.rotationSinceLast, coalesced.rotationSinceLast, 1e-3f);
+    assertEquals(perEvent.rotationSinceFirst, coalesced.rotationSinceFirst, 1e-3f);
+    assertOrdered(coalesced.callbacks, "scaleBegin", "scale", "scaleEnd");
+    assertOrdered(coalesced.callbacks, "rotateBegin", "rotate", "rotateEnd");
+  }
+
+  @Test
+  public void disablingCoalescingDeliversPendingProgressTest() {
+    AndroidGesturesManager manager = new AndroidGesturesManager(RuntimeEnvironment.application);
+    FakeFrameClock frameClock = new FakeFrameClock();
+    manager.setFrameClock(frameClock);
+    manager.setFrameCoalescingEnabled(true);
+    ProgressRecorder recorder = new ProgressRecorder(manager);
+
+    List<MotionEvent> events = GestureTrace.builder("pan").down(60, 100).moveBy(5, 50, 0).upAll().build().events;
+    // finger is still down
+    for (int i = 0; i < events.size() - 1; i++) {
+      manager.onTouchEvent(events.get(i));
+    }
+    assertEquals(0, count(recorder.callbacks, "move"));
+    assertTrue(frameClock.isCallbackPosted());
+
+    manager.setFrameCoalescingEnabled(false);
+    assertFalse(frameClock.isCallbackPosted());
+    assertEquals(1, count(recorder.callbacks, "move"));
+    assertEquals(-40f, recorder.moveX, 1e-3f);
+
+    // nothing left for the next frame
+    frameClock.doFrame();
+    assertEquals(1, count(recorder.callbacks, "move"));
+  }
+
+  private static ProgressRecorder replay(List<MotionEvent> events, boolean coalesced) {
+    AndroidGesturesManager manager = new AndroidGesturesManager(RuntimeEnvironment.application);
+    FakeFrameClock frameClock = new FakeFrameClock();
+    manager.setFrameClock(frameClock);
+    manager.setFrameCoalescingEnabled(coalesced);
+    ProgressRecorder recorder = new ProgressRecorder(manager);
+    for (int i = 0; i < events.size(); i++) {
+      manager.onTouchEvent(events.get(i));
+      if ((i + 1) % EVENTS_PER_FRAME == 0) {
+        frameClock.doFrame();
+      }
+    }
+    frameClock.doFrame();
+    assertFalse(frameClock.isCallbackPosted());
+    return recorder;
+  }
+
+  private static void assertOrdered(List<String> callbacks, String begin, String progress, String end) {
+    int beginIndex = callbacks.indexOf(begin);
+    int endIndex = callbacks.indexOf(end);
+    assertTrue(beginIndex >= 0);
+    assertEquals(beginIndex, callbacks.lastIndexOf(begin));
+    assertEquals(endIndex, callbacks.lastIndexOf(end));
+    assertTrue(callbacks.indexOf(progress) > beginIndex);
+    assertTrue(callbacks.lastIndexOf(progress) < endIndex);
+  }
+
+  private static int count(List<String> callbacks, String callback) {
+    int count = 0;
+    for (String logged : callbacks) {
+      if (logged.equals(callback)) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  private static class ProgressRecorder {
+    final List<String> callbacks = new ArrayList<>();
+    float moveX;
+    float moveY;
+    float scaleFactor = 1f;
+    float rotationSinceLast;
+    float rotationSinceFirst;
+
+    ProgressRecorder(AndroidGesturesManager manager) {
+      manager.setMoveGestureListener(new MoveGestureDetector.OnMoveGestureListener() {
+        @Override
+        public boolean onMoveBegin(@NonNull MoveGestureDetector detector) {
+          callbacks.add("moveBegin");
+          return true;
+        }
+
+        @Override
+        public boolean onMove(@NonNull MoveGestureDetector detector, float distanceX, float distanceY) {
+          callbacks.add("move");
+          moveX += distanceX;
+          moveY += distanceY;
+          return true;
+        }
+
+        @Override
+        public void onMoveEnd(@NonNull MoveGestureDetector detector, float velocityX, float velocityY) {
+          callbacks.add("moveEnd");
+        }
+      });
+      manager.setStandardScaleGestureListener(new StandardScaleGestureDetector.StandardOnScaleGestureListener() {
+        @Override
+        public boolean onScaleBegin(@NonNull StandardScaleGestureDetector detector) {
+          callbacks.add("scaleBegin");
+          return true;
+        }
+
+        @Override
+        public boolean onScale(@NonNull StandardScaleGestureDetector detector) {
+          callbacks.add("scale");
+          scaleFactor *= detector.getScaleFactor();
+          return true;
+        }
+
+        @Override
+        public void onScaleEnd(@NonNull StandardScaleGestureDetector detector, float velocityX, float velocityY) {
+          callbacks.add("scaleEnd");
+        }
+      });
+      manager.setRotateGestureListener(new RotateGestureDetector.OnRotateGestureListener() {
+        @Override
+        public boolean onRotateBegin(@NonNull RotateGestureDetector detector) {
+          callbacks.add("rotateBegin");
+          return true;
+        }
+
+        @Override
+        public boolean onRotate(@NonNull RotateGestureDetector detector, float rotationDegreesSinceLast,
+                                float rotationDegreesSinceFirst) {
+          callbacks.add("rotate");
+          rotationSinceLast += rotationDegreesSinceLast;
+          rotationSinceFirst = rotationDegreesSinceFirst;
+          return true;
+        }
+
+        @Override
+        public void onRotateEnd(@NonNull RotateGestureDetector detector, float velocityX, float velocityY,
+                                float angularVelocity) {
+          callbacks.add("rotateEnd");
+        }
+      });
+    }
+  }
+}
@@ -0,0 +1,102 @@
+package com.mapbox.android.gestures;
+
+import android.view.MotionEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Canonical gesture traces whose recognition results are checked against the golden output
+ * by the {@link GoldenCorpusTest}.
+ * <p>
+ * Coordinates stay within the default Robolectric display of 320x470 pixels.
+ * A trace's golden output is stored in {@code golden/<name>.txt} of the test resources,
+ * so traces should be renamed together with their output.
+ */
+final class GestureCorpus {
+
+  private GestureCorpus() {
+  }
+
+  /**
+   * Returns the events of a trace of the corpus.
+   *
+   * @param name name of the trace
+   * @return events of the trace
+   */
+  static List<MotionEvent> events(String name) {
+    for (GestureTrace trace : create()) {
+      if (trace.name.equals(name)) {
+        return trace.events;
+      }
+    }
+    throw new IllegalArgumentException("No trace named " + name);
+  }
+
+  static List<GestureTrace> create() {
+    List<GestureTrace> traces = new ArrayList<>();
+
+    // move
+    traces.add(GestureTrace.builder("move_slow_pan")
+      .interval(50).down(60, 235).moveBy(20, 200, 0).pause(200).upAll().build());
+    traces.add(GestureTrace.builder("move_fling_diagonal")
+      .interval(8).down(60, 60).moveBy(12, 200, 350).upAll().build());
+    traces.add(GestureTrace.builder("move_tiny_drag")
+      .down(160, 235).moveBy(4, 2, -2).upAll().build());
+    traces.add(GestureTrace.builder("move_two_fingers")
+      .down(110, 80).down(210, 80).moveBy(20, 0, 300).upAll().build());
+    traces.add(GestureTrace.builder("move_three_fingers")
+      .down(80, 350).down(160, 350).down(240, 350).moveBy(16, 20, -250).upAll().build());
+    traces.add(GestureTrace.builder("move_after_lifting_second_finger")
+      .down(100, 200).down(220, 200).moveBy(10, 0, 80).up().moveBy(10, 0, 100).upAll().build());
+
+    // scale
+    traces.add(GestureTrace.builder("scale_pinch_out")
+      .down(120, 235).down(200, 235).spread(30, 90).upAll().build());
+    traces.add(GestureTrace.builder("scale_pinch_in")
+      .down(30, 235).down(290, 235).spread(30, -100).upAll().build());
+    traces.add(GestureTrace.builder("scale_pinch_out_fast_release")
+      .interval(8).down(130, 200).down(190, 270).spread(10, 80).upAll().build());
+    traces.add(GestureTrace.builder("scale_quick_scale")
+      .down(160, 200).up().pause(60).down(160, 200).moveBy(20, 0, 150).upAll().build());
+
+    // rotate
+    traces.add(GestureTrace.builder("rotate_clockwise")
+      .down(60, 235).down(260, 235).rotate(30, 90).upAll().build());
+    traces.add(GestureTrace.builder("rotate_counter_clockwise")
+      .down(60, 235).down(260, 235).rotate(30, -90).upAll().build());
+    traces.add(GestureTrace.builder("rotate_below_threshold")
+      .down(60, 235).down(260, 235).rotate(10, 8).upAll().build());
+
+    // scale and rotate at the same time
+    traces.add(GestureTrace.builder("scale_and_rotate")
+      .down(100, 235).down(220, 235).transform(30, 0, 0, 60, 45).upAll().build());
+
+    // shove
+    traces.add(GestureTrace.builder("shove_up")
+      .down(80, 400).down(240, 400).moveBy(20, 0, -300).upAll().build());
+    traces.add(GestureTrace.builder("shove_down")
+      .down(80, 80).down(240, 80).moveBy(20, 0, 300).upAll().build());
+    traces.add(GestureTrace.builder("shove_tilted_fingers")
+      .down(80, 400).down(240, 300).moveBy(20, 0, -250).upAll().build());
+
+    // sideways shove
+    traces.add(GestureTrace.builder("sideways_shove_right")
+      .down(40, 150).down(40, 320).moveBy(20, 240, 0).upAll().build());
+    traces.add(GestureTrace.builder("sideways_shove_left")
+      .down(280, 150).down(280, 320).moveBy(20, -240, 0).upAll().build());
+
+    // multi finger tap
+    traces.add(GestureTrace.builder("multi_finger_tap_two_fingers")
+      .down(100, 235).down(220, 235).upAll().build());
+    traces.add(GestureTrace.builder("multi_finger_tap_three_fingers")
+      .down(60, 235).down(160, 235).down(260, 235).upAll().build());
+    traces.add(GestureTrace.builder("multi_finger_tap_with_jitter")
+      .down(100, 235).down(220, 235).moveBy(2, 3, 3).moveBy(2, -3, -3).upAll().build());
+    traces.add(GestureTrace.builder("multi_finger_tap_moved_too_far")
+      .down(100, 235).down(220, 235).moveBy(5, 0, 80).upAll().build());
+    traces.add(GestureTrace.builder("multi_finger_tap_held_too_long")
+      .down(100, 235).down(220, 235).pause(1000).upAll().build());
+    return traces;
+  }
+}
@@ -0,0 +1,140 @@
+package com.mapbox.android.gestures;
+
+import android.view.MotionEvent;
+
+import androidx.annotation.NonNull;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class GestureMetricsTest extends AbstractGesturesManagerTest {
+  private static final long LISTENER_SLEEP_MILLIS = 2;
+
+  private CountingMetrics metrics;
+
+  @Before
+  public void setUp() {
+    metrics = new CountingMetrics();
+    androidGesturesManager.setGestureMetrics(metrics);
+  }
+
+  @Test
+  public void metricsInstalledTest() {
+    assertSame(metrics, androidGesturesManager.getGestureMetrics());
+    androidGesturesManager.setGestureMetrics(null);
+    assertNull(androidGesturesManager.getGestureMetrics());
+  }
+
+  @Test
+  public void dormantDetectorsReportSkippedEventsTest() {
+    List<MotionEvent> events = GestureTrace.builder("pan").down(100, 100).moveBy(5, 50, 0).upAll().build().events;
+    replay(events);
+
+    for (BaseGesture detector : androidGesturesManager.getDetectors()) {
+      assertEquals(events.size(), metrics.getCount(metrics.skipped, detector));
+      assertEquals(0, metrics.getCount(metrics.analyzed, detector));
+    }
+  }
+
+  @Test
+  public void listenerTimeReportedTest() {
+    MoveGestureDetector moveGestureDetector = androidGesturesManager.getMoveGestureDetector();
+    androidGesturesManager.setMoveGestureListener(new MoveGestureDetector.SimpleOnMoveGestureListener() {
+      @Override
+      public boolean onMove(@NonNull MoveGestureDetector detector, float distanceX, float distanceY) {
+        sleep();
+        return true;
+      }
+    });
+
+    List<MotionEvent> events = GestureTrace.builder("pan").down(100, 100).moveBy(5, 50, 0).upAll().build().events;
+    replay(events);
+
+    assertEquals(events.size(), metrics.getCount(metrics.analyzed, moveGestureDetector));
+    assertEquals(0, metrics.getCount(metrics.skipped, moveGestureDetector));
+    assertEquals(1, metrics.getCount(metrics.started, moveGestureDetector));
+    assertEquals(1, metrics.getCount(metrics.stopped, moveGestureDetector));
+
+    // every move after the begin sleeps in the listener
+    long minimumListenerNanos = TimeUnit.MILLISECONDS.toNanos(LISTENER_SLEEP_MILLIS) * 4;
+    assertTrue(metrics.listenerNanos >= minimumListenerNanos);
+    assertTrue(metrics.analysisNanos >= metrics.listenerNanos);
+
+    // other detectors stay dormant
+    StandardScaleGestureDetector scaleGestureDetector = androidGesturesManager.getStandardScaleGestureDetector();
+    assertEquals(0, metrics.getCount(metrics.analyzed, scaleGestureDetector));
+    assertFalse(metrics.getCount(metrics.skipped, scaleGestureDetector) == 0);
+  }
+
+  @Test
+  public void noMeasurementsWithoutMetricsTest() {
+    androidGesturesManager.setGestureMetrics(null);
+    androidGesturesManager.setMoveGestureListener(new MoveGestureDetector.SimpleOnMoveGestureListener());
+
+    replay(GestureTrace.builder("pan").down(100, 100).moveBy(5, 50, 0).upAll().build().events);
+
+    assertTrue(metrics.analyzed.isEmpty());
+    assertTrue(metrics.skipped.isEmpty());
+    assertTrue(metrics.started.isEmpty());
+  }
+
+  private static void sleep() {
+    try {
+      Thread.sleep(LISTENER_SLEEP_MILLIS);
+    } catch (InterruptedException exception) {
+      throw new AssertionError(exception);
+    }
+  }
+
+  private static class CountingMetrics implements GestureMetrics {
+    private final Map<BaseGesture<?>, Integer> analyzed = new HashMap<>();
+    private final Map<BaseGesture<?>, Integer> skipped = new HashMap<>();
+    private final Map<BaseGesture<?>, Integer> started = new HashMap<>();
+    private final Map<BaseGesture<?>, Integer> stopped = new HashMap<>();
+    private long analysisNanos;
+    private long listenerNanos;
+
+    @Override
+    public void onEventAnalyzed(@NonNull BaseGesture<?> detector, long analysisNanos, long listenerNanos) {
+      increment(analyzed, detector);
+      this.analysisNanos += analysisNanos;
+      this.listenerNanos += listenerNanos;
+    }
+
+    @Override
+    public void onEventSkipped(@NonNull BaseGesture<?> detector) {
+      increment(skipped, detector);
+    }
+
+    @Override
+    public void onGestureStarted(@NonNull ProgressiveGesture<?> detector) {
+      increment(started, detector);
+    }
+
+    @Override
+    public void onGestureStopped(@NonNull ProgressiveGesture<?> detector) {
+      increment(stopped, detector);
+    }
+
+    int getCount(Map<BaseGesture<?>, Integer> counts, BaseGesture<?> detector) {
+      Integer count = counts.get(detector);
+      return count != null ? count : 0;
+    }
+
+    private static void increment(Map<BaseGesture<?>, Integer> counts, BaseGesture<?> detector) {
+      Integer count = counts.get(detector);
+      counts.put(detector, count != null ? count + 1 : 1);
+    }
+  }
+}
@@ -0,0 +1,164 @@
+package com.mapbox.android.gestures;
+
+import android.view.MotionEvent;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Named sequence of motion events with deterministic intervals, one of the traces of the {@link GestureCorpus}.
+ */
+final class GestureTrace {
+  final String name;
+  final List<MotionEvent> events;
+
+  private GestureTrace(String name, List<MotionEvent> events) {
+    this.name = name;
+    this.events = events;
+  }
+
+  static Builder builder(String name) {
+    return new Builder(name);
+  }
+
+  /**
+   * Builds a trace out of pointers going down and up one by one, and motions of all of the pointers down.
+   * Every emitted event happens {@link #interval(long)} after the previous one.
+   * <p>
+   * Every trace gets its own time base, later than the events of the traces built before it and the current time
+   * the other tests stamp their events with, so that the velocities of a replayed trace don't depend on
+   * the events replayed before it.
+   */
+  static final class Builder {
+    private static final long DEFAULT_INTERVAL_MILLIS = 16;
+    /**
+     * Time between the events replayed before a trace and its first event,
+     * longer than the window of movements the velocities are estimated from.
+     */
+    private static final long TRACE_GAP_MILLIS = 1000;
+    private static long nextStartTime;
+
+    private final String name;
+    private final List<MotionEvent> events = new ArrayList<>();
+    private float[] xs = new float[0];
+    private float[] ys = new float[0];
+    private long downTime;
+    private long time;
+    private long interval = DEFAULT_INTERVAL_MILLIS;
+
+    private Builder(String name) {
+      this.name = name;
+      this.time = Math.max(nextStartTime, System.currentTimeMillis() + TRACE_GAP_MILLIS);
+    }
+
+    Builder interval(long interval) {
+      this.interval = interval;
+      return this;
+    }
+
+    Builder pause(long millis) {
+      time += millis;
+      return this;
+    }
+
+    /**
+     * Puts the next pointer down, the first one starts the gesture.
+     */
+    Builder down(float x, float y) {
+      xs = Arrays.copyOf(xs, xs.length + 1);
+      ys = Arrays.copyOf(ys, ys.length + 1);
+      xs[xs.length - 1] = x;
+      ys[ys.length - 1] = y;
+      if (xs.length == 1) {
+        downTime = time;
+        return emit(MotionEvent.ACTION_DOWN, 0);
+      }
+      return emit(MotionEvent.ACTION_POINTER_DOWN, xs.length - 1);
+    }
+
+    /**
+     * Lifts the most recent pointer, the last one ends the gesture.
+     */
+    Builder up() {
+      emit(xs.length == 1 ? MotionEvent.ACTION_UP : MotionEvent.ACTION_POINTER_UP, xs.length - 1);
+      xs = Arrays.copyOf(xs, xs.length - 1);
+      ys = Arrays.copyOf(ys, ys.length - 1);
+      return this;
+    }
+
+    Builder upAll() {
+      while (xs.length > 0) {
+        up();
+      }
+      return this;
+    }
+
+    /**
+     * Moves all of the pointers by the distance, in equal steps.
+     */
+    Builder moveBy(int steps, float distanceX, float distanceY) {
+      return transform(steps, distanceX, distanceY, 0, 0);
+    }
+
+    /**
+     * Moves all of the pointers away from their centroid by the distance, in equal steps.
+     */
+    Builder spread(int steps, float distance) {
+      return transform(steps, 0, 0, distance, 0);
+    }
+
+    /**
+     * Turns all of the pointers around their centroid by the angle, clockwise, in equal steps.
+     */
+    Builder rotate(int steps, float degrees) {
+      return transform(steps, 0, 0, 0, degrees);
+    }
+
+    /**
+     * Moves, spreads and turns the pointers at the same time, in equal steps.
+     */
+    Builder transform(int steps, float distanceX, float distanceY, float spreadDistance, float degrees) {
+      double stepRadians = Math.toRadians(degrees) / steps;
+      for (int step = 0; step < steps; step++) {
+        float centroidX = average(xs);
+        float centroidY = average(ys);
+        for (int i = 0; i < xs.length; i++) {
+          double diffX = xs[i] - centroidX;
+          double diffY = ys[i] - centroidY;
+          double radius = Math.hypot(diffX, diffY);
+          double angle = Math.atan2(diffY, diffX) + stepRadians;
+          if (radius > 0) {
+            radius += spreadDistance / steps;
+          }
+          xs[i] = (float) (centroidX + distanceX / steps + radius * Math.cos(angle));
+          ys[i] = (float) (centroidY + distanceY / steps + radius * Math.sin(angle));
+        }
+        emit(MotionEvent.ACTION_MOVE, 0);
+      }
+      return this;
+    }
+
+    GestureTrace build() {
+      if (xs.length > 0) {
+        throw new IllegalStateException("Trace " + name + " ends with pointers down.");
+      }
+      return new GestureTrace(name, events);
+    }
+
+    private Builder emit(int actionMasked, int actionIndex) {
+      events.add(TestUtils.INSTANCE.getMotionEvent(actionMasked, xs.clone(), ys.clone(), actionIndex, downTime, time));
+      time += interval;
+      nextStartTime = Math.max(nextStartTime, time + TRACE_GAP_MILLIS);
+      return this;
+    }
+
+    private static float average(float[] values) {
+      float sum = 0;
+      for (float value : values) {
+        sum += value;
+      }
+      return sum / values.length;
+    }
+  }
+}
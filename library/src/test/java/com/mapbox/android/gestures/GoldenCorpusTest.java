@@ -0,0 +1,184 @@
+package com.mapbox.android.gestures;
+
+import android.view.MotionEvent;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Replays the whole {@link GestureCorpus} through {@link AndroidGesturesManager} and compares the callbacks
+ * logged by the {@link CallbackLog} with the golden output from the test resources.
+ * <p>
+ * The callbacks have to match exactly, the values within a tolerance that allows for rounding differences.
+ * After an intended change of the recognition behavior, regenerate the golden output with
+ * {@code make update-goldens} and review the diff.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class GoldenCorpusTest {
+  /**
+   * When set, the golden output is written to this directory instead of being verified.
+   */
+  private static final String GOLDEN_OUTPUT_DIR_PROPERTY = "goldenOutputDir";
+  private static final String GOLDEN_RESOURCES_PATH = "/golden/";
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+  private static final float ABSOLUTE_TOLERANCE = 1e-3f;
+  private static final float RELATIVE_TOLERANCE = 1e-4f;
+
+  @Test
+  public void corpusMatchesGoldenOutputTest() throws IOException {
+    String goldenOutputDir = System.getProperty(GOLDEN_OUTPUT_DIR_PROPERTY);
+    List<GestureTrace> traces = GestureCorpus.create();
+    assertTrue(traces.size() > 0);
+
+    StringBuilder report = new StringBuilder();
+    for (GestureTrace trace : traces) {
+      List<String> actual = replay(trace);
+      if (goldenOutputDir != null) {
+        writeLines(new File(goldenOutputDir, trace.name + ".txt"), actual);
+        continue;
+      }
+
+      List<String> expected = readGoldenLines(trace.name);
+      if (expected == null) {
+        report.append("\n").append(trace.name).append(": no golden output");
+        continue;
+      }
+      String mismatch = findMismatch(expected, actual);
+      if (mismatch != null) {
+        report.append("\n").append(trace.name).append(": ").append(mismatch);
+      }
+    }
+    if (report.length() > 0) {
+      fail("Recognition results drifted from the golden output, "
+        + "if that's intended run 'make update-goldens' and review the diff:" + report);
+    }
+  }
+
+  @Test
+  public void replayIsRepeatableTest() {
+    List<List<String>> firstOutputs = new ArrayList<>();
+    for (GestureTrace trace : GestureCorpus.create()) {
+      firstOutputs.add(replay(trace));
+    }
+
+    // the same traces again, after all of them were replayed once
+    List<GestureTrace> traces = GestureCorpus.create();
+    for (int i = 0; i < traces.size(); i++) {
+      assertEquals(traces.get(i).name, firstOutputs.get(i), replay(traces.get(i)));
+    }
+  }
+
+  private static List<String> replay(GestureTrace trace) {
+    AndroidGesturesManager manager = new AndroidGesturesManager(RuntimeEnvironment.application);
+    CallbackLog callbackLog = new CallbackLog();
+    callbackLog.attach(manager);
+    for (int i = 0; i < trace.events.size(); i++) {
+      MotionEvent event = trace.events.get(i);
+      callbackLog.setEventIndex(i);
+      manager.onTouchEvent(event);
+    }
+    return callbackLog.lines;
+  }
+
+  /**
+   * Compares the lines token by token, numeric values of the {@code key=value} tokens within the tolerance.
+   *
+   * @return description of the first mismatch, or null if the lines match
+   */
+  private static String findMismatch(List<String> expected, List<String> actual) {
+    for (int i = 0; i < Math.max(expected.size(), actual.size()); i++) {
+      String expectedLine = i < expected.size() ? expected.get(i) : "<none>";
+      String actualLine = i < actual.size() ? actual.get(i) : "<none>";
+      if (!linesMatch(expectedLine, actualLine)) {
+        return "line " + (i + 1) + "\n  expected: " + expectedLine + "\n  actual:   " + actualLine;
+      }
+    }
+    return null;
+  }
+
+  private static boolean linesMatch(String expectedLine, String actualLine) {
+    String[] expectedTokens = expectedLine.split(" ");
+    String[] actualTokens = actualLine.split(" ");
+    if (expectedTokens.length != actualTokens.length) {
+      return false;
+    }
+    for (int i = 0; i < expectedTokens.length; i++) {
+      if (!tokensMatch(expectedTokens[i], actualTokens[i])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean tokensMatch(String expectedToken, String actualToken) {
+    if (expectedToken.equals(actualToken)) {
+      return true;
+    }
+    int expectedSeparator = expectedToken.indexOf('=');
+    int actualSeparator = actualToken.indexOf('=');
+    if (expectedSeparator < 0 || actualSeparator < 0
+      || !expectedToken.substring(0, expectedSeparator).equals(actualToken.substring(0, actualSeparator))) {
+      return false;
+    }
+    try {
+      float expectedValue = Float.parseFloat(expectedToken.substring(expectedSeparator + 1));
+      float actualValue = Float.parseFloat(actualToken.substring(actualSeparator + 1));
+      float tolerance =
+        ABSOLUTE_TOLERANCE + RELATIVE_TOLERANCE * Math.max(Math.abs(expectedValue), Math.abs(actualValue));
+      return Math.abs(expectedValue - actualValue) <= tolerance;
+    } catch (NumberFormatException exception) {
+      return false;
+    }
+  }
+
+  private static List<String> readGoldenLines(String traceName) throws IOException {
+    InputStream inputStream = GoldenCorpusTest.class.getResourceAsStream(GOLDEN_RESOURCES_PATH + traceName + ".txt");
+    if (inputStream == null) {
+      return null;
+    }
+    List<String> lines = new ArrayList<>();
+    BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, UTF_8));
+    try {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        if (!line.isEmpty()) {
+          lines.add(line);
+        }
+      }
+    } finally {
+      reader.close();
+    }
+    return lines;
+  }
+
+  private static void writeLines(File file, List<String> lines) throws IOException {
+    file.getParentFile().mkdirs();
+    Writer writer = new OutputStreamWriter(new FileOutputStream(file), UTF_8);
+    try {
+      for (String line : lines) {
+        writer.write(line);
+        writer.write('\n');
+      }
+    } finally {
+      writer.close();
+    }
+  }
+}
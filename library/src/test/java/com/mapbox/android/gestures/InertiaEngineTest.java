@@ -0,0 +1,266 @@
+package com.mapbox.android.gestures;
+
+import android.util.DisplayMetrics;
+import android.view.MotionEvent;
+
+import androidx.annotation.NonNull;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.robolectric.RuntimeEnvironment;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.mapbox.android.gestures.InertiaEngine.DECAY_MODEL_FRICTION;
+import static com.mapbox.android.gestures.InertiaEngine.DECAY_MODEL_SPLINE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class InertiaEngineTest extends AbstractGesturesManagerTest {
+  private static final int MAX_FRAMES_COUNT = 1000;
+
+  private InertiaEngine inertiaEngine;
+  private FakeFrameClock frameClock;
+  private InertiaRecorder recorder;
+
+  @Before
+  public void setUp() {
+    frameClock = new FakeFrameClock();
+    androidGesturesManager.setFrameClock(frameClock);
+    inertiaEngine = androidGesturesManager.getInertiaEngine();
+    recorder = new InertiaRecorder();
+    inertiaEngine.setListener(recorder);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void unknownDecayModelTest() {
+    inertiaEngine.setDecayModel(0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void nonPositiveFrictionTest() {
+    inertiaEngine.setFriction(-1f);
+  }
+
+  @Test
+  public void moveDecaysToRestTest() {
+    for (int model : new int[] {DECAY_MODEL_FRICTION, DECAY_MODEL_SPLINE}) {
+      recorder = new InertiaRecorder();
+      inertiaEngine.setListener(recorder);
+      inertiaEngine.setDecayModel(model);
+      // 1500 px/s, to the right and up
+      inertiaEngine.flingMove(1200, -900);
+      assertTrue(inertiaEngine.isRunning());
+      runFrames();
+
+      InertiaDecay decay = new InertiaDecay(pixelsPerInch());
+      decay.start(model, 1f, 1500);
+      String message = "model " + model;
+      assertEquals(message, -0.8f * decay.getDistance(), recorder.distanceX, 0.5f);
+      assertEquals(message, 0.6f * decay.getDistance(), recorder.distanceY, 0.5f);
+      assertEquals(message, 1f, recorder.scaleFactor, 0f);
+      assertEquals(message, 0f, recorder.rotationDegrees, 0f);
+      // a step per frame, shrinking as the movement slows down
+      int framesCount = (int) Math.ceil(decay.getDurationMillis() / 16);
+      assertEquals(message, framesCount, recorder.stepsX.size());
+      for (int i = 1; i < recorder.stepsX.size(); i++) {
+        assertTrue(message, recorder.stepsX.get(i) < 0);
+        assertTrue(message, recorder.stepsX.get(i) >= recorder.stepsX.get(i - 1) - 1e-3f);
+      }
+      assertEquals(message, 1, recorder.endsCount);
+      assertFalse(message, recorder.interrupted);
+      assertFalse(message, inertiaEngine.isRunning());
+    }
+  }
+
+  @Test
+  public void frictionShortensTheFlingTest() {
+    inertiaEngine.flingMove(0, 2000);
+    runFrames();
+    float distance = recorder.distanceY;
+    int framesCount = recorder.stepsX.size();
+
+    recorder = new InertiaRecorder();
+    inertiaEngine.setListener(recorder);
+    inertiaEngine.setFriction(3f);
+    inertiaEngine.flingMove(0, 2000);
+    runFrames();
+    assertTrue(Math.abs(recorder.distanceY) < Math.abs(distance));
+    assertTrue(recorder.stepsX.size() < framesCount);
+  }
+
+  @Test
+  public void touchDownInterruptsTest() {
+    inertiaEngine.flingMove(2000, 0);
+    inertiaEngine.flingRotate(90);
+    frameClock.doFrame();
+    frameClock.doFrame();
+    assertEquals(2, recorder.stepsX.size());
+
+    androidGesturesManager.onTouchEvent(
+      TestUtils.INSTANCE.getMotionEvent(MotionEvent.ACTION_DOWN, 160, 235, null));
+    assertFalse(inertiaEngine.isRunning());
+    assertEquals(1, recorder.endsCount);
+    assertTrue(recorder.interrupted);
+
+    runFrames();
+    assertEquals(2, recorder.stepsX.size());
+    assertEquals(1, recorder.endsCount);
+  }
+
+  @Test
+  public void interruptTest() {
+    inertiaEngine.interrupt();
+    assertEquals(0, recorder.endsCount);
+
+    inertiaEngine.flingScale(1.5f);
+    frameClock.doFrame();
+    inertiaEngine.interrupt();
+    inertiaEngine.interrupt();
+    assertFalse(inertiaEngine.isRunning());
+    assertEquals(1, recorder.endsCount);
+    assertTrue(recorder.interrupted);
+
+    runFrames();
+    assertEquals(1, recorder.stepsX.size());
+  }
+
+  @Test
+  public void runsWhileCoalescingIsDisabledTest() {
+    androidGesturesManager.setFrameCoalescingEnabled(true);
+    inertiaEngine.flingMove(1000, 0);
+    androidGesturesManager.setFrameCoalescingEnabled(false);
+    assertTrue(frameClock.isCallbackPosted());
+
+    runFrames();
+    assertTrue(recorder.stepsX.size() > 1);
+    assertEquals(1, recorder.endsCount);
+    assertFalse(recorder.interrupted);
+  }
+
+  @Test
+  public void moveFlingCarriesTheGestureOnTest() {
+    final float[] gestureDistance = new float[2];
+    androidGesturesManager.setMoveGestureListener(new MoveGestureDetector.SimpleOnMoveGestureListener() {
+      @Override
+      public boolean onMove(@NonNull MoveGestureDetector detector, float distanceX, float distanceY) {
+        gestureDistance[0] += distanceX;
+        gestureDistance[1] += distanceY;
+        return true;
+      }
+
+      @Override
+      public void onMoveEnd(@NonNull MoveGestureDetector detector, float velocityX, float velocityY) {
+        inertiaEngine.flingMove(velocityX, velocityY);
+      }
+    });
+
+    replay(GestureCorpus.events("move_fling_diagonal"));
+    runFrames();
+
+    assertTrue(recorder.stepsX.size() > 1);
+    assertEquals(Math.signum(gestureDistance[0]), Math.signum(recorder.distanceX), 0f);
+    assertEquals(Math.signum(gestureDistance[1]), Math.signum(recorder.distanceY), 0f);
+    // the fling carries on along the direction of the gesture
+    assertEquals(gestureDistance[1] / gestureDistance[0], recorder.distanceY / recorder.distanceX, 0.1f);
+  }
+
+  @Test
+  public void scaleFlingCarriesTheGestureOnTest() {
+    final float[] scaleVelocity = new float[1];
+    androidGesturesManager.setStandardScaleGestureListener(
+      new StandardScaleGestureDetector.SimpleStandardOnScaleGestureListener() {
+        @Override
+        public void onScaleEnd(@NonNull StandardScaleGestureDetector detector, float velocityX, float velocityY) {
+          scaleVelocity[0] = detector.getScaleVelocity();
+          inertiaEngine.flingScale(detector.getScaleVelocity());
+        }
+      });
+
+    replay(GestureCorpus.events("scale_pinch_out_fast_release"));
+    runFrames();
+
+    assertTrue(scaleVelocity[0] > 0);
+    assertTrue(recorder.scaleFactor > 1f);
+    assertEquals(0f, recorder.distanceX, 0f);
+    assertEquals(1, recorder.endsCount);
+
+    // the scale decays like the span of one inch, with the relative scale velocity
+    InertiaDecay decay = new InertiaDecay(pixelsPerInch());
+    decay.start(InertiaDecay.MODEL_SPLINE, 1f, scaleVelocity[0] * pixelsPerInch());
+    assertEquals(Math.exp(decay.getDistance() / pixelsPerInch()), recorder.scaleFactor, 1e-3f);
+  }
+
+  @Test
+  public void rotateFlingCarriesTheGestureOnTest() {
+    final float[] gestureRotation = new float[1];
+    final float[] rotationVelocity = new float[1];
+    androidGesturesManager.setRotateGestureListener(new RotateGestureDetector.SimpleOnRotateGestureListener() {
+      @Override
+      public boolean onRotate(@NonNull RotateGestureDetector detector, float rotationDegreesSinceLast,
+                              float rotationDegreesSinceFirst) {
+        gestureRotation[0] += rotationDegreesSinceLast;
+        return true;
+      }
+
+      @Override
+      public void onRotateEnd(@NonNull RotateGestureDetector detector, float velocityX, float velocityY,
+                              float angularVelocity) {
+        rotationVelocity[0] = detector.getRotationVelocity();
+        inertiaEngine.flingRotate(detector.getRotationVelocity());
+      }
+    });
+
+    // 60 degrees in 20 events, 8 ms apart
+    replay(GestureTrace.builder("twist").interval(8)
+      .down(100, 235).down(220, 235).rotate(20, 60).upAll().build().events);
+    runFrames();
+
+    // the rotation reported before crossing the threshold is left out of the gesture's rotation
+    float expectedVelocity = Math.signum(gestureRotation[0]) * 60 / 20 / 0.008f;
+    assertTrue(Math.abs(gestureRotation[0]) > 30);
+    assertEquals(expectedVelocity, rotationVelocity[0], Math.abs(expectedVelocity) * 0.05f);
+    assertTrue(Math.abs(recorder.rotationDegrees) > 0);
+    assertEquals(Math.signum(gestureRotation[0]), Math.signum(recorder.rotationDegrees), 0f);
+  }
+
+  private float pixelsPerInch() {
+    return RuntimeEnvironment.application.getResources().getDisplayMetrics().density
+      * DisplayMetrics.DENSITY_DEFAULT;
+  }
+
+  private void runFrames() {
+    for (int i = 0; i < MAX_FRAMES_COUNT && frameClock.isCallbackPosted(); i++) {
+      frameClock.doFrame();
+    }
+    assertFalse(frameClock.isCallbackPosted());
+  }
+
+  private static class InertiaRecorder implements InertiaEngine.OnInertiaListener {
+    final List<Float> stepsX = new ArrayList<>();
+    float distanceX;
+    float distanceY;
+    float scaleFactor = 1f;
+    float rotationDegrees;
+    int endsCount;
+    boolean interrupted;
+
+    @Override
+    public void onInertia(@NonNull InertiaEngine engine, float distanceX, float distanceY,
+                          float scaleFactor, float rotationDegrees) {
+      stepsX.add(distanceX);
+      this.distanceX += distanceX;
+      this.distanceY += distanceY;
+      this.scaleFactor *= scaleFactor;
+      this.rotationDegrees += rotationDegrees;
+    }
+
+    @Override
+    public void onInertiaEnd(@NonNull InertiaEngine engine, boolean interrupted) {
+      endsCount++;
+      this.interrupted = interrupted;
+    }
+  }
+}
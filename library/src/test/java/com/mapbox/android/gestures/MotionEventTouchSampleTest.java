@@ -0,0 +1,44 @@
+package com.mapbox.android.gestures;
+
+import android.view.MotionEvent;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(RobolectricTestRunner.class)
+public class MotionEventTouchSampleTest {
+
+  @Test
+  public void adaptedValuesTest() {
+    MotionEvent downEvent = TestUtils.INSTANCE.getMotionEvent(
+      MotionEvent.ACTION_DOWN, new float[] {100}, new float[] {200}, 0, null);
+    MotionEvent event = TestUtils.INSTANCE.getMotionEvent(
+      MotionEvent.ACTION_POINTER_DOWN, new float[] {100, 300}, new float[] {200, 400}, 1, downEvent);
+    event.offsetLocation(-10, -20);
+
+    MotionEventTouchSample sample = new MotionEventTouchSample().wrap(event);
+    assertEquals(TouchSample.ACTION_POINTER_DOWN, sample.getActionMasked());
+    assertEquals(1, sample.getActionIndex());
+    assertEquals(event.getEventTime(), sample.getEventTime());
+    assertEquals(2, sample.getPointerCount());
+    assertEquals(1, sample.getPointerId(1));
+    assertEquals(290f, sample.getX(1), 0f);
+    assertEquals(380f, sample.getY(1), 0f);
+    assertEquals(1f, sample.getPressure(1), 0f);
+    assertEquals(10f, sample.getRawOffsetX(), 0f);
+    assertEquals(20f, sample.getRawOffsetY(), 0f);
+  }
+
+  @Test
+  public void actionConstantsTest() {
+    assertEquals(MotionEvent.ACTION_DOWN, TouchSample.ACTION_DOWN);
+    assertEquals(MotionEvent.ACTION_UP, TouchSample.ACTION_UP);
+    assertEquals(MotionEvent.ACTION_MOVE, TouchSample.ACTION_MOVE);
+    assertEquals(MotionEvent.ACTION_CANCEL, TouchSample.ACTION_CANCEL);
+    assertEquals(MotionEvent.ACTION_POINTER_DOWN, TouchSample.ACTION_POINTER_DOWN);
+    assertEquals(MotionEvent.ACTION_POINTER_UP, TouchSample.ACTION_POINTER_UP);
+  }
+}
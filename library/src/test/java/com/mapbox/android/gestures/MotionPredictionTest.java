@@ -0,0 +1,228 @@
+package com.mapbox.android.gestures;
+
+import android.graphics.PointF;
+
+import androidx.annotation.NonNull;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.mapbox.android.gestures.ProgressiveGesture.PREDICTION_STRATEGY_KALMAN;
+import static com.mapbox.android.gestures.ProgressiveGesture.PREDICTION_STRATEGY_LINEAR;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class MotionPredictionTest extends AbstractGesturesManagerTest {
+  // interval of the corpus traces replayed below
+  private static final long FRAME_MILLIS = 8;
+
+  private MoveGestureDetector moveGestureDetector;
+  private StandardScaleGestureDetector scaleGestureDetector;
+  private final List<PointF> focalPoints = new ArrayList<>();
+  private final List<PointF> predictedFocalPoints = new ArrayList<>();
+
+  @Before
+  public void setUp() {
+    moveGestureDetector = androidGesturesManager.getMoveGestureDetector();
+    scaleGestureDetector = androidGesturesManager.getStandardScaleGestureDetector();
+  }
+
+  @Test
+  public void noPredictionWithoutHorizonTest() {
+    androidGesturesManager.setMoveGestureListener(new MoveGestureDetector.SimpleOnMoveGestureListener() {
+      @Override
+      public boolean onMove(@NonNull MoveGestureDetector detector, float distanceX, float distanceY) {
+        recordFocalPoint(detector);
+        return true;
+      }
+    });
+    replay(GestureCorpus.events("move_fling_diagonal"));
+
+    assertEquals(focalPoints, predictedFocalPoints);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void unknownStrategyTest() {
+    moveGestureDetector.setPredictionStrategy(0);
+  }
+
+  @Test
+  public void moveFocalPointPredictionTest() {
+    for (int strategy : new int[] {PREDICTION_STRATEGY_LINEAR, PREDICTION_STRATEGY_KALMAN}) {
+      moveGestureDetector.setPredictionStrategy(strategy);
+      moveGestureDetector.setPredictionHorizon(FRAME_MILLIS);
+      focalPoints.clear();
+      predictedFocalPoints.clear();
+      androidGesturesManager.setMoveGestureListener(new MoveGestureDetector.SimpleOnMoveGestureListener() {
+        @Override
+        public boolean onMove(@NonNull MoveGestureDetector detector, float distanceX, float distanceY) {
+          recordFocalPoint(detector);
+          return true;
+        }
+      });
+
+      replay(GestureCorpus.events("move_fling_diagonal"));
+
+      assertTrue(focalPoints.size() > 5);
+      // after a couple of samples, each prediction lands on the next focal point of the steady fling
+      for (int i = 3; i < focalPoints.size() - 1; i++) {
+        PointF next = focalPoints.get(i + 1);
+        PointF predicted = predictedFocalPoints.get(i);
+        String message = "strategy " + strategy + ", move " + i;
+        assertEquals(message, next.x, predicted.x, 0.5f);
+        assertEquals(message, next.y, predicted.y, 0.5f);
+      }
+    }
+  }
+
+  @Test
+  public void scaleSpanPredictionTest() {
+    scaleGestureDetector.setPredictionHorizon(FRAME_MILLIS);
+    final List<Float> spans = new ArrayList<>();
+    final List<Float> predictedSpans = new ArrayList<>();
+    final List<Float> predictedScaleFactors = new ArrayList<>();
+    androidGesturesManager.setStandardScaleGestureListener(
+      new StandardScaleGestureDetector.SimpleStandardOnScaleGestureListener() {
+        @Override
+        public boolean onScale(@NonNull StandardScaleGestureDetector detector) {
+          spans.add(detector.getCurrentSpan());
+          predictedSpans.add(detector.getPredictedSpan());
+          predictedScaleFactors.add(detector.getPredictedScaleFactor());
+          return true;
+        }
+      });
+
+    replay(GestureCorpus.events("scale_pinch_out_fast_release"));
+
+    assertTrue(spans.size() > 3);
+    for (int i = 1; i < spans.size() - 1; i++) {
+      assertEquals(spans.get(i + 1), predictedSpans.get(i), 0.5f);
+      assertEquals(spans.get(i + 1) / spans.get(i), predictedScaleFactors.get(i), 0.005f);
+    }
+  }
+
+  @Test
+  public void predictionStartsOverWhenPointersChangeTest() {
+    moveGestureDetector.setPredictionHorizon(FRAME_MILLIS);
+    androidGesturesManager.setMoveGestureListener(new MoveGestureDetector.SimpleOnMoveGestureListener() {
+      @Override
+      public boolean onMove(@NonNull MoveGestureDetector detector, float distanceX, float distanceY) {
+        recordFocalPoint(detector);
+        return true;
+      }
+    });
+
+    replay(GestureCorpus.events("move_after_lifting_second_finger"));
+
+    // the first move after lifting the finger has no history, the focal point jump isn't extrapolated
+    int firstAfterLifting = 0;
+    for (int i = 1; i < focalPoints.size(); i++) {
+      if (Math.abs(focalPoints.get(i).x - focalPoints.get(i - 1).x) > 1) {
+        firstAfterLifting = i;
+        break;
+      }
+    }
+    assertTrue(firstAfterLifting > 0);
+    assertEquals(focalPoints.get(firstAfterLifting), predictedFocalPoints.get(firstAfterLifting));
+  }
+
+  @Test
+  public void rotateFocalPointPredictionTest() {
+    RotateGestureDetector rotateGestureDetector = androidGesturesManager.getRotateGestureDetector();
+    rotateGestureDetector.setAngleThreshold(0);
+    rotateGestureDetector.setPredictionHorizon(FRAME_MILLIS);
+    androidGesturesManager.setRotateGestureListener(new RotateGestureDetector.SimpleOnRotateGestureListener() {
+      @Override
+      public boolean onRotate(@NonNull RotateGestureDetector detector, float rotationDegreesSinceLast,
+                              float rotationDegreesSinceFirst) {
+        recordFocalPoint(detector);
+        return true;
+      }
+    });
+
+    replay(GestureTrace.builder("twist_and_pan").interval(FRAME_MILLIS)
+      .down(100, 235).down(220, 235).transform(20, 50, 50, 0, 60).upAll().build().events);
+
+    assertNextFocalPointsPredicted();
+  }
+
+  @Test
+  public void shoveFocalPointPredictionTest() {
+    ShoveGestureDetector shoveGestureDetector = androidGesturesManager.getShoveGestureDetector();
+    shoveGestureDetector.setPredictionHorizon(FRAME_MILLIS);
+    androidGesturesManager.setShoveGestureListener(new ShoveGestureDetector.SimpleOnShoveGestureListener() {
+      @Override
+      public boolean onShove(@NonNull ShoveGestureDetector detector, float deltaPixelsSinceLast,
+                             float deltaPixelsSinceStart) {
+        recordFocalPoint(detector);
+        return true;
+      }
+    });
+
+    replay(GestureTrace.builder("shove_down").interval(FRAME_MILLIS)
+      .down(80, 80).down(240, 80).moveBy(20, 0, 300).upAll().build().events);
+
+    assertNextFocalPointsPredicted();
+  }
+
+  @Test
+  public void sidewaysShoveFocalPointPredictionTest() {
+    SidewaysShoveGestureDetector sidewaysShoveGestureDetector =
+      androidGesturesManager.getSidewaysShoveGestureDetector();
+    sidewaysShoveGestureDetector.setPredictionHorizon(FRAME_MILLIS);
+    androidGesturesManager.setSidewaysShoveGestureListener(
+      new SidewaysShoveGestureDetector.SimpleOnSidewaysShoveGestureListener() {
+        @Override
+        public boolean onSidewaysShove(@NonNull SidewaysShoveGestureDetector detector, float deltaPixelsSinceLast,
+                                       float deltaPixelsSinceStart) {
+          recordFocalPoint(detector);
+          return true;
+        }
+      });
+
+    replay(GestureTrace.builder("sideways_shove_right").interval(FRAME_MILLIS)
+      .down(40, 150).down(40, 320).moveBy(20, 240, 0).upAll().build().events);
+
+    assertNextFocalPointsPredicted();
+  }
+
+  @Test
+  public void transformFocalPointPredictionTest() {
+    TransformGestureDetector transformGestureDetector = androidGesturesManager.getTransformGestureDetector();
+    transformGestureDetector.setPredictionHorizon(FRAME_MILLIS);
+    androidGesturesManager.setTransformGestureListener(new TransformGestureDetector.SimpleOnTransformGestureListener() {
+      @Override
+      public boolean onTransform(@NonNull TransformGestureDetector detector, float distanceX, float distanceY,
+                                 float scaleFactor, float rotationDegrees) {
+        recordFocalPoint(detector);
+        return true;
+      }
+    });
+
+    replay(GestureTrace.builder("pinch_and_pan").interval(FRAME_MILLIS)
+      .down(100, 235).down(220, 235).transform(20, 50, 50, 40, 0).upAll().build().events);
+
+    assertNextFocalPointsPredicted();
+  }
+
+  private void recordFocalPoint(ProgressiveGesture<?> detector) {
+    focalPoints.add(detector.getFocalPoint());
+    predictedFocalPoints.add(detector.getPredictedFocalPoint(new PointF()));
+  }
+
+  /**
+   * After a couple of samples, each recorded prediction lands on the next focal point of the steady motion.
+   */
+  private void assertNextFocalPointsPredicted() {
+    assertTrue(focalPoints.size() > 5);
+    for (int i = 3; i < focalPoints.size() - 1; i++) {
+      PointF next = focalPoints.get(i + 1);
+      PointF predicted = predictedFocalPoints.get(i);
+      assertEquals("event " + i, next.x, predicted.x, 0.5f);
+      assertEquals("event " + i, next.y, predicted.y, 0.5f);
+    }
+  }
+}
@@ -223,4 +223,32 @@ public class MoveGestureDetectorTest extends
     assertFalse("Distances should be reset after adding a finger",
       gestureDetector.checkAnyMoveAboveThreshold());
   }
-}
\ No newline at end of file
+
+  @Test
+  public void historicalSamplesThresholdTest() {
+    doReturn(true).when(listener).onMoveBegin(gestureDetector);
+    doReturn(true).when(gestureDetector).checkPressure();
+    doReturn(false).when(gestureDetector).isSloppyGesture();
+    gestureDetector.setMoveThreshold(50f);
+
+    moveOutAndBackWithinBatch();
+    verify(listener, never()).onMoveBegin(gestureDetector);
+
+    gestureDetector.setHistoricalSamplesEnabled(true);
+    moveOutAndBackWithinBatch();
+    verify(listener, times(1)).onMoveBegin(gestureDetector);
+  }
+
+  private void moveOutAndBackWithinBatch() {
+    MotionEvent downEvent = TestUtils.INSTANCE.getMotionEvent(MotionEvent.ACTION_DOWN, 100, 100, null);
+    gestureDetector.onTouchEvent(downEvent);
+    MotionEvent moveEvent = TestUtils.INSTANCE.getMotionEvent(MotionEvent.ACTION_MOVE, 160, 100, downEvent);
+    MotionEvent.PointerCoords coords = new MotionEvent.PointerCoords();
+    coords.x = 110;
+    coords.y = 100;
+    coords.pressure = 1f;
+    moveEvent.addBatch(moveEvent.getEventTime() + 1, new MotionEvent.PointerCoords[] {coords}, 0);
+    gestureDetector.onTouchEvent(moveEvent);
+    gestureDetector.onTouchEvent(TestUtils.INSTANCE.getMotionEvent(MotionEvent.ACTION_UP, 110, 100, moveEvent));
+  }
+}
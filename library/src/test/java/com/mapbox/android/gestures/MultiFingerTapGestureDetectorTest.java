@@ -6,8 +6,6 @@ import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mockito;
 
-import java.util.HashMap;
-
 import static junit.framework.Assert.assertFalse;
 import static junit.framework.Assert.assertTrue;
 import static org.mockito.Mockito.doReturn;
@@ -83,13 +81,13 @@ public class MultiFingerTapGestureDetectorTest
   @Test
   public void twoFingerTapMovementTest() {
     when(
-      gestureDetector.exceededMovementThreshold(gestureDetector.pointersDistanceMap))
+      gestureDetector.exceededMovementThreshold(gestureDetector.pointersDistanceMatrix))
       .thenReturn(false);
     dispatchMovement();
     verify(listener, times(1)).onMultiFingerTap(gestureDetector, 2);
 
     when(
-      gestureDetector.exceededMovementThreshold(gestureDetector.pointersDistanceMap))
+      gestureDetector.exceededMovementThreshold(gestureDetector.pointersDistanceMatrix))
       .thenReturn(true);
     dispatchMovement();
     verify(listener, times(1)).onMultiFingerTap(gestureDetector, 2);
@@ -109,19 +107,20 @@ public class MultiFingerTapGestureDetectorTest
     float prevY = 100;
     float currX = 100;
     float currY = 100;
-    final HashMap<PointerDistancePair, MultiFingerDistancesObject> map = new HashMap<>();
-    map.put(new PointerDistancePair(0, 1), new MultiFingerDistancesObject(
+    final PointerDistancesMatrix matrix = new PointerDistancesMatrix();
+    matrix.reset(2);
+    matrix.set(0, 1,
       prevX, prevY,
       currX, currY
-    ));
-    assertFalse(gestureDetector.exceededMovementThreshold(map));
+    );
+    assertFalse(gestureDetector.exceededMovementThreshold(matrix));
 
-    map.clear();
-    map.put(new PointerDistancePair(0, 1), new MultiFingerDistancesObject(
+    matrix.reset(2);
+    matrix.set(0, 1,
       prevX, prevY,
       currX + gestureDetector.getMultiFingerTapMovementThreshold() + 0.5f, currY
-    ));
-    assertTrue(gestureDetector.exceededMovementThreshold(map));
+    );
+    assertTrue(gestureDetector.exceededMovementThreshold(matrix));
   }
 
   private void dispatchDown() {
@@ -0,0 +1,131 @@
+package com.mapbox.android.gestures;
+
+import android.view.MotionEvent;
+
+import androidx.annotation.NonNull;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class MultiPointerRotationTest extends AbstractGesturesManagerTest {
+  private static final int FINGERS_COUNT = 4;
+  private static final int STEPS = 20;
+  private static final float TWIST_DEGREES = 30;
+
+  private RotateGestureDetector rotateGestureDetector;
+  private RotationRecorder recorder;
+
+  @Before
+  public void setUp() {
+    rotateGestureDetector = androidGesturesManager.getRotateGestureDetector();
+    rotateGestureDetector.setAngleThreshold(0);
+    recorder = new RotationRecorder();
+    androidGesturesManager.setRotateGestureListener(recorder);
+  }
+
+  @Test
+  public void rigidTwistTest() {
+    rotateGestureDetector.setMultiPointerRotationEnabled(true);
+
+    replay(GestureTrace.builder("three_finger_twist")
+      .down(160, 165).down(221, 270).down(99, 270).rotate(STEPS, TWIST_DEGREES).upAll().build().events);
+
+    assertEquals(1, recorder.endCount);
+    // clockwise turn, same sign as with two pointers
+    assertEquals(-TWIST_DEGREES, recorder.rotationDegreesSinceFirst, 0.01f);
+  }
+
+  @Test
+  public void landingOrderDoesNotMatterTest() {
+    rotateGestureDetector.setMultiPointerRotationEnabled(true);
+
+    replay(createNoisyTwist(new int[] {0, 1, 2, 3}));
+    float rotation = recorder.rotationDegreesSinceFirst;
+    replay(createNoisyTwist(new int[] {2, 0, 3, 1}));
+
+    assertEquals(2, recorder.endCount);
+    assertEquals(rotation, recorder.rotationDegreesSinceFirst, 0.001f);
+    assertEquals(-TWIST_DEGREES, rotation, 1f);
+  }
+
+  @Test
+  public void firstPairOnlyWhenDisabledTest() {
+    replay(createNoisyTwist(new int[] {0, 1, 2, 3}));
+    float rotation = recorder.rotationDegreesSinceFirst;
+    replay(createNoisyTwist(new int[] {2, 0, 3, 1}));
+
+    // the jitter of the first two fingers differs between the orders
+    assertTrue(Math.abs(rotation - recorder.rotationDegreesSinceFirst) > 0.1f);
+  }
+
+  /**
+   * Four fingers around a center, twisted clockwise with a deterministic jitter of each finger,
+   * landing in the passed order.
+   */
+  private static List<MotionEvent> createNoisyTwist(int[] landingOrder) {
+    Random random = new Random(42);
+    float[][] xs = new float[STEPS + 1][FINGERS_COUNT];
+    float[][] ys = new float[STEPS + 1][FINGERS_COUNT];
+    for (int step = 0; step <= STEPS; step++) {
+      for (int finger = 0; finger < FINGERS_COUNT; finger++) {
+        double angle = Math.toRadians(finger * 90 + TWIST_DEGREES * step / STEPS);
+        xs[step][finger] = (float) (160 + 80 * Math.cos(angle) + random.nextGaussian() * 2);
+        ys[step][finger] = (float) (235 + 80 * Math.sin(angle) + random.nextGaussian() * 2);
+      }
+    }
+
+    List<MotionEvent> events = new ArrayList<>();
+    long time = 1000;
+    for (int count = 1; count <= FINGERS_COUNT; count++) {
+      int action = count == 1 ? MotionEvent.ACTION_DOWN : MotionEvent.ACTION_POINTER_DOWN;
+      events.add(event(action, xs[0], ys[0], landingOrder, count, count - 1, time));
+      time += 16;
+    }
+    for (int step = 1; step <= STEPS; step++) {
+      events.add(event(MotionEvent.ACTION_MOVE, xs[step], ys[step], landingOrder, FINGERS_COUNT, 0, time));
+      time += 16;
+    }
+    for (int count = FINGERS_COUNT; count >= 1; count--) {
+      int action = count == 1 ? MotionEvent.ACTION_UP : MotionEvent.ACTION_POINTER_UP;
+      events.add(event(action, xs[STEPS], ys[STEPS], landingOrder, count, count - 1, time));
+      time += 16;
+    }
+    return events;
+  }
+
+  private static MotionEvent event(int action, float[] fingerXs, float[] fingerYs, int[] landingOrder,
+                                   int pointersCount, int actionIndex, long time) {
+    float[] xs = new float[pointersCount];
+    float[] ys = new float[pointersCount];
+    for (int i = 0; i < pointersCount; i++) {
+      xs[i] = fingerXs[landingOrder[i]];
+      ys[i] = fingerYs[landingOrder[i]];
+    }
+    return TestUtils.INSTANCE.getMotionEvent(action, xs, ys, actionIndex, 1000, time);
+  }
+
+  private static class RotationRecorder extends RotateGestureDetector.SimpleOnRotateGestureListener {
+    int endCount;
+    float rotationDegreesSinceFirst;
+
+    @Override
+    public boolean onRotate(@NonNull RotateGestureDetector detector, float rotationDegreesSinceLast,
+                            float rotationDegreesSinceFirst) {
+      this.rotationDegreesSinceFirst = rotationDegreesSinceFirst;
+      return true;
+    }
+
+    @Override
+    public void onRotateEnd(@NonNull RotateGestureDetector detector, float velocityX, float velocityY,
+                            float angularVelocity) {
+      endCount++;
+    }
+  }
+}
@@ -16,6 +16,9 @@ public class PointersManagementTest extends
 
   @Override
   StandardScaleGestureDetector getDetectorObject() {
+    // detectors without a listener don't track pointers
+    androidGesturesManager.setStandardScaleGestureListener(
+      new StandardScaleGestureDetector.SimpleStandardOnScaleGestureListener());
     return spy(androidGesturesManager.getStandardScaleGestureDetector());
   }
 
@@ -1,10 +1,12 @@
 package com.mapbox.android.gestures;
 
 import android.graphics.PointF;
+import android.view.MotionEvent;
 
 import org.junit.Test;
 
 import static junit.framework.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
@@ -64,17 +66,67 @@ public class RotateGestureDetectorTest extends
   public void getRotationDegreesSinceLastTest() {
     gestureDetector.pointerIdList.add(0);
     gestureDetector.pointerIdList.add(1);
-    gestureDetector.pointersDistanceMap.put(
-      new PointerDistancePair(0, 1),
-      new MultiFingerDistancesObject(300, 0, 275, 15)
-    );
+    gestureDetector.pointersDistanceMatrix.reset(2);
+    gestureDetector.pointersDistanceMatrix.set(0, 1, 300, 0, 275, 15);
 
     assertEquals(-3.1221304f, gestureDetector.getRotationDegreesSinceLast());
   }
 
   @Test
   public void calculateAngularVelocityVectorTest() {
-    when(gestureDetector.getFocalPoint()).thenReturn(new PointF(150f, 150f));
+    doReturn(new PointF(150f, 150f)).when(gestureDetector).getFocalPoint(any(PointF.class));
     assertEquals(3.6f, gestureDetector.calculateAngularVelocityVector(725, 355));
   }
-}
\ No newline at end of file
+
+  @Test
+  public void historicalSamplesTest() {
+    gestureDetector.setSpanThreshold(0);
+    assertEquals(60f, rotateThroughHistoricalSamples(), 0.001f);
+
+    // turn by 300 degrees split into 3 samples is no longer folded into a single 60 degrees turn
+    gestureDetector.setHistoricalSamplesEnabled(true);
+    assertEquals(-300f, rotateThroughHistoricalSamples(), 0.001f);
+  }
+
+  private float rotateThroughHistoricalSamples() {
+    MotionEvent event = TestUtils.INSTANCE.getMotionEvent(
+      MotionEvent.ACTION_DOWN, new float[] {200}, new float[] {200}, 0, null);
+    gestureDetector.onTouchEvent(event);
+    event = TestUtils.INSTANCE.getMotionEvent(
+      MotionEvent.ACTION_POINTER_DOWN, new float[] {200, 300}, new float[] {200, 200}, 1, event);
+    gestureDetector.onTouchEvent(event);
+    event = TestUtils.INSTANCE.getMotionEvent(
+      MotionEvent.ACTION_MOVE, new float[] {200, 300}, new float[] {200, 200}, 0, event);
+    gestureDetector.onTouchEvent(event);
+
+    event = getRotatedMoveEvent(event, 100);
+    addRotatedBatch(event, 200);
+    addRotatedBatch(event, 300);
+    gestureDetector.onTouchEvent(event);
+    float rotation = gestureDetector.deltaSinceLast;
+
+    gestureDetector.onTouchEvent(TestUtils.INSTANCE.getMotionEvent(MotionEvent.ACTION_CANCEL, 200, 200, event));
+    return rotation;
+  }
+
+  private static MotionEvent getRotatedMoveEvent(MotionEvent previousEvent, double degrees) {
+    double radians = Math.toRadians(degrees);
+    return TestUtils.INSTANCE.getMotionEvent(MotionEvent.ACTION_MOVE,
+      new float[] {200, (float) (200 + 100 * Math.cos(radians))},
+      new float[] {200, (float) (200 + 100 * Math.sin(radians))},
+      0, previousEvent);
+  }
+
+  private static void addRotatedBatch(MotionEvent event, double degrees) {
+    double radians = Math.toRadians(degrees);
+    MotionEvent.PointerCoords first = new MotionEvent.PointerCoords();
+    first.x = 200;
+    first.y = 200;
+    first.pressure = 1f;
+    MotionEvent.PointerCoords second = new MotionEvent.PointerCoords();
+    second.x = (float) (200 + 100 * Math.cos(radians));
+    second.y = (float) (200 + 100 * Math.sin(radians));
+    second.pressure = 1f;
+    event.addBatch(event.getEventTime() + 1, new MotionEvent.PointerCoords[] {first, second}, 0);
+  }
+}
@@ -81,20 +81,16 @@ public class ShoveGestureDetectorTest extends
   public void isAngleAcceptableTest() {
     gestureDetector.pointerIdList.add(0);
     gestureDetector.pointerIdList.add(1);
-    gestureDetector.pointersDistanceMap.put(
-      new PointerDistancePair(0, 1),
-      new MultiFingerDistancesObject(300, 0, 275, 15)
-    );
+    gestureDetector.pointersDistanceMatrix.reset(2);
+    gestureDetector.pointersDistanceMatrix.set(0, 1, 300, 0, 275, 15);
     assertTrue(gestureDetector.isAngleAcceptable());
 
     gestureDetector.pointerIdList.clear();
-    gestureDetector.pointersDistanceMap.clear();
+    gestureDetector.pointersDistanceMatrix.reset(0);
     gestureDetector.pointerIdList.add(0);
     gestureDetector.pointerIdList.add(1);
-    gestureDetector.pointersDistanceMap.put(
-      new PointerDistancePair(0, 1),
-      new MultiFingerDistancesObject(300, 0, 275, 150)
-    );
+    gestureDetector.pointersDistanceMatrix.reset(2);
+    gestureDetector.pointersDistanceMatrix.set(0, 1, 300, 0, 275, 150);
     assertFalse(gestureDetector.isAngleAcceptable());
   }
 }
\ No newline at end of file
@@ -83,20 +83,16 @@ public class SidewaysShoveGestureDetectorTest extends
   public void isAngleAcceptableTest() {
     gestureDetector.pointerIdList.add(0);
     gestureDetector.pointerIdList.add(1);
-    gestureDetector.pointersDistanceMap.put(
-      new PointerDistancePair(0, 1),
-      new MultiFingerDistancesObject(0, 300, 15, 275)
-    );
+    gestureDetector.pointersDistanceMatrix.reset(2);
+    gestureDetector.pointersDistanceMatrix.set(0, 1, 0, 300, 15, 275);
     assertTrue(gestureDetector.isAngleAcceptable());
 
     gestureDetector.pointerIdList.clear();
-    gestureDetector.pointersDistanceMap.clear();
+    gestureDetector.pointersDistanceMatrix.reset(0);
     gestureDetector.pointerIdList.add(0);
     gestureDetector.pointerIdList.add(1);
-    gestureDetector.pointersDistanceMap.put(
-      new PointerDistancePair(0, 1),
-      new MultiFingerDistancesObject(0, 300, 150, 275)
-    );
+    gestureDetector.pointersDistanceMatrix.reset(2);
+    gestureDetector.pointersDistanceMatrix.set(0, 1, 0, 300, 150, 275);
     assertFalse(gestureDetector.isAngleAcceptable());
   }
 }
\ No newline at end of file
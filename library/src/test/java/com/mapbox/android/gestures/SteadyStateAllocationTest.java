@@ -0,0 +1,300 @@
+package com.mapbox.android.gestures;
+
+import android.view.MotionEvent;
+
+import androidx.annotation.NonNull;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Verifies that detectors don't allocate while a gesture is in progress.
+ * <p>
+ * Each detector is driven on its own through {@link AndroidGesturesManager#onTouchEvent(MotionEvent)}
+ * with a long, continuous motion, and the allocations sampled during the steady-state part of the motion
+ * are attributed to the library when it's the library's code that allocated.
+ * Allocations of the Robolectric shadows backing the platform classes are ignored,
+ * the platform pools and reuses these objects on a device.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class SteadyStateAllocationTest {
+  private static final int WARM_UP_MOVES_COUNT = 300;
+  private static final int MEASURED_MOVES_COUNT = 2000;
+  private static final int WARM_UP_FRAMES_COUNT = 5000;
+  private static final long EVENT_INTERVAL_MILLIS = 8;
+  private static final float CENTER_X = 160;
+  private static final float CENTER_Y = 235;
+  private static final String PACKAGE_PREFIX = "com.mapbox.android.gestures.";
+  /**
+   * The sampler occasionally reports a single allocation buffer's worth of bytes at a frame that doesn't allocate,
+   * when the JIT swaps the code that's running. An allocation repeated while the gesture is in progress
+   * fills dozens of the small buffers over the measured events, so a single sample isn't a failure.
+   */
+  private static final int MAX_SPURIOUS_SAMPLES_COUNT = 1;
+
+  private AndroidGesturesManager androidGesturesManager;
+  private long eventTime;
+
+  @Before
+  public void setUp() {
+    assumeTrue("Allocation sampling requires small fixed TLABs, see the unit test JVM arguments",
+      AllocationSampler.isSamplingDense());
+    androidGesturesManager = new AndroidGesturesManager(RuntimeEnvironment.application.getApplicationContext());
+    eventTime = 0;
+  }
+
+  @Test
+  public void moveDoesNotAllocateTest() {
+    androidGesturesManager.setMoveGestureListener(new MoveGestureDetector.SimpleOnMoveGestureListener());
+    verifyNoAllocations(androidGesturesManager.getMoveGestureDetector(), createPan());
+  }
+
+  @Test
+  public void moveWithVelocityEstimatorDoesNotAllocateTest() {
+    androidGesturesManager.setMoveGestureListener(new MoveGestureDetector.SimpleOnMoveGestureListener());
+    androidGesturesManager.getMoveGestureDetector()
+      .setVelocityStrategy(ProgressiveGesture.VELOCITY_STRATEGY_LEAST_SQUARES);
+    verifyNoAllocations(androidGesturesManager.getMoveGestureDetector(), createPan());
+  }
+
+  @Test
+  public void standardGestureDoesNotAllocateTest() {
+    androidGesturesManager.setStandardGestureListener(
+      new StandardGestureDetector.SimpleStandardOnGestureListener());
+    verifyNoAllocations(androidGesturesManager.getStandardGestureDetector(), createPan());
+  }
+
+  @Test
+  public void scaleDoesNotAllocateTest() {
+    androidGesturesManager.setStandardScaleGestureListener(
+      new StandardScaleGestureDetector.SimpleStandardOnScaleGestureListener());
+    verifyNoAllocations(androidGesturesManager.getStandardScaleGestureDetector(), createPinch());
+  }
+
+  @Test
+  public void rotateDoesNotAllocateTest() {
+    androidGesturesManager.setRotateGestureListener(new RotateGestureDetector.SimpleOnRotateGestureListener());
+    verifyNoAllocations(androidGesturesManager.getRotateGestureDetector(), createRotation());
+  }
+
+  @Test
+  public void transformDoesNotAllocateTest() {
+    androidGesturesManager.setTransformGestureListener(
+      new TransformGestureDetector.SimpleOnTransformGestureListener());
+    verifyNoAllocations(androidGesturesManager.getTransformGestureDetector(), createRotation());
+  }
+
+  @Test
+  public void shoveDoesNotAllocateTest() {
+    androidGesturesManager.setShoveGestureListener(new ShoveGestureDetector.SimpleOnShoveGestureListener());
+    verifyNoAllocations(androidGesturesManager.getShoveGestureDetector(), createShove(false));
+  }
+
+  @Test
+  public void sidewaysShoveDoesNotAllocateTest() {
+    androidGesturesManager.setSidewaysShoveGestureListener(
+      new SidewaysShoveGestureDetector.SimpleOnSidewaysShoveGestureListener());
+    verifyNoAllocations(androidGesturesManager.getSidewaysShoveGestureDetector(), createShove(true));
+  }
+
+  @Test
+  public void multiFingerTapDoesNotAllocateTest() {
+    androidGesturesManager.setMultiFingerTapGestureListener(
+      new MultiFingerTapGestureDetector.OnMultiFingerTapGestureListener() {
+        @Override
+        public boolean onMultiFingerTap(@NonNull MultiFingerTapGestureDetector detector, int pointersCount) {
+          return true;
+        }
+      });
+    verifyNoAllocations(androidGesturesManager.getMultiFingerTapGestureDetector(), createJitter());
+  }
+
+  @Test
+  public void inertiaDoesNotAllocateTest() {
+    final FakeFrameClock frameClock = new FakeFrameClock();
+    androidGesturesManager.setFrameClock(frameClock);
+    final InertiaEngine inertiaEngine = androidGesturesManager.getInertiaEngine();
+    inertiaEngine.setListener(new InertiaEngine.SimpleOnInertiaListener());
+    // low friction keeps the engine running for all of the frames
+    inertiaEngine.setDecayModel(InertiaEngine.DECAY_MODEL_FRICTION);
+    inertiaEngine.setFriction(0.01f);
+    inertiaEngine.flingMove(3000, 2000);
+    inertiaEngine.flingScale(2f);
+    inertiaEngine.flingRotate(200);
+    // frames are much cheaper than events, more of them are needed to reach the steady state
+    for (int i = 0; i < WARM_UP_FRAMES_COUNT; i++) {
+      frameClock.doFrame();
+    }
+    assertTrue(inertiaEngine.isRunning());
+
+    verifyNoAllocations("InertiaEngine allocated while running:", new Runnable() {
+      @Override
+      public void run() {
+        for (int i = 0; i < MEASURED_MOVES_COUNT; i++) {
+          frameClock.doFrame();
+        }
+      }
+    });
+    assertTrue(inertiaEngine.isRunning());
+  }
+
+  private void verifyNoAllocations(BaseGesture detector, List<MotionEvent> events) {
+    final List<MotionEvent> warmUpEvents = events.subList(0, events.size() - MEASURED_MOVES_COUNT);
+    final List<MotionEvent> measuredEvents = events.subList(warmUpEvents.size(), events.size());
+    for (MotionEvent event : warmUpEvents) {
+      androidGesturesManager.onTouchEvent(event);
+    }
+    assertGestureInProgress(detector);
+
+    verifyNoAllocations(detector.getClass().getSimpleName() + " allocated while the gesture was in progress:",
+      new Runnable() {
+        @Override
+        public void run() {
+          for (MotionEvent event : measuredEvents) {
+            androidGesturesManager.onTouchEvent(event);
+          }
+        }
+      });
+    assertGestureInProgress(detector);
+  }
+
+  private static void verifyNoAllocations(String failureMessage, Runnable measured) {
+    Function<Runnable, List<Object[]>> sampler = AllocationSampler.create();
+    List<Object[]> samples = sampler.apply(measured);
+
+    StringBuilder report = new StringBuilder();
+    int librarySamplesCount = 0;
+    for (Object[] sample : samples) {
+      String[] frames = (String[]) sample[2];
+      if (isAllocatedByLibrary(frames)) {
+        librarySamplesCount++;
+        report.append("\n").append(sample[0]).append(" (").append(sample[1]).append(" bytes)");
+        for (String frame : frames) {
+          if (frame.startsWith(PACKAGE_PREFIX)) {
+            report.append("\n    at ").append(frame);
+          }
+        }
+      }
+    }
+    if (librarySamplesCount > MAX_SPURIOUS_SAMPLES_COUNT) {
+      fail(failureMessage + report);
+    }
+  }
+
+  private static void assertGestureInProgress(BaseGesture detector) {
+    if (detector instanceof ProgressiveGesture) {
+      assertTrue(((ProgressiveGesture) detector).isInProgress());
+    }
+  }
+
+  /**
+   * The allocation belongs to the library if the first frame outside of the JDK is the library's code.
+   */
+  private static boolean isAllocatedByLibrary(String[] frames) {
+    for (String frame : frames) {
+      if (frame.startsWith("java.") || frame.startsWith("jdk.") || frame.startsWith("sun.")) {
+        continue;
+      }
+      return frame.startsWith(PACKAGE_PREFIX)
+        && !frame.startsWith(SteadyStateAllocationTest.class.getName())
+        && !frame.startsWith(AllocationSampler.class.getName());
+    }
+    return false;
+  }
+
+  private List<MotionEvent> createPan() {
+    List<MotionEvent> events = new ArrayList<>();
+    events.add(obtain(MotionEvent.ACTION_DOWN, 0, new float[] {CENTER_X}, new float[] {CENTER_Y + 80}));
+    for (int i = 1; i <= WARM_UP_MOVES_COUNT + MEASURED_MOVES_COUNT; i++) {
+      double angle = i / 25.0;
+      events.add(obtain(MotionEvent.ACTION_MOVE, 0,
+        new float[] {CENTER_X + (float) (80 * Math.sin(angle))},
+        new float[] {CENTER_Y + (float) (80 * Math.cos(angle))}));
+    }
+    return events;
+  }
+
+  private List<MotionEvent> createPinch() {
+    List<MotionEvent> events = addSecondPointer(CENTER_X - 80, CENTER_Y, CENTER_X + 80, CENTER_Y);
+    for (int i = 1; i <= WARM_UP_MOVES_COUNT + MEASURED_MOVES_COUNT; i++) {
+      float radius = 80 + (float) (30 * Math.sin(i / 20.0));
+      events.add(obtain(MotionEvent.ACTION_MOVE, 0,
+        new float[] {CENTER_X - radius, CENTER_X + radius}, new float[] {CENTER_Y, CENTER_Y}));
+    }
+    return events;
+  }
+
+  private List<MotionEvent> createRotation() {
+    List<MotionEvent> events = addSecondPointer(CENTER_X - 100, CENTER_Y, CENTER_X + 100, CENTER_Y);
+    for (int i = 1; i <= WARM_UP_MOVES_COUNT + MEASURED_MOVES_COUNT; i++) {
+      float diffX = (float) (100 * Math.cos(i * 0.02));
+      float diffY = (float) (100 * Math.sin(i * 0.02));
+      events.add(obtain(MotionEvent.ACTION_MOVE, 0,
+        new float[] {CENTER_X - diffX, CENTER_X + diffX}, new float[] {CENTER_Y - diffY, CENTER_Y + diffY}));
+    }
+    return events;
+  }
+
+  private List<MotionEvent> createShove(boolean sideways) {
+    List<MotionEvent> events = sideways
+      ? addSecondPointer(CENTER_X, CENTER_Y - 60, CENTER_X, CENTER_Y + 60)
+      : addSecondPointer(CENTER_X - 60, CENTER_Y, CENTER_X + 60, CENTER_Y);
+    for (int i = 1; i <= WARM_UP_MOVES_COUNT + MEASURED_MOVES_COUNT; i++) {
+      float offset = (float) (80 * Math.sin(i / 20.0));
+      events.add(sideways
+        ? obtain(MotionEvent.ACTION_MOVE, 0,
+        new float[] {CENTER_X + offset, CENTER_X + offset}, new float[] {CENTER_Y - 60, CENTER_Y + 60})
+        : obtain(MotionEvent.ACTION_MOVE, 0,
+        new float[] {CENTER_X - 60, CENTER_X + 60}, new float[] {CENTER_Y + offset, CENTER_Y + offset}));
+    }
+    return events;
+  }
+
+  private List<MotionEvent> createJitter() {
+    List<MotionEvent> events = addSecondPointer(CENTER_X - 60, CENTER_Y, CENTER_X + 60, CENTER_Y);
+    for (int i = 1; i <= WARM_UP_MOVES_COUNT + MEASURED_MOVES_COUNT; i++) {
+      float offset = i % 2 == 0 ? 1 : -1;
+      events.add(obtain(MotionEvent.ACTION_MOVE, 0,
+        new float[] {CENTER_X - 60 + offset, CENTER_X + 60 + offset}, new float[] {CENTER_Y, CENTER_Y}));
+    }
+    return events;
+  }
+
+  private List<MotionEvent> addSecondPointer(float firstX, float firstY, float secondX, float secondY) {
+    List<MotionEvent> events = new ArrayList<>();
+    events.add(obtain(MotionEvent.ACTION_DOWN, 0, new float[] {firstX}, new float[] {firstY}));
+    events.add(obtain(MotionEvent.ACTION_POINTER_DOWN, 1,
+      new float[] {firstX, secondX}, new float[] {firstY, secondY}));
+    return events;
+  }
+
+  private MotionEvent obtain(int actionMasked, int actionIndex, float[] xs, float[] ys) {
+    MotionEvent.PointerProperties[] properties = new MotionEvent.PointerProperties[xs.length];
+    MotionEvent.PointerCoords[] coords = new MotionEvent.PointerCoords[xs.length];
+    for (int i = 0; i < xs.length; i++) {
+      properties[i] = new MotionEvent.PointerProperties();
+      properties[i].id = i;
+      properties[i].toolType = MotionEvent.TOOL_TYPE_FINGER;
+      coords[i] = new MotionEvent.PointerCoords();
+      coords[i].x = xs[i];
+      coords[i].y = ys[i];
+      coords[i].pressure = 1f;
+      coords[i].size = 1f;
+    }
+    int action = actionMasked == MotionEvent.ACTION_POINTER_DOWN
+      ? actionMasked | (actionIndex << MotionEvent.ACTION_POINTER_INDEX_SHIFT) : actionMasked;
+    eventTime += EVENT_INTERVAL_MILLIS;
+    return MotionEvent.obtain(0, eventTime, action, xs.length, properties, coords, 0, 0, 1f, 1f, 0, 0, 0, 0);
+  }
+}
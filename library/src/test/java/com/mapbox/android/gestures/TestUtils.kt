@@ -10,13 +10,24 @@ object TestUtils {
     pointerYs: FloatArray,
     actionIndex: Int,
     previousEvent: MotionEvent? = null
+  ): MotionEvent {
+    val currentTime = System.currentTimeMillis()
+    return getMotionEvent(actionMasked, pointerXs, pointerYs, actionIndex, previousEvent?.downTime ?: currentTime,
+      currentTime)
+  }
+
+  fun getMotionEvent(
+    actionMasked: Int,
+    pointerXs: FloatArray,
+    pointerYs: FloatArray,
+    actionIndex: Int,
+    downTime: Long,
+    eventTime: Long
   ): MotionEvent {
     require(pointerXs.size == pointerYs.size) { "Pointer coordinates must have matching sizes" }
     require(pointerXs.isNotEmpty()) { "At least one pointer is required" }
     require(actionIndex in pointerXs.indices) { "Action index is out of pointer bounds" }
 
-    val currentTime = System.currentTimeMillis()
-    val downTime = previousEvent?.downTime ?: currentTime
     val pointerCount = pointerXs.size
 
     val action = when (actionMasked) {
@@ -45,7 +56,7 @@ object TestUtils {
 
     return MotionEvent.obtain(
       downTime,
-      currentTime,
+      eventTime,
       action,
       pointerCount,
       properties,
@@ -0,0 +1,355 @@
+package com.mapbox.android.gestures;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.view.MotionEvent;
+
+import androidx.annotation.NonNull;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.robolectric.Shadows.shadowOf;
+
+@RunWith(RobolectricTestRunner.class)
+public class TouchRecordingTest {
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private Context context;
+  private File file;
+
+  @Before
+  public void setUp() throws IOException {
+    context = RuntimeEnvironment.application.getApplicationContext();
+    file = temporaryFolder.newFile("gestures.touch");
+  }
+
+  @Test
+  public void replayIsBitExactTest() throws IOException {
+    List<MotionEvent> events = createGesture();
+    CapturingGesturesManager recordingManager = new CapturingGesturesManager(context);
+    TouchRecorder recorder = new TouchRecorder(new FileOutputStream(file));
+    recordingManager.setTouchRecorder(recorder);
+    for (MotionEvent event : events) {
+      recordingManager.onTouchEvent(event);
+    }
+    recorder.close();
+
+    CapturingGesturesManager replayingManager = new CapturingGesturesManager(context);
+    TouchReplayer replayer = new TouchReplayer(file);
+    assertEquals(events.size(), replayer.replay(replayingManager));
+    assertEquals(recordingManager.capturedEvents, replayingManager.capturedEvents);
+
+    // replaying again starts over
+    replayingManager.capturedEvents.clear();
+    assertEquals(events.size(), replayer.replay(replayingManager));
+    assertEquals(recordingManager.capturedEvents, replayingManager.capturedEvents);
+    replayer.close();
+  }
+
+  @Test
+  public void fractionalRawOffsetReplayIsBitExactTest() throws IOException {
+    // view coordinates that don't survive adding and subtracting the raw offset, (0.1f + 63f) - 63f != 0.1f
+    float[] xs = {0.1f, 1 / 3f, 0.7f};
+    float rawOffsetX = 63f;
+    float rawOffsetY = -17.91f;
+    byte[] buffer = new byte[256];
+    int size = 0;
+    for (byte magicByte : TouchRecordingFormat.MAGIC) {
+      buffer[size++] = magicByte;
+    }
+    size = TouchRecordingFormat.writeVarint(buffer, size, TouchRecordingFormat.VERSION);
+    int previousXBits = 0;
+    for (int i = 0; i < xs.length; i++) {
+      int action = i == 0 ? MotionEvent.ACTION_DOWN
+        : i == xs.length - 1 ? MotionEvent.ACTION_UP : MotionEvent.ACTION_MOVE;
+      size = TouchRecordingFormat.writeVarint(buffer, size, action);
+      // a single pointer with ID 0, without history
+      size = TouchRecordingFormat.writeVarint(buffer, size, 1);
+      size = TouchRecordingFormat.writeVarint(buffer, size, 0);
+      size = TouchRecordingFormat.writeVarint(buffer, size, 0);
+      boolean isFirst = i == 0;
+      size = writeDiff(buffer, size, isFirst ? 1000 : 0);
+      size = writeDiff(buffer, size, isFirst ? Float.floatToRawIntBits(rawOffsetX) : 0);
+      size = writeDiff(buffer, size, isFirst ? Float.floatToRawIntBits(rawOffsetY) : 0);
+      size = writeDiff(buffer, size, isFirst ? 1000 : 16);
+      size = writeDiff(buffer, size, Float.floatToRawIntBits(xs[i]) - previousXBits);
+      previousXBits = Float.floatToRawIntBits(xs[i]);
+      size = writeDiff(buffer, size, isFirst ? Float.floatToRawIntBits(0.3f) : 0);
+      size = writeDiff(buffer, size, isFirst ? Float.floatToRawIntBits(1f) : 0);
+    }
+    FileOutputStream outputStream = new FileOutputStream(file);
+    outputStream.write(buffer, 0, size);
+    outputStream.close();
+
+    CapturingGesturesManager manager = new CapturingGesturesManager(context);
+    TouchReplayer replayer = new TouchReplayer(file);
+    assertEquals(xs.length, replayer.replay(manager));
+    for (int i = 0; i < xs.length; i++) {
+      String expected = " raw " + Float.floatToRawIntBits(rawOffsetX) + ' ' + Float.floatToRawIntBits(rawOffsetY)
+        + " | " + (i * 16) + " #0 " + Float.floatToRawIntBits(xs[i]) + ' ' + Float.floatToRawIntBits(0.3f)
+        + ' ' + Float.floatToRawIntBits(1f);
+      assertTrue(manager.capturedEvents.get(i), manager.capturedEvents.get(i).endsWith(expected));
+    }
+
+    // recording the replay again gives the same recording
+    File rerecordedFile = temporaryFolder.newFile("rerecorded.touch");
+    TouchRecorder recorder = new TouchRecorder(new FileOutputStream(rerecordedFile));
+    manager.setTouchRecorder(recorder);
+    replayer.replay(manager);
+    recorder.close();
+    CapturingGesturesManager rerecordedManager = new CapturingGesturesManager(context);
+    new TouchReplayer(rerecordedFile).replay(rerecordedManager);
+    assertEquals(manager.capturedEvents.subList(0, xs.length), rerecordedManager.capturedEvents);
+    replayer.close();
+  }
+
+  @Test
+  public void replayWithOriginalTimingTest() throws IOException {
+    TouchRecorder recorder = new TouchRecorder(new FileOutputStream(file));
+    recorder.record(obtain(MotionEvent.ACTION_DOWN, 1000, 100));
+    recorder.record(obtain(MotionEvent.ACTION_MOVE, 1100, 150));
+    recorder.record(obtain(MotionEvent.ACTION_UP, 1250, 150));
+    recorder.close();
+
+    CapturingGesturesManager manager = new CapturingGesturesManager(context);
+    TouchReplayer replayer = new TouchReplayer(file);
+    long startTime = SystemClock.uptimeMillis();
+    RecordingReplayListener listener = new RecordingReplayListener();
+    replayer.replayWithOriginalTiming(manager, new Handler(Looper.getMainLooper()), listener);
+
+    shadowOf(Looper.getMainLooper()).idle();
+    assertEquals(1, manager.capturedEvents.size());
+    shadowOf(Looper.getMainLooper()).idleFor(99, TimeUnit.MILLISECONDS);
+    assertEquals(1, manager.capturedEvents.size());
+    shadowOf(Looper.getMainLooper()).idleFor(1, TimeUnit.MILLISECONDS);
+    assertEquals(2, manager.capturedEvents.size());
+    assertEquals(startTime + 100, manager.lastEventTime);
+    assertFalse(listener.finished);
+    shadowOf(Looper.getMainLooper()).idleFor(150, TimeUnit.MILLISECONDS);
+    assertEquals(3, manager.capturedEvents.size());
+    assertEquals(startTime + 250, manager.lastEventTime);
+    assertTrue(listener.finished);
+    assertNull(listener.failure);
+  }
+
+  @Test
+  public void truncatedRecordingFailsTimedReplayTest() throws IOException {
+    FileOutputStream outputStream = new FileOutputStream(file);
+    TouchRecorder recorder = new TouchRecorder(outputStream);
+    recorder.record(obtain(MotionEvent.ACTION_DOWN, 1000, 100));
+    recorder.record(obtain(MotionEvent.ACTION_UP, 1100, 100));
+    recorder.flush();
+    outputStream.getChannel().truncate(file.length() - 1);
+    recorder.close();
+
+    CapturingGesturesManager manager = new CapturingGesturesManager(context);
+    RecordingReplayListener listener = new RecordingReplayListener();
+    new TouchReplayer(file).replayWithOriginalTiming(manager, new Handler(Looper.getMainLooper()), listener);
+    shadowOf(Looper.getMainLooper()).idleFor(1, TimeUnit.SECONDS);
+    assertEquals(1, manager.capturedEvents.size());
+    assertFalse(listener.finished);
+    assertNotNull(listener.failure);
+  }
+
+  @Test
+  public void cancelledReplayStopsTest() throws IOException {
+    TouchRecorder recorder = new TouchRecorder(new FileOutputStream(file));
+    recorder.record(obtain(MotionEvent.ACTION_DOWN, 1000, 100));
+    recorder.record(obtain(MotionEvent.ACTION_UP, 1100, 100));
+    recorder.close();
+
+    CapturingGesturesManager manager = new CapturingGesturesManager(context);
+    TouchReplayer replayer = new TouchReplayer(file);
+    replayer.replayWithOriginalTiming(manager, new Handler(Looper.getMainLooper()), null);
+    shadowOf(Looper.getMainLooper()).idle();
+    replayer.cancel();
+    shadowOf(Looper.getMainLooper()).idleFor(1, TimeUnit.SECONDS);
+    assertEquals(1, manager.capturedEvents.size());
+  }
+
+  @Test
+  public void notRecordingFailsTest() throws IOException {
+    FileOutputStream outputStream = new FileOutputStream(file);
+    outputStream.write(new byte[] {'M', 'B', 'T', 'X', 1});
+    outputStream.close();
+    try {
+      new TouchReplayer(file);
+      fail("Expected an IOException");
+    } catch (IOException expected) {
+      // expected
+    }
+  }
+
+  @Test
+  public void truncatedRecordingFailsTest() throws IOException {
+    FileOutputStream outputStream = new FileOutputStream(file);
+    TouchRecorder recorder = new TouchRecorder(outputStream);
+    recorder.record(obtain(MotionEvent.ACTION_DOWN, 1000, 100));
+    recorder.flush();
+    outputStream.getChannel().truncate(file.length() - 1);
+    recorder.close();
+
+    try {
+      new TouchReplayer(file).replay(new CapturingGesturesManager(context));
+      fail("Expected an IOException");
+    } catch (IOException expected) {
+      // expected
+    }
+  }
+
+  @Test
+  public void writingErrorIsThrownOnCloseTest() {
+    TouchRecorder recorder = new TouchRecorder(new OutputStream() {
+      @Override
+      public void write(int b) throws IOException {
+        throw new IOException("Disk full");
+      }
+    });
+    AndroidGesturesManager manager = new AndroidGesturesManager(context);
+    manager.setTouchRecorder(recorder);
+    manager.onTouchEvent(obtain(MotionEvent.ACTION_DOWN, 1000, 100));
+    try {
+      recorder.close();
+      fail("Expected an IOException");
+    } catch (IOException expected) {
+      assertEquals("Disk full", expected.getMessage());
+    }
+  }
+
+  /**
+   * Two fingers with historical samples, varying pressures, a raw offset and values that don't compress well.
+   */
+  private static List<MotionEvent> createGesture() {
+    List<MotionEvent> events = new ArrayList<>();
+    events.add(obtain(MotionEvent.ACTION_DOWN, 1000, 100));
+    MotionEvent pointerDown = obtain(MotionEvent.ACTION_POINTER_DOWN | (1 << MotionEvent.ACTION_POINTER_INDEX_SHIFT),
+      1008, 100, 300);
+    events.add(pointerDown);
+    for (int i = 0; i < 20; i++) {
+      long time = 1016 + i * 16;
+      MotionEvent move = obtain(MotionEvent.ACTION_MOVE, time, 100 + i * 3.3f, 300 - i * 7.1f);
+      move.addBatch(time + 5, coords(101 + i * 3.3f, 299 - i * 7.1f, 0.3f), 0);
+      if (i % 5 == 0) {
+        move.addBatch(time + 11, coords(102 + i * 3.3f, 400, 0.9f), 0);
+        move.offsetLocation(-12, -34);
+      } else {
+        move.addBatch(time + 11, coords(102 + i * 3.3f, Float.MIN_VALUE, 0.9f), 0);
+      }
+      events.add(move);
+    }
+    events.add(obtain(MotionEvent.ACTION_POINTER_UP, 1400, 170, -1e7f));
+    events.add(obtain(MotionEvent.ACTION_UP, 1416, 170));
+    return events;
+  }
+
+  private static MotionEvent.PointerCoords[] coords(float firstX, float secondX, float pressure) {
+    MotionEvent.PointerCoords[] coords = new MotionEvent.PointerCoords[] {
+      new MotionEvent.PointerCoords(), new MotionEvent.PointerCoords()};
+    coords[0].x = firstX;
+    coords[0].y = 200;
+    coords[0].pressure = pressure;
+    coords[1].x = secondX;
+    coords[1].y = 250;
+    coords[1].pressure = pressure / 2;
+    return coords;
+  }
+
+  private static MotionEvent obtain(int action, long time, float... xs) {
+    MotionEvent.PointerProperties[] properties = new MotionEvent.PointerProperties[xs.length];
+    MotionEvent.PointerCoords[] coords = new MotionEvent.PointerCoords[xs.length];
+    for (int i = 0; i < xs.length; i++) {
+      properties[i] = new MotionEvent.PointerProperties();
+      properties[i].id = i * 3;
+      properties[i].toolType = MotionEvent.TOOL_TYPE_FINGER;
+      coords[i] = new MotionEvent.PointerCoords();
+      coords[i].x = xs[i];
+      coords[i].y = 200 + i * 50;
+      coords[i].pressure = 0.5f + i * 0.25f;
+    }
+    return MotionEvent.obtain(1000, time, action, xs.length, properties, coords, 0, 0, 1f, 1f, 0, 0, 0, 0);
+  }
+
+  private static int writeDiff(byte[] buffer, int offset, long diff) {
+    return TouchRecordingFormat.writeVarint(buffer, offset, TouchRecordingFormat.zigzag(diff));
+  }
+
+  private static class RecordingReplayListener implements TouchReplayer.OnReplayListener {
+    boolean finished;
+    IOException failure;
+
+    @Override
+    public void onReplayFinished() {
+      finished = true;
+    }
+
+    @Override
+    public void onReplayFailed(@NonNull IOException exception) {
+      failure = exception;
+    }
+  }
+
+  /**
+   * Captures everything a replay has to reproduce, with the times relative to the first event.
+   */
+  private static class CapturingGesturesManager extends AndroidGesturesManager {
+    final List<String> capturedEvents = new ArrayList<>();
+    long lastEventTime;
+    private long firstEventTime = -1;
+
+    CapturingGesturesManager(Context context) {
+      super(context);
+    }
+
+    @Override
+    boolean onTouchEvent(@NonNull MotionEvent motionEvent, float rawOffsetX, float rawOffsetY) {
+      if (firstEventTime < 0) {
+        firstEventTime = motionEvent.getEventTime();
+      }
+      lastEventTime = motionEvent.getEventTime();
+      StringBuilder builder = new StringBuilder()
+        .append(motionEvent.getAction())
+        .append(" down ").append(motionEvent.getDownTime() - firstEventTime)
+        .append(" raw ").append(Float.floatToRawIntBits(rawOffsetX))
+        .append(' ').append(Float.floatToRawIntBits(rawOffsetY));
+      for (int pos = 0; pos <= motionEvent.getHistorySize(); pos++) {
+        boolean isCurrent = pos == motionEvent.getHistorySize();
+        long time = isCurrent ? motionEvent.getEventTime() : motionEvent.getHistoricalEventTime(pos);
+        builder.append(" | ").append(time - firstEventTime);
+        for (int i = 0; i < motionEvent.getPointerCount(); i++) {
+          builder.append(" #").append(motionEvent.getPointerId(i))
+            .append(' ').append(Float.floatToRawIntBits(
+              isCurrent ? motionEvent.getX(i) : motionEvent.getHistoricalX(i, pos)))
+            .append(' ').append(Float.floatToRawIntBits(
+              isCurrent ? motionEvent.getY(i) : motionEvent.getHistoricalY(i, pos)))
+            .append(' ').append(Float.floatToRawIntBits(
+              isCurrent ? motionEvent.getPressure(i) : motionEvent.getHistoricalPressure(i, pos)));
+        }
+      }
+      capturedEvents.add(builder.toString());
+      return super.onTouchEvent(motionEvent, rawOffsetX, rawOffsetY);
+    }
+  }
+}
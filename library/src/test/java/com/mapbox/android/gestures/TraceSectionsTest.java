@@ -0,0 +1,91 @@
+package com.mapbox.android.gestures;
+
+import android.view.MotionEvent;
+
+import androidx.annotation.NonNull;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.shadows.ShadowTrace;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+public class TraceSectionsTest {
+  private AndroidGesturesManager androidGesturesManager;
+  private List<String> sectionsInListener;
+
+  @Before
+  public void setUp() {
+    ShadowTrace.reset();
+    androidGesturesManager = new AndroidGesturesManager(RuntimeEnvironment.application.getApplicationContext());
+    sectionsInListener = new ArrayList<>();
+    androidGesturesManager.setMoveGestureListener(new MoveGestureDetector.SimpleOnMoveGestureListener() {
+      @Override
+      public boolean onMove(@NonNull MoveGestureDetector detector, float distanceX, float distanceY) {
+        sectionsInListener.add(ShadowTrace.getCurrentSections().peek());
+        return true;
+      }
+    });
+  }
+
+  @Test
+  public void sectionsDisabledByDefaultTest() {
+    assertFalse(androidGesturesManager.isTraceSectionsEnabled());
+    replayPan();
+
+    assertTrue(ShadowTrace.getPreviousSections().isEmpty());
+    assertTrue(ShadowTrace.getPreviousAsyncSections().isEmpty());
+    assertFalse(sectionsInListener.isEmpty());
+    for (String section : sectionsInListener) {
+      assertNull(section);
+    }
+  }
+
+  @Test
+  public void dispatchDetectorsAndListenersTracedTest() {
+    androidGesturesManager.setTraceSectionsEnabled(true);
+    replayPan();
+
+    assertTrue(ShadowTrace.getCurrentSections().isEmpty());
+    List<String> sections = new ArrayList<>(ShadowTrace.getPreviousSections());
+    assertTrue(sections.contains(TraceSections.DISPATCH));
+    for (BaseGesture detector : androidGesturesManager.getDetectors()) {
+      assertTrue(sections.contains(detector.getTraceSectionName()));
+    }
+    assertTrue(sections.contains("MoveGestureDetector#onMoveBegin"));
+    assertTrue(sections.contains("MoveGestureDetector#onMoveEnd"));
+
+    // listener sections are nested in the section of the detector
+    assertFalse(sectionsInListener.isEmpty());
+    for (String section : sectionsInListener) {
+      assertEquals("MoveGestureDetector#onMove", section);
+    }
+  }
+
+  @Test
+  public void progressiveGestureTracedAsyncTest() {
+    androidGesturesManager.setTraceSectionsEnabled(true);
+    replayPan();
+
+    assertTrue(ShadowTrace.getCurrentAsyncSections().isEmpty());
+    assertEquals(1, ShadowTrace.getPreviousAsyncSections().size());
+    ShadowTrace.AsyncTraceSection section = ShadowTrace.getPreviousAsyncSections().iterator().next();
+    assertEquals("MoveGestureDetector", section.getSectionName());
+  }
+
+  private void replayPan() {
+    for (MotionEvent event : GestureTrace.builder("pan").down(100, 100).moveBy(5, 50, 0).upAll().build().events) {
+      androidGesturesManager.onTouchEvent(event);
+    }
+  }
+}
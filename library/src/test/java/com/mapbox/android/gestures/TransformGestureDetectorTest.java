@@ -0,0 +1,125 @@
+package com.mapbox.android.gestures;
+
+import androidx.annotation.NonNull;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TransformGestureDetectorTest extends AbstractGesturesManagerTest {
+  private TransformGestureDetector transformGestureDetector;
+  private TransformRecorder recorder;
+
+  @Before
+  public void setUp() {
+    transformGestureDetector = androidGesturesManager.getTransformGestureDetector();
+    transformGestureDetector.setTranslationThreshold(0);
+    transformGestureDetector.setScaleSpanThreshold(0);
+    transformGestureDetector.setRotationThreshold(0);
+    recorder = new TransformRecorder();
+    androidGesturesManager.setTransformGestureListener(recorder);
+  }
+
+  @Test
+  public void singlePointerPanTest() {
+    replay(GestureTrace.builder("pan").down(60, 100).moveBy(20, 200, 120).upAll().build().events);
+
+    assertEquals(1, recorder.beginCount);
+    assertEquals(1, recorder.endCount);
+    // the first move begins the gesture, the remaining ones are reported
+    assertEquals(19, recorder.transformCount);
+    assertEquals(-190f, recorder.distanceX, 0.01f);
+    assertEquals(-114f, recorder.distanceY, 0.01f);
+    assertEquals(1f, recorder.scaleFactor, 0f);
+    assertEquals(0f, recorder.rotationDegrees, 0f);
+  }
+
+  @Test
+  public void pinchAndRotateInOnePassTest() {
+    replay(GestureTrace.builder("transform")
+      .down(100, 235).down(220, 235).transform(30, 0, 0, 60, 45).upAll().build().events);
+
+    assertEquals(1, recorder.beginCount);
+    assertEquals(1, recorder.endCount);
+    assertEquals(29, recorder.transformCount);
+    assertEquals(0f, recorder.distanceX, 0.01f);
+    assertEquals(0f, recorder.distanceY, 0.01f);
+    // spans grow from 62 to 120 pixels after the first step, turned by 1.5 degrees clockwise with each step
+    assertEquals(120f / 62f, recorder.scaleFactor, 0.001f);
+    assertEquals(-43.5f, recorder.rotationDegrees, 0.01f);
+  }
+
+  @Test
+  public void componentsBelowThresholdNotReportedTest() {
+    transformGestureDetector.setScaleSpanThreshold(1000);
+    transformGestureDetector.setRotationThreshold(10);
+
+    replay(GestureTrace.builder("transform")
+      .down(100, 235).down(220, 235).transform(30, 0, 0, 60, 45).upAll().build().events);
+
+    assertEquals(1, recorder.beginCount);
+    assertEquals(1f, recorder.scaleFactor, 0f);
+    // rotation is reported from the 7th step, which turns the pointers past 10 degrees
+    assertEquals(-45f + 6 * 1.5f, recorder.rotationDegrees, 0.01f);
+  }
+
+  @Test
+  public void gestureNotStartedBelowThresholdsTest() {
+    transformGestureDetector.setTranslationThreshold(1000);
+    transformGestureDetector.setScaleSpanThreshold(1000);
+    transformGestureDetector.setRotationThreshold(Constants.DEFAULT_ROTATE_ANGLE_THRESHOLD);
+
+    replay(GestureTrace.builder("rotate").down(60, 235).down(260, 235).rotate(10, 8).upAll().build().events);
+
+    assertEquals(0, recorder.beginCount);
+    assertEquals(0, recorder.transformCount);
+    assertEquals(0, recorder.endCount);
+  }
+
+  @Test
+  public void pointerAddedDuringGestureTest() {
+    replay(GestureTrace.builder("pan_then_pinch")
+      .down(100, 235).moveBy(10, 0, 50).down(220, 285).spread(10, 40).upAll().build().events);
+
+    assertEquals(1, recorder.beginCount);
+    assertEquals(1, recorder.endCount);
+    // no jump when the second pointer lands, the focal point moves only through the pan
+    assertEquals(-45f, recorder.distanceY, 0.01f);
+    assertTrue(recorder.scaleFactor > 1f);
+    assertEquals(100f / 60f, recorder.scaleFactor, 0.001f);
+  }
+
+  private static class TransformRecorder implements TransformGestureDetector.OnTransformGestureListener {
+    int beginCount;
+    int transformCount;
+    int endCount;
+    float distanceX;
+    float distanceY;
+    float scaleFactor = 1f;
+    float rotationDegrees;
+
+    @Override
+    public boolean onTransformBegin(@NonNull TransformGestureDetector detector) {
+      beginCount++;
+      return true;
+    }
+
+    @Override
+    public boolean onTransform(@NonNull TransformGestureDetector detector, float distanceX, float distanceY,
+                               float scaleFactor, float rotationDegrees) {
+      transformCount++;
+      this.distanceX += distanceX;
+      this.distanceY += distanceY;
+      this.scaleFactor *= scaleFactor;
+      this.rotationDegrees += rotationDegrees;
+      return true;
+    }
+
+    @Override
+    public void onTransformEnd(@NonNull TransformGestureDetector detector, float velocityX, float velocityY) {
+      endCount++;
+    }
+  }
+}
@@ -0,0 +1,34 @@
+package com.mapbox.android.gestures;
+
+import android.graphics.PointF;
+import android.view.MotionEvent;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+@RunWith(RobolectricTestRunner.class)
+public class UtilsTest {
+
+  @Test
+  public void determineFocalPointTest() {
+    MotionEvent event = TestUtils.INSTANCE.getMotionEvent(
+      MotionEvent.ACTION_MOVE, new float[] {100, 300}, new float[] {100, 200}, 0, null);
+
+    PointF focalPoint = Utils.determineFocalPoint(event);
+    assertEquals(200f, focalPoint.x, 0f);
+    assertEquals(150f, focalPoint.y, 0f);
+
+    PointF out = new PointF();
+    assertSame(out, Utils.determineFocalPoint(event, out));
+    assertEquals(focalPoint, out);
+
+    float[] outArray = new float[2];
+    assertSame(outArray, Utils.determineFocalPoint(event, outArray));
+    assertEquals(200f, outArray[0], 0f);
+    assertEquals(150f, outArray[1], 0f);
+  }
+}
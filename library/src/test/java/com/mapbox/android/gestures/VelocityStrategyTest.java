@@ -0,0 +1,120 @@
+package com.mapbox.android.gestures;
+
+import androidx.annotation.NonNull;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static com.mapbox.android.gestures.ProgressiveGesture.VELOCITY_STRATEGY_IMPULSE;
+import static com.mapbox.android.gestures.ProgressiveGesture.VELOCITY_STRATEGY_LEAST_SQUARES;
+import static com.mapbox.android.gestures.ProgressiveGesture.VELOCITY_STRATEGY_PLATFORM;
+import static org.junit.Assert.assertEquals;
+
+public class VelocityStrategyTest extends AbstractGesturesManagerTest {
+  // 12 steps of 8 milliseconds
+  private static final float EXPECTED_VELOCITY_X = 200f / 0.096f;
+  private static final float EXPECTED_VELOCITY_Y = 100f / 0.096f;
+
+  private MoveGestureDetector moveGestureDetector;
+  private VelocityRecorder recorder;
+
+  @Before
+  public void setUp() {
+    moveGestureDetector = androidGesturesManager.getMoveGestureDetector();
+    moveGestureDetector.setMoveThreshold(0);
+    recorder = new VelocityRecorder();
+    androidGesturesManager.setMoveGestureListener(recorder);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void unknownStrategyTest() {
+    moveGestureDetector.setVelocityStrategy(42);
+  }
+
+  @Test
+  public void leastSquaresFlingTest() {
+    moveGestureDetector.setVelocityStrategy(VELOCITY_STRATEGY_LEAST_SQUARES);
+
+    replay(fling().events);
+
+    assertEquals(1, recorder.endCount);
+    assertEquals(EXPECTED_VELOCITY_X, recorder.velocityX, EXPECTED_VELOCITY_X * 0.01f);
+    assertEquals(EXPECTED_VELOCITY_Y, recorder.velocityY, EXPECTED_VELOCITY_Y * 0.01f);
+  }
+
+  @Test
+  public void impulseFlingTest() {
+    moveGestureDetector.setVelocityStrategy(VELOCITY_STRATEGY_IMPULSE);
+
+    replay(fling().events);
+
+    assertEquals(1, recorder.endCount);
+    assertEquals(EXPECTED_VELOCITY_X, recorder.velocityX, EXPECTED_VELOCITY_X * 0.01f);
+    assertEquals(EXPECTED_VELOCITY_Y, recorder.velocityY, EXPECTED_VELOCITY_Y * 0.01f);
+  }
+
+  @Test
+  public void samplesBeforeGestureStartCountTest() {
+    moveGestureDetector.setVelocityStrategy(VELOCITY_STRATEGY_LEAST_SQUARES);
+    // the gesture starts only with the last step, which moves the pointer past 190 pixels horizontally
+    moveGestureDetector.setMoveThreshold(190);
+
+    replay(fling().events);
+
+    assertEquals(1, recorder.beginCount);
+    assertEquals(EXPECTED_VELOCITY_X, recorder.velocityX, EXPECTED_VELOCITY_X * 0.01f);
+    assertEquals(EXPECTED_VELOCITY_Y, recorder.velocityY, EXPECTED_VELOCITY_Y * 0.01f);
+  }
+
+  @Test
+  public void pointerAddedDuringFlingTest() {
+    moveGestureDetector.setVelocityStrategy(VELOCITY_STRATEGY_LEAST_SQUARES);
+    replay(GestureTrace.builder("fling_with_pause").interval(8)
+      .down(100, 100).moveBy(6, 0, 50).pause(8).moveBy(6, 0, 50).upAll().build().events);
+    float singlePointerVelocityY = recorder.velocityY;
+
+    // same timing, with the second pointer landing instead of the pause
+    replay(GestureTrace.builder("fling_with_second_pointer").interval(8)
+      .down(100, 100).moveBy(6, 0, 50).down(300, 400).moveBy(6, 0, 50).upAll().build().events);
+
+    assertEquals(2, recorder.endCount);
+    // the focal point jumps when the second pointer lands, the tracked position doesn't
+    assertEquals(0f, recorder.velocityX, 1f);
+    assertEquals(singlePointerVelocityY, recorder.velocityY, 1f);
+  }
+
+  @Test
+  public void platformStrategyRestoredTest() {
+    moveGestureDetector.setVelocityStrategy(VELOCITY_STRATEGY_IMPULSE);
+    moveGestureDetector.setVelocityStrategy(VELOCITY_STRATEGY_PLATFORM);
+
+    replay(fling().events);
+
+    assertEquals(VELOCITY_STRATEGY_PLATFORM, moveGestureDetector.getVelocityStrategy());
+    assertEquals(1, recorder.endCount);
+  }
+
+  private static GestureTrace fling() {
+    return GestureTrace.builder("fling").interval(8).down(100, 100).moveBy(12, 200, 100).upAll().build();
+  }
+
+  private static class VelocityRecorder extends MoveGestureDetector.SimpleOnMoveGestureListener {
+    int beginCount;
+    int endCount;
+    float velocityX;
+    float velocityY;
+
+    @Override
+    public boolean onMoveBegin(@NonNull MoveGestureDetector detector) {
+      beginCount++;
+      return true;
+    }
+
+    @Override
+    public void onMoveEnd(@NonNull MoveGestureDetector detector, float velocityX, float velocityY) {
+      endCount++;
+      this.velocityX = velocityX;
+      this.velocityY = velocityY;
+    }
+  }
+}
@@ -36,4 +36,6 @@ dependencyResolutionManagement {
 
 rootProject.name = "mapbox-android-gestures"
 include(":app")
-include(":library")
\ No newline at end of file
+include(":library")
+include(":gestures-core")
+include(":benchmarks")
\ No newline at end of file